@@ -19,7 +19,13 @@ public enum MetricType implements Metric {
     THREADPOOL_QUEUE_SIZE("threadpool.queue.size"),
     THREADPOOL_ACTIVE_THREADS("threadpool.threads.active"),
     THREADPOOL_THREADS_TOTAL("threadpool.threads.coresize"),
-    THREADPOOL_TASKS_COMPLETED("threadpool.tasks.completed");
+    THREADPOOL_TASKS_COMPLETED("threadpool.tasks.completed"),
+
+    MONITOR_TICK_DURATION("monitor.tick.duration"),
+    MONITOR_EVALUATOR_SKIPPED("monitor.evaluator.skipped"),
+
+    STACK_SNAPSHOT_CACHE_HIT("stack.snapshot.cache.hit"),
+    STACK_SNAPSHOT_CACHE_MISS("stack.snapshot.cache.miss");
 
     private final String metricName;
 
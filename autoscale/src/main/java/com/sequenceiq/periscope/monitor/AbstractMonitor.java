@@ -1,6 +1,8 @@
 package com.sequenceiq.periscope.monitor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.RejectedExecutionException;
 
 import org.quartz.JobDataMap;
@@ -10,41 +12,62 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
+import com.sequenceiq.periscope.domain.MetricType;
 import com.sequenceiq.periscope.monitor.context.EvaluatorContext;
 import com.sequenceiq.periscope.monitor.evaluator.EvaluatorExecutor;
+import com.sequenceiq.periscope.monitor.executor.EvaluatorExecutorPool;
 import com.sequenceiq.periscope.monitor.executor.ExecutorServiceWithRegistry;
+import com.sequenceiq.periscope.service.PeriscopeMetricService;
 import com.sequenceiq.periscope.service.RejectedThreadService;
 
 public abstract class AbstractMonitor<M extends Monitored> implements Monitor<M> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractMonitor.class);
 
+    private static final String MONITOR_TAG = "monitor";
+
     private ApplicationContext applicationContext;
 
     private ExecutorServiceWithRegistry executorServiceWithRegistry;
 
     private RejectedThreadService rejectedThreadService;
 
+    private EvaluatorExecutorPool evaluatorExecutorPool;
+
+    private PeriscopeMetricService metricService;
+
     @Override
     public void execute(JobExecutionContext context) {
         MDCBuilder.buildMdcContext();
         evalContext(context);
+        long tickStart = System.currentTimeMillis();
         List<M> monitoredData = getMonitored();
         LOGGER.debug("Job started: {}, monitored: {}", context.getJobDetail().getKey(), monitoredData.size());
+        List<M> evaluated = new ArrayList<>(monitoredData.size());
         for (M monitored : monitoredData) {
             try {
-                EvaluatorExecutor evaluatorExecutor = getEvaluatorExecutorBean(monitored);
                 EvaluatorContext evaluatorContext = getContext(monitored);
+                EvaluatorExecutor evaluatorExecutor = evaluatorExecutorPool.acquire(getIdentifier(), getEvaluatorType(monitored), evaluatorContext,
+                        () -> getEvaluatorExecutorBean(monitored));
                 evaluatorExecutor.setContext(evaluatorContext);
-                executorServiceWithRegistry.submitIfAbsent(evaluatorExecutor, evaluatorContext.getItemId());
-                LOGGER.debug("Successfully submitted {} for cluster {}.", evaluatorExecutor.getName(), evaluatorContext.getData());
+                if (executorServiceWithRegistry.submitIfAbsent(evaluatorExecutor, evaluatorContext.getItemId())) {
+                    LOGGER.debug("Successfully submitted {} for cluster {}.", evaluatorExecutor.getName(), evaluatorContext.getData());
+                } else {
+                    countSkipped();
+                }
                 rejectedThreadService.remove(evaluatorContext.getData());
-                monitored.setLastEvaluated(System.currentTimeMillis());
-                save(monitored);
+                evaluated.add(monitored);
             } catch (RejectedExecutionException ignore) {
-
+                countSkipped();
             }
         }
+        long lastEvaluated = System.currentTimeMillis();
+        evaluated.forEach(monitored -> monitored.setLastEvaluated(lastEvaluated));
+        if (!evaluated.isEmpty()) {
+            saveLastEvaluated(evaluated, lastEvaluated);
+        }
+        evaluatorExecutorPool.evictNotAcquiredSince(getIdentifier(), tickStart);
+        metricService.submit(MetricType.MONITOR_TICK_DURATION, System.currentTimeMillis() - tickStart, Map.of(MONITOR_TAG, getIdentifier()));
     }
 
     void evalContext(JobExecutionContext context) {
@@ -52,6 +75,12 @@ public abstract class AbstractMonitor<M extends Monitored> implements Monitor<M>
         applicationContext = (ApplicationContext) monitorContext.get(MonitorContext.APPLICATION_CONTEXT.name());
         executorServiceWithRegistry = applicationContext.getBean(ExecutorServiceWithRegistry.class);
         rejectedThreadService = applicationContext.getBean(RejectedThreadService.class);
+        evaluatorExecutorPool = applicationContext.getBean(EvaluatorExecutorPool.class);
+        metricService = applicationContext.getBean(PeriscopeMetricService.class);
+    }
+
+    private void countSkipped() {
+        metricService.incrementMetricCounter(MetricType.MONITOR_EVALUATOR_SKIPPED, MONITOR_TAG, getIdentifier());
     }
 
     protected ApplicationContext getApplicationContext() {
@@ -66,6 +95,13 @@ public abstract class AbstractMonitor<M extends Monitored> implements Monitor<M>
 
     protected abstract M save(M monitored);
 
+    /**
+     * Persists the last evaluation time of the monitored items that have been handed over to their evaluators in the current tick.
+     */
+    protected void saveLastEvaluated(List<M> evaluated, long lastEvaluated) {
+        evaluated.forEach(this::save);
+    }
+
     protected RejectedThreadService getRejectedThreadService() {
         return rejectedThreadService;
     }
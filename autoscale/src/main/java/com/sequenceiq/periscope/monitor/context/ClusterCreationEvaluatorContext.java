@@ -1,5 +1,7 @@
 package com.sequenceiq.periscope.monitor.context;
 
+import java.util.Objects;
+
 import com.sequenceiq.cloudbreak.api.endpoint.v4.stacks.response.AutoscaleStackV4Response;
 
 public class ClusterCreationEvaluatorContext implements EvaluatorContext {
@@ -19,4 +21,19 @@ public class ClusterCreationEvaluatorContext implements EvaluatorContext {
     public long getItemId() {
         return stack.getStackId();
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stack.getStackId());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o == null || !getClass().equals(o.getClass())) {
+            return false;
+        }
+        return Objects.equals(stack.getStackId(), ((ClusterCreationEvaluatorContext) o).stack.getStackId());
+    }
 }
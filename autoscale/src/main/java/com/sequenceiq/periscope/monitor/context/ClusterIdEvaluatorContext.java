@@ -1,5 +1,7 @@
 package com.sequenceiq.periscope.monitor.context;
 
+import java.util.Objects;
+
 public class ClusterIdEvaluatorContext implements EvaluatorContext {
 
     private final long clusterId;
@@ -17,4 +19,19 @@ public class ClusterIdEvaluatorContext implements EvaluatorContext {
     public long getItemId() {
         return clusterId;
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clusterId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o == null || !getClass().equals(o.getClass())) {
+            return false;
+        }
+        return clusterId == ((ClusterIdEvaluatorContext) o).clusterId;
+    }
 }
@@ -32,9 +32,9 @@ import com.sequenceiq.periscope.monitor.evaluator.EvaluatorExecutor;
 import com.sequenceiq.periscope.monitor.evaluator.EventPublisher;
 import com.sequenceiq.periscope.monitor.event.ScalingEvent;
 import com.sequenceiq.periscope.monitor.event.UpdateFailedEvent;
-import com.sequenceiq.periscope.monitor.handler.CloudbreakCommunicator;
 import com.sequenceiq.periscope.repository.LoadAlertRepository;
 import com.sequenceiq.periscope.service.ClusterService;
+import com.sequenceiq.periscope.service.StackSnapshotService;
 import com.sequenceiq.periscope.utils.StackResponseUtils;
 
 @Component("YarnLoadEvaluator")
@@ -61,7 +61,7 @@ public class YarnLoadEvaluator extends EvaluatorExecutor {
     private StackResponseUtils stackResponseUtils;
 
     @Inject
-    private CloudbreakCommunicator cloudbreakCommunicator;
+    private StackSnapshotService stackSnapshotService;
 
     private long clusterId;
 
@@ -114,7 +114,7 @@ public class YarnLoadEvaluator extends EvaluatorExecutor {
     }
 
     protected void pollYarnMetricsAndScaleCluster() throws Exception {
-        StackV4Response stackV4Response = cloudbreakCommunicator.getByCrn(cluster.getStackCrn());
+        StackV4Response stackV4Response = stackSnapshotService.getStack(cluster.getStackCrn());
         Map<String, String> hostFqdnsToInstanceId = stackResponseUtils.getCloudInstanceIdsForHostGroup(stackV4Response, policyHostGroup);
 
         int existingHostGroupSize = hostFqdnsToInstanceId.size();
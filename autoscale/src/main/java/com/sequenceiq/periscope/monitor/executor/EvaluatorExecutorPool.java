@@ -0,0 +1,106 @@
+package com.sequenceiq.periscope.monitor.executor;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.sequenceiq.periscope.monitor.context.EvaluatorContext;
+import com.sequenceiq.periscope.monitor.evaluator.EvaluatorExecutor;
+
+/**
+ * Keeps the evaluator instances of the monitors between the ticks, so the prototype evaluator beans are not created again for every
+ * monitored item every time a monitor fires. An instance is only handed out again for an equal evaluator context and only while it is
+ * not running, the instances that were not used by the last tick of the monitor are dropped.
+ */
+@Service
+public class EvaluatorExecutorPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EvaluatorExecutorPool.class);
+
+    @Value("${periscope.monitor.evaluator.pool.enabled:false}")
+    private boolean enabled;
+
+    @Inject
+    private EvaluatorExecutorRegistry evaluatorExecutorRegistry;
+
+    private final Map<String, Map<PoolKey, PooledEvaluator>> pools = new ConcurrentHashMap<>();
+
+    public EvaluatorExecutor acquire(String monitorId, Class<?> evaluatorType, EvaluatorContext context, Supplier<EvaluatorExecutor> factory) {
+        if (!enabled) {
+            return factory.get();
+        }
+        Map<PoolKey, PooledEvaluator> pool = pools.computeIfAbsent(monitorId, k -> new ConcurrentHashMap<>());
+        PoolKey key = new PoolKey(evaluatorType, context);
+        long now = System.currentTimeMillis();
+        PooledEvaluator pooled = pool.get(key);
+        if (pooled != null && !evaluatorExecutorRegistry.contains(pooled.evaluatorExecutor, context.getItemId())) {
+            pooled.lastAcquired = now;
+            return pooled.evaluatorExecutor;
+        }
+        EvaluatorExecutor evaluatorExecutor = factory.get();
+        pool.put(key, new PooledEvaluator(evaluatorExecutor, now));
+        return evaluatorExecutor;
+    }
+
+    public void evictNotAcquiredSince(String monitorId, long timestamp) {
+        Map<PoolKey, PooledEvaluator> pool = pools.get(monitorId);
+        if (pool != null) {
+            int sizeBefore = pool.size();
+            pool.values().removeIf(pooled -> pooled.lastAcquired < timestamp);
+            LOGGER.debug("Evaluator pool of {}: {} instances, {} evicted", monitorId, pool.size(), sizeBefore - pool.size());
+        }
+    }
+
+    int size(String monitorId) {
+        Map<PoolKey, PooledEvaluator> pool = pools.get(monitorId);
+        return pool == null ? 0 : pool.size();
+    }
+
+    private static class PooledEvaluator {
+
+        private final EvaluatorExecutor evaluatorExecutor;
+
+        private volatile long lastAcquired;
+
+        PooledEvaluator(EvaluatorExecutor evaluatorExecutor, long lastAcquired) {
+            this.evaluatorExecutor = evaluatorExecutor;
+            this.lastAcquired = lastAcquired;
+        }
+    }
+
+    private static class PoolKey {
+
+        private final Class<?> evaluatorType;
+
+        private final EvaluatorContext context;
+
+        PoolKey(Class<?> evaluatorType, EvaluatorContext context) {
+            this.evaluatorType = evaluatorType;
+            this.context = context;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(evaluatorType, context);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (o == null || !getClass().equals(o.getClass())) {
+                return false;
+            }
+            PoolKey poolKey = (PoolKey) o;
+            return Objects.equals(evaluatorType, poolKey.evaluatorType) && Objects.equals(context, poolKey.context);
+        }
+    }
+}
@@ -58,6 +58,10 @@ public class EvaluatorExecutorRegistry {
         return submittedEvaluators.size();
     }
 
+    boolean contains(EvaluatorExecutor evaluator, long resourceId) {
+        return submittedEvaluators.containsKey(new Element(evaluator, resourceId));
+    }
+
     private static class Element {
 
         private final EvaluatorExecutor evaluatorExecutor;
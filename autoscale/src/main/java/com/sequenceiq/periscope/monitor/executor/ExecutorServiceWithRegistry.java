@@ -24,16 +24,18 @@ public class ExecutorServiceWithRegistry {
     @Qualifier("periscopeListeningScheduledExecutorService")
     private ExecutorService executorService;
 
-    public void submitIfAbsent(EvaluatorExecutor evaluatorExecutor, long clusterId) {
+    public boolean submitIfAbsent(EvaluatorExecutor evaluatorExecutor, long clusterId) {
         if (evaluatorExecutorRegistry.putIfAbsent(evaluatorExecutor, clusterId)) {
             try {
                 executorService.submit(evaluatorExecutor);
+                return true;
             } catch (RejectedExecutionException e) {
                 evaluatorExecutorRegistry.remove(evaluatorExecutor, clusterId);
                 throw e;
             }
         } else {
             LOGGER.info("Evaluator {} is not accepted for cluster {}", evaluatorExecutor.getName(), clusterId);
+            return false;
         }
     }
 
@@ -18,6 +18,7 @@ import com.sequenceiq.periscope.api.model.ClusterState;
 import com.sequenceiq.periscope.domain.Cluster;
 import com.sequenceiq.periscope.monitor.event.ClusterStatusSyncEvent;
 import com.sequenceiq.periscope.service.ClusterService;
+import com.sequenceiq.periscope.service.StackSnapshotService;
 
 @Component
 public class ClusterStatusSyncHandler implements ApplicationListener<ClusterStatusSyncEvent> {
@@ -30,6 +31,9 @@ public class ClusterStatusSyncHandler implements ApplicationListener<ClusterStat
     @Inject
     private CloudbreakCommunicator cloudbreakCommunicator;
 
+    @Inject
+    private StackSnapshotService stackSnapshotService;
+
     @Override
     public void onApplicationEvent(ClusterStatusSyncEvent event) {
         long autoscaleClusterId = event.getClusterId();
@@ -42,6 +46,9 @@ public class ClusterStatusSyncHandler implements ApplicationListener<ClusterStat
         Status cbClusterStatus = Optional.ofNullable(cloudbreakCommunicator
                 .getStackStatusByCrn(cluster.getStackCrn()).getClusterStatus()).orElse(Status.AMBIGUOUS);
         LOGGER.debug("Analysing CBCluster Status '{}' for Cluster '{}' ", cbClusterStatus, cluster.getStackCrn());
+        if (!cbClusterStatus.isAvailable()) {
+            stackSnapshotService.invalidate(cluster.getStackCrn());
+        }
 
         if (DELETE_COMPLETED.equals(cbClusterStatus)) {
             clusterService.removeById(autoscaleClusterId);
@@ -22,6 +22,7 @@ import com.sequenceiq.periscope.monitor.evaluator.ScalingConstants;
 import com.sequenceiq.periscope.monitor.event.ScalingEvent;
 import com.sequenceiq.periscope.service.ClusterService;
 import com.sequenceiq.periscope.service.RejectedThreadService;
+import com.sequenceiq.periscope.service.StackSnapshotService;
 import com.sequenceiq.periscope.utils.ClusterUtils;
 import com.sequenceiq.periscope.utils.StackResponseUtils;
 
@@ -47,7 +48,7 @@ public class ScalingHandler implements ApplicationListener<ScalingEvent> {
     private StackResponseUtils stackResponseUtils;
 
     @Inject
-    private CloudbreakCommunicator cloudbreakCommunicator;
+    private StackSnapshotService stackSnapshotService;
 
     @Override
     public void onApplicationEvent(ScalingEvent event) {
@@ -103,7 +104,7 @@ public class ScalingHandler implements ApplicationListener<ScalingEvent> {
 
     private Integer getHostGroupNodeCount(ScalingEvent event, Cluster cluster, ScalingPolicy policy) {
         return event.getHostGroupNodeCount().orElseGet(() -> {
-            StackV4Response stackV4Response = cloudbreakCommunicator.getByCrn(cluster.getStackCrn());
+            StackV4Response stackV4Response = stackSnapshotService.getStack(cluster.getStackCrn());
             return stackResponseUtils.getNodeCountForHostGroup(stackV4Response, policy.getHostGroup());
         });
     }
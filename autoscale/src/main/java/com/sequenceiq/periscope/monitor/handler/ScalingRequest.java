@@ -25,6 +25,7 @@ import com.sequenceiq.periscope.domain.ScalingPolicy;
 import com.sequenceiq.periscope.notification.HttpNotificationSender;
 import com.sequenceiq.periscope.service.HistoryService;
 import com.sequenceiq.periscope.service.PeriscopeMetricService;
+import com.sequenceiq.periscope.service.StackSnapshotService;
 
 @Component("ScalingRequest")
 @Scope("prototype")
@@ -62,6 +63,9 @@ public class ScalingRequest implements Runnable {
     @Inject
     private CloudbreakCommunicator cloudbreakCommunicator;
 
+    @Inject
+    private StackSnapshotService stackSnapshotService;
+
     public ScalingRequest(Cluster cluster, ScalingPolicy policy, int totalNodes, int desiredNodeCount, List<String> decommissionNodeIds) {
         this.cluster = cluster;
         this.policy = policy;
@@ -84,6 +88,8 @@ public class ScalingRequest implements Runnable {
             }
         } catch (RuntimeException e) {
             LOGGER.info("Error while executing ScaleRequest", e);
+        } finally {
+            stackSnapshotService.invalidate(cluster.getStackCrn());
         }
     }
 
@@ -3,6 +3,8 @@ package com.sequenceiq.periscope.repository;
 import java.util.List;
 import java.util.Optional;
 
+import javax.transaction.Transactional;
+
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
@@ -67,4 +69,9 @@ public interface ClusterRepository extends CrudRepository<Cluster, Long> {
     @Modifying
     @Query("UPDATE Cluster c SET c.periscopeNodeId = NULL WHERE c.periscopeNodeId = :periscopeNodeId")
     void deallocateClustersOfNode(@Param("periscopeNodeId") String periscopeNodeId);
+
+    @Modifying
+    @Transactional(Transactional.TxType.REQUIRED)
+    @Query("UPDATE Cluster c SET c.lastEvaluated = :lastEvaluated WHERE c.id IN :clusterIds")
+    int updateLastEvaluated(@Param("clusterIds") List<Long> clusterIds, @Param("lastEvaluated") long lastEvaluated);
 }
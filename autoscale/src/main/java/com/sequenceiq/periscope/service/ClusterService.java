@@ -18,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.Lists;
 import com.sequenceiq.authorization.resource.AuthorizationResourceType;
 import com.sequenceiq.authorization.service.ResourceBasedCrnProvider;
 import com.sequenceiq.cloudbreak.api.endpoint.v4.common.ClusterManagerVariant;
@@ -45,6 +46,8 @@ public class ClusterService implements ResourceBasedCrnProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClusterService.class);
 
+    private static final int LAST_EVALUATED_UPDATE_CHUNK_SIZE = 1000;
+
     @Inject
     private ClusterRepository clusterRepository;
 
@@ -231,6 +234,10 @@ public class ClusterService implements ResourceBasedCrnProvider {
         return clusterRepository.findByStateAndAutoscalingEnabledAndPeriscopeNodeId(state, autoscalingEnabled, nodeId);
     }
 
+    public void updateLastEvaluated(List<Long> clusterIds, long lastEvaluated) {
+        Lists.partition(clusterIds, LAST_EVALUATED_UPDATE_CHUNK_SIZE).forEach(ids -> clusterRepository.updateLastEvaluated(ids, lastEvaluated));
+    }
+
     public List<Cluster> findClustersByClusterIds(List<Long> clusterIds) {
         return clusterRepository.findClustersByClusterIds(clusterIds);
     }
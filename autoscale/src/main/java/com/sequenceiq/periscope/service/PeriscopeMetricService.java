@@ -1,6 +1,8 @@
 package com.sequenceiq.periscope.service;
 
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 
@@ -14,13 +16,18 @@ public class PeriscopeMetricService extends AbstractMetricService {
 
     private static final String METRIC_PREFIX = "periscope";
 
+    // these are tagged by the monitor, they are registered on the first tick of the monitors
+    private static final Set<MetricType> MONITOR_METRICS = EnumSet.of(MetricType.MONITOR_TICK_DURATION, MetricType.MONITOR_EVALUATOR_SKIPPED);
+
     @PostConstruct
     protected void init() {
         Arrays.stream(MetricType.values())
+                .filter(m -> !MONITOR_METRICS.contains(m))
                 .filter(m -> !gaugeMetric(m))
                 .forEach(this::initMicrometerMetricCounter);
 
         Arrays.stream(MetricType.values())
+                .filter(m -> !MONITOR_METRICS.contains(m))
                 .filter(this::gaugeMetric)
                 .forEach(m -> submit(m, 0));
     }
@@ -0,0 +1,69 @@
+package com.sequenceiq.periscope.service;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sequenceiq.cloudbreak.api.endpoint.v4.stacks.response.StackV4Response;
+import com.sequenceiq.periscope.domain.MetricType;
+import com.sequenceiq.periscope.monitor.handler.CloudbreakCommunicator;
+
+/**
+ * Keeps the last stack response fetched from Cloudbreak for every monitored cluster, so the evaluators and the scaling handler do not
+ * request the full stack on every evaluation. A snapshot is dropped when it gets older than the configured time to live or when a
+ * scaling or a cluster status change makes the topology of the stack outdated.
+ */
+@Service
+public class StackSnapshotService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StackSnapshotService.class);
+
+    private static final long MAX_ENTRIES = 10000L;
+
+    @Value("${periscope.stack.snapshot.cache.ttl.seconds:300}")
+    private long timeToLiveSeconds;
+
+    @Inject
+    private CloudbreakCommunicator cloudbreakCommunicator;
+
+    @Inject
+    private PeriscopeMetricService metricService;
+
+    private Cache<String, StackV4Response> stackSnapshots;
+
+    @PostConstruct
+    public void init() {
+        stackSnapshots = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public StackV4Response getStack(String stackCrn) {
+        StackV4Response stack = stackSnapshots.getIfPresent(stackCrn);
+        if (stack != null) {
+            metricService.incrementMetricCounter(MetricType.STACK_SNAPSHOT_CACHE_HIT);
+            return stack;
+        }
+        return stackSnapshots.get(stackCrn, this::fetchStack);
+    }
+
+    public void invalidate(String stackCrn) {
+        LOGGER.debug("Invalidating stack snapshot of {}", stackCrn);
+        stackSnapshots.invalidate(stackCrn);
+    }
+
+    private StackV4Response fetchStack(String stackCrn) {
+        metricService.incrementMetricCounter(MetricType.STACK_SNAPSHOT_CACHE_MISS);
+        LOGGER.debug("Fetching stack snapshot of {}", stackCrn);
+        return cloudbreakCommunicator.getByCrn(stackCrn);
+    }
+}
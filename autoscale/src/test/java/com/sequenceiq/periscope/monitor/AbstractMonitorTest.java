@@ -1,12 +1,18 @@
 package com.sequenceiq.periscope.monitor;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
 
@@ -21,10 +27,13 @@ import org.springframework.context.ApplicationContext;
 
 import com.sequenceiq.periscope.api.model.ClusterState;
 import com.sequenceiq.periscope.domain.Cluster;
+import com.sequenceiq.periscope.domain.MetricType;
 import com.sequenceiq.periscope.monitor.context.EvaluatorContext;
 import com.sequenceiq.periscope.monitor.evaluator.EvaluatorExecutor;
+import com.sequenceiq.periscope.monitor.executor.EvaluatorExecutorPool;
 import com.sequenceiq.periscope.monitor.executor.ExecutorServiceWithRegistry;
 import com.sequenceiq.periscope.service.ClusterService;
+import com.sequenceiq.periscope.service.PeriscopeMetricService;
 import com.sequenceiq.periscope.service.RejectedThreadService;
 import com.sequenceiq.periscope.service.ha.PeriscopeNodeConfig;
 
@@ -34,6 +43,8 @@ public class AbstractMonitorTest {
 
     private static final long CLUSTER_ID = 1L;
 
+    private static final String MONITOR_ID = "test-monitor";
+
     @Mock
     private PeriscopeNodeConfig periscopeNodeConfig;
 
@@ -49,6 +60,12 @@ public class AbstractMonitorTest {
     @Mock
     private RejectedThreadService rejectedThreadService;
 
+    @Mock
+    private EvaluatorExecutorPool evaluatorExecutorPool;
+
+    @Mock
+    private PeriscopeMetricService metricService;
+
     @Mock
     private Monitored monitored;
 
@@ -59,6 +76,8 @@ public class AbstractMonitorTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
+        when(evaluatorExecutorPool.acquire(eq(MONITOR_ID), eq(TestExecutor.class), any(EvaluatorContext.class), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(3)).get());
     }
 
     @Test
@@ -72,6 +91,27 @@ public class AbstractMonitorTest {
         verify(executorServiceWithRegistry).submitIfAbsent(testExecutor, CLUSTER_ID);
         verify(monitored).setLastEvaluated(anyLong());
         verify(rejectedThreadService).remove(CLUSTER_ID);
+        verify(evaluatorExecutorPool).evictNotAcquiredSince(eq(MONITOR_ID), anyLong());
+        verify(metricService).submit(eq(MetricType.MONITOR_TICK_DURATION), anyDouble(), anyMap());
+    }
+
+    @Test
+    public void testNotAcceptedEvaluatorIsCountedAsSkipped() {
+        when(executorServiceWithRegistry.submitIfAbsent(testExecutor, CLUSTER_ID)).thenReturn(false);
+
+        underTest.execute(getContext());
+
+        verify(metricService).incrementMetricCounter(MetricType.MONITOR_EVALUATOR_SKIPPED, "monitor", MONITOR_ID);
+        verify(monitored).setLastEvaluated(anyLong());
+    }
+
+    @Test
+    public void testSubmittedEvaluatorIsNotCountedAsSkipped() {
+        when(executorServiceWithRegistry.submitIfAbsent(testExecutor, CLUSTER_ID)).thenReturn(true);
+
+        underTest.execute(getContext());
+
+        verify(metricService, never()).incrementMetricCounter(MetricType.MONITOR_EVALUATOR_SKIPPED, "monitor", MONITOR_ID);
     }
 
     private JobExecutionContext getContext() {
@@ -88,6 +128,8 @@ public class AbstractMonitorTest {
         when(applicationContext.getBean(PeriscopeNodeConfig.class)).thenReturn(periscopeNodeConfig);
         when(applicationContext.getBean(testExecutor.getClass().getSimpleName(), EvaluatorExecutor.class)).thenReturn(testExecutor);
         when(applicationContext.getBean(RejectedThreadService.class)).thenReturn(rejectedThreadService);
+        when(applicationContext.getBean(EvaluatorExecutorPool.class)).thenReturn(evaluatorExecutorPool);
+        when(applicationContext.getBean(PeriscopeMetricService.class)).thenReturn(metricService);
 
         return jobExecutionContext;
     }
@@ -116,7 +158,7 @@ public class AbstractMonitorTest {
 
             @Override
             public String getIdentifier() {
-                return null;
+                return MONITOR_ID;
             }
 
             @Override
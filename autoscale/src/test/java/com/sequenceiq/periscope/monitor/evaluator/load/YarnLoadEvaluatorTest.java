@@ -48,8 +48,8 @@ import com.sequenceiq.periscope.monitor.evaluator.EventPublisher;
 import com.sequenceiq.periscope.monitor.event.ScalingEvent;
 import com.sequenceiq.periscope.monitor.event.UpdateFailedEvent;
 import com.sequenceiq.periscope.monitor.executor.ExecutorServiceWithRegistry;
-import com.sequenceiq.periscope.monitor.handler.CloudbreakCommunicator;
 import com.sequenceiq.periscope.service.ClusterService;
+import com.sequenceiq.periscope.service.StackSnapshotService;
 import com.sequenceiq.periscope.utils.MockStackResponseGenerator;
 import com.sequenceiq.periscope.utils.StackResponseUtils;
 
@@ -74,7 +74,7 @@ public class YarnLoadEvaluatorTest {
     private ExecutorServiceWithRegistry executorServiceWithRegistry;
 
     @Mock
-    private CloudbreakCommunicator cloudbreakCommunicator;
+    private StackSnapshotService stackSnapshotService;
 
     @Mock
     private StackResponseUtils stackResponseUtils;
@@ -188,7 +188,7 @@ public class YarnLoadEvaluatorTest {
         YarnScalingServiceV1Response upScale = getMockYarnScalingResponse(hostGroup, yarnUpScaleCount, yarnDownScaleCount);
 
         when(clusterService.findById(anyLong())).thenReturn(cluster);
-        when(cloudbreakCommunicator.getByCrn(anyString())).thenReturn(stackV4Response);
+        when(stackSnapshotService.getStack(anyString())).thenReturn(stackV4Response);
         when(stackResponseUtils.getCloudInstanceIdsForHostGroup(any(), any())).thenCallRealMethod();
         when(yarnMetricsClient.getYarnMetricsForCluster(any(Cluster.class), any(StackV4Response.class), anyString()))
                 .thenReturn(upScale);
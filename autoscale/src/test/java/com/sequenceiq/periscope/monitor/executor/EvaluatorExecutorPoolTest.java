@@ -0,0 +1,105 @@
+package com.sequenceiq.periscope.monitor.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.api.endpoint.v4.stacks.response.AutoscaleStackV4Response;
+import com.sequenceiq.periscope.monitor.context.ClusterCreationEvaluatorContext;
+import com.sequenceiq.periscope.monitor.context.ClusterIdEvaluatorContext;
+import com.sequenceiq.periscope.monitor.evaluator.EvaluatorExecutor;
+
+public class EvaluatorExecutorPoolTest {
+
+    private static final String MONITOR_ID = "monitor";
+
+    private static final long CLUSTER_ID = 1L;
+
+    @Mock
+    private EvaluatorExecutorRegistry evaluatorExecutorRegistry;
+
+    @InjectMocks
+    private EvaluatorExecutorPool underTest;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+    }
+
+    @Test
+    public void testIdleEvaluatorIsReusedForEqualContext() {
+        EvaluatorExecutor first = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterIdEvaluatorContext(CLUSTER_ID),
+                () -> mock(EvaluatorExecutor.class));
+        EvaluatorExecutor second = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterIdEvaluatorContext(CLUSTER_ID),
+                () -> mock(EvaluatorExecutor.class));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testIdleEvaluatorIsReusedWhenTheSameClusterIsSubmittedTwice() {
+        EvaluatorExecutor first = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterCreationEvaluatorContext(stack(CLUSTER_ID)),
+                () -> mock(EvaluatorExecutor.class));
+        EvaluatorExecutor second = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterCreationEvaluatorContext(stack(CLUSTER_ID)),
+                () -> mock(EvaluatorExecutor.class));
+        EvaluatorExecutor other = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterCreationEvaluatorContext(stack(2L)),
+                () -> mock(EvaluatorExecutor.class));
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, underTest.size(MONITOR_ID));
+    }
+
+    @Test
+    public void testRunningEvaluatorIsNotReused() {
+        EvaluatorExecutor first = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterIdEvaluatorContext(CLUSTER_ID),
+                () -> mock(EvaluatorExecutor.class));
+        when(evaluatorExecutorRegistry.contains(first, CLUSTER_ID)).thenReturn(true);
+
+        EvaluatorExecutor second = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterIdEvaluatorContext(CLUSTER_ID),
+                () -> mock(EvaluatorExecutor.class));
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testEvaluatorsNotAcquiredInTheLastTickAreEvicted() throws InterruptedException {
+        underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterIdEvaluatorContext(CLUSTER_ID), () -> mock(EvaluatorExecutor.class));
+        Thread.sleep(2L);
+        long tickStart = System.currentTimeMillis();
+        underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterIdEvaluatorContext(2L), () -> mock(EvaluatorExecutor.class));
+
+        underTest.evictNotAcquiredSince(MONITOR_ID, tickStart);
+
+        assertEquals(1, underTest.size(MONITOR_ID));
+    }
+
+    @Test
+    public void testNewEvaluatorIsCreatedWhenPoolIsDisabled() {
+        ReflectionTestUtils.setField(underTest, "enabled", false);
+
+        EvaluatorExecutor first = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterIdEvaluatorContext(CLUSTER_ID),
+                () -> mock(EvaluatorExecutor.class));
+        EvaluatorExecutor second = underTest.acquire(MONITOR_ID, EvaluatorExecutor.class, new ClusterIdEvaluatorContext(CLUSTER_ID),
+                () -> mock(EvaluatorExecutor.class));
+
+        assertNotSame(first, second);
+        assertEquals(0, underTest.size(MONITOR_ID));
+    }
+
+    private AutoscaleStackV4Response stack(long stackId) {
+        AutoscaleStackV4Response stack = new AutoscaleStackV4Response();
+        stack.setStackId(stackId);
+        return stack;
+    }
+}
@@ -19,6 +19,7 @@ import com.sequenceiq.periscope.api.model.ClusterState;
 import com.sequenceiq.periscope.domain.Cluster;
 import com.sequenceiq.periscope.monitor.event.ClusterStatusSyncEvent;
 import com.sequenceiq.periscope.service.ClusterService;
+import com.sequenceiq.periscope.service.StackSnapshotService;
 
 public class ClusterStatusSyncHandlerTest {
 
@@ -32,6 +33,9 @@ public class ClusterStatusSyncHandlerTest {
     @Mock
     private CloudbreakCommunicator cloudbreakCommunicator;
 
+    @Mock
+    private StackSnapshotService stackSnapshotService;
+
     @InjectMocks
     private ClusterStatusSyncHandler underTest;
 
@@ -63,6 +67,7 @@ public class ClusterStatusSyncHandlerTest {
 
         verify(clusterService).setState(AUTOSCALE_CLUSTER_ID, ClusterState.SUSPENDED);
         verify(cloudbreakCommunicator).getStackStatusByCrn(CLOUDBREAK_STACK_CRN);
+        verify(stackSnapshotService).invalidate(CLOUDBREAK_STACK_CRN);
     }
 
     @Test
@@ -41,6 +41,7 @@ import com.sequenceiq.periscope.domain.TimeAlert;
 import com.sequenceiq.periscope.monitor.event.ScalingEvent;
 import com.sequenceiq.periscope.service.ClusterService;
 import com.sequenceiq.periscope.service.RejectedThreadService;
+import com.sequenceiq.periscope.service.StackSnapshotService;
 import com.sequenceiq.periscope.utils.StackResponseUtils;
 
 @ExtendWith(MockitoExtension.class)
@@ -61,7 +62,7 @@ public class ScalingHandlerTest {
     private ClusterService clusterService;
 
     @Mock
-    private CloudbreakCommunicator cloudbreakCommunicator;
+    private StackSnapshotService stackSnapshotService;
 
     @Mock
     private StackResponseUtils stackResponseUtils;
@@ -128,7 +129,7 @@ public class ScalingHandlerTest {
         when(scalingPolicyMock.getHostGroup()).thenReturn(testHostGroup);
         when(scalingPolicyMock.getScalingAdjustment()).thenReturn(2);
 
-        when(cloudbreakCommunicator.getByCrn(anyString())).thenReturn(stackV4ResponseMock);
+        when(stackSnapshotService.getStack(anyString())).thenReturn(stackV4ResponseMock);
         when(stackResponseUtils.getNodeCountForHostGroup(stackV4ResponseMock, testHostGroup))
                 .thenReturn(2);
 
@@ -201,7 +202,7 @@ public class ScalingHandlerTest {
             when(scalingEventMock.getHostGroupNodeCount()).thenReturn(Optional.of(currentHostGroupCount));
             when(scalingEventMock.getScalingNodeCount()).thenReturn(Optional.of(scalingAdjument));
         } else {
-            when(cloudbreakCommunicator.getByCrn(anyString())).thenReturn(stackV4ResponseMock);
+            when(stackSnapshotService.getStack(anyString())).thenReturn(stackV4ResponseMock);
             when(stackResponseUtils.getNodeCountForHostGroup(stackV4ResponseMock, testHostGroup))
                     .thenReturn(currentHostGroupCount);
         }
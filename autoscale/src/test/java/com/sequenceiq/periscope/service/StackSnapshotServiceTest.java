@@ -0,0 +1,65 @@
+package com.sequenceiq.periscope.service;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.api.endpoint.v4.stacks.response.StackV4Response;
+import com.sequenceiq.periscope.domain.MetricType;
+import com.sequenceiq.periscope.monitor.handler.CloudbreakCommunicator;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StackSnapshotServiceTest {
+
+    private static final String STACK_CRN = "stackCrn";
+
+    @InjectMocks
+    private StackSnapshotService underTest;
+
+    @Mock
+    private CloudbreakCommunicator cloudbreakCommunicator;
+
+    @Mock
+    private PeriscopeMetricService metricService;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(underTest, "timeToLiveSeconds", 60L);
+        underTest.init();
+    }
+
+    @Test
+    public void testStackIsFetchedOnce() {
+        StackV4Response stack = new StackV4Response();
+        when(cloudbreakCommunicator.getByCrn(STACK_CRN)).thenReturn(stack);
+
+        assertSame(stack, underTest.getStack(STACK_CRN));
+        assertSame(stack, underTest.getStack(STACK_CRN));
+
+        verify(cloudbreakCommunicator, times(1)).getByCrn(STACK_CRN);
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.STACK_SNAPSHOT_CACHE_MISS);
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.STACK_SNAPSHOT_CACHE_HIT);
+    }
+
+    @Test
+    public void testStackIsFetchedAgainAfterInvalidation() {
+        StackV4Response stack = new StackV4Response();
+        StackV4Response scaledStack = new StackV4Response();
+        when(cloudbreakCommunicator.getByCrn(STACK_CRN)).thenReturn(stack, scaledStack);
+
+        underTest.getStack(STACK_CRN);
+        underTest.invalidate(STACK_CRN);
+
+        assertSame(scaledStack, underTest.getStack(STACK_CRN));
+        verify(cloudbreakCommunicator, times(2)).getByCrn(STACK_CRN);
+    }
+}
@@ -1,19 +1,33 @@
 package com.sequenceiq.cloudbreak.cm.client;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
 import javax.net.ssl.SSLContext;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.ssl.SSLContexts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.cloudera.api.swagger.client.ApiClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.sequenceiq.cloudbreak.client.CertificateTrustManager;
 import com.sequenceiq.cloudbreak.client.HttpClientConfig;
 import com.sequenceiq.cloudbreak.client.KeyStoreUtil;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.Dispatcher;
 
 @Component
 public class ClouderaManagerApiClientProvider {
@@ -27,12 +41,40 @@ public class ClouderaManagerApiClientProvider {
 
     private static final Integer CLUSTER_PROXY_TIMEOUT = 90000;
 
-    public ApiClient getDefaultClient(Integer gatewayPort, HttpClientConfig clientConfig, String apiVersion) throws ClouderaManagerClientInitException {
-        ApiClient client = getClouderaManagerClient(clientConfig, gatewayPort, "admin", "admin", apiVersion);
-        if (clientConfig.isClusterProxyEnabled()) {
-            client.addDefaultHeader("Proxy-Ignore-Auth", "true");
+    private static final int MAX_IDLE_CONNECTIONS = 50;
+
+    @Value("${cb.cm.client.cache.enabled:false}")
+    private boolean clientCacheEnabled;
+
+    @Value("${cb.cm.client.cache.max.size:1000}")
+    private long clientCacheMaxSize;
+
+    @Value("${cb.cm.client.cache.idle.timeout.minutes:10}")
+    private long clientCacheIdleTimeoutMinutes;
+
+    @Inject
+    private MetricService metricService;
+
+    private Cache<String, ApiClient> clients;
+
+    private ConnectionPool connectionPool;
+
+    private Dispatcher dispatcher;
+
+    @PostConstruct
+    public void init() {
+        if (clientCacheEnabled) {
+            clients = Caffeine.newBuilder()
+                    .maximumSize(clientCacheMaxSize)
+                    .expireAfterAccess(clientCacheIdleTimeoutMinutes, TimeUnit.MINUTES)
+                    .build();
+            connectionPool = new ConnectionPool(MAX_IDLE_CONNECTIONS, TimeUnit.MINUTES.toMillis(clientCacheIdleTimeoutMinutes));
+            dispatcher = new Dispatcher();
         }
-        return client;
+    }
+
+    public ApiClient getDefaultClient(Integer gatewayPort, HttpClientConfig clientConfig, String apiVersion) throws ClouderaManagerClientInitException {
+        return getClouderaManagerClient(clientConfig, gatewayPort, "admin", "admin", apiVersion);
     }
 
     public ApiClient getClient(Integer gatewayPort, String user, String password, HttpClientConfig clientConfig) throws ClouderaManagerClientInitException {
@@ -68,8 +110,37 @@ public class ClouderaManagerApiClientProvider {
         return getClouderaManagerClient(clientConfig, port, userName, password, API_ROOT);
     }
 
+    /**
+     * When the client cache is enabled, the clients are reused while they are in use, so the key stores, the ssl context and the open
+     * connections are not rebuilt for every call. The clients are keyed by the address, the api version, the user and the fingerprint of
+     * the password and the certificates, so a rotated password or certificate results in a new client and the old one expires.
+     */
     private ApiClient getApiClientWithContext(HttpClientConfig clientConfig, Integer port, String userName, String password, String context)
             throws ClouderaManagerClientInitException {
+        if (clients == null) {
+            return createApiClientWithContext(clientConfig, port, userName, password, context);
+        }
+        String key = clientKey(clientConfig, port, userName, password, context);
+        ApiClient cmClient = clients.getIfPresent(key);
+        if (cmClient == null) {
+            cmClient = createApiClientWithContext(clientConfig, port, userName, password, context);
+            cmClient.getHttpClient().setConnectionPool(connectionPool);
+            cmClient.getHttpClient().setDispatcher(dispatcher);
+            ApiClient cachedClient = clients.asMap().putIfAbsent(key, cmClient);
+            if (cachedClient == null) {
+                metricService.incrementMetricCounter(MetricType.CM_API_CLIENT_CREATED);
+                metricService.submit(MetricType.CM_API_CLIENT_CACHE_SIZE, clients.estimatedSize());
+            } else {
+                cmClient = cachedClient;
+            }
+        } else {
+            metricService.incrementMetricCounter(MetricType.CM_API_CLIENT_REUSED);
+        }
+        return cmClient;
+    }
+
+    private ApiClient createApiClientWithContext(HttpClientConfig clientConfig, Integer port, String userName, String password, String context)
+            throws ClouderaManagerClientInitException {
         try {
             ApiClient cmClient = new ApiClient();
             if (clientConfig.isClusterProxyEnabled()) {
@@ -112,6 +183,16 @@ public class ClouderaManagerApiClientProvider {
         }
     }
 
+    private String clientKey(HttpClientConfig clientConfig, Integer port, String userName, String password, String context) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        Stream.of(password, clientConfig.getServerCert(), clientConfig.getClientCert(), clientConfig.getClientKey())
+                .forEach(value -> hasher.putString(Strings.nullToEmpty(value), StandardCharsets.UTF_8).putByte((byte) 0));
+        String address = clientConfig.isClusterProxyEnabled()
+                ? clientConfig.getClusterProxyUrl() + '/' + clientConfig.getClusterCrn()
+                : clientConfig.getApiAddress() + ':' + port;
+        return String.join("|", address, context, userName, hasher.hash().toString());
+    }
+
     private boolean isCmSslConfigValidClientConfigValid(HttpClientConfig config) {
         return config.getClientCert() != null && config.getServerCert() != null && config.getClientKey() != null;
     }
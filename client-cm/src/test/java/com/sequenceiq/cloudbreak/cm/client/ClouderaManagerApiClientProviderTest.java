@@ -0,0 +1,77 @@
+package com.sequenceiq.cloudbreak.cm.client;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cloudera.api.swagger.client.ApiClient;
+import com.sequenceiq.cloudbreak.client.HttpClientConfig;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClouderaManagerApiClientProviderTest {
+
+    private static final int GATEWAY_PORT = 9443;
+
+    @InjectMocks
+    private ClouderaManagerApiClientProvider underTest;
+
+    @Mock
+    private MetricService metricService;
+
+    @Test
+    public void testClientsAreCreatedForEveryCallWhenTheCacheIsDisabled() throws ClouderaManagerClientInitException {
+        underTest.init();
+
+        ApiClient first = underTest.getClient(GATEWAY_PORT, "user", "password", new HttpClientConfig("10.0.0.1"));
+        ApiClient second = underTest.getClient(GATEWAY_PORT, "user", "password", new HttpClientConfig("10.0.0.1"));
+
+        assertNotSame(first, second);
+        verifyZeroInteractions(metricService);
+    }
+
+    @Test
+    public void testClientIsReusedForTheSameClusterAndUser() throws ClouderaManagerClientInitException {
+        enableCache();
+
+        ApiClient first = underTest.getClient(GATEWAY_PORT, "user", "password", new HttpClientConfig("10.0.0.1"));
+        ApiClient second = underTest.getClient(GATEWAY_PORT, "user", "password", new HttpClientConfig("10.0.0.1"));
+
+        assertSame(first, second);
+        assertSame(first.getHttpClient().getConnectionPool(), underTest.getRootClient(GATEWAY_PORT, "user", "password",
+                new HttpClientConfig("10.0.0.1")).getHttpClient().getConnectionPool());
+        verify(metricService, times(2)).incrementMetricCounter(MetricType.CM_API_CLIENT_CREATED);
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.CM_API_CLIENT_REUSED);
+    }
+
+    @Test
+    public void testNewClientIsCreatedForChangedPasswordOrCluster() throws ClouderaManagerClientInitException {
+        enableCache();
+
+        ApiClient first = underTest.getClient(GATEWAY_PORT, "user", "password", new HttpClientConfig("10.0.0.1"));
+        ApiClient rotated = underTest.getClient(GATEWAY_PORT, "user", "rotated", new HttpClientConfig("10.0.0.1"));
+        ApiClient otherCluster = underTest.getClient(GATEWAY_PORT, "user", "password", new HttpClientConfig("10.0.0.2"));
+        ApiClient otherVersion = underTest.getV40Client(GATEWAY_PORT, "user", "password", new HttpClientConfig("10.0.0.1"));
+
+        assertNotSame(first, rotated);
+        assertNotSame(first, otherCluster);
+        assertNotSame(first, otherVersion);
+    }
+
+    private void enableCache() {
+        ReflectionTestUtils.setField(underTest, "clientCacheEnabled", true);
+        ReflectionTestUtils.setField(underTest, "clientCacheMaxSize", 10L);
+        ReflectionTestUtils.setField(underTest, "clientCacheIdleTimeoutMinutes", 10L);
+        underTest.init();
+    }
+}
@@ -1,5 +1,11 @@
 package com.sequenceiq.cloudbreak.cloud.model.catalog;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -11,6 +17,8 @@ public class CloudbreakImageCatalogV3 {
 
     private final Versions versions;
 
+    private volatile Map<String, List<CloudbreakVersion>> cloudbreakVersionsByVersion;
+
     @JsonCreator
     public CloudbreakImageCatalogV3(
             @JsonProperty(value = "images", required = true) Images images,
@@ -26,4 +34,24 @@ public class CloudbreakImageCatalogV3 {
     public Versions getVersions() {
         return versions;
     }
+
+    /**
+     * Returns the cloudbreak version entries that list the given version. The entries are indexed by version on the first call.
+     */
+    public List<CloudbreakVersion> findCloudbreakVersions(String cloudbreakVersion) {
+        Map<String, List<CloudbreakVersion>> index = cloudbreakVersionsByVersion;
+        if (index == null) {
+            index = new HashMap<>();
+            for (CloudbreakVersion entry : versions.getCloudbreakVersions()) {
+                for (String version : entry.getVersions()) {
+                    List<CloudbreakVersion> entries = index.computeIfAbsent(version, v -> new ArrayList<>());
+                    if (!entries.contains(entry)) {
+                        entries.add(entry);
+                    }
+                }
+            }
+            cloudbreakVersionsByVersion = index;
+        }
+        return index.getOrDefault(cloudbreakVersion, Collections.emptyList());
+    }
 }
@@ -3,7 +3,10 @@ package com.sequenceiq.cloudbreak.cloud.model.catalog;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -23,6 +26,8 @@ public class Images {
 
     private final Set<String> suppertedVersions;
 
+    private volatile Map<String, Image> imagesByUuid;
+
     @JsonCreator
     public Images(
             @JsonProperty("base-images") List<Image> baseImages,
@@ -60,4 +65,22 @@ public class Images {
     public int getNumberOfImages() {
         return baseImages.size() + hdpImages.size() + hdfImages.size() + cdhImages.size();
     }
+
+    /**
+     * Looks up an image by its uuid in the base, HDP, HDF and CDH images, in this order. The index is built on the first lookup and
+     * shared by the later ones, so a cached catalog is scanned only once.
+     */
+    public Optional<Image> findImageByUuid(String uuid) {
+        Map<String, Image> index = imagesByUuid;
+        if (index == null) {
+            index = new HashMap<>(getNumberOfImages());
+            for (List<Image> images : List.of(baseImages, hdpImages, hdfImages, cdhImages)) {
+                for (Image image : images) {
+                    index.putIfAbsent(image.getUuid(), image);
+                }
+            }
+            imagesByUuid = index;
+        }
+        return Optional.ofNullable(index.get(uuid));
+    }
 }
@@ -0,0 +1,72 @@
+package com.sequenceiq.cloudbreak.cloud.model.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CloudbreakImageCatalogV3Test {
+
+    private static final int IMAGE_COUNT = 20000;
+
+    private static final int IMAGES_PER_VERSION = 10;
+
+    @Test
+    public void testImageLookupOverLargeCatalog() {
+        CloudbreakImageCatalogV3 catalog = largeCatalog();
+
+        for (int i = 0; i < IMAGE_COUNT; i++) {
+            assertEquals("uuid-" + i, catalog.getImages().findImageByUuid("uuid-" + i).get().getUuid());
+        }
+        assertFalse(catalog.getImages().findImageByUuid("unknown").isPresent());
+    }
+
+    @Test
+    public void testFirstImageWinsForDuplicatedUuid() {
+        Image baseImage = image("uuid", "centos7");
+        Image cdhImage = image("uuid", "redhat7");
+        Images images = new Images(List.of(baseImage), null, null, List.of(cdhImage), null);
+
+        assertSame(baseImage, images.findImageByUuid("uuid").get());
+    }
+
+    @Test
+    public void testCloudbreakVersionLookup() {
+        CloudbreakImageCatalogV3 catalog = largeCatalog();
+
+        List<CloudbreakVersion> versions = catalog.findCloudbreakVersions("2.1.5");
+
+        assertEquals(1, versions.size());
+        assertTrue(versions.get(0).getVersions().contains("2.1.5"));
+        assertTrue(catalog.findCloudbreakVersions("1.0.0").isEmpty());
+    }
+
+    private CloudbreakImageCatalogV3 largeCatalog() {
+        List<Image> cdhImages = new ArrayList<>(IMAGE_COUNT);
+        List<CloudbreakVersion> cloudbreakVersions = new ArrayList<>();
+        List<String> imageIds = new ArrayList<>();
+        for (int i = 0; i < IMAGE_COUNT; i++) {
+            cdhImages.add(image("uuid-" + i, i % 2 == 0 ? "centos7" : "redhat7"));
+            imageIds.add("uuid-" + i);
+            if (imageIds.size() == IMAGES_PER_VERSION) {
+                String version = "2." + cloudbreakVersions.size() / IMAGES_PER_VERSION + '.' + cloudbreakVersions.size() % IMAGES_PER_VERSION;
+                cloudbreakVersions.add(new CloudbreakVersion(List.of(version), List.of(imageIds.get(0)), imageIds));
+                imageIds = new ArrayList<>();
+            }
+        }
+        Images images = new Images(null, null, null, cdhImages, Set.of());
+        return new CloudbreakImageCatalogV3(images, new Versions(cloudbreakVersions));
+    }
+
+    private Image image(String uuid, String os) {
+        return new Image("2020-06-15", null, "image", os, uuid, null, null, Map.of("aws", Map.of("eu-west-1", "ami-" + uuid)), null, "redhat7",
+                null, null, null, null);
+    }
+}
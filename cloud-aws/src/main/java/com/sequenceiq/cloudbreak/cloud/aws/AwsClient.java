@@ -36,6 +36,7 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient;
+import com.sequenceiq.cloudbreak.cloud.aws.cache.AwsClientCache;
 import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonAutoScalingRetryClient;
 import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonCloudFormationRetryClient;
 import com.sequenceiq.cloudbreak.cloud.aws.view.AuthenticatedContextView;
@@ -67,6 +68,9 @@ public class AwsClient {
     @Inject
     private Retry retry;
 
+    @Inject
+    private AwsClientCache awsClientCache;
+
     public AuthenticatedContext createAuthenticatedContext(CloudContext cloudContext, CloudCredential cloudCredential) {
         AuthenticatedContext authenticatedContext = new AuthenticatedContext(cloudContext, cloudCredential);
         try {
@@ -87,11 +91,13 @@ public class AwsClient {
     }
 
     public AmazonEC2Client createAccess(AwsCredentialView awsCredential, String regionName) {
-        AmazonEC2Client client = isRoleAssumeRequired(awsCredential) ?
-                getAmazonEC2Client(createAwsSessionCredentialProvider(awsCredential)) :
-                getAmazonEC2Client(createAwsCredentials(awsCredential));
-        client.setRegion(RegionUtils.getRegion(regionName));
-        return client;
+        return awsClientCache.getClient(AmazonEC2Client.class, awsCredential, regionName, () -> {
+            AmazonEC2Client client = isRoleAssumeRequired(awsCredential) ?
+                    getAmazonEC2Client(createAwsSessionCredentialProvider(awsCredential)) :
+                    getAmazonEC2Client(createAwsCredentials(awsCredential));
+            client.setRegion(RegionUtils.getRegion(regionName));
+            return client;
+        });
     }
 
     public AmazonEC2Client getAmazonEC2Client(AwsSessionCredentialProvider awsSessionCredentialProvider) {
@@ -103,40 +109,45 @@ public class AwsClient {
     }
 
     public AmazonCloudWatchClient createCloudWatchClient(AwsCredentialView awsCredential, String regionName) {
-        AmazonCloudWatchClient client = isRoleAssumeRequired(awsCredential) ?
-                new AmazonCloudWatchClient(createAwsSessionCredentialProvider(awsCredential)) :
-                new AmazonCloudWatchClient(createAwsCredentials(awsCredential));
-        client.setRegion(RegionUtils.getRegion(regionName));
-        return client;
+        return awsClientCache.getClient(AmazonCloudWatchClient.class, awsCredential, regionName, () -> {
+            AmazonCloudWatchClient client = isRoleAssumeRequired(awsCredential) ?
+                    new AmazonCloudWatchClient(createAwsSessionCredentialProvider(awsCredential)) :
+                    new AmazonCloudWatchClient(createAwsCredentials(awsCredential));
+            client.setRegion(RegionUtils.getRegion(regionName));
+            return client;
+        });
     }
 
     public AWSSecurityTokenService createAwsSecurityTokenService(AwsCredentialView awsCredential) {
-        return isRoleAssumeRequired(awsCredential)
+        return awsClientCache.getClient(AWSSecurityTokenService.class, awsCredential, null, () -> isRoleAssumeRequired(awsCredential)
                 ? new AWSSecurityTokenServiceClient(createAwsSessionCredentialProvider(awsCredential))
-                : new AWSSecurityTokenServiceClient(createAwsCredentials(awsCredential));
+                : new AWSSecurityTokenServiceClient(createAwsCredentials(awsCredential)));
     }
 
     public AmazonIdentityManagement createAmazonIdentityManagement(AwsCredentialView awsCredential) {
-        return AmazonIdentityManagementClientBuilder.standard()
-                .withRegion(awsDefaultZoneProvider.getDefaultZone(awsCredential))
+        String regionName = awsDefaultZoneProvider.getDefaultZone(awsCredential);
+        return awsClientCache.getClient(AmazonIdentityManagement.class, awsCredential, regionName, () -> AmazonIdentityManagementClientBuilder.standard()
+                .withRegion(regionName)
                 .withClientConfiguration(getDefaultClientConfiguration())
                 .withCredentials(getCredentialProvider(awsCredential))
-                .build();
+                .build());
     }
 
     public AWSKMS createAWSKMS(AwsCredentialView awsCredential, String regionName) {
-        return AWSKMSClientBuilder.standard()
+        return awsClientCache.getClient(AWSKMS.class, awsCredential, regionName, () -> AWSKMSClientBuilder.standard()
                 .withCredentials(getCredentialProvider(awsCredential))
                 .withRegion(regionName)
-                .build();
+                .build());
     }
 
     public AmazonCloudFormationClient createCloudFormationClient(AwsCredentialView awsCredential, String regionName) {
-        AmazonCloudFormationClient client = isRoleAssumeRequired(awsCredential) ?
-                new AmazonCloudFormationClient(createAwsSessionCredentialProvider(awsCredential)) :
-                new AmazonCloudFormationClient(createAwsCredentials(awsCredential));
-        client.setRegion(RegionUtils.getRegion(regionName));
-        return client;
+        return awsClientCache.getClient(AmazonCloudFormationClient.class, awsCredential, regionName, () -> {
+            AmazonCloudFormationClient client = isRoleAssumeRequired(awsCredential) ?
+                    new AmazonCloudFormationClient(createAwsSessionCredentialProvider(awsCredential)) :
+                    new AmazonCloudFormationClient(createAwsCredentials(awsCredential));
+            client.setRegion(RegionUtils.getRegion(regionName));
+            return client;
+        });
     }
 
     public AmazonCloudFormationRetryClient createCloudFormationRetryClient(AwsCredentialView awsCredential, String regionName) {
@@ -148,11 +159,13 @@ public class AwsClient {
     }
 
     public AmazonAutoScalingClient createAutoScalingClient(AwsCredentialView awsCredential, String regionName) {
-        AmazonAutoScalingClient client = isRoleAssumeRequired(awsCredential) ?
-                new AmazonAutoScalingClient(createAwsSessionCredentialProvider(awsCredential)) :
-                new AmazonAutoScalingClient(createAwsCredentials(awsCredential));
-        client.setRegion(RegionUtils.getRegion(regionName));
-        return client;
+        return awsClientCache.getClient(AmazonAutoScalingClient.class, awsCredential, regionName, () -> {
+            AmazonAutoScalingClient client = isRoleAssumeRequired(awsCredential) ?
+                    new AmazonAutoScalingClient(createAwsSessionCredentialProvider(awsCredential)) :
+                    new AmazonAutoScalingClient(createAwsCredentials(awsCredential));
+            client.setRegion(RegionUtils.getRegion(regionName));
+            return client;
+        });
     }
 
     public AmazonAutoScalingRetryClient createAutoScalingRetryClient(AwsCredentialView awsCredential, String regionName) {
@@ -160,26 +173,27 @@ public class AwsClient {
     }
 
     public AmazonS3 createS3Client(AwsCredentialView awsCredential) {
-        return AmazonS3ClientBuilder.standard()
+        String regionName = awsDefaultZoneProvider.getDefaultZone(awsCredential);
+        return awsClientCache.getClient(AmazonS3.class, awsCredential, regionName, () -> AmazonS3ClientBuilder.standard()
                 .withCredentials(getCredentialProvider(awsCredential))
-                .withRegion(awsDefaultZoneProvider.getDefaultZone(awsCredential))
+                .withRegion(regionName)
                 .withForceGlobalBucketAccessEnabled(Boolean.TRUE)
-                .build();
+                .build());
     }
 
     public AmazonDynamoDB createDynamoDbClient(AwsCredentialView awsCredential, String region) {
-        return AmazonDynamoDBClientBuilder.standard()
+        return awsClientCache.getClient(AmazonDynamoDB.class, awsCredential, region, () -> AmazonDynamoDBClientBuilder.standard()
                 .withClientConfiguration(getDynamoDbClientConfiguration())
                 .withCredentials(getCredentialProvider(awsCredential))
                 .withRegion(region)
-                .build();
+                .build());
     }
 
     public AmazonRDS createRdsClient(AwsCredentialView awsCredentialView, String region) {
-        return AmazonRDSClientBuilder.standard()
+        return awsClientCache.getClient(AmazonRDS.class, awsCredentialView, region, () -> AmazonRDSClientBuilder.standard()
                 .withCredentials(getCredentialProvider(awsCredentialView))
                 .withRegion(region)
-                .build();
+                .build());
     }
 
     private ClientConfiguration getDefaultClientConfiguration() {
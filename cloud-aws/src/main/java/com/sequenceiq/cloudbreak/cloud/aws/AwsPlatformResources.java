@@ -38,7 +38,6 @@ import org.springframework.stereotype.Service;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.SdkClientException;
-import com.amazonaws.regions.RegionUtils;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.ListTablesRequest;
 import com.amazonaws.services.dynamodbv2.model.ListTablesResult;
@@ -530,7 +529,7 @@ public class AwsPlatformResources implements PlatformResources {
         for (com.amazonaws.services.ec2.model.Region awsRegion : describeRegionsResult.getRegions()) {
             if (region == null || Strings.isNullOrEmpty(region.value()) || awsRegion.getRegionName().equals(region.value())) {
                 try {
-                    fetchAZsIfNeeded(availabilityZonesNeeded, ec2Client, regionListMap, awsRegion, cloudCredential);
+                    fetchAZsIfNeeded(availabilityZonesNeeded, regionListMap, awsRegion, cloudCredential);
                 } catch (AmazonEC2Exception e) {
                     LOGGER.info("Failed to retrieve AZ from Region: {}!", awsRegion.getRegionName(), e);
                 }
@@ -544,11 +543,12 @@ public class AwsPlatformResources implements PlatformResources {
         return new CloudRegions(regionListMap, displayNames, coordinates, defaultRegion, true);
     }
 
-    private void fetchAZsIfNeeded(boolean availabilityZonesNeeded, AmazonEC2Client ec2Client, Map<Region, List<AvailabilityZone>> regionListMap,
+    private void fetchAZsIfNeeded(boolean availabilityZonesNeeded, Map<Region, List<AvailabilityZone>> regionListMap,
             com.amazonaws.services.ec2.model.Region awsRegion, CloudCredential cloudCredential) {
         List<AvailabilityZone> collectedAZs = new ArrayList<>();
         if (availabilityZonesNeeded) {
-            DescribeAvailabilityZonesRequest describeAvailabilityZonesRequest = getDescribeAvailabilityZonesRequest(ec2Client, awsRegion);
+            AmazonEC2Client ec2Client = awsClient.createAccess(new AwsCredentialView(cloudCredential), awsRegion.getRegionName());
+            DescribeAvailabilityZonesRequest describeAvailabilityZonesRequest = getDescribeAvailabilityZonesRequest(awsRegion);
             LOGGER.debug("Describing AZs in region {}", awsRegion.getRegionName());
             List<com.amazonaws.services.ec2.model.AvailabilityZone> availabilityZones
                     = awsAvailabilityZoneProvider.describeAvailabilityZones(cloudCredential, describeAvailabilityZonesRequest, ec2Client, awsRegion);
@@ -561,9 +561,8 @@ public class AwsPlatformResources implements PlatformResources {
         regionListMap.put(region(awsRegion.getRegionName()), collectedAZs);
     }
 
-    private DescribeAvailabilityZonesRequest getDescribeAvailabilityZonesRequest(AmazonEC2Client ec2Client, com.amazonaws.services.ec2.model.Region awsRegion) {
+    private DescribeAvailabilityZonesRequest getDescribeAvailabilityZonesRequest(com.amazonaws.services.ec2.model.Region awsRegion) {
         DescribeAvailabilityZonesRequest describeAvailabilityZonesRequest = new DescribeAvailabilityZonesRequest();
-        ec2Client.setRegion(RegionUtils.getRegion(awsRegion.getRegionName()));
         Filter filter = new Filter();
         filter.setName("region-name");
         Collection<String> list = new ArrayList<>();
@@ -594,7 +593,7 @@ public class AwsPlatformResources implements PlatformResources {
 
     private DescribeAvailabilityZonesResult describeAvailabilityZonesResult(AmazonEC2Client ec2Client, com.amazonaws.services.ec2.model.Region awsRegion) {
         try {
-            DescribeAvailabilityZonesRequest describeAvailabilityZonesRequest = getDescribeAvailabilityZonesRequest(ec2Client, awsRegion);
+            DescribeAvailabilityZonesRequest describeAvailabilityZonesRequest = getDescribeAvailabilityZonesRequest(awsRegion);
             return ec2Client.describeAvailabilityZones(describeAvailabilityZonesRequest);
         } catch (AmazonEC2Exception e) {
             LOGGER.info("Failed to retrieve AZ from Region: {}!", awsRegion.getRegionName(), e);
@@ -654,14 +653,12 @@ public class AwsPlatformResources implements PlatformResources {
 
     @Override
     public CloudGateWays gateways(CloudCredential cloudCredential, Region region, Map<String, String> filters) {
-        AmazonEC2Client ec2Client = awsClient.createAccess(cloudCredential);
-
         Map<String, Set<CloudGateWay>> resultCloudGateWayMap = new HashMap<>();
         CloudRegions regions = regions(cloudCredential, region, filters, true);
 
         for (Entry<Region, List<AvailabilityZone>> regionListEntry : regions.getCloudRegions().entrySet()) {
             if (region == null || Strings.isNullOrEmpty(region.value()) || regionListEntry.getKey().value().equals(region.value())) {
-                ec2Client.setRegion(RegionUtils.getRegion(regionListEntry.getKey().value()));
+                AmazonEC2Client ec2Client = awsClient.createAccess(new AwsCredentialView(cloudCredential), regionListEntry.getKey().value());
 
                 DescribeInternetGatewaysRequest describeInternetGatewaysRequest = new DescribeInternetGatewaysRequest();
                 DescribeInternetGatewaysResult describeInternetGatewaysResult = ec2Client.describeInternetGateways(describeInternetGatewaysRequest);
@@ -0,0 +1,117 @@
+package com.sequenceiq.cloudbreak.cloud.aws.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.AmazonWebServiceClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.sequenceiq.cloudbreak.cloud.aws.view.AwsCredentialView;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+
+/**
+ * Keeps the AWS SDK clients per credential and region, so the calls of the stacks that use the same credential share one client with its
+ * connection pool, idle connection reaper and credential provider instead of building new ones for every call. The clients are keyed by
+ * the client type, the region, the credential id, the role arn and the fingerprint of the keys of the credential, so a changed key or role
+ * results in a new client. Role based clients read the session credentials through their AwsSessionCredentialProvider on every request,
+ * so the rotated session credentials are picked up by the cached clients. The clients evicted by size or idle time may still be used by a
+ * running flow, so they are not shut down but left to the garbage collector, only the clients of a destroyed cache are shut down.
+ */
+@Component
+public class AwsClientCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AwsClientCache.class);
+
+    @Value("${cb.aws.client.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.aws.client.cache.max.size:500}")
+    private long maxSize;
+
+    @Value("${cb.aws.client.cache.idle.timeout.minutes:30}")
+    private long idleTimeoutMinutes;
+
+    @Inject
+    private MetricService metricService;
+
+    private Cache<String, Object> clients;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            clients = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterAccess(idleTimeoutMinutes, TimeUnit.MINUTES)
+                    .executor(Runnable::run)
+                    .removalListener(this::onRemoval)
+                    .build();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (clients != null) {
+            clients.invalidateAll();
+            clients.cleanUp();
+        }
+    }
+
+    /**
+     * Returns the cached client of the credential in the region, or creates it with the given factory. The returned client is shared, the
+     * caller must not shut it down or change its region or endpoint.
+     */
+    public <T> T getClient(Class<T> clientType, AwsCredentialView awsCredential, String region, Supplier<T> clientFactory) {
+        if (clients == null) {
+            return clientFactory.get();
+        }
+        String key = clientKey(clientType, awsCredential, region);
+        Object client = clients.getIfPresent(key);
+        if (client == null) {
+            client = clients.get(key, k -> createClient(clientType, region, clientFactory));
+        } else {
+            metricService.incrementMetricCounter(MetricType.AWS_CLIENT_REUSED, "client", clientType.getSimpleName());
+        }
+        return clientType.cast(client);
+    }
+
+    private <T> T createClient(Class<T> clientType, String region, Supplier<T> clientFactory) {
+        LOGGER.debug("Creating cached {} for region {}", clientType.getSimpleName(), region);
+        T client = clientFactory.get();
+        metricService.incrementMetricCounter(MetricType.AWS_CLIENT_CREATED, "client", clientType.getSimpleName());
+        metricService.submit(MetricType.AWS_CLIENT_CACHE_SIZE, clients.estimatedSize() + 1);
+        return client;
+    }
+
+    private void onRemoval(String key, Object client, RemovalCause cause) {
+        LOGGER.debug("{} is removed from the client cache: {}", client.getClass().getSimpleName(), cause);
+        if (!cause.wasEvicted() && client instanceof AmazonWebServiceClient) {
+            ((AmazonWebServiceClient) client).shutdown();
+        }
+        metricService.submit(MetricType.AWS_CLIENT_CACHE_SIZE, clients.estimatedSize());
+    }
+
+    private String clientKey(Class<?> clientType, AwsCredentialView awsCredential, String region) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        Stream.of(awsCredential.getAccessKey(), awsCredential.getSecretKey())
+                .forEach(value -> hasher.putString(Strings.nullToEmpty(value), StandardCharsets.UTF_8).putByte((byte) 0));
+        return String.join("|", clientType.getName(), Strings.nullToEmpty(region), Strings.nullToEmpty(awsCredential.getId()),
+                Strings.nullToEmpty(awsCredential.getRoleArn()), Strings.nullToEmpty(awsCredential.getExternalId()),
+                String.valueOf(awsCredential.isGovernmentCloudEnabled()), hasher.hash().toString());
+    }
+}
@@ -1,6 +1,5 @@
 package com.sequenceiq.cloudbreak.cloud.aws.task;
 
-import java.util.Collection;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -8,8 +7,6 @@ import org.slf4j.LoggerFactory;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.cloudformation.AmazonCloudFormationClient;
-import com.amazonaws.services.cloudformation.model.DescribeStackEventsRequest;
-import com.amazonaws.services.cloudformation.model.DescribeStacksRequest;
 import com.amazonaws.services.cloudformation.model.Stack;
 import com.amazonaws.services.cloudformation.model.StackEvent;
 import com.amazonaws.services.cloudformation.model.StackStatus;
@@ -30,21 +27,18 @@ abstract class AbstractAwsStackStatusCheckerTask extends PollBooleanStateTask {
 
     private final String cloudFormationStackName;
 
-    private final DescribeStacksRequest describeStacksRequest;
-
-    private final DescribeStackEventsRequest stackEventsRequest;
+    private final CloudFormationStackPoller stackPoller;
 
     AbstractAwsStackStatusCheckerTask(AuthenticatedContext authenticatedContext, AmazonCloudFormationClient cfClient, StackStatus successStatus,
-            StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName, boolean cancellable) {
+            StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName, boolean cancellable,
+            CloudFormationStackPoller stackPoller) {
         super(authenticatedContext, cancellable);
         this.cfClient = cfClient;
         this.successStatus = successStatus;
         this.errorStatus = errorStatus;
         this.stackErrorStatuses = stackErrorStatuses;
         this.cloudFormationStackName = cloudFormationStackName;
-
-        describeStacksRequest = new DescribeStacksRequest().withStackName(cloudFormationStackName);
-        stackEventsRequest = new DescribeStackEventsRequest().withStackName(cloudFormationStackName);
+        this.stackPoller = stackPoller;
     }
 
     @Override
@@ -52,18 +46,18 @@ abstract class AbstractAwsStackStatusCheckerTask extends PollBooleanStateTask {
         LOGGER.debug("Checking if AWS CloudFormation stack '{}' reached status '{}'", cloudFormationStackName, successStatus);
 
         try {
-            com.amazonaws.services.cloudformation.model.Stack cfStack = cfClient.describeStacks(describeStacksRequest).getStacks().get(0);
-            List<StackEvent> stackEvents = cfClient.describeStackEvents(stackEventsRequest).getStackEvents();
-            return doCheck(cfStack, stackEvents);
+            Stack cfStack = stackPoller.describeStack(cfClient, cloudFormationStackName);
+            return doCheck(cfStack);
         } catch (AmazonServiceException e) {
             return handleError(e);
         }
     }
 
-    protected boolean isSuccess(Stack cfStack, Collection<StackEvent> stackEvents) {
-        if (!stackEvents.isEmpty() && cfStack != null) {
+    protected boolean isSuccess(Stack cfStack) {
+        if (cfStack != null) {
             StackStatus cfStackStatus = StackStatus.valueOf(cfStack.getStackStatus());
             if (stackErrorStatuses.contains(cfStackStatus)) {
+                List<StackEvent> stackEvents = stackPoller.getStackEvents(cfClient, cloudFormationStackName);
                 throw new CloudConnectorException(getErrorMessage(errorStatus.toString(), getErrorCauseStatusReason(stackEvents, errorStatus)));
             } else {
                 return cfStackStatus.equals(successStatus);
@@ -88,7 +82,7 @@ abstract class AbstractAwsStackStatusCheckerTask extends PollBooleanStateTask {
         return cause == null ? "unknown" : cause.getResourceStatusReason();
     }
 
-    abstract boolean doCheck(com.amazonaws.services.cloudformation.model.Stack cfStack, List<StackEvent> stackEvents);
+    abstract boolean doCheck(Stack cfStack);
 
     abstract boolean handleError(AmazonServiceException e);
 }
@@ -10,7 +10,6 @@ import org.springframework.stereotype.Component;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.cloudformation.AmazonCloudFormationClient;
 import com.amazonaws.services.cloudformation.model.Stack;
-import com.amazonaws.services.cloudformation.model.StackEvent;
 import com.amazonaws.services.cloudformation.model.StackStatus;
 import com.sequenceiq.cloudbreak.cloud.exception.CloudConnectorException;
 import com.sequenceiq.cloudbreak.cloud.model.network.NetworkCreationRequest;
@@ -28,14 +27,14 @@ public class AwsCreateNetworkStatusCheckerTask extends AbstractAwsStackStatusChe
     private final NetworkCreationRequest networkCreationRequest;
 
     public AwsCreateNetworkStatusCheckerTask(AmazonCloudFormationClient cfClient, StackStatus successStatus, StackStatus errorStatus,
-            List<StackStatus> stackErrorStatuses, NetworkCreationRequest networkCreationRequest) {
-        super(null, cfClient, successStatus, errorStatus, stackErrorStatuses, networkCreationRequest.getStackName(), true);
+            List<StackStatus> stackErrorStatuses, NetworkCreationRequest networkCreationRequest, CloudFormationStackPoller stackPoller) {
+        super(null, cfClient, successStatus, errorStatus, stackErrorStatuses, networkCreationRequest.getStackName(), true, stackPoller);
         this.networkCreationRequest = networkCreationRequest;
     }
 
     @Override
-    protected boolean doCheck(Stack cfStack, List<StackEvent> stackEvents) {
-        return isSuccess(cfStack, stackEvents);
+    protected boolean doCheck(Stack cfStack) {
+        return isSuccess(cfStack);
     }
 
     @Override
@@ -9,7 +9,6 @@ import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.autoscaling.AmazonAutoScalingClient;
 import com.amazonaws.services.cloudformation.AmazonCloudFormationClient;
 import com.amazonaws.services.cloudformation.model.Stack;
-import com.amazonaws.services.cloudformation.model.StackEvent;
 import com.amazonaws.services.cloudformation.model.StackStatus;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.exception.CloudConnectorException;
@@ -21,13 +20,14 @@ public class AwsCreateStackStatusCheckerTask extends AbstractAwsStackStatusCheck
     public static final String NAME = "awsCreateStackStatusCheckerTask";
 
     public AwsCreateStackStatusCheckerTask(AuthenticatedContext authenticatedContext, AmazonCloudFormationClient cfClient, AmazonAutoScalingClient asClient,
-            StackStatus successStatus, StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName) {
-        super(authenticatedContext, cfClient, successStatus, errorStatus, stackErrorStatuses, cloudFormationStackName, true);
+            StackStatus successStatus, StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName,
+            CloudFormationStackPoller stackPoller) {
+        super(authenticatedContext, cfClient, successStatus, errorStatus, stackErrorStatuses, cloudFormationStackName, true, stackPoller);
     }
 
     @Override
-    protected boolean doCheck(Stack cfStack, List<StackEvent> stackEvents) {
-        return isSuccess(cfStack, stackEvents);
+    protected boolean doCheck(Stack cfStack) {
+        return isSuccess(cfStack);
     }
 
     @Override
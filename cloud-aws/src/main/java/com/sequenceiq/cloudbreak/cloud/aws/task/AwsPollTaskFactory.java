@@ -25,27 +25,32 @@ public class AwsPollTaskFactory {
     @Inject
     private ApplicationContext applicationContext;
 
+    @Inject
+    private CloudFormationStackPoller cloudFormationStackPoller;
+
     public PollTask<Boolean> newAwsCreateNetworkStatusCheckerTask(AmazonCloudFormationClient cfClient, StackStatus successStatus, StackStatus errorStatus,
             List<StackStatus> stackErrorStatuses, NetworkCreationRequest networkCreationRequest) {
-        return createPollTask(AwsCreateNetworkStatusCheckerTask.NAME, cfClient, successStatus, errorStatus, stackErrorStatuses, networkCreationRequest);
+        return createPollTask(AwsCreateNetworkStatusCheckerTask.NAME, cfClient, successStatus, errorStatus, stackErrorStatuses, networkCreationRequest,
+                cloudFormationStackPoller);
     }
 
     public PollTask<Boolean> newAwsCreateStackStatusCheckerTask(AuthenticatedContext authenticatedContext, AmazonCloudFormationClient cfClient,
             AmazonAutoScalingClient asClient, StackStatus successStatus, StackStatus errorStatus, List<StackStatus> stackErrorStatuses,
             String cloudFormationStackName) {
         return createPollTask(AwsCreateStackStatusCheckerTask.NAME, authenticatedContext, cfClient, asClient, successStatus, errorStatus,
-                stackErrorStatuses, cloudFormationStackName);
+                stackErrorStatuses, cloudFormationStackName, cloudFormationStackPoller);
     }
 
     public PollTask<Boolean> newAwsTerminateNetworkStatusCheckerTask(AmazonCloudFormationClient cfClient, StackStatus successStatus,
             StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName) {
-        return createPollTask(AwsTerminateNetworkStatusCheckerTask.NAME, cfClient, successStatus, errorStatus, stackErrorStatuses, cloudFormationStackName);
+        return createPollTask(AwsTerminateNetworkStatusCheckerTask.NAME, cfClient, successStatus, errorStatus, stackErrorStatuses, cloudFormationStackName,
+                cloudFormationStackPoller);
     }
 
     public PollTask<Boolean> newAwsTerminateStackStatusCheckerTask(AuthenticatedContext authenticatedContext, AmazonCloudFormationClient cfClient,
             StackStatus successStatus, StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName) {
         return createPollTask(AwsTerminateStackStatusCheckerTask.NAME, authenticatedContext, cfClient, successStatus, errorStatus,
-                stackErrorStatuses, cloudFormationStackName);
+                stackErrorStatuses, cloudFormationStackName, cloudFormationStackPoller);
     }
 
     public PollTask<Boolean> newASGroupStatusCheckerTask(AuthenticatedContext authenticatedContext, String asGroupName, Integer requiredInstances,
@@ -9,7 +9,6 @@ import org.springframework.stereotype.Component;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.cloudformation.AmazonCloudFormationClient;
-import com.amazonaws.services.cloudformation.model.StackEvent;
 import com.amazonaws.services.cloudformation.model.StackStatus;
 
 @Component(AwsTerminateNetworkStatusCheckerTask.NAME)
@@ -20,13 +19,13 @@ public class AwsTerminateNetworkStatusCheckerTask extends AbstractAwsStackStatus
     private static final Logger LOGGER = LoggerFactory.getLogger(AwsTerminateNetworkStatusCheckerTask.class);
 
     public AwsTerminateNetworkStatusCheckerTask(AmazonCloudFormationClient cfClient, StackStatus successStatus,
-            StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName) {
-        super(null, cfClient, successStatus, errorStatus, stackErrorStatuses, cloudFormationStackName, false);
+            StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName, CloudFormationStackPoller stackPoller) {
+        super(null, cfClient, successStatus, errorStatus, stackErrorStatuses, cloudFormationStackName, false, stackPoller);
     }
 
     @Override
-    protected boolean doCheck(com.amazonaws.services.cloudformation.model.Stack cfStack, List<StackEvent> stackEvents) {
-        return isSuccess(cfStack, stackEvents);
+    protected boolean doCheck(com.amazonaws.services.cloudformation.model.Stack cfStack) {
+        return isSuccess(cfStack);
     }
 
     @Override
@@ -9,7 +9,6 @@ import org.springframework.stereotype.Component;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.cloudformation.AmazonCloudFormationClient;
-import com.amazonaws.services.cloudformation.model.StackEvent;
 import com.amazonaws.services.cloudformation.model.StackStatus;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 
@@ -21,13 +20,13 @@ public class AwsTerminateStackStatusCheckerTask extends AbstractAwsStackStatusCh
     private static final Logger LOGGER = LoggerFactory.getLogger(AwsTerminateStackStatusCheckerTask.class);
 
     public AwsTerminateStackStatusCheckerTask(AuthenticatedContext authenticatedContext, AmazonCloudFormationClient cfClient, StackStatus successStatus,
-            StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName) {
-        super(authenticatedContext, cfClient, successStatus, errorStatus, stackErrorStatuses, cloudFormationStackName, false);
+            StackStatus errorStatus, List<StackStatus> stackErrorStatuses, String cloudFormationStackName, CloudFormationStackPoller stackPoller) {
+        super(authenticatedContext, cfClient, successStatus, errorStatus, stackErrorStatuses, cloudFormationStackName, false, stackPoller);
     }
 
     @Override
-    protected boolean doCheck(com.amazonaws.services.cloudformation.model.Stack cfStack, List<StackEvent> stackEvents) {
-        return isSuccess(cfStack, stackEvents);
+    protected boolean doCheck(com.amazonaws.services.cloudformation.model.Stack cfStack) {
+        return isSuccess(cfStack);
     }
 
     @Override
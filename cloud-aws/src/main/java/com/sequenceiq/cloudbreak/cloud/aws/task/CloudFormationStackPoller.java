@@ -0,0 +1,95 @@
+package com.sequenceiq.cloudbreak.cloud.aws.task;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.services.cloudformation.AmazonCloudFormationClient;
+import com.amazonaws.services.cloudformation.model.DescribeStackEventsRequest;
+import com.amazonaws.services.cloudformation.model.DescribeStacksRequest;
+import com.amazonaws.services.cloudformation.model.Stack;
+import com.amazonaws.services.cloudformation.model.StackEvent;
+
+/**
+ * Reads the state of the CloudFormation stacks for the stack status checker tasks. The describe calls of the flows that poll the same stack
+ * with the same client at the same time are coalesced into one call. The flows only share a client when the AWS client cache is enabled,
+ * otherwise every flow has its own client and nothing is coalesced. The stack events are only read once the stack reached an error status.
+ */
+@Component
+public class CloudFormationStackPoller {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CloudFormationStackPoller.class);
+
+    private final Map<StackKey, CompletableFuture<Stack>> describeCalls = new ConcurrentHashMap<>();
+
+    public Stack describeStack(AmazonCloudFormationClient cfClient, String stackName) {
+        StackKey key = new StackKey(cfClient, stackName);
+        CompletableFuture<Stack> describeCall = new CompletableFuture<>();
+        CompletableFuture<Stack> inFlight = describeCalls.putIfAbsent(key, describeCall);
+        if (inFlight != null) {
+            LOGGER.debug("Waiting for the running describe call of CloudFormation stack '{}'", stackName);
+            return join(inFlight);
+        }
+        try {
+            Stack stack = cfClient.describeStacks(new DescribeStacksRequest().withStackName(stackName)).getStacks().get(0);
+            describeCall.complete(stack);
+            return stack;
+        } catch (RuntimeException e) {
+            describeCall.completeExceptionally(e);
+            throw e;
+        } finally {
+            describeCalls.remove(key, describeCall);
+        }
+    }
+
+    /**
+     * Returns the newest page of the events of the stack, the newest first.
+     */
+    public List<StackEvent> getStackEvents(AmazonCloudFormationClient cfClient, String stackName) {
+        return cfClient.describeStackEvents(new DescribeStackEventsRequest().withStackName(stackName)).getStackEvents();
+    }
+
+    private Stack join(CompletableFuture<Stack> describeCall) {
+        try {
+            return describeCall.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private static class StackKey {
+
+        private final AmazonCloudFormationClient cfClient;
+
+        private final String stackName;
+
+        StackKey(AmazonCloudFormationClient cfClient, String stackName) {
+            this.cfClient = cfClient;
+            this.stackName = stackName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            StackKey stackKey = (StackKey) o;
+            return cfClient == stackKey.cfClient && Objects.equals(stackName, stackKey.stackName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(cfClient), stackName);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import com.amazonaws.AmazonClientException;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.auth.InstanceProfileCredentialsProvider;
 import com.amazonaws.services.ec2.AmazonEC2Client;
+import com.sequenceiq.cloudbreak.cloud.aws.cache.AwsClientCache;
 import com.sequenceiq.cloudbreak.cloud.aws.view.AwsCredentialView;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
@@ -34,6 +35,7 @@ import com.sequenceiq.cloudbreak.cloud.event.credential.CredentialVerificationEx
 import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
 import com.sequenceiq.cloudbreak.cloud.model.Location;
 import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.service.RetryService;
 
 @ExtendWith(SpringExtension.class)
@@ -48,6 +50,9 @@ public class AwsAuthenticatorTest {
     @MockBean
     private AwsEnvironmentVariableChecker awsEnvironmentVariableChecker;
 
+    @MockBean
+    private MetricService metricService;
+
     @Mock
     private AmazonEC2Client amazonEC2Client;
 
@@ -139,6 +144,7 @@ public class AwsAuthenticatorTest {
     @Configuration
     @Import({AwsAuthenticator.class,
             AwsClient.class,
+            AwsClientCache.class,
             AwsSessionCredentialClient.class,
             AwsDefaultZoneProvider.class,
             AwsEnvironmentVariableChecker.class,
@@ -54,6 +54,7 @@ import com.amazonaws.services.ec2.model.StartInstancesResult;
 import com.amazonaws.services.ec2.model.StopInstancesRequest;
 import com.amazonaws.services.ec2.model.StopInstancesResult;
 import com.dyngr.exception.PollerStoppedException;
+import com.sequenceiq.cloudbreak.cloud.aws.cache.AwsClientCache;
 import com.sequenceiq.cloudbreak.cloud.aws.poller.PollerUtil;
 import com.sequenceiq.cloudbreak.cloud.aws.util.AwsInstanceStatusMapper;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
@@ -65,6 +66,7 @@ import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.Location;
 import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.service.RetryService;
 
 @ExtendWith(SpringExtension.class)
@@ -93,6 +95,9 @@ public class AwsInstanceConnectorTest {
     @MockBean
     private AwsEnvironmentVariableChecker awsEnvironmentVariableChecker;
 
+    @MockBean
+    private MetricService metricService;
+
     @Mock
     private AmazonEC2Client amazonEC2Client;
 
@@ -412,6 +417,7 @@ public class AwsInstanceConnectorTest {
     @Import({AwsInstanceConnector.class,
             AwsAuthenticator.class,
             AwsClient.class,
+            AwsClientCache.class,
             PollerUtil.class,
             AwsSessionCredentialClient.class,
             AwsDefaultZoneProvider.class,
@@ -4,6 +4,10 @@ import static com.sequenceiq.cloudbreak.cloud.model.Region.region;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -34,8 +38,12 @@ import com.amazonaws.services.dynamodbv2.model.ListTablesResult;
 import com.amazonaws.services.ec2.AmazonEC2Client;
 import com.amazonaws.services.ec2.model.AvailabilityZone;
 import com.amazonaws.services.ec2.model.DescribeAvailabilityZonesResult;
+import com.amazonaws.services.ec2.model.DescribeInternetGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeInternetGatewaysResult;
 import com.amazonaws.services.ec2.model.DescribeRegionsRequest;
 import com.amazonaws.services.ec2.model.DescribeRegionsResult;
+import com.amazonaws.services.ec2.model.InternetGateway;
+import com.amazonaws.services.ec2.model.InternetGatewayAttachment;
 import com.amazonaws.services.ec2.model.Region;
 import com.amazonaws.services.identitymanagement.AmazonIdentityManagement;
 import com.amazonaws.services.identitymanagement.model.InstanceProfile;
@@ -56,6 +64,8 @@ import com.sequenceiq.cloudbreak.cloud.exception.CloudConnectorException;
 import com.sequenceiq.cloudbreak.cloud.model.CloudAccessConfigs;
 import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
 import com.sequenceiq.cloudbreak.cloud.model.CloudEncryptionKeys;
+import com.sequenceiq.cloudbreak.cloud.model.CloudGateWay;
+import com.sequenceiq.cloudbreak.cloud.model.CloudGateWays;
 import com.sequenceiq.cloudbreak.cloud.model.CloudVmTypes;
 import com.sequenceiq.cloudbreak.cloud.model.VmType;
 import com.sequenceiq.cloudbreak.cloud.model.nosql.CloudNoSqlTable;
@@ -92,6 +102,9 @@ public class AwsPlatformResourcesTest {
     @Mock
     private AmazonEC2Client amazonEC2Client;
 
+    @Mock
+    private AmazonEC2Client regionalAmazonEC2Client;
+
     @Mock
     private DescribeRegionsResult describeRegionsResult;
 
@@ -114,6 +127,7 @@ public class AwsPlatformResourcesTest {
 
         when(awsDefaultZoneProvider.getDefaultZone(any(CloudCredential.class))).thenReturn(REGION_NAME);
         when(awsClient.createAccess(any(CloudCredential.class))).thenReturn(amazonEC2Client);
+        when(awsClient.createAccess(any(AwsCredentialView.class), anyString())).thenReturn(regionalAmazonEC2Client);
         when(amazonEC2Client.describeRegions(any(DescribeRegionsRequest.class))).thenReturn(describeRegionsResult);
         when(describeRegionsResult.getRegions()).thenReturn(Collections.singletonList(region));
         when(awsAvailabilityZoneProvider.describeAvailabilityZones(any(), any(), any(), any()))
@@ -270,6 +284,23 @@ public class AwsPlatformResourcesTest {
         Assert.assertTrue(result.getCloudVmResponses().get(AZ_NAME).isEmpty());
     }
 
+    @Test
+    public void testGatewaysAreQueriedWithTheClientOfTheRegion() {
+        InternetGateway internetGateway = new InternetGateway()
+                .withInternetGatewayId("igw-1")
+                .withAttachments(new InternetGatewayAttachment().withVpcId("vpc-1"));
+        when(regionalAmazonEC2Client.describeInternetGateways(any(DescribeInternetGatewaysRequest.class)))
+                .thenReturn(new DescribeInternetGatewaysResult().withInternetGateways(internetGateway));
+
+        CloudGateWays result = underTest.gateways(new CloudCredential("crn", "aws-credential"), region(REGION_NAME), Collections.emptyMap());
+
+        assertThat(result.getCloudGateWayResponses().get(AZ_NAME)).extracting(CloudGateWay::getId).containsExactly("igw-1");
+        verify(awsClient, times(2)).createAccess(any(AwsCredentialView.class), eq(REGION_NAME));
+        verify(awsAvailabilityZoneProvider).describeAvailabilityZones(any(), any(), eq(regionalAmazonEC2Client), any());
+        verify(amazonEC2Client, never()).setRegion(any());
+        verify(regionalAmazonEC2Client, never()).setRegion(any());
+    }
+
     private InstanceProfile instanceProfile(int i) {
         InstanceProfile instanceProfile = new InstanceProfile();
         instanceProfile.setArn(String.format("arn-%s", i));
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -34,6 +35,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.SdkClientException;
 import com.amazonaws.services.cloudformation.AmazonCloudFormationClient;
+import com.sequenceiq.cloudbreak.cloud.aws.cache.AwsClientCache;
 import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonCloudFormationRetryClient;
 import com.sequenceiq.cloudbreak.cloud.aws.conf.AwsConfig;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
@@ -43,6 +45,7 @@ import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
 import com.sequenceiq.cloudbreak.cloud.model.CloudStack;
 import com.sequenceiq.cloudbreak.cloud.model.Location;
 import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.service.CloudbreakResourceReaderService;
 import com.sequenceiq.cloudbreak.service.RetryService;
 
@@ -72,6 +75,9 @@ public class AwsValidatorsTest {
     @SpyBean
     private AwsClient awsClient;
 
+    @MockBean
+    private MetricService metricService;
+
     private AuthenticatedContext authenticatedContext;
 
     @BeforeEach
@@ -186,6 +192,7 @@ public class AwsValidatorsTest {
             AwsConfig.class,
             AwsAuthenticator.class,
             AwsClient.class,
+            AwsClientCache.class,
             AwsSessionCredentialClient.class,
             AwsDefaultZoneProvider.class,
             AwsEnvironmentVariableChecker.class,
@@ -0,0 +1,109 @@
+package com.sequenceiq.cloudbreak.cloud.aws.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.services.ec2.AmazonEC2Client;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sequenceiq.cloudbreak.cloud.aws.view.AwsCredentialView;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+
+@ExtendWith(MockitoExtension.class)
+class AwsClientCacheTest {
+
+    private static final String REGION = "eu-west-1";
+
+    @InjectMocks
+    private AwsClientCache underTest;
+
+    @Mock
+    private MetricService metricService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "maxSize", 10L);
+        ReflectionTestUtils.setField(underTest, "idleTimeoutMinutes", 10L);
+        underTest.init();
+    }
+
+    @Test
+    void testClientIsReusedForTheSameCredentialAndRegion() {
+        AmazonEC2Client first = underTest.getClient(AmazonEC2Client.class, credential("secret"), REGION, () -> mock(AmazonEC2Client.class));
+        AmazonEC2Client second = underTest.getClient(AmazonEC2Client.class, credential("secret"), REGION, () -> mock(AmazonEC2Client.class));
+
+        assertSame(first, second);
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.AWS_CLIENT_CREATED, "client", "AmazonEC2Client");
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.AWS_CLIENT_REUSED, "client", "AmazonEC2Client");
+    }
+
+    @Test
+    void testNewClientIsCreatedForOtherRegionOrRotatedKey() {
+        AmazonEC2Client first = underTest.getClient(AmazonEC2Client.class, credential("secret"), REGION, () -> mock(AmazonEC2Client.class));
+        AmazonEC2Client otherRegion = underTest.getClient(AmazonEC2Client.class, credential("secret"), "us-east-1", () -> mock(AmazonEC2Client.class));
+        AmazonEC2Client rotated = underTest.getClient(AmazonEC2Client.class, credential("rotated"), REGION, () -> mock(AmazonEC2Client.class));
+
+        assertNotSame(first, otherRegion);
+        assertNotSame(first, rotated);
+        verify(metricService, times(3)).incrementMetricCounter(MetricType.AWS_CLIENT_CREATED, "client", "AmazonEC2Client");
+    }
+
+    @Test
+    void testClientIsShutDownWhenTheCacheIsDestroyed() {
+        AmazonEC2Client client = underTest.getClient(AmazonEC2Client.class, credential("secret"), REGION, () -> mock(AmazonEC2Client.class));
+
+        underTest.destroy();
+
+        verify(client).shutdown();
+    }
+
+    @Test
+    void testClientEvictedBySizeIsNotShutDown() {
+        ReflectionTestUtils.setField(underTest, "maxSize", 1L);
+        underTest.init();
+
+        AmazonEC2Client first = underTest.getClient(AmazonEC2Client.class, credential("secret"), REGION, () -> mock(AmazonEC2Client.class));
+        AmazonEC2Client second = underTest.getClient(AmazonEC2Client.class, credential("secret"), "us-east-1", () -> mock(AmazonEC2Client.class));
+        Cache<String, Object> clients = (Cache<String, Object>) ReflectionTestUtils.getField(underTest, "clients");
+        clients.cleanUp();
+
+        assertEquals(1L, clients.estimatedSize());
+        verify(first, never()).shutdown();
+        verify(second, never()).shutdown();
+    }
+
+    @Test
+    void testClientIsCreatedEveryTimeWhenDisabled() {
+        AwsClientCache disabled = new AwsClientCache();
+        disabled.init();
+
+        AmazonEC2Client first = disabled.getClient(AmazonEC2Client.class, credential("secret"), REGION, () -> mock(AmazonEC2Client.class));
+        AmazonEC2Client second = disabled.getClient(AmazonEC2Client.class, credential("secret"), REGION, () -> mock(AmazonEC2Client.class));
+
+        assertNotSame(first, second);
+        verifyZeroInteractions(metricService);
+    }
+
+    private AwsCredentialView credential(String secretKey) {
+        Map<String, Object> parameters = Map.of("accessKey", "access", "secretKey", secretKey);
+        return new AwsCredentialView(new CloudCredential("crn:credential", "credential", parameters, false));
+    }
+}
@@ -68,6 +68,7 @@ import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
 import com.sequenceiq.cloudbreak.cloud.template.GroupResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.NetworkResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.transform.CloudResourceHelper;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerScheduledExecutor;
 import com.sequenceiq.cloudbreak.service.Retry;
 import com.sequenceiq.cloudbreak.tag.CostTagging;
@@ -224,6 +225,9 @@ public abstract class AwsComponentTest {
         @MockBean
         private AmazonAutoScalingRetryClient amazonAutoScalingRetryClient;
 
+        @MockBean
+        private MetricService metricService;
+
         @Bean
         public AwsClient awsClient() {
             AwsClient awsClient = mock(AwsClient.class);
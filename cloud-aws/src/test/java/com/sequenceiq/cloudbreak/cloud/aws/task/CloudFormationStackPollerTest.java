@@ -0,0 +1,85 @@
+package com.sequenceiq.cloudbreak.cloud.aws.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.amazonaws.services.cloudformation.AmazonCloudFormationClient;
+import com.amazonaws.services.cloudformation.model.DescribeStackEventsRequest;
+import com.amazonaws.services.cloudformation.model.DescribeStackEventsResult;
+import com.amazonaws.services.cloudformation.model.DescribeStacksRequest;
+import com.amazonaws.services.cloudformation.model.DescribeStacksResult;
+import com.amazonaws.services.cloudformation.model.Stack;
+import com.amazonaws.services.cloudformation.model.StackEvent;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CloudFormationStackPollerTest {
+
+    private static final String STACK_NAME = "stackName";
+
+    private static final long TIMEOUT_SECONDS = 10L;
+
+    private static final long SECOND_CALL_DELAY_MS = 100L;
+
+    @Mock
+    private AmazonCloudFormationClient cfClient;
+
+    private final CloudFormationStackPoller underTest = new CloudFormationStackPoller();
+
+    @Test
+    public void describeStackShouldCoalesceConcurrentCalls() throws Exception {
+        CountDownLatch describeStarted = new CountDownLatch(1);
+        CountDownLatch releaseDescribe = new CountDownLatch(1);
+        Stack stack = new Stack().withStackName(STACK_NAME).withStackStatus("CREATE_IN_PROGRESS");
+        when(cfClient.describeStacks(any(DescribeStacksRequest.class))).thenAnswer(invocation -> {
+            describeStarted.countDown();
+            releaseDescribe.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return new DescribeStacksResult().withStacks(stack);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Stack> first = executor.submit(() -> underTest.describeStack(cfClient, STACK_NAME));
+            describeStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Future<Stack> second = executor.submit(() -> underTest.describeStack(cfClient, STACK_NAME));
+            Thread.sleep(SECOND_CALL_DELAY_MS);
+            releaseDescribe.countDown();
+
+            assertThat(first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isSameAs(stack);
+            assertThat(second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isSameAs(stack);
+            verify(cfClient, times(1)).describeStacks(any(DescribeStacksRequest.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getStackEventsShouldReadTheNewestPage() {
+        when(cfClient.describeStackEvents(any(DescribeStackEventsRequest.class)))
+                .thenReturn(new DescribeStackEventsResult().withStackEvents(event("2"), event("1")).withNextToken("page2"));
+
+        List<StackEvent> events = underTest.getStackEvents(cfClient, STACK_NAME);
+
+        assertThat(events.stream().map(StackEvent::getEventId).collect(Collectors.toList())).containsExactly("2", "1");
+        verify(cfClient, times(1)).describeStackEvents(any(DescribeStackEventsRequest.class));
+    }
+
+    private StackEvent event(String eventId) {
+        return new StackEvent().withEventId(eventId).withResourceStatus("CREATE_COMPLETE");
+    }
+}
@@ -5,9 +5,11 @@ import static com.sequenceiq.cloudbreak.cloud.model.CloudInstance.INSTANCE_NAME;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -31,6 +33,8 @@ import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
 
 import rx.Completable;
 import rx.schedulers.Schedulers;
@@ -43,24 +47,27 @@ public class AzureVirtualMachineService {
     @Inject
     private AzureResourceGroupMetadataProvider azureResourceGroupMetadataProvider;
 
+    @Inject
+    private MetricService metricService;
+
     @Retryable(backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000), maxAttempts = 5)
     public Map<String, VirtualMachine> getVirtualMachinesByName(AzureClient azureClient, String resourceGroup, Collection<String> privateInstanceIds) {
-        LOGGER.debug("Starting to retrieve vm metadata from Azure for ids: {}", privateInstanceIds);
-        PagedList<VirtualMachine> virtualMachines = azureClient.getVirtualMachines(resourceGroup);
-        while (hasMissingVm(virtualMachines, privateInstanceIds) && virtualMachines.hasNextPage()) {
-            virtualMachines.loadNextPage();
-        }
-        validateResponse(virtualMachines, privateInstanceIds);
-        return collectVirtualMachinesByName(privateInstanceIds, virtualMachines);
+        return getVirtualMachinesByName(azureClient, resourceGroup, privateInstanceIds, new AtomicInteger());
     }
 
     @Retryable(backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000), maxAttempts = 5)
     public Map<String, VirtualMachine> getVmsFromAzureAndFillStatuses(AuthenticatedContext ac, List<CloudInstance> cloudInstances,
             List<CloudVmInstanceStatus> statuses) {
-        Map<String, VirtualMachine> virtualMachines = getVmsFromAzureAndFillStatusesIfResourceGroupRemoved(ac, cloudInstances, statuses);
+        long start = System.currentTimeMillis();
+        AtomicInteger armCalls = new AtomicInteger();
+        Map<String, VirtualMachine> virtualMachines = getVmsFromAzureAndFillStatusesIfResourceGroupRemoved(ac, cloudInstances, statuses, armCalls);
         LOGGER.info("VirtualMachines from Azure: {}", virtualMachines.keySet());
         refreshInstanceViews(virtualMachines);
+        armCalls.addAndGet(virtualMachines.size());
         fillVmStatues(cloudInstances, statuses, virtualMachines);
+        LOGGER.debug("Status of {} vms was checked with {} Azure api calls", cloudInstances.size(), armCalls.get());
+        metricService.submit(MetricType.AZURE_VM_STATUS_CHECK_DURATION, System.currentTimeMillis() - start);
+        metricService.submit(MetricType.AZURE_VM_STATUS_CHECK_API_CALLS, armCalls.get());
         return virtualMachines;
     }
 
@@ -75,6 +82,20 @@ public class AzureVirtualMachineService {
         Completable.merge(refreshInstanceViewCompletables).await();
     }
 
+    private Map<String, VirtualMachine> getVirtualMachinesByName(AzureClient azureClient, String resourceGroup, Collection<String> privateInstanceIds,
+            AtomicInteger armCalls) {
+        LOGGER.debug("Starting to retrieve vm metadata from Azure for ids: {}", privateInstanceIds);
+        Set<String> privateInstanceIdSet = new HashSet<>(privateInstanceIds);
+        PagedList<VirtualMachine> virtualMachines = azureClient.getVirtualMachines(resourceGroup);
+        armCalls.incrementAndGet();
+        while (hasMissingVm(virtualMachines, privateInstanceIdSet) && virtualMachines.hasNextPage()) {
+            virtualMachines.loadNextPage();
+            armCalls.incrementAndGet();
+        }
+        validateResponse(virtualMachines, privateInstanceIdSet);
+        return collectVirtualMachinesByName(privateInstanceIdSet, virtualMachines);
+    }
+
     private boolean hasMissingVm(PagedList<VirtualMachine> virtualMachines, Collection<String> privateInstanceIds) {
         Set<String> virtualMachineNames = virtualMachines
                 .stream()
@@ -100,31 +121,24 @@ public class AzureVirtualMachineService {
     }
 
     private Map<String, VirtualMachine> getVmsFromAzureAndFillStatusesIfResourceGroupRemoved(AuthenticatedContext ac, List<CloudInstance> cloudInstances,
-            List<CloudVmInstanceStatus> statuses) {
+            List<CloudVmInstanceStatus> statuses, AtomicInteger armCalls) {
         LOGGER.info("Get vms from azure: {}", cloudInstances);
         AzureClient azureClient = ac.getParameter(AzureClient.class);
-        ArrayListMultimap<String, String> resourceGroupInstanceMultimap = cloudInstances.stream()
+        ArrayListMultimap<String, CloudInstance> resourceGroupInstanceMultimap = cloudInstances.stream()
                 .collect(Multimaps.toMultimap(
                         cloudInstance -> azureResourceGroupMetadataProvider.getResourceGroupName(ac.getCloudContext(), cloudInstance),
-                        CloudInstance::getInstanceId,
+                        cloudInstance -> cloudInstance,
                         ArrayListMultimap::create));
 
         Map<String, VirtualMachine> virtualMachines = new HashMap<>();
-        for (Map.Entry<String, Collection<String>> resourceGroupInstanceIdsMap : resourceGroupInstanceMultimap.asMap().entrySet()) {
-            LOGGER.info("Get vms for resource group and add to all virtualmachines: {}", resourceGroupInstanceIdsMap.getKey());
+        for (Map.Entry<String, Collection<CloudInstance>> resourceGroupInstancesMap : resourceGroupInstanceMultimap.asMap().entrySet()) {
+            LOGGER.info("Get vms for resource group and add to all virtualmachines: {}", resourceGroupInstancesMap.getKey());
+            List<String> instanceIds = resourceGroupInstancesMap.getValue().stream().map(CloudInstance::getInstanceId).collect(Collectors.toList());
             try {
-                virtualMachines.putAll(getVirtualMachinesByName(azureClient,
-                        resourceGroupInstanceIdsMap.getKey(), resourceGroupInstanceIdsMap.getValue()));
+                virtualMachines.putAll(getVirtualMachinesByName(azureClient, resourceGroupInstancesMap.getKey(), instanceIds, armCalls));
             } catch (CloudException e) {
-                for (String instance : resourceGroupInstanceIdsMap.getValue()) {
-                    cloudInstances.stream().filter(cloudInstance -> instance.equals(cloudInstance.getInstanceId())).findFirst().ifPresent(cloudInstance -> {
-                        if (e.body() != null && "ResourceNotFound".equals(e.body().code())) {
-                            statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED));
-                        } else {
-                            statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.UNKNOWN));
-                        }
-                    });
-                }
+                InstanceStatus status = e.body() != null && "ResourceNotFound".equals(e.body().code()) ? InstanceStatus.TERMINATED : InstanceStatus.UNKNOWN;
+                resourceGroupInstancesMap.getValue().forEach(cloudInstance -> statuses.add(new CloudVmInstanceStatus(cloudInstance, status)));
             }
         }
         return virtualMachines;
@@ -133,15 +147,15 @@ public class AzureVirtualMachineService {
     private void fillVmStatues(List<CloudInstance> cloudInstances, List<CloudVmInstanceStatus> statuses, Map<String, VirtualMachine> virtualMachines) {
         LOGGER.info("Fill vm statuses from returned virtualmachines from azure: {}", virtualMachines.keySet());
         for (CloudInstance cloudInstance : cloudInstances) {
-            virtualMachines.values().stream()
-                    .filter(virtualMachine -> virtualMachine.name().equals(cloudInstance.getInstanceId()))
-                    .findFirst()
-                    .ifPresentOrElse(virtualMachine -> {
-                        PowerState virtualMachinePowerState = virtualMachine.powerState();
-                        String computerName = virtualMachine.computerName();
-                        cloudInstance.putParameter(INSTANCE_NAME, computerName);
-                        statuses.add(new CloudVmInstanceStatus(cloudInstance, AzureInstanceStatus.get(virtualMachinePowerState)));
-                    }, () -> statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED)));
+            VirtualMachine virtualMachine = virtualMachines.get(cloudInstance.getInstanceId());
+            if (virtualMachine != null) {
+                PowerState virtualMachinePowerState = virtualMachine.powerState();
+                String computerName = virtualMachine.computerName();
+                cloudInstance.putParameter(INSTANCE_NAME, computerName);
+                statuses.add(new CloudVmInstanceStatus(cloudInstance, AzureInstanceStatus.get(virtualMachinePowerState)));
+            } else {
+                statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED));
+            }
         }
     }
 }
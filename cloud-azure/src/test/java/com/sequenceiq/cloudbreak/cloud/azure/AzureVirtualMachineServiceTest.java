@@ -1,9 +1,15 @@
 package com.sequenceiq.cloudbreak.cloud.azure;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -15,9 +21,20 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.compute.PowerState;
 import com.microsoft.azure.management.compute.VirtualMachine;
 import com.microsoft.rest.RestException;
 import com.sequenceiq.cloudbreak.cloud.azure.client.AzureClient;
+import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+
+import rx.Observable;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AzureVirtualMachineServiceTest {
@@ -36,6 +53,12 @@ public class AzureVirtualMachineServiceTest {
     @Mock
     private AzureClient azureClient;
 
+    @Mock
+    private AzureResourceGroupMetadataProvider azureResourceGroupMetadataProvider;
+
+    @Mock
+    private MetricService metricService;
+
     @Test
     public void testGetVirtualMachinesByIdShouldReturnTheVirtualMachines() {
         Set<String> privateInstanceIds = createPrivateInstanceIds();
@@ -63,6 +86,31 @@ public class AzureVirtualMachineServiceTest {
         assertEquals(1, actual.size());
     }
 
+    @Test
+    public void testGetVmsFromAzureAndFillStatusesShouldMatchTheInstancesByName() {
+        PagedList<VirtualMachine> virtualMachines = createPagedListWithOnePage();
+        VirtualMachine virtualMachine = virtualMachines.get(0);
+        when(virtualMachine.powerState()).thenReturn(PowerState.RUNNING);
+        when(virtualMachine.refreshInstanceViewAsync()).thenReturn(Observable.empty());
+        when(azureClient.getVirtualMachines(RESOURCE_GROUP)).thenReturn(virtualMachines);
+        when(azureResourceGroupMetadataProvider.getResourceGroupName(any(CloudContext.class), any(CloudInstance.class))).thenReturn(RESOURCE_GROUP);
+        AuthenticatedContext ac = new AuthenticatedContext(mock(CloudContext.class), new CloudCredential("1", "credential"));
+        ac.putParameter(AzureClient.class, azureClient);
+        CloudInstance running = new CloudInstance(INSTANCE_1, null, null);
+        CloudInstance deleted = new CloudInstance(INSTANCE_2, null, null);
+        List<CloudVmInstanceStatus> statuses = new ArrayList<>();
+
+        underTest.getVmsFromAzureAndFillStatuses(ac, List.of(running, deleted), statuses);
+
+        assertEquals(2, statuses.size());
+        assertEquals(running, statuses.get(0).getCloudInstance());
+        assertEquals(InstanceStatus.STARTED, statuses.get(0).getStatus());
+        assertEquals(deleted, statuses.get(1).getCloudInstance());
+        assertEquals(InstanceStatus.TERMINATED, statuses.get(1).getStatus());
+        verify(metricService).submit(MetricType.AZURE_VM_STATUS_CHECK_API_CALLS, 2);
+        verify(metricService).submit(eq(MetricType.AZURE_VM_STATUS_CHECK_DURATION), anyDouble());
+    }
+
     private PagedList<VirtualMachine> createPagedList() {
         PagedList<VirtualMachine> pagedList = new PagedList<>() {
             @Override
@@ -0,0 +1,182 @@
+package com.sequenceiq.cloudbreak.polling;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+
+import reactor.fn.timer.HashWheelTimer;
+import reactor.fn.timer.Timer;
+
+/**
+ * Non-blocking counterpart of {@link PollingService}. The waits between the attempts are scheduled on a hashed wheel timer and the
+ * {@link StatusCheckerTask} calls run on a small worker pool, so an in-flight poll does not pin a thread while it is waiting.
+ * The returned future can be cancelled, which stops the polling before the next attempt.
+ */
+@Component
+public class AsyncPollingService<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncPollingService.class);
+
+    @Value("${cb.polling.async.worker.pool.size:8}")
+    private int workerPoolSize;
+
+    @Value("${cb.polling.async.timer.resolution.ms:50}")
+    private int timerResolution;
+
+    @Inject
+    private MetricService metricService;
+
+    private final AtomicInteger activePolls = new AtomicInteger();
+
+    private Timer timer;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        timer = new HashWheelTimer(timerResolution);
+        workers = new MDCCleanerThreadPoolExecutor(workerPoolSize, workerPoolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("async-poller-%d").setDaemon(true).build(), new AbortPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        timer.cancel();
+        workers.shutdownNow();
+    }
+
+    public CompletableFuture<Pair<PollingResult, Exception>> pollWithTimeout(StatusCheckerTask<T> statusCheckerTask, T t, long interval, int maxAttempts,
+            int maxFailure) {
+        return pollWithTimeout(statusCheckerTask, t, interval, new AttemptBasedTimeoutChecker(maxAttempts), maxFailure);
+    }
+
+    public CompletableFuture<Pair<PollingResult, Exception>> pollWithAbsoluteTimeout(StatusCheckerTask<T> statusCheckerTask, T t, long interval,
+            long waitSec, int maxFailure) {
+        return pollWithTimeout(statusCheckerTask, t, interval, new AbsolutTimeBasedTimeoutChecker(waitSec), maxFailure);
+    }
+
+    /**
+     * Same contract as {@link PollingService#pollWithTimeout(StatusCheckerTask, Object, long, TimeoutChecker, int)}, but returns immediately.
+     */
+    public CompletableFuture<Pair<PollingResult, Exception>> pollWithTimeout(StatusCheckerTask<T> statusCheckerTask, T t, long interval,
+            TimeoutChecker timeoutChecker, int maxFailure) {
+        PollingContext<T> context = new PollingContext<>(statusCheckerTask, t, interval, timeoutChecker, maxFailure);
+        metricService.submit(MetricType.POLLING_ASYNC_ACTIVE, activePolls.incrementAndGet());
+        context.result.whenComplete((result, throwable) -> metricService.submit(MetricType.POLLING_ASYNC_ACTIVE, activePolls.decrementAndGet()));
+        workers.execute(() -> {
+            if (!context.result.isDone() && statusCheckerTask.exitPolling(t)) {
+                complete(context, PollingResult.EXIT);
+            } else {
+                attempt(context);
+            }
+        });
+        return context.result;
+    }
+
+    public int getActivePollCount() {
+        return activePolls.get();
+    }
+
+    private void attempt(PollingContext<T> context) {
+        if (context.result.isDone()) {
+            LOGGER.debug("Polling has been cancelled.");
+            return;
+        }
+        try {
+            LOGGER.debug("Polling attempt {}.", context.attempts);
+            boolean success = false;
+            try {
+                success = context.statusCheckerTask.checkStatus(context.t);
+            } catch (Exception ex) {
+                LOGGER.debug("Exception occurred in the polling: {}", ex.getMessage(), ex);
+                context.failures++;
+                context.actual = ex;
+            }
+            if (context.failures >= context.maxFailure) {
+                LOGGER.debug("Polling failure reached the limit which was {}, poller will drop the last exception.", context.maxFailure);
+                context.statusCheckerTask.handleException(context.actual);
+                complete(context, PollingResult.FAILURE);
+            } else if (success) {
+                LOGGER.debug(context.statusCheckerTask.successMessage(context.t));
+                complete(context, PollingResult.SUCCESS);
+            } else {
+                timer.submit(time -> workers.execute(() -> afterInterval(context)), context.interval, TimeUnit.MILLISECONDS);
+            }
+        } catch (RuntimeException e) {
+            context.result.completeExceptionally(e);
+        }
+    }
+
+    private void afterInterval(PollingContext<T> context) {
+        if (context.result.isDone()) {
+            return;
+        }
+        try {
+            context.attempts++;
+            if (context.timeoutChecker.checkTimeout()) {
+                LOGGER.debug("Poller timeout.");
+                context.statusCheckerTask.handleTimeout(context.t);
+                complete(context, PollingResult.TIMEOUT);
+            } else if (context.statusCheckerTask.exitPolling(context.t)) {
+                LOGGER.debug("Poller exiting.");
+                complete(context, PollingResult.EXIT);
+            } else {
+                attempt(context);
+            }
+        } catch (RuntimeException e) {
+            context.result.completeExceptionally(e);
+        }
+    }
+
+    private void complete(PollingContext<T> context, PollingResult pollingResult) {
+        context.result.complete(new ImmutablePair<>(pollingResult, context.actual));
+    }
+
+    private static class PollingContext<T> {
+
+        private final CompletableFuture<Pair<PollingResult, Exception>> result = new CompletableFuture<>();
+
+        private final StatusCheckerTask<T> statusCheckerTask;
+
+        private final T t;
+
+        private final long interval;
+
+        private final TimeoutChecker timeoutChecker;
+
+        private final int maxFailure;
+
+        private int attempts;
+
+        private int failures;
+
+        private Exception actual;
+
+        PollingContext(StatusCheckerTask<T> statusCheckerTask, T t, long interval, TimeoutChecker timeoutChecker, int maxFailure) {
+            this.statusCheckerTask = statusCheckerTask;
+            this.t = t;
+            this.interval = interval;
+            this.timeoutChecker = timeoutChecker;
+            this.maxFailure = maxFailure;
+        }
+    }
+}
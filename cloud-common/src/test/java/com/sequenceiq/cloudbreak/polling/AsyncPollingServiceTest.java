@@ -0,0 +1,142 @@
+package com.sequenceiq.cloudbreak.polling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+
+public class AsyncPollingServiceTest {
+
+    private static final long INTERVAL = 10L;
+
+    private final AsyncPollingService<AtomicInteger> underTest = new AsyncPollingService<>();
+
+    private final MetricService metricService = mock(MetricService.class);
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(underTest, "metricService", metricService);
+        ReflectionTestUtils.setField(underTest, "workerPoolSize", 2);
+        ReflectionTestUtils.setField(underTest, "timerResolution", 5);
+        underTest.init();
+    }
+
+    @After
+    public void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    public void testSuccessAfterSomeAttempts() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(new CountingTask(3, false), counter, INTERVAL, 100, 1)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(PollingResult.SUCCESS, result.getLeft());
+        assertEquals(3, counter.get());
+        assertEquals(0, underTest.getActivePollCount());
+        verify(metricService).submit(MetricType.POLLING_ASYNC_ACTIVE, 1);
+        verify(metricService, timeout(1000)).submit(MetricType.POLLING_ASYNC_ACTIVE, 0);
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(new CountingTask(Integer.MAX_VALUE, false), new AtomicInteger(), INTERVAL, 3, 1)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(PollingResult.TIMEOUT, result.getLeft());
+    }
+
+    @Test
+    public void testExit() throws Exception {
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(new CountingTask(Integer.MAX_VALUE, true), new AtomicInteger(), INTERVAL, 100, 1)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(PollingResult.EXIT, result.getLeft());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(new FailingTask(), new AtomicInteger(), INTERVAL, 100, 2)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(PollingResult.FAILURE, result.getLeft());
+        assertTrue(result.getRight() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testCancellationStopsPolling() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        CompletableFuture<Pair<PollingResult, Exception>> future =
+                underTest.pollWithTimeout(new CountingTask(Integer.MAX_VALUE, false), counter, INTERVAL, 1000, 1);
+
+        future.cancel(true);
+        int attemptsAfterCancel = counter.get();
+        Thread.sleep(INTERVAL * 5);
+
+        assertTrue(counter.get() <= attemptsAfterCancel + 1);
+        assertEquals(0, underTest.getActivePollCount());
+    }
+
+    private static class CountingTask extends SimpleStatusCheckerTask<AtomicInteger> {
+
+        private final int successAfter;
+
+        private final boolean exit;
+
+        CountingTask(int successAfter, boolean exit) {
+            this.successAfter = successAfter;
+            this.exit = exit;
+        }
+
+        @Override
+        public boolean checkStatus(AtomicInteger counter) {
+            return counter.incrementAndGet() >= successAfter;
+        }
+
+        @Override
+        public void handleTimeout(AtomicInteger counter) {
+        }
+
+        @Override
+        public String successMessage(AtomicInteger counter) {
+            return "success";
+        }
+
+        @Override
+        public boolean exitPolling(AtomicInteger counter) {
+            return exit;
+        }
+    }
+
+    private static class FailingTask extends CountingTask {
+
+        FailingTask() {
+            super(Integer.MAX_VALUE, false);
+        }
+
+        @Override
+        public boolean checkStatus(AtomicInteger counter) {
+            throw new IllegalStateException("failed");
+        }
+
+        @Override
+        public void handleException(Exception e) {
+        }
+    }
+}
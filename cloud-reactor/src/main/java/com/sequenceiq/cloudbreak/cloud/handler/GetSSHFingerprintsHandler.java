@@ -1,7 +1,10 @@
 package com.sequenceiq.cloudbreak.cloud.handler;
 
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -9,6 +12,7 @@ import javax.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
 import com.sequenceiq.cloudbreak.cloud.CloudConnector;
@@ -57,33 +61,54 @@ public class GetSSHFingerprintsHandler implements CloudPlatformEventHandler<GetS
             CloudInstance cloudInstance = fingerprintsRequest.getCloudInstance();
             CloudConnector<?> connector = cloudPlatformConnectors.get(cloudContext.getPlatformVariant());
             AuthenticatedContext ac = connector.authentication().authenticate(cloudContext, fingerprintsRequest.getCloudCredential());
-            GetSSHFingerprintsResult fingerprintsResult;
-            try {
-                String initialConsoleOutput = connector.instances().getConsoleOutput(ac, cloudInstance);
-                InstanceConsoleOutputResult consoleOutputResult = new InstanceConsoleOutputResult(cloudContext, cloudInstance, initialConsoleOutput);
-                PollTask<InstanceConsoleOutputResult> outputPollerTask = statusCheckFactory.newPollConsoleOutputTask(connector.instances(), ac, cloudInstance);
-                if (!outputPollerTask.completed(consoleOutputResult)) {
-                    consoleOutputResult = syncPollingScheduler.schedule(outputPollerTask);
-                }
-                Set<String> sshFingerprints = FingerprintParserUtil.parseFingerprints(consoleOutputResult.getConsoleOutput());
-                if (sshFingerprints.isEmpty()) {
-                    throw new RuntimeException("Failed to get SSH fingerprints from the specified VM instance.");
-                } else {
-                    fingerprintsResult = new GetSSHFingerprintsResult(fingerprintsRequest.getResourceId(), sshFingerprints);
-                }
-            } catch (CloudOperationNotSupportedException ignored) {
-                fingerprintsResult = new GetSSHFingerprintsResult(fingerprintsRequest.getResourceId(), new HashSet<>());
+            String initialConsoleOutput = connector.instances().getConsoleOutput(ac, cloudInstance);
+            InstanceConsoleOutputResult consoleOutputResult = new InstanceConsoleOutputResult(cloudContext, cloudInstance, initialConsoleOutput);
+            PollTask<InstanceConsoleOutputResult> outputPollerTask = statusCheckFactory.newPollConsoleOutputTask(connector.instances(), ac, cloudInstance);
+            if (outputPollerTask.completed(consoleOutputResult)) {
+                notifyFingerprints(getSSHFingerprintsRequestEvent, consoleOutputResult);
+            } else {
+                Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+                syncPollingScheduler.scheduleAsync(outputPollerTask).whenComplete((polledConsoleOutput, error) -> {
+                    Optional.ofNullable(mdcContext).ifPresent(MDC::setContextMap);
+                    if (error == null) {
+                        notifyFingerprints(getSSHFingerprintsRequestEvent, polledConsoleOutput);
+                    } else {
+                        notifyFailure(getSSHFingerprintsRequestEvent, error instanceof CompletionException ? error.getCause() : error);
+                    }
+                });
             }
-            fingerprintsRequest.getResult().onNext(fingerprintsResult);
-            eventBus.notify(fingerprintsResult.selector(), new Event<>(getSSHFingerprintsRequestEvent.getHeaders(), fingerprintsResult));
-            LOGGER.debug("GetSSHFingerprintsHandler finished");
         } catch (Exception e) {
-            GetSSHFingerprintsResult failure = new GetSSHFingerprintsResult("Failed to get ssh fingerprints!", e, fingerprintsRequest.getResourceId());
-            fingerprintsRequest.getResult().onNext(failure);
-            eventBus.notify(failure.selector(), new Event<>(getSSHFingerprintsRequestEvent.getHeaders(), failure));
+            notifyFailure(getSSHFingerprintsRequestEvent, e);
+        }
+    }
+
+    private void notifyFingerprints(Event<GetSSHFingerprintsRequest> getSSHFingerprintsRequestEvent, InstanceConsoleOutputResult consoleOutputResult) {
+        Long resourceId = getSSHFingerprintsRequestEvent.getData().getResourceId();
+        Set<String> sshFingerprints = FingerprintParserUtil.parseFingerprints(consoleOutputResult.getConsoleOutput());
+        if (sshFingerprints.isEmpty()) {
+            notifyFailure(getSSHFingerprintsRequestEvent, new RuntimeException("Failed to get SSH fingerprints from the specified VM instance."));
+        } else {
+            notify(getSSHFingerprintsRequestEvent, new GetSSHFingerprintsResult(resourceId, sshFingerprints));
+            LOGGER.debug("GetSSHFingerprintsHandler finished");
+        }
+    }
+
+    private void notifyFailure(Event<GetSSHFingerprintsRequest> getSSHFingerprintsRequestEvent, Throwable error) {
+        Long resourceId = getSSHFingerprintsRequestEvent.getData().getResourceId();
+        if (error instanceof CloudOperationNotSupportedException) {
+            notify(getSSHFingerprintsRequestEvent, new GetSSHFingerprintsResult(resourceId, new HashSet<>()));
+        } else {
+            Exception cause = error instanceof Exception ? (Exception) error : new RuntimeException(error);
+            notify(getSSHFingerprintsRequestEvent, new GetSSHFingerprintsResult("Failed to get ssh fingerprints!", cause, resourceId));
         }
     }
 
+    private void notify(Event<GetSSHFingerprintsRequest> getSSHFingerprintsRequestEvent, GetSSHFingerprintsResult fingerprintsResult) {
+        GetSSHFingerprintsRequest<GetSSHFingerprintsResult> fingerprintsRequest = getSSHFingerprintsRequestEvent.getData();
+        fingerprintsRequest.getResult().onNext(fingerprintsResult);
+        eventBus.notify(fingerprintsResult.selector(), new Event<>(getSSHFingerprintsRequestEvent.getHeaders(), fingerprintsResult));
+    }
+
     public static class FingerprintParserUtil {
 
         private static final Logger LOGGER = LoggerFactory.getLogger(FingerprintParserUtil.class);
@@ -16,6 +16,7 @@ import org.springframework.stereotype.Component;
 
 import com.sequenceiq.cloudbreak.cloud.event.CloudPlatformRequest;
 import com.sequenceiq.cloudbreak.cloud.handler.CloudPlatformEventHandler;
+import com.sequenceiq.flow.reactor.config.PartitionedEventDispatcher;
 
 import reactor.bus.EventBus;
 
@@ -29,6 +30,9 @@ public class CloudPlatformInitializer {
     @Inject
     private EventBus eventBus;
 
+    @Inject
+    private PartitionedEventDispatcher partitionedEventDispatcher;
+
     @PostConstruct
     public void init() {
         validateSelectors();
@@ -36,7 +40,8 @@ public class CloudPlatformInitializer {
         for (CloudPlatformEventHandler<?> handler : handlers) {
             String selector = CloudPlatformRequest.selector(handler.type());
             LOGGER.debug("Registering handler [{}] for selector [{}]", handler.getClass(), selector);
-            eventBus.on($(selector), handler);
+            // the senders of the cloud platform requests may wait for the result, so they are not consumed on the lanes
+            eventBus.on($(selector), partitionedEventDispatcher.wrapRequest(handler));
         }
     }
 
@@ -1,9 +1,13 @@
 package com.sequenceiq.cloudbreak.cloud.scheduler;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.inject.Inject;
+
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Component;
 
 import com.dyngr.Polling;
@@ -11,6 +15,9 @@ import com.dyngr.core.AttemptResults;
 import com.dyngr.exception.PollerStoppedException;
 import com.dyngr.exception.UserBreakException;
 import com.sequenceiq.cloudbreak.cloud.task.PollTask;
+import com.sequenceiq.cloudbreak.polling.AsyncPollingService;
+import com.sequenceiq.cloudbreak.polling.PollingResult;
+import com.sequenceiq.cloudbreak.polling.StatusCheckerTask;
 
 @Component
 public class SyncPollingScheduler<T> {
@@ -21,6 +28,9 @@ public class SyncPollingScheduler<T> {
 
     private static final int FAILURE_TOLERANT_ATTEMPT = 3;
 
+    @Inject
+    private AsyncPollingService<PollTask<T>> asyncPollingService;
+
     public T schedule(PollTask<T> task) throws Exception {
         return schedule(task, POLLING_INTERVAL, MAX_POLLING_ATTEMPT, FAILURE_TOLERANT_ATTEMPT);
     }
@@ -55,4 +65,82 @@ public class SyncPollingScheduler<T> {
             throw (Exception) e.getCause();
         }
     }
+
+    public CompletableFuture<T> scheduleAsync(PollTask<T> task) {
+        return scheduleAsync(task, POLLING_INTERVAL, MAX_POLLING_ATTEMPT, FAILURE_TOLERANT_ATTEMPT);
+    }
+
+    /**
+     * Same semantics as {@link #schedule(PollTask, int, int, int)}, but the calling thread is not blocked while waiting between attempts.
+     */
+    public CompletableFuture<T> scheduleAsync(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) {
+        PollTaskStatusChecker<T> statusChecker = new PollTaskStatusChecker<>();
+        return asyncPollingService.pollWithTimeout(statusChecker, task, interval, maxAttempt, maxFailureTolerant)
+                .thenApply(result -> toTaskResult(task, statusChecker, result, TimeUnit.MILLISECONDS.toSeconds((long) interval * maxAttempt)));
+    }
+
+    private T toTaskResult(PollTask<T> task, PollTaskStatusChecker<T> statusChecker, Pair<PollingResult, Exception> result, long timeoutSeconds) {
+        switch (result.getLeft()) {
+            case SUCCESS:
+                return statusChecker.result;
+            case EXIT:
+                throw new CancellationException("Task was cancelled.");
+            case TIMEOUT:
+                throw new PollingTimeoutException(String.format("Task (%s) did not finish within %d seconds", task.getClass().getSimpleName(), timeoutSeconds));
+            default:
+                Exception cause = result.getRight();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new PollTaskFailedException(cause);
+        }
+    }
+
+    private static class PollTaskStatusChecker<T> implements StatusCheckerTask<PollTask<T>> {
+
+        private volatile T result;
+
+        @Override
+        public boolean checkStatus(PollTask<T> task) {
+            try {
+                T callResult = task.call();
+                if (task.completed(callResult)) {
+                    result = callResult;
+                    return true;
+                }
+                return false;
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new PollTaskFailedException(e);
+            }
+        }
+
+        @Override
+        public void handleTimeout(PollTask<T> task) {
+        }
+
+        @Override
+        public String successMessage(PollTask<T> task) {
+            return String.format("Task (%s) finished", task.getClass().getSimpleName());
+        }
+
+        @Override
+        public boolean exitPolling(PollTask<T> task) {
+            return task.cancelled();
+        }
+
+        @Override
+        public void handleException(Exception e) {
+        }
+    }
+
+    public static class PollingTimeoutException extends RuntimeException {
+        public PollingTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    public static class PollTaskFailedException extends RuntimeException {
+        public PollTaskFailedException(Throwable cause) {
+            super(cause);
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package com.sequenceiq.cloudbreak.cloud.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sequenceiq.cloudbreak.cloud.Authenticator;
+import com.sequenceiq.cloudbreak.cloud.CloudConnector;
+import com.sequenceiq.cloudbreak.cloud.InstanceConnector;
+import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.event.instance.GetSSHFingerprintsRequest;
+import com.sequenceiq.cloudbreak.cloud.event.instance.GetSSHFingerprintsResult;
+import com.sequenceiq.cloudbreak.cloud.event.instance.InstanceConsoleOutputResult;
+import com.sequenceiq.cloudbreak.cloud.event.model.EventStatus;
+import com.sequenceiq.cloudbreak.cloud.init.CloudPlatformConnectors;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
+import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler.PollingTimeoutException;
+import com.sequenceiq.cloudbreak.cloud.task.PollTask;
+import com.sequenceiq.cloudbreak.cloud.task.PollTaskFactory;
+
+import reactor.bus.Event;
+import reactor.bus.EventBus;
+
+public class GetSSHFingerprintsHandlerTest {
+
+    private static final String FINGERPRINT = "aa:bb:cc:dd:ee:ff:00:11:22:33:44:55:66:77:88:99";
+
+    @Mock
+    private PollTaskFactory statusCheckFactory;
+
+    @Mock
+    private SyncPollingScheduler<InstanceConsoleOutputResult> syncPollingScheduler;
+
+    @Mock
+    private CloudPlatformConnectors cloudPlatformConnectors;
+
+    @Mock
+    private EventBus eventBus;
+
+    @Mock
+    private CloudConnector<Object> cloudConnector;
+
+    @Mock
+    private Authenticator authenticator;
+
+    @Mock
+    private InstanceConnector instanceConnector;
+
+    @Mock
+    private AuthenticatedContext authenticatedContext;
+
+    @Mock
+    private CloudContext cloudContext;
+
+    @Mock
+    private PollTask<InstanceConsoleOutputResult> pollTask;
+
+    @InjectMocks
+    private GetSSHFingerprintsHandler underTest;
+
+    private final CloudInstance cloudInstance = new CloudInstance("instanceId", null, null);
+
+    private Event<GetSSHFingerprintsRequest> event;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        CloudCredential cloudCredential = new CloudCredential("crn", "credential");
+        event = new Event<>(new GetSSHFingerprintsRequest<GetSSHFingerprintsResult>(cloudContext, cloudCredential, cloudInstance));
+        when(cloudPlatformConnectors.get(any())).thenReturn(cloudConnector);
+        when(cloudConnector.authentication()).thenReturn(authenticator);
+        when(cloudConnector.instances()).thenReturn(instanceConnector);
+        when(authenticator.authenticate(cloudContext, cloudCredential)).thenReturn(authenticatedContext);
+        when(instanceConnector.getConsoleOutput(authenticatedContext, cloudInstance)).thenReturn("booting");
+        when(statusCheckFactory.newPollConsoleOutputTask(instanceConnector, authenticatedContext, cloudInstance)).thenReturn(pollTask);
+    }
+
+    @Test
+    public void testFingerprintsAreSentWhenTheAsyncPollingFinishes() throws Exception {
+        CompletableFuture<InstanceConsoleOutputResult> polling = new CompletableFuture<>();
+        when(syncPollingScheduler.scheduleAsync(pollTask)).thenReturn(polling);
+
+        underTest.accept(event);
+
+        verifyZeroInteractions(eventBus);
+        verify(syncPollingScheduler, never()).schedule(any());
+
+        polling.complete(new InstanceConsoleOutputResult(cloudContext, cloudInstance, FINGERPRINT + " root@host (RSA)"));
+
+        GetSSHFingerprintsResult result = capturedResult();
+        assertEquals(EventStatus.OK, result.getStatus());
+        assertTrue(result.getSshFingerprints().contains(FINGERPRINT));
+    }
+
+    @Test
+    public void testFailureIsSentWhenTheAsyncPollingTimesOut() {
+        CompletableFuture<InstanceConsoleOutputResult> polling = new CompletableFuture<>();
+        when(syncPollingScheduler.scheduleAsync(pollTask)).thenReturn(polling);
+
+        underTest.accept(event);
+        polling.completeExceptionally(new PollingTimeoutException("Task (PollTask) did not finish within 5000 seconds"));
+
+        GetSSHFingerprintsResult result = capturedResult();
+        assertEquals(EventStatus.FAILED, result.getStatus());
+        assertTrue(result.getErrorDetails() instanceof PollingTimeoutException);
+    }
+
+    private GetSSHFingerprintsResult capturedResult() {
+        ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        verify(eventBus).notify(any(Object.class), eventCaptor.capture());
+        return (GetSSHFingerprintsResult) eventCaptor.getValue().getData();
+    }
+}
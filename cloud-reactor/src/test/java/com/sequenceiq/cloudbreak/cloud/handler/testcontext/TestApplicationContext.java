@@ -52,6 +52,8 @@ import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.Variant;
 import com.sequenceiq.cloudbreak.cloud.notification.PersistenceNotifier;
 import com.sequenceiq.cloudbreak.cloud.service.Persister;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.polling.AsyncPollingService;
 import com.sequenceiq.common.api.type.ResourceType;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
 import com.sequenceiq.flow.service.flowlog.FlowLogDBService;
@@ -59,7 +61,7 @@ import com.sequenceiq.flow.service.flowlog.FlowLogDBService;
 import io.opentracing.Tracer;
 import reactor.Environment;
 
-@MockBeans({@MockBean(ApplicationFlowInformation.class), @MockBean(FlowLogDBService.class)})
+@MockBeans({@MockBean(ApplicationFlowInformation.class), @MockBean(FlowLogDBService.class), @MockBean(MetricService.class)})
 @Configuration
 @ComponentScans({ @ComponentScan("com.sequenceiq.cloudbreak.cloud"), @ComponentScan("com.sequenceiq.flow.reactor"),
         @ComponentScan("com.sequenceiq.cloudbreak.auth")})
@@ -129,6 +131,11 @@ public class TestApplicationContext {
         return cloudInstanceBad;
     }
 
+    @Bean
+    public AsyncPollingService<?> asyncPollingService() {
+        return new AsyncPollingService<>();
+    }
+
     @Bean
     public ListeningScheduledExecutorService listeningScheduledExecutorService() {
         return MoreExecutors.listeningDecorator(new ScheduledThreadPoolExecutor(1));
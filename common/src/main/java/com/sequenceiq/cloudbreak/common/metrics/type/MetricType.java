@@ -6,6 +6,23 @@ public enum MetricType implements Metric {
     VAULT_WRITE("vault.write"),
     VAULT_WRITE_FAILED("vault.write.failed"),
     VAULT_DELETE("vault.delete"),
+    SECRET_SAVE_COUNT("secret.save.count"),
+    SECRET_SAVE_DURATION("secret.save.duration"),
+    SECRET_DELETE_COUNT("secret.delete.count"),
+    SECRET_DELETE_DURATION("secret.delete.duration"),
+    SECRET_READ_CACHE_HIT("secret.read.cache.hit"),
+    SECRET_READ_CACHE_MISS("secret.read.cache.miss"),
+    SALT_CONNECTOR_CREATED("salt.connector.created"),
+    SALT_CONNECTOR_POOL_SIZE("salt.connector.pool.size"),
+    CM_API_CLIENT_CREATED("cm.api.client.created"),
+    CM_API_CLIENT_REUSED("cm.api.client.reused"),
+    CM_API_CLIENT_CACHE_SIZE("cm.api.client.cache.size"),
+    AWS_CLIENT_CREATED("aws.client.created"),
+    AWS_CLIENT_REUSED("aws.client.reused"),
+    AWS_CLIENT_CACHE_SIZE("aws.client.cache.size"),
+    AZURE_VM_STATUS_CHECK_DURATION("azure.vm.status.check.duration"),
+    AZURE_VM_STATUS_CHECK_API_CALLS("azure.vm.status.check.apicalls"),
+    POLLING_ASYNC_ACTIVE("polling.async.active"),
     HEARTBEAT_UPDATE_FAILED("heartbeat.update.failed"),
     REST_OPERATION("rest.operation"),
     REST_OPERATION_FAILED("rest.operation.failed");
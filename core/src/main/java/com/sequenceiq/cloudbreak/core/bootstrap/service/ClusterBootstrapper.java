@@ -179,7 +179,12 @@ public class ClusterBootstrapper {
             if (saltComponent == null) {
                 saltComponent = createSaltComponent(stack, stateConfigZip);
             } else {
-                saltComponent.setAttributes(new Json(singletonMap(ComponentType.SALT_STATE.name(), Base64.encodeBase64String(stateConfigZip))));
+                Json attributes = new Json(singletonMap(ComponentType.SALT_STATE.name(), Base64.encodeBase64String(stateConfigZip)));
+                if (attributes.equals(saltComponent.getAttributes())) {
+                    LOGGER.debug("Salt state component of the cluster is up to date, skipping the update.");
+                    return;
+                }
+                saltComponent.setAttributes(attributes);
             }
             clusterComponentProvider.store(saltComponent);
         } catch (IOException e) {
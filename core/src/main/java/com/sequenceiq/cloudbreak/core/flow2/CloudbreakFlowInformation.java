@@ -82,6 +82,11 @@ public class CloudbreakFlowInformation implements ApplicationFlowInformation {
         return Arrays.asList(StackTerminationFlowConfig.class, ClusterTerminationFlowConfig.class, ExternalDatabaseTerminationFlowConfig.class);
     }
 
+    @Override
+    public List<Class<? extends FlowConfiguration<?>>> getRepairFlows() {
+        return List.of(ManualStackRepairTriggerFlowConfig.class, ChangePrimaryGatewayFlowConfig.class);
+    }
+
     @Override
     public void handleFlowFail(FlowLog flowLog) {
         Stack stack = stackService.getById(flowLog.getResourceId());
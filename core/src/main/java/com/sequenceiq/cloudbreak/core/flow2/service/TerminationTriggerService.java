@@ -56,7 +56,8 @@ public class TerminationTriggerService {
         Optional<FlowLog> optionalFlowLog = findLatestTerminationFlowLogWithInitState(stack);
         if (optionalFlowLog.isPresent()) {
             FlowLog flowLog = optionalFlowLog.get();
-            LOGGER.debug("Found termination flowlog with id [{}] and payload [{}]", flowLog.getFlowId(), flowLog.getPayload());
+            LOGGER.debug("Found termination flowlog with id [{}] for stack [{}] in environment [{}]", flowLog.getFlowId(), stack.getId(),
+                    stack.getEnvironmentCrn());
             handleIfFlowLogExistsForTermination(stack, forced, flowLog);
         } else {
             LOGGER.debug("Couldn't find termination FlowLog with 'INIT_STATE'. Triggering termination");
@@ -87,7 +88,7 @@ public class TerminationTriggerService {
     private boolean isRunningFlowForced(FlowLog fl) {
         Class<?> payloadType = fl.getPayloadType();
         if (TerminationEvent.class.equals(payloadType)) {
-            TerminationEvent payload = (TerminationEvent) JsonReader.jsonToJava(fl.getPayload());
+            TerminationEvent payload = (TerminationEvent) JsonReader.jsonToJava(fl.getDecodedPayload());
             return Boolean.TRUE.equals(payload.getForced());
         } else {
             LOGGER.warn("Payloadtype [{}] is not 'TerminationEvent' for flow [{}]", fl.getPayloadType(), fl.getFlowId());
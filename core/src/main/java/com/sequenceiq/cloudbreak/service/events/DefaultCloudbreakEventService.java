@@ -36,6 +36,7 @@ import com.sequenceiq.cloudbreak.structuredevent.event.StructuredNotificationEve
 import com.sequenceiq.cloudbreak.workspace.model.User;
 import com.sequenceiq.cloudbreak.workspace.model.Workspace;
 import com.sequenceiq.flow.reactor.ErrorHandlerAwareReactorEventFactory;
+import com.sequenceiq.flow.reactor.config.PartitionedEventDispatcher;
 
 import reactor.bus.EventBus;
 import reactor.bus.selector.Selectors;
@@ -83,9 +84,12 @@ public class DefaultCloudbreakEventService implements CloudbreakEventService {
     @Inject
     private StackResponseDecorator stackResponseDecorator;
 
+    @Inject
+    private PartitionedEventDispatcher partitionedEventDispatcher;
+
     @PostConstruct
     public void setup() {
-        reactor.on(Selectors.$(CLOUDBREAK_EVENT), cloudbreakEventHandler);
+        reactor.on(Selectors.$(CLOUDBREAK_EVENT), partitionedEventDispatcher.wrap(cloudbreakEventHandler));
     }
 
     @Override
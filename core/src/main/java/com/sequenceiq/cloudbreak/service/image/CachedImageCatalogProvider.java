@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -14,8 +16,11 @@ import java.util.stream.Stream;
 import javax.inject.Inject;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.Response.Status.Family;
 
 import org.apache.commons.lang3.StringUtils;
@@ -49,12 +54,34 @@ public class CachedImageCatalogProvider {
     @Inject
     private ObjectMapper objectMapper;
 
+    private final Map<String, CatalogValidators> validators = new ConcurrentHashMap<>();
+
     @Cacheable(cacheNames = "imageCatalogCache", key = "#catalogUrl")
     public CloudbreakImageCatalogV3 getImageCatalogV3(String catalogUrl) throws CloudbreakImageCatalogException {
+        return loadImageCatalogV3(catalogUrl);
+    }
+
+    /**
+     * Downloads and parses the catalog without looking into the image catalog cache.
+     */
+    public CloudbreakImageCatalogV3 loadImageCatalogV3(String catalogUrl) throws CloudbreakImageCatalogException {
+        return loadImageCatalogV3(catalogUrl, false).orElse(null);
+    }
+
+    /**
+     * Downloads and parses the catalog only if it has changed since the last download. The validators (ETag, Last-Modified) of the
+     * last response are sent with the request, an empty result means the catalog was not modified. Catalogs read from file are
+     * always read again.
+     */
+    public Optional<CloudbreakImageCatalogV3> loadImageCatalogV3IfModified(String catalogUrl) throws CloudbreakImageCatalogException {
+        return loadImageCatalogV3(catalogUrl, true);
+    }
+
+    private Optional<CloudbreakImageCatalogV3> loadImageCatalogV3(String catalogUrl, boolean conditional) throws CloudbreakImageCatalogException {
         CloudbreakImageCatalogV3 catalog;
         if (catalogUrl == null) {
             LOGGER.info("No image catalog was defined!");
-            return null;
+            return Optional.empty();
         }
 
         try {
@@ -63,8 +90,13 @@ public class CachedImageCatalogProvider {
             if (catalogUrl.startsWith("http")) {
                 Client client = RestClientUtil.get();
                 WebTarget target = client.target(catalogUrl);
-                Response response = target.request().get();
+                Response response = request(target, catalogUrl, conditional).get();
+                if (response.getStatus() == Status.NOT_MODIFIED.getStatusCode()) {
+                    LOGGER.debug("ImageCatalog has not been modified at '{}'.", catalogUrl);
+                    return Optional.empty();
+                }
                 content = readResponse(target, response);
+                saveValidators(catalogUrl, response);
             } else {
                 content = readCatalogFromFile(catalogUrl);
             }
@@ -82,7 +114,31 @@ public class CachedImageCatalogProvider {
         } catch (IOException e) {
             throw new CloudbreakImageCatalogException(String.format("Failed to read image catalog from file: '%s'", catalogUrl), e);
         }
-        return catalog;
+        return Optional.of(catalog);
+    }
+
+    private Builder request(WebTarget target, String catalogUrl, boolean conditional) {
+        Builder request = target.request();
+        CatalogValidators catalogValidators = validators.get(catalogUrl);
+        if (conditional && catalogValidators != null) {
+            if (catalogValidators.getEntityTag() != null) {
+                request = request.header(HttpHeaders.IF_NONE_MATCH, catalogValidators.getEntityTag());
+            }
+            if (catalogValidators.getLastModified() != null) {
+                request = request.header(HttpHeaders.IF_MODIFIED_SINCE, catalogValidators.getLastModified());
+            }
+        }
+        return request;
+    }
+
+    private void saveValidators(String catalogUrl, Response response) {
+        String entityTag = response.getHeaderString(HttpHeaders.ETAG);
+        String lastModified = response.getHeaderString(HttpHeaders.LAST_MODIFIED);
+        if (entityTag != null || lastModified != null) {
+            validators.put(catalogUrl, new CatalogValidators(entityTag, lastModified));
+        } else {
+            validators.remove(catalogUrl);
+        }
     }
 
     private CloudbreakImageCatalogV3 filterImagesByOsType(CloudbreakImageCatalogV3 catalog) {
@@ -151,9 +207,9 @@ public class CachedImageCatalogProvider {
         Stream<String> uuidStream = Stream.of(baseUuids, hdpUuids, hdfUuids, cdhUuids).
                 reduce(Stream::concat).
                 orElseGet(Stream::empty);
-        List<String> uuidList = uuidStream.collect(Collectors.toList());
+        Set<String> uuids = uuidStream.collect(Collectors.toSet());
         List<String> orphanUuids = imageCatalog.getVersions().getCloudbreakVersions().stream().flatMap(cbv -> cbv.getImageIds().stream()).
-                filter(imageId -> !uuidList.contains(imageId)).collect(Collectors.toList());
+                filter(imageId -> !uuids.contains(imageId)).collect(Collectors.toList());
         if (!orphanUuids.isEmpty()) {
             throw new CloudbreakImageCatalogException(String.format("Images with ids: %s is not present in cdh-images block",
                     StringUtils.join(orphanUuids, ",")));
@@ -187,4 +243,24 @@ public class CachedImageCatalogProvider {
             throw new CloudbreakImageCatalogException("Cloudbreak versions cannot be NULL");
         }
     }
+
+    private static class CatalogValidators {
+
+        private final String entityTag;
+
+        private final String lastModified;
+
+        CatalogValidators(String entityTag, String lastModified) {
+            this.entityTag = entityTag;
+            this.lastModified = lastModified;
+        }
+
+        String getEntityTag() {
+            return entityTag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+    }
 }
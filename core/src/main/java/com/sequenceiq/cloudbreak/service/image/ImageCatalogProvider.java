@@ -1,26 +1,98 @@
 package com.sequenceiq.cloudbreak.service.image;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakImageCatalogV3;
 import com.sequenceiq.cloudbreak.core.CloudbreakImageCatalogException;
 
 @Service
 public class ImageCatalogProvider {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageCatalogProvider.class);
+
+    private static final long MAX_ENTRIES = 1000L;
+
+    @Value("${cb.image.catalog.cache.refresh.ahead.enabled:false}")
+    private boolean refreshAheadEnabled;
+
+    @Value("${cb.image.catalog.cache.ttl:15}")
+    private long refreshMinutes;
+
+    @Value("${cb.image.catalog.cache.refresh.ahead.max.staleness:120}")
+    private long maxStalenessMinutes;
+
     @Inject
     private CachedImageCatalogProvider cachedImageCatalogProvider;
 
+    private LoadingCache<String, CloudbreakImageCatalogV3> refreshAheadCache;
+
+    /**
+     * With refresh ahead enabled the catalogs are kept in a cache that reloads them in the background once they are older than the
+     * configured ttl. The callers get the catalog that is already loaded while the reload is running, the reload sends a conditional
+     * request and keeps the loaded catalog if it has not changed. A catalog that could not be reloaded for the max staleness is dropped.
+     */
+    @PostConstruct
+    public void init() {
+        if (refreshAheadEnabled) {
+            refreshAheadCache = Caffeine.newBuilder()
+                    .maximumSize(MAX_ENTRIES)
+                    .refreshAfterWrite(Math.max(1L, refreshMinutes), TimeUnit.MINUTES)
+                    .expireAfterWrite(Math.max(refreshMinutes, maxStalenessMinutes), TimeUnit.MINUTES)
+                    .build(new ImageCatalogLoader());
+        }
+    }
+
     public CloudbreakImageCatalogV3 getImageCatalogV3(String catalogUrl) throws CloudbreakImageCatalogException {
         return getImageCatalogV3(catalogUrl, false);
     }
 
     public CloudbreakImageCatalogV3 getImageCatalogV3(String catalogUrl, boolean forceRefresh) throws CloudbreakImageCatalogException {
+        if (refreshAheadCache != null && catalogUrl != null) {
+            return getFromRefreshAheadCache(catalogUrl, forceRefresh);
+        }
         if (forceRefresh) {
             cachedImageCatalogProvider.evictImageCatalogCache(catalogUrl);
         }
         return cachedImageCatalogProvider.getImageCatalogV3(catalogUrl);
     }
+
+    private CloudbreakImageCatalogV3 getFromRefreshAheadCache(String catalogUrl, boolean forceRefresh) throws CloudbreakImageCatalogException {
+        if (forceRefresh) {
+            refreshAheadCache.invalidate(catalogUrl);
+        }
+        try {
+            return refreshAheadCache.get(catalogUrl);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CloudbreakImageCatalogException) {
+                throw (CloudbreakImageCatalogException) e.getCause();
+            }
+            throw new CloudbreakImageCatalogException(e.getMessage(), e);
+        }
+    }
+
+    private class ImageCatalogLoader implements CacheLoader<String, CloudbreakImageCatalogV3> {
+
+        @Override
+        public CloudbreakImageCatalogV3 load(String catalogUrl) throws CloudbreakImageCatalogException {
+            return cachedImageCatalogProvider.loadImageCatalogV3(catalogUrl);
+        }
+
+        @Override
+        public CloudbreakImageCatalogV3 reload(String catalogUrl, CloudbreakImageCatalogV3 oldCatalog) throws CloudbreakImageCatalogException {
+            LOGGER.debug("Refreshing image catalog '{}' in the background.", catalogUrl);
+            return cachedImageCatalogProvider.loadImageCatalogV3IfModified(catalogUrl).orElse(oldCatalog);
+        }
+    }
 }
@@ -436,17 +436,7 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
     }
 
     private Optional<? extends Image> getImage(String imageId, Images images) {
-        Optional<? extends Image> image = findFirstWithImageId(imageId, images.getBaseImages());
-        if (image.isEmpty()) {
-            image = findFirstWithImageId(imageId, images.getHdpImages());
-        }
-        if (image.isEmpty()) {
-            image = findFirstWithImageId(imageId, images.getHdfImages());
-        }
-        if (image.isEmpty()) {
-            image = findFirstWithImageId(imageId, images.getCdhImages());
-        }
-        return image;
+        return images.findImageByUuid(imageId);
     }
 
     public StatedImages getImages(ImageFilter imageFilter) throws CloudbreakImageCatalogException {
@@ -468,8 +458,7 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
 
             String currentCbVersion = getCBVersion(imageFilter, cloudbreakVersions);
 
-            List<CloudbreakVersion> exactMatchedImages = cloudbreakVersions.stream()
-                    .filter(cloudbreakVersion -> cloudbreakVersion.getVersions().contains(currentCbVersion)).collect(toList());
+            List<CloudbreakVersion> exactMatchedImages = imageCatalogV3.findCloudbreakVersions(currentCbVersion);
 
             if (!exactMatchedImages.isEmpty()) {
                 for (CloudbreakVersion exactMatchedImg : exactMatchedImages) {
@@ -550,12 +539,6 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
         return baseImageEnabled;
     }
 
-    private Optional<? extends Image> findFirstWithImageId(String imageId, Collection<? extends Image> images) {
-        return images.stream()
-                .filter(img -> img.getUuid().equals(imageId))
-                .findFirst();
-    }
-
     private List<Image> filterImagesByPlatforms(Collection<String> platforms, Collection<Image> images, Collection<String> vMImageUUIDs) {
         return images.stream()
                 .filter(isPlatformMatching(platforms, vMImageUUIDs))
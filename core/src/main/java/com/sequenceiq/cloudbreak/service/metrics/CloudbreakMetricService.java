@@ -7,6 +7,8 @@ import com.sequenceiq.cloudbreak.common.metrics.type.MetricTag;
 import com.sequenceiq.cloudbreak.domain.stack.Stack;
 import com.sequenceiq.cloudbreak.domain.view.StackView;
 
+import io.micrometer.core.instrument.Metrics;
+
 @Service("MetricService")
 public class CloudbreakMetricService extends AbstractMetricService {
 
@@ -42,6 +44,10 @@ public class CloudbreakMetricService extends AbstractMetricService {
                 MetricTag.TUNNEL_TYPE.name(), stack.getTunnel().name());
     }
 
+    public void incrementMetricCounterBy(MetricType metricType, double amount, String... tags) {
+        Metrics.counter(METRIC_PREFIX + '.' + metricType.getMetricName(), tags).increment(amount);
+    }
+
     @Override
     protected String getMetricPrefix() {
         return METRIC_PREFIX;
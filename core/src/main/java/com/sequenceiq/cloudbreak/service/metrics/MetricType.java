@@ -28,7 +28,15 @@ public enum MetricType implements Metric {
     EXTERNAL_DATABASE_CREATION_SUCCESSFUL("externaldatabase.creation.successful"),
     EXTERNAL_DATABASE_CREATION_FAILED("externaldatabase.creation.failed"),
     EXTERNAL_DATABASE_TERMINATION_SUCCESSFUL("externaldatabase.termination.successful"),
-    EXTERNAL_DATABASE_TERMINATION_FAILED("externaldatabase.termination.failed");
+    EXTERNAL_DATABASE_TERMINATION_FAILED("externaldatabase.termination.failed"),
+
+    STRUCTURED_EVENT_DROPPED("structuredevent.db.dropped"),
+    STRUCTURED_EVENT_FLUSHED("structuredevent.db.flushed"),
+    STRUCTURED_EVENT_QUEUE_SIZE("structuredevent.db.queue.size"),
+
+    INSTANCE_STATUS_BATCH_DURATION("instancestatus.batch.duration"),
+    INSTANCE_STATUS_BATCH_API_CALL_SAVED("instancestatus.batch.apicall.saved"),
+    INSTANCE_STATUS_BATCH_FAILED("instancestatus.batch.failed");
 
     private final String metricName;
 
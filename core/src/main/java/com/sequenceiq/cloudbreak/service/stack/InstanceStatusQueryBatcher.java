@@ -0,0 +1,236 @@
+package com.sequenceiq.cloudbreak.service.stack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.handler.InstanceStateQuery;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.common.exception.CloudbreakServiceException;
+import com.sequenceiq.cloudbreak.service.metrics.CloudbreakMetricService;
+import com.sequenceiq.cloudbreak.service.metrics.MetricType;
+
+/**
+ * Collects the instance status queries of the stacks that use the same credential in the same region for a short time window and sends
+ * them to the provider as one query, so the periodic status checks of many stacks do not throttle the provider api. The statuses are
+ * handed back to the stacks that asked for them. Only platforms whose instance check does not depend on the stack itself can be batched.
+ * If the batched query fails, the stacks of the batch are queried one by one, so an error of one stack does not affect the others.
+ */
+@Component
+public class InstanceStatusQueryBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstanceStatusQueryBatcher.class);
+
+    private static final int SCHEDULER_THREADS = 4;
+
+    @Value("${cb.instance.status.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.instance.status.batch.platforms:AWS}")
+    private String batchablePlatforms;
+
+    @Value("${cb.instance.status.batch.window.ms:2000}")
+    private long windowMs;
+
+    @Value("${cb.instance.status.batch.max.instances:1000}")
+    private int maxInstances;
+
+    @Value("${cb.instance.status.batch.timeout.seconds:300}")
+    private long timeoutSeconds;
+
+    @Inject
+    private InstanceStateQuery instanceStateQuery;
+
+    @Inject
+    private CloudbreakMetricService metricService;
+
+    private final Map<String, Batch> pendingBatches = new HashMap<>();
+
+    private Set<String> platforms;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            platforms = Arrays.stream(batchablePlatforms.split(",")).map(String::trim).collect(Collectors.toSet());
+            scheduler = Executors.newScheduledThreadPool(SCHEDULER_THREADS,
+                    new ThreadFactoryBuilder().setNameFormat("instance-status-batch-%d").setDaemon(true).build());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isBatchable(CloudContext cloudContext) {
+        return scheduler != null && platforms.contains(cloudContext.getPlatform().value());
+    }
+
+    public List<CloudVmInstanceStatus> getCloudVmInstanceStatuses(CloudCredential cloudCredential, CloudContext cloudContext,
+            List<CloudInstance> cloudInstances) {
+        StatusRequest request = new StatusRequest(cloudContext, cloudInstances);
+        Batch fullBatch = addToBatch(cloudCredential, request);
+        if (fullBatch != null) {
+            query(fullBatch);
+        }
+        try {
+            return request.result.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new CloudbreakServiceException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CloudbreakServiceException("Instance status query of stack " + cloudContext.getId() + " was interrupted", e);
+        } catch (TimeoutException e) {
+            throw new CloudbreakServiceException("Instance status query of stack " + cloudContext.getId() + " did not finish", e);
+        }
+    }
+
+    private Batch addToBatch(CloudCredential cloudCredential, StatusRequest request) {
+        String key = batchKey(cloudCredential, request.cloudContext);
+        synchronized (pendingBatches) {
+            Batch batch = pendingBatches.get(key);
+            Batch fullBatch = null;
+            if (batch != null && batch.instanceCount + request.cloudInstances.size() > maxInstances) {
+                pendingBatches.remove(key);
+                batch.claimed = true;
+                fullBatch = batch;
+                batch = null;
+            }
+            if (batch == null) {
+                Batch newBatch = new Batch(key, cloudCredential, request.cloudContext);
+                pendingBatches.put(key, newBatch);
+                scheduler.schedule(() -> flush(newBatch), windowMs, TimeUnit.MILLISECONDS);
+                batch = newBatch;
+            }
+            batch.add(request);
+            return fullBatch;
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (pendingBatches) {
+            if (batch.claimed) {
+                return;
+            }
+            batch.claimed = true;
+            pendingBatches.remove(batch.key, batch);
+        }
+        query(batch);
+    }
+
+    private void query(Batch batch) {
+        long start = System.currentTimeMillis();
+        Map<CloudInstance, StatusRequest> owners = new IdentityHashMap<>();
+        List<CloudInstance> cloudInstances = new ArrayList<>(batch.instanceCount);
+        batch.requests.forEach(request -> request.cloudInstances.forEach(instance -> {
+            owners.put(instance, request);
+            cloudInstances.add(instance);
+        }));
+        try {
+            List<CloudVmInstanceStatus> statuses = instanceStateQuery.getCloudVmInstanceStatuses(batch.cloudCredential, batch.cloudContext, cloudInstances);
+            Map<StatusRequest, List<CloudVmInstanceStatus>> statusesByRequest = new IdentityHashMap<>();
+            batch.requests.forEach(request -> statusesByRequest.put(request, new ArrayList<>()));
+            statuses.stream()
+                    .filter(status -> owners.containsKey(status.getCloudInstance()))
+                    .forEach(status -> statusesByRequest.get(owners.get(status.getCloudInstance())).add(status));
+            statusesByRequest.forEach((request, requestStatuses) -> request.result.complete(requestStatuses));
+            LOGGER.debug("Status of {} instances of {} stacks was queried in one batch", cloudInstances.size(), batch.requests.size());
+            recordBatch(batch, start);
+        } catch (RuntimeException e) {
+            LOGGER.info("Batched instance status query of {} stacks failed, querying them one by one", batch.requests.size(), e);
+            metricService.incrementMetricCounter(MetricType.INSTANCE_STATUS_BATCH_FAILED, "platform", batch.platform());
+            batch.requests.forEach(request -> queryOne(batch.cloudCredential, request));
+        }
+    }
+
+    private void queryOne(CloudCredential cloudCredential, StatusRequest request) {
+        try {
+            request.result.complete(instanceStateQuery.getCloudVmInstanceStatuses(cloudCredential, request.cloudContext, request.cloudInstances));
+        } catch (RuntimeException e) {
+            request.result.completeExceptionally(e);
+        }
+    }
+
+    private void recordBatch(Batch batch, long start) {
+        metricService.submit(MetricType.INSTANCE_STATUS_BATCH_DURATION, System.currentTimeMillis() - start, Map.of("platform", batch.platform()));
+        metricService.incrementMetricCounterBy(MetricType.INSTANCE_STATUS_BATCH_API_CALL_SAVED, batch.requests.size() - 1, "platform", batch.platform());
+    }
+
+    private String batchKey(CloudCredential cloudCredential, CloudContext cloudContext) {
+        return String.join("|", cloudContext.getPlatformVariant().getPlatform().value(), cloudContext.getPlatformVariant().getVariant().value(),
+                cloudContext.getLocation().getRegion().value(),
+                cloudCredential.getId(), cloudCredential.getName());
+    }
+
+    private static class StatusRequest {
+
+        private final CloudContext cloudContext;
+
+        private final List<CloudInstance> cloudInstances;
+
+        private final CompletableFuture<List<CloudVmInstanceStatus>> result = new CompletableFuture<>();
+
+        StatusRequest(CloudContext cloudContext, List<CloudInstance> cloudInstances) {
+            this.cloudContext = cloudContext;
+            this.cloudInstances = cloudInstances;
+        }
+    }
+
+    private static class Batch {
+
+        private final String key;
+
+        private final CloudCredential cloudCredential;
+
+        private final CloudContext cloudContext;
+
+        private final List<StatusRequest> requests = new ArrayList<>();
+
+        private int instanceCount;
+
+        private boolean claimed;
+
+        Batch(String key, CloudCredential cloudCredential, CloudContext cloudContext) {
+            this.key = key;
+            this.cloudCredential = cloudCredential;
+            this.cloudContext = cloudContext;
+        }
+
+        void add(StatusRequest request) {
+            requests.add(request);
+            instanceCount += request.cloudInstances.size();
+        }
+
+        String platform() {
+            return cloudContext.getPlatform().value();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.sequenceiq.cloudbreak.structuredevent.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionExecutionException;
+import com.sequenceiq.cloudbreak.domain.StructuredEventEntity;
+import com.sequenceiq.cloudbreak.service.metrics.CloudbreakMetricService;
+import com.sequenceiq.cloudbreak.service.metrics.MetricType;
+import com.sequenceiq.cloudbreak.structuredevent.event.StructuredEvent;
+
+/**
+ * Stores the structured events from a bounded queue in batches, so the request and flow threads do not wait for the conversion and the
+ * insert of every event. A batch is converted and saved in one transaction, so the workspaces and users referenced by its events are
+ * loaded once per batch and the inserts are sent with jdbc batching. When a batch cannot be stored, its events are stored one by one in
+ * their own transactions, so only the failing events are dropped. When the queue is full the producers wait a short time, then the event
+ * is dropped. The queued events are flushed on shutdown.
+ */
+@Component
+public class StructuredEventDBBatchWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StructuredEventDBBatchWriter.class);
+
+    @Value("${cb.structuredevent.db.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.structuredevent.db.async.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${cb.structuredevent.db.async.batch.size:50}")
+    private int batchSize;
+
+    @Value("${cb.structuredevent.db.async.flush.interval.ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${cb.structuredevent.db.async.offer.timeout.ms:100}")
+    private long offerTimeoutMs;
+
+    @Value("${cb.structuredevent.db.async.shutdown.timeout.seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    @Inject
+    private ConversionService conversionService;
+
+    @Inject
+    private StructuredEventRepository structuredEventRepository;
+
+    @Inject
+    private TransactionService transactionService;
+
+    @Inject
+    private CloudbreakMetricService metricService;
+
+    private BlockingQueue<StructuredEvent> queue;
+
+    private Thread writerThread;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+            running = true;
+            writerThread = new ThreadFactoryBuilder().setNameFormat("structured-event-writer-%d").setDaemon(true).build().newThread(this::writeEvents);
+            writerThread.start();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (writerThread != null) {
+            running = false;
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!queue.isEmpty()) {
+                LOGGER.warn("{} structured events could not be stored before shutdown", queue.size());
+            }
+        }
+    }
+
+    /**
+     * Queues the event for a later batch insert.
+     *
+     * @return false if the asynchronous writing is not enabled or already stopped, so the caller has to store the event itself
+     */
+    public boolean offer(StructuredEvent structuredEvent) {
+        if (!running) {
+            return false;
+        }
+        try {
+            if (!queue.offer(structuredEvent, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Structured event queue is full, dropping {} event of {} {}", structuredEvent.getType(),
+                        structuredEvent.getOperation().getResourceType(), structuredEvent.getOperation().getResourceId());
+                metricService.incrementMetricCounter(MetricType.STRUCTURED_EVENT_DROPPED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            metricService.incrementMetricCounter(MetricType.STRUCTURED_EVENT_DROPPED);
+        }
+        return true;
+    }
+
+    private void writeEvents() {
+        List<StructuredEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                StructuredEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    flush(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                LOGGER.debug("Structured event writer was interrupted");
+            }
+        }
+        LOGGER.debug("Structured event writer stopped");
+    }
+
+    void flush(List<StructuredEvent> batch) {
+        try {
+            save(batch);
+            LOGGER.debug("{} structured events have been stored", batch.size());
+            metricService.incrementMetricCounter(MetricType.STRUCTURED_EVENT_FLUSHED);
+        } catch (TransactionExecutionException | RuntimeException e) {
+            LOGGER.warn("Failed to store {} structured events in one transaction, storing them one by one", batch.size(), e);
+            saveOneByOne(batch);
+        }
+        metricService.submit(MetricType.STRUCTURED_EVENT_QUEUE_SIZE, queue.size());
+    }
+
+    private void saveOneByOne(List<StructuredEvent> batch) {
+        for (StructuredEvent structuredEvent : batch) {
+            try {
+                save(List.of(structuredEvent));
+            } catch (TransactionExecutionException | RuntimeException e) {
+                LOGGER.error("Failed to store {} event of {} {}, dropping it", structuredEvent.getType(),
+                        structuredEvent.getOperation().getResourceType(), structuredEvent.getOperation().getResourceId(), e);
+                metricService.incrementMetricCounter(MetricType.STRUCTURED_EVENT_DROPPED);
+            }
+        }
+    }
+
+    private void save(List<StructuredEvent> events) throws TransactionExecutionException {
+        transactionService.required(() -> {
+            List<StructuredEventEntity> entities = events.stream()
+                    .map(event -> conversionService.convert(event, StructuredEventEntity.class))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            structuredEventRepository.saveAll(entities);
+        });
+    }
+}
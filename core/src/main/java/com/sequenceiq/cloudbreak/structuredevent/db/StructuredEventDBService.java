@@ -53,12 +53,20 @@ public class StructuredEventDBService extends AbstractWorkspaceAwareResourceServ
     @Inject
     private StackService stackService;
 
+    @Inject
+    private StructuredEventDBBatchWriter structuredEventDBBatchWriter;
+
     @Override
     public void create(StructuredEvent structuredEvent) {
-        LOGGER.info("Stored StructuredEvent type: {}, payload: {}", structuredEvent.getType(),
-                AnonymizerUtil.anonymize(JsonUtil.writeValueAsStringSilent(structuredEvent)));
-        StructuredEventEntity structuredEventEntityEntity = conversionService.convert(structuredEvent, StructuredEventEntity.class);
-        create(structuredEventEntityEntity, structuredEventEntityEntity.getWorkspace(), null);
+        LOGGER.info("Stored StructuredEvent type: {}, resource type: {}, resource id: {}", structuredEvent.getType(),
+                structuredEvent.getOperation().getResourceType(), structuredEvent.getOperation().getResourceId());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("StructuredEvent payload: {}", AnonymizerUtil.anonymize(JsonUtil.writeValueAsStringSilent(structuredEvent)));
+        }
+        if (!structuredEventDBBatchWriter.offer(structuredEvent)) {
+            StructuredEventEntity structuredEventEntityEntity = conversionService.convert(structuredEvent, StructuredEventEntity.class);
+            create(structuredEventEntityEntity, structuredEventEntityEntity.getWorkspace(), null);
+        }
     }
 
     @Override
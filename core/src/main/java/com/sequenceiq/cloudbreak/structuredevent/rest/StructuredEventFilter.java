@@ -9,7 +9,6 @@ import static com.sequenceiq.cloudbreak.structuredevent.rest.urlparsers.RestUrlP
 import static com.sequenceiq.cloudbreak.structuredevent.rest.urlparsers.RestUrlParser.WORKSPACE_ID;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -20,7 +19,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -51,12 +52,13 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.sequenceiq.cloudbreak.auth.security.authentication.AuthenticatedUserService;
 import com.sequenceiq.cloudbreak.authorization.lookup.WorkspaceAwareRepositoryLookupService;
-import com.sequenceiq.cloudbreak.common.json.JsonUtil;
 import com.sequenceiq.cloudbreak.common.user.CloudbreakUser;
 import com.sequenceiq.cloudbreak.service.CloudbreakRestRequestThreadLocalService;
 import com.sequenceiq.cloudbreak.structuredevent.StructuredEventClient;
@@ -89,6 +91,10 @@ public class StructuredEventFilter implements WriterInterceptor, ContainerReques
 
     private static final int MAX_CONTENT_LENGTH = 65535;
 
+    private static final int CAPTURE_BUFFER_POOL_SIZE = 64;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private static final String ID = "id";
 
     private static final String CRN = "crn";
@@ -101,6 +107,8 @@ public class StructuredEventFilter implements WriterInterceptor, ContainerReques
 
     private final Pattern extractCrnRestParamFromResponsePattern = Pattern.compile("\"" + CRN + "\":\"([0-9a-zA-Z:-]*)\"");
 
+    private final Queue<byte[]> captureBufferPool = new ArrayBlockingQueue<>(CAPTURE_BUFFER_POOL_SIZE);
+
     @Inject
     private NodeConfig nodeConfig;
 
@@ -281,22 +289,25 @@ public class StructuredEventFilter implements WriterInterceptor, ContainerReques
         }
     }
 
+    /**
+     * Reads the top level fields of the response with a streaming parser and stops as soon as every requested field has been found,
+     * so large list responses are neither parsed into a tree nor read to the end.
+     */
     private Map<String, String> extractResourceValueFromJson(CharSequence responseBody, Set<String> pathes) {
         Map<String, String> resourceMap = new HashMap<>(pathes.size());
-        try {
-            if (JsonUtil.isValid(responseBody.toString())) {
-                JsonNode jsonNode = JsonUtil.readTree(responseBody.toString());
-                for (String path : pathes) {
-                    JsonNode idNode = jsonNode.path(path);
-                    if (idNode.isMissingNode()) {
-                        LOGGER.debug("Response was a JSON but no " + path + " available");
-                    } else {
-                        resourceMap.put(path, idNode.asText());
+        try (JsonParser parser = JSON_FACTORY.createParser(responseBody.toString())) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (resourceMap.size() < pathes.size() && parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (pathes.contains(fieldName)) {
+                        resourceMap.put(fieldName, value.isScalarValue() ? parser.getText() : "");
                     }
+                    parser.skipChildren();
                 }
             }
         } catch (IOException e) {
-            LOGGER.error("Json parsing failed for ", e);
+            LOGGER.debug("Response is not a complete JSON, resource parameters are looked up with patterns: {}", e.getMessage());
         }
         return resourceMap;
     }
@@ -381,8 +392,15 @@ public class StructuredEventFilter implements WriterInterceptor, ContainerReques
         return stream;
     }
 
+    /**
+     * Passes the response through to the wrapped stream and keeps its first MAX_CONTENT_LENGTH bytes in a buffer borrowed from a
+     * bounded pool. The buffer is given back when the captured content has been read.
+     */
     private class LoggingStream extends FilterOutputStream {
-        private final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        private byte[] buffer;
+
+        private int count;
 
         LoggingStream(OutputStream inner) {
             super(inner);
@@ -391,22 +409,51 @@ public class StructuredEventFilter implements WriterInterceptor, ContainerReques
         StringBuffer getStringBuilder(Charset charset) {
             StringBuffer b = new StringBuffer();
             if (contentLogging) {
-                byte[] entity = baos.toByteArray();
-                b.append(new String(entity, 0, Math.min(entity.length, MAX_CONTENT_LENGTH), charset));
-                if (entity.length > MAX_CONTENT_LENGTH) {
+                if (buffer != null) {
+                    b.append(new String(buffer, 0, Math.min(count, MAX_CONTENT_LENGTH), charset));
+                }
+                if (count > MAX_CONTENT_LENGTH) {
                     b.append("...more...");
                 }
                 b.append('\n');
             }
+            releaseBuffer();
             return b;
         }
 
         @Override
         public void write(int i) throws IOException {
-            if (contentLogging && baos.size() <= MAX_CONTENT_LENGTH) {
-                baos.write(i);
+            if (contentLogging && count <= MAX_CONTENT_LENGTH) {
+                borrowBuffer()[count++] = (byte) i;
             }
             out.write(i);
         }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (contentLogging && count <= MAX_CONTENT_LENGTH) {
+                int captured = Math.min(len, MAX_CONTENT_LENGTH + 1 - count);
+                System.arraycopy(b, off, borrowBuffer(), count, captured);
+                count += captured;
+            }
+            out.write(b, off, len);
+        }
+
+        private byte[] borrowBuffer() {
+            if (buffer == null) {
+                buffer = captureBufferPool.poll();
+                if (buffer == null) {
+                    buffer = new byte[MAX_CONTENT_LENGTH + 1];
+                }
+            }
+            return buffer;
+        }
+
+        private void releaseBuffer() {
+            if (buffer != null) {
+                captureBufferPool.offer(buffer);
+                buffer = null;
+            }
+        }
     }
 }
@@ -0,0 +1,83 @@
+package com.sequenceiq.cloudbreak.service.image;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakImageCatalogV3;
+import com.sequenceiq.cloudbreak.cloud.model.catalog.Images;
+import com.sequenceiq.cloudbreak.cloud.model.catalog.Versions;
+import com.sequenceiq.cloudbreak.core.CloudbreakImageCatalogException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ImageCatalogProviderRefreshAheadTest {
+
+    private static final String CATALOG_URL = "http://catalog";
+
+    @InjectMocks
+    private ImageCatalogProvider underTest;
+
+    @Mock
+    private CachedImageCatalogProvider cachedImageCatalogProvider;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(underTest, "refreshAheadEnabled", true);
+        ReflectionTestUtils.setField(underTest, "refreshMinutes", 15L);
+        ReflectionTestUtils.setField(underTest, "maxStalenessMinutes", 120L);
+        underTest.init();
+    }
+
+    @Test
+    public void testCatalogIsLoadedOnce() throws CloudbreakImageCatalogException {
+        CloudbreakImageCatalogV3 catalog = catalog();
+        when(cachedImageCatalogProvider.loadImageCatalogV3(CATALOG_URL)).thenReturn(catalog);
+
+        assertSame(catalog, underTest.getImageCatalogV3(CATALOG_URL));
+        assertSame(catalog, underTest.getImageCatalogV3(CATALOG_URL));
+
+        verify(cachedImageCatalogProvider, times(1)).loadImageCatalogV3(CATALOG_URL);
+    }
+
+    @Test
+    public void testForcedRefreshLoadsTheCatalogAgain() throws CloudbreakImageCatalogException {
+        CloudbreakImageCatalogV3 catalog = catalog();
+        CloudbreakImageCatalogV3 newCatalog = catalog();
+        when(cachedImageCatalogProvider.loadImageCatalogV3(CATALOG_URL)).thenReturn(catalog, newCatalog);
+
+        underTest.getImageCatalogV3(CATALOG_URL);
+
+        assertSame(newCatalog, underTest.getImageCatalogV3(CATALOG_URL, true));
+    }
+
+    @Test(expected = CloudbreakImageCatalogException.class)
+    public void testLoadFailureIsRethrown() throws CloudbreakImageCatalogException {
+        when(cachedImageCatalogProvider.loadImageCatalogV3(CATALOG_URL)).thenThrow(new CloudbreakImageCatalogException("failed"));
+
+        underTest.getImageCatalogV3(CATALOG_URL);
+    }
+
+    @Test
+    public void testMissingCatalogUrlIsNotCached() throws CloudbreakImageCatalogException {
+        underTest.getImageCatalogV3(null);
+
+        verify(cachedImageCatalogProvider).getImageCatalogV3(null);
+        verifyNoMoreInteractions(cachedImageCatalogProvider);
+    }
+
+    private CloudbreakImageCatalogV3 catalog() {
+        return new CloudbreakImageCatalogV3(new Images(null, null, null, null, null), new Versions(List.of()));
+    }
+}
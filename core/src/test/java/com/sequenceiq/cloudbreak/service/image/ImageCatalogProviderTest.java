@@ -1,7 +1,10 @@
 package com.sequenceiq.cloudbreak.service.image;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -19,7 +22,9 @@ import java.util.stream.Stream;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.Response.Status.Family;
 import javax.ws.rs.core.Response.StatusType;
 
@@ -260,6 +265,30 @@ public class ImageCatalogProviderTest {
 
     }
 
+    @Test
+    public void testHttpImageCatalogNotModified() throws CloudbreakImageCatalogException, IOException {
+        String path = getPath(CB_IMAGE_CATALOG_VALID_JSON);
+        String catalogUrl = "http";
+        String entityTag = "\"catalog-v1\"";
+
+        when(clientMock.target(catalogUrl)).thenReturn(webTargetMock);
+        when(webTargetMock.request()).thenReturn(builderMock);
+        when(builderMock.header(HttpHeaders.IF_NONE_MATCH, entityTag)).thenReturn(builderMock);
+        when(builderMock.get()).thenReturn(responseMock);
+        when(responseMock.getStatus()).thenReturn(Status.OK.getStatusCode(), Status.NOT_MODIFIED.getStatusCode());
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn(entityTag);
+        when(responseMock.getStatusInfo()).thenReturn(statusTypeMock);
+        when(statusTypeMock.getFamily()).thenReturn(Family.SUCCESSFUL);
+        when(responseMock.readEntity(String.class)).thenReturn(FileUtils.readFileToString(Paths.get(path, CB_IMAGE_CATALOG_V2_JSON).toFile()));
+
+        ReflectionTestUtils.setField(underTest, "etcConfigDir", path);
+        ReflectionTestUtils.setField(underTest, "enabledLinuxTypes", Collections.emptyList());
+
+        assertTrue(underTest.loadImageCatalogV3IfModified(catalogUrl).isPresent());
+        assertFalse(underTest.loadImageCatalogV3IfModified(catalogUrl).isPresent());
+        verify(builderMock).header(HttpHeaders.IF_NONE_MATCH, entityTag);
+    }
+
     @Test(expected = CloudbreakImageCatalogException.class)
     public void testHttpImageCatalogNotValidJson() throws CloudbreakImageCatalogException {
         String path = getPath(CB_IMAGE_CATALOG_VALID_JSON);
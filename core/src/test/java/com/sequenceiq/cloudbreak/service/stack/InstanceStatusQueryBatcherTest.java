@@ -0,0 +1,151 @@
+package com.sequenceiq.cloudbreak.service.stack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.handler.InstanceStateQuery;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.Location;
+import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.service.metrics.CloudbreakMetricService;
+import com.sequenceiq.cloudbreak.service.metrics.MetricType;
+
+@ExtendWith(MockitoExtension.class)
+class InstanceStatusQueryBatcherTest {
+
+    private static final CloudCredential CREDENTIAL = new CloudCredential("1", "credential");
+
+    private static final long START_TIMEOUT_SECONDS = 10L;
+
+    @InjectMocks
+    private InstanceStatusQueryBatcher underTest;
+
+    @Mock
+    private InstanceStateQuery instanceStateQuery;
+
+    @Mock
+    private CloudbreakMetricService metricService;
+
+    private final CountDownLatch bothStarted = new CountDownLatch(2);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "batchablePlatforms", "AWS");
+        ReflectionTestUtils.setField(underTest, "windowMs", 2000L);
+        ReflectionTestUtils.setField(underTest, "maxInstances", 1000);
+        ReflectionTestUtils.setField(underTest, "timeoutSeconds", 10L);
+        underTest.init();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        underTest.destroy();
+    }
+
+    @Test
+    void testOnlyConfiguredPlatformsAreBatchable() {
+        assertTrue(underTest.isBatchable(cloudContext(1L, "AWS")));
+        assertFalse(underTest.isBatchable(cloudContext(1L, "AZURE")));
+    }
+
+    @Test
+    void testStacksOfTheSameCredentialAreQueriedTogether() {
+        List<CloudInstance> firstInstances = List.of(new CloudInstance("i-1", null, null), new CloudInstance("i-2", null, null));
+        List<CloudInstance> secondInstances = List.of(new CloudInstance("i-3", null, null));
+        when(instanceStateQuery.getCloudVmInstanceStatuses(eq(CREDENTIAL), any(CloudContext.class), anyList())).thenAnswer(invocation -> {
+            List<CloudInstance> instances = (List<CloudInstance>) invocation.getArguments()[2];
+            return instances.stream().map(instance -> new CloudVmInstanceStatus(instance, InstanceStatus.STARTED)).collect(Collectors.toList());
+        });
+
+        CompletableFuture<List<CloudVmInstanceStatus>> first =
+                startTogether(() -> underTest.getCloudVmInstanceStatuses(CREDENTIAL, cloudContext(1L, "AWS"), firstInstances));
+        CompletableFuture<List<CloudVmInstanceStatus>> second =
+                startTogether(() -> underTest.getCloudVmInstanceStatuses(CREDENTIAL, cloudContext(2L, "AWS"), secondInstances));
+
+        assertEquals(List.of("i-1", "i-2"), instanceIds(first.join()));
+        assertEquals(List.of("i-3"), instanceIds(second.join()));
+        verify(instanceStateQuery, times(1)).getCloudVmInstanceStatuses(eq(CREDENTIAL), any(CloudContext.class), anyList());
+        verify(metricService, times(1)).incrementMetricCounterBy(MetricType.INSTANCE_STATUS_BATCH_API_CALL_SAVED, 1, "platform", "AWS");
+    }
+
+    @Test
+    void testStacksAreQueriedOneByOneWhenTheBatchFails() {
+        CloudContext firstContext = cloudContext(1L, "AWS");
+        CloudContext secondContext = cloudContext(2L, "AWS");
+        List<CloudInstance> firstInstances = List.of(new CloudInstance("i-1", null, null));
+        List<CloudInstance> secondInstances = List.of(new CloudInstance("i-2", null, null));
+        when(instanceStateQuery.getCloudVmInstanceStatuses(eq(CREDENTIAL), any(CloudContext.class), anyList())).thenAnswer(invocation -> {
+            List<CloudInstance> instances = (List<CloudInstance>) invocation.getArguments()[2];
+            if (instances.size() > 1 || instances.get(0).getInstanceId().equals("i-2")) {
+                throw new IllegalStateException("Instance not found");
+            }
+            return List.of(new CloudVmInstanceStatus(instances.get(0), InstanceStatus.STOPPED));
+        });
+
+        CompletableFuture<List<CloudVmInstanceStatus>> first =
+                startTogether(() -> underTest.getCloudVmInstanceStatuses(CREDENTIAL, firstContext, firstInstances));
+        CompletableFuture<List<CloudVmInstanceStatus>> second =
+                startTogether(() -> underTest.getCloudVmInstanceStatuses(CREDENTIAL, secondContext, secondInstances));
+
+        assertEquals(List.of("i-1"), instanceIds(first.join()));
+        assertTrue(second.handle((result, error) -> error != null).join());
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.INSTANCE_STATUS_BATCH_FAILED, "platform", "AWS");
+    }
+
+    /**
+     * Runs the query on its own thread once the other query has started as well, so both of them are added within the batch window.
+     */
+    private <T> CompletableFuture<T> startTogether(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            bothStarted.countDown();
+            try {
+                bothStarted.await(START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return query.get();
+        }, executor);
+    }
+
+    private List<String> instanceIds(List<CloudVmInstanceStatus> statuses) {
+        return statuses.stream().map(status -> status.getCloudInstance().getInstanceId()).sorted().collect(Collectors.toList());
+    }
+
+    private CloudContext cloudContext(Long id, String platform) {
+        return new CloudContext(id, "stack" + id, platform, platform, Location.location(Region.region("eu-west-1")), "user", "account");
+    }
+}
@@ -51,6 +51,9 @@ class StackInstanceStatusCheckerTest {
     @Mock
     private CredentialToCloudCredentialConverter cloudCredentialConverter;
 
+    @Mock
+    private InstanceStatusQueryBatcher instanceStatusQueryBatcher;
+
     @Mock
     private EnvironmentServiceCrnEndpoints environmentServiceCrnEndpoints;
 
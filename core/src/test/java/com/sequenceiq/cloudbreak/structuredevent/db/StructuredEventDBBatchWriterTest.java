@@ -0,0 +1,149 @@
+package com.sequenceiq.cloudbreak.structuredevent.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionExecutionException;
+import com.sequenceiq.cloudbreak.domain.StructuredEventEntity;
+import com.sequenceiq.cloudbreak.service.metrics.CloudbreakMetricService;
+import com.sequenceiq.cloudbreak.service.metrics.MetricType;
+import com.sequenceiq.cloudbreak.structuredevent.event.OperationDetails;
+import com.sequenceiq.cloudbreak.structuredevent.event.StructuredEvent;
+import com.sequenceiq.cloudbreak.structuredevent.event.StructuredRestCallEvent;
+
+@ExtendWith(MockitoExtension.class)
+class StructuredEventDBBatchWriterTest {
+
+    @InjectMocks
+    private StructuredEventDBBatchWriter underTest;
+
+    @Mock
+    private ConversionService conversionService;
+
+    @Mock
+    private StructuredEventRepository structuredEventRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private CloudbreakMetricService metricService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "queueCapacity", 10);
+        ReflectionTestUtils.setField(underTest, "batchSize", 50);
+        ReflectionTestUtils.setField(underTest, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(underTest, "offerTimeoutMs", 10L);
+        ReflectionTestUtils.setField(underTest, "shutdownTimeoutSeconds", 10L);
+    }
+
+    @Test
+    void testEventsAreNotQueuedWhenDisabled() {
+        underTest.init();
+
+        assertFalse(underTest.offer(structuredEvent()));
+    }
+
+    @Test
+    void testQueuedEventsAreFlushedOnShutdown() throws TransactionExecutionException {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(transactionService).required(any(Runnable.class));
+        when(conversionService.convert(any(StructuredEvent.class), eq(StructuredEventEntity.class))).thenAnswer(invocation -> new StructuredEventEntity());
+        underTest.init();
+
+        assertTrue(underTest.offer(structuredEvent()));
+        assertTrue(underTest.offer(structuredEvent()));
+        assertTrue(underTest.offer(structuredEvent()));
+        underTest.destroy();
+
+        ArgumentCaptor<List<StructuredEventEntity>> entitiesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(structuredEventRepository, atLeastOnce()).saveAll(entitiesCaptor.capture());
+        assertEquals(3, entitiesCaptor.getAllValues().stream().mapToInt(List::size).sum());
+        assertFalse(underTest.offer(structuredEvent()));
+    }
+
+    @Test
+    void testEventIsDroppedWhenTheQueueIsFull() {
+        ReflectionTestUtils.setField(underTest, "queue", new ArrayBlockingQueue<>(1));
+        ReflectionTestUtils.setField(underTest, "running", true);
+
+        assertTrue(underTest.offer(structuredEvent()));
+        assertTrue(underTest.offer(structuredEvent()));
+
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.STRUCTURED_EVENT_DROPPED);
+    }
+
+    @Test
+    void testEventsOfAFailedBatchAreStoredOneByOne() throws TransactionExecutionException {
+        ReflectionTestUtils.setField(underTest, "queue", new ArrayBlockingQueue<>(1));
+        StructuredEvent invalidEvent = structuredEvent();
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(transactionService).required(any(Runnable.class));
+        when(conversionService.convert(any(StructuredEvent.class), eq(StructuredEventEntity.class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == invalidEvent) {
+                throw new IllegalStateException("invalid event");
+            }
+            return new StructuredEventEntity();
+        });
+
+        underTest.flush(List.of(structuredEvent(), invalidEvent, structuredEvent()));
+
+        ArgumentCaptor<List<StructuredEventEntity>> entitiesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(structuredEventRepository, times(2)).saveAll(entitiesCaptor.capture());
+        entitiesCaptor.getAllValues().forEach(entities -> assertEquals(1, entities.size()));
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.STRUCTURED_EVENT_DROPPED);
+        verify(metricService, never()).incrementMetricCounter(MetricType.STRUCTURED_EVENT_FLUSHED);
+        verify(metricService).submit(eq(MetricType.STRUCTURED_EVENT_QUEUE_SIZE), anyDouble());
+    }
+
+    @Test
+    void testEveryEventIsCountedAsDroppedWhenTheDatabaseIsDown() throws TransactionExecutionException {
+        ReflectionTestUtils.setField(underTest, "queue", new ArrayBlockingQueue<>(1));
+        doThrow(new TransactionExecutionException("Transaction failed", new IllegalStateException("db is down")))
+                .when(transactionService).required(any(Runnable.class));
+
+        underTest.flush(List.of(structuredEvent(), structuredEvent()));
+
+        verify(transactionService, times(3)).required(any(Runnable.class));
+        verify(metricService, times(2)).incrementMetricCounter(MetricType.STRUCTURED_EVENT_DROPPED);
+        verify(metricService).submit(eq(MetricType.STRUCTURED_EVENT_QUEUE_SIZE), anyDouble());
+    }
+
+    private StructuredEvent structuredEvent() {
+        OperationDetails operation = new OperationDetails();
+        operation.setResourceType("stacks");
+        operation.setResourceId(1L);
+        return new StructuredRestCallEvent(operation, null);
+    }
+}
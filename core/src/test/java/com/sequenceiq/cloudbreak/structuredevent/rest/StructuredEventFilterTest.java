@@ -2,12 +2,20 @@ package com.sequenceiq.cloudbreak.structuredevent.rest;
 
 import static com.sequenceiq.cloudbreak.structuredevent.rest.urlparsers.RestUrlParser.RESOURCE_CRN;
 import static com.sequenceiq.cloudbreak.structuredevent.rest.urlparsers.RestUrlParser.RESOURCE_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -21,6 +29,7 @@ import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.ext.WriterInterceptorContext;
 
 import org.glassfish.jersey.internal.MapPropertiesDelegate;
 import org.glassfish.jersey.server.ContainerRequest;
@@ -37,6 +46,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import com.sequenceiq.cloudbreak.auth.security.authentication.AuthenticatedUserService;
 import com.sequenceiq.cloudbreak.service.CloudbreakRestRequestThreadLocalService;
 import com.sequenceiq.cloudbreak.structuredevent.StructuredEventClient;
+import com.sequenceiq.cloudbreak.structuredevent.event.OperationDetails;
 import com.sequenceiq.cloudbreak.structuredevent.event.StructuredRestCallEvent;
 import com.sequenceiq.cloudbreak.structuredevent.event.rest.RestRequestDetails;
 import com.sequenceiq.flow.ha.NodeConfig;
@@ -118,6 +128,43 @@ class StructuredEventFilterTest {
         headersMap.forEach((key, value) -> assertEquals(value.get(0), captorValue.getRestCall().getRestRequest().getHeaders().get(key)));
     }
 
+    @Test
+    void aroundWriteToCapturesBulkWrittenResponse() throws IOException {
+        ContainerRequest requestContext = createRequestContext(createRequestHeader());
+        underTest.filter(requestContext);
+        ContainerResponse responseContext = new ContainerResponse(requestContext, Response.ok("entity").build());
+        ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        responseContext.setEntityStream(entityStream);
+        underTest.filter(requestContext, responseContext);
+
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            items.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"instance-").append(i).append("\"}");
+        }
+        byte[] body = ("{\"id\":12345,\"crn\":\"crn:cdp:datahub:us-west-1:cloudera:cluster:b20f9cb7\",\"instances\":[" + items + "]}")
+                .getBytes(StandardCharsets.UTF_8);
+        OutputStream loggingStream = responseContext.getEntityStream();
+        WriterInterceptorContext writerContext = mock(WriterInterceptorContext.class);
+        when(writerContext.getProperty(anyString())).thenAnswer(invocation -> requestContext.getProperty(invocation.getArgument(0)));
+        doAnswer(invocation -> {
+            loggingStream.write(body, 0, body.length);
+            return null;
+        }).when(writerContext).proceed();
+        ArgumentCaptor<StructuredRestCallEvent> structuredEventCaptor = ArgumentCaptor.forClass(StructuredRestCallEvent.class);
+        doNothing().when(structuredEventClient).sendStructuredEvent(structuredEventCaptor.capture());
+
+        underTest.aroundWriteTo(writerContext);
+
+        assertArrayEquals(body, entityStream.toByteArray());
+        StructuredRestCallEvent event = structuredEventCaptor.getValue();
+        String capturedBody = event.getRestCall().getRestResponse().getBody();
+        assertTrue(capturedBody.startsWith("{\"id\":12345,"));
+        assertTrue(capturedBody.endsWith("...more...\n"));
+        OperationDetails operation = event.getOperation();
+        assertEquals(Long.valueOf(12345L), operation.getResourceId());
+        assertEquals("crn:cdp:datahub:us-west-1:cloudera:cluster:b20f9cb7", operation.getResourceCrn());
+    }
+
     @Test
     public void testResourceIdParsingWhenValidJsonIsReturned() {
         Map<String, String> params = new HashMap<>();
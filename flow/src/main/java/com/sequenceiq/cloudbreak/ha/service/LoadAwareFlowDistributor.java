@@ -0,0 +1,83 @@
+package com.sequenceiq.cloudbreak.ha.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.sequenceiq.cloudbreak.ha.domain.Node;
+import com.sequenceiq.flow.core.FlowLogService;
+
+/**
+ * Assigns every flow to the active node that runs the fewest flows at that moment, counting the flows already running on the nodes,
+ * so a node that has just joined takes over more of the flows of a failed node than the busy ones.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "cb.ha.flow.distribution.loadaware.enabled", havingValue = "true")
+public class LoadAwareFlowDistributor implements FlowDistributor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadAwareFlowDistributor.class);
+
+    @Inject
+    private FlowLogService flowLogService;
+
+    @Override
+    public Map<Node, List<String>> distribute(List<String> flows, List<Node> nodes) {
+        Map<Node, List<String>> result = new HashMap<>();
+        if (flows.isEmpty() || nodes.isEmpty()) {
+            return result;
+        }
+        Set<String> nodeIds = nodes.stream().map(Node::getUuid).collect(Collectors.toSet());
+        Map<String, Long> runningFlowCounts = flowLogService.countRunningFlowsByCloudbreakNodeIds(nodeIds);
+        LOGGER.debug("Number of flows to distribute: {}, across: {} nodes, running flows per node: {}", flows.size(), nodes.size(), runningFlowCounts);
+        PriorityQueue<NodeLoad> loads = new PriorityQueue<>(Comparator.comparingLong(NodeLoad::getLoad).thenComparingInt(NodeLoad::getOrder));
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            loads.add(new NodeLoad(node, i, runningFlowCounts.getOrDefault(node.getUuid(), 0L)));
+        }
+        for (String flow : flows) {
+            NodeLoad leastLoaded = loads.poll();
+            result.computeIfAbsent(leastLoaded.node, k -> new ArrayList<>()).add(flow);
+            leastLoaded.load++;
+            loads.add(leastLoaded);
+        }
+        LOGGER.debug("Result of flow distribution: {}", result);
+        return result;
+    }
+
+    private static class NodeLoad {
+
+        private final Node node;
+
+        private final int order;
+
+        private long load;
+
+        NodeLoad(Node node, int order, long load) {
+            this.node = node;
+            this.order = order;
+            this.load = load;
+        }
+
+        long getLoad() {
+            return load;
+        }
+
+        int getOrder() {
+            return order;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.sequenceiq.cloudbreak.service.flowlog;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+import com.sequenceiq.flow.core.ApplicationFlowInformation;
+import com.sequenceiq.flow.core.Flow2Handler;
+import com.sequenceiq.flow.core.FlowMetricType;
+import com.sequenceiq.flow.domain.FlowLog;
+
+/**
+ * Restarts the flows taken over from a failed node in the background. The flows wait in a priority queue (termination flows first,
+ * then the repair flows of the application, then the rest in the order they arrived), a bounded pool restores them in parallel and a
+ * token bucket limits how many flows are resumed per second, so the cloud providers are not flooded after a failover.
+ */
+@Service
+public class AsyncFlowRestartService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncFlowRestartService.class);
+
+    private static final int TERMINATION_PRIORITY = 0;
+
+    private static final int REPAIR_PRIORITY = 1;
+
+    private static final int DEFAULT_PRIORITY = 2;
+
+    @Value("${cb.ha.flow.restart.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.ha.flow.restart.async.pool.size:4}")
+    private int poolSize;
+
+    @Value("${cb.ha.flow.restart.async.rate.per.second:5}")
+    private double restartsPerSecond;
+
+    @Inject
+    private Flow2Handler flow2Handler;
+
+    @Inject
+    private ApplicationFlowInformation applicationFlowInformation;
+
+    @Inject
+    private MetricService metricService;
+
+    private final PriorityBlockingQueue<PendingRestart> queue = new PriorityBlockingQueue<>();
+
+    private final Set<String> queuedFlowIds = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private RateLimiter rateLimiter;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            rateLimiter = RateLimiter.create(restartsPerSecond);
+            workers = new MDCCleanerThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("flow-restart-%d").setDaemon(true).build(), new AbortPolicy());
+            for (int i = 0; i < poolSize; i++) {
+                workers.execute(this::restartQueuedFlows);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the flows of the flow logs for restart, flows that are already waiting for restart are skipped.
+     *
+     * @return the number of newly queued flows
+     */
+    public int submit(Collection<FlowLog> flowLogs) {
+        Set<Class<?>> terminationFlows = Set.copyOf(applicationFlowInformation.getTerminationFlow());
+        Set<Class<?>> repairFlows = Set.copyOf(applicationFlowInformation.getRepairFlows());
+        long submitted = System.currentTimeMillis();
+        int count = 0;
+        for (FlowLog flowLog : flowLogs) {
+            if (queuedFlowIds.add(flowLog.getFlowId())) {
+                int priority = terminationFlows.contains(flowLog.getFlowType()) ? TERMINATION_PRIORITY
+                        : repairFlows.contains(flowLog.getFlowType()) ? REPAIR_PRIORITY : DEFAULT_PRIORITY;
+                queue.add(new PendingRestart(flowLog.getFlowId(), priority, submitted, sequence.getAndIncrement()));
+                count++;
+            }
+        }
+        LOGGER.info("{} flows have been queued for restart, restart backlog: {}", count, queue.size());
+        metricService.submit(FlowMetricType.FLOW_RESTART_BACKLOG, queue.size());
+        return count;
+    }
+
+    private void restartQueuedFlows() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PendingRestart pendingRestart = queue.take();
+                rateLimiter.acquire();
+                restart(pendingRestart);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void restart(PendingRestart pendingRestart) {
+        LOGGER.debug("Restarting flow {}", pendingRestart.flowId);
+        try {
+            flow2Handler.restartFlow(pendingRestart.flowId);
+            metricService.submit(FlowMetricType.FLOW_RESTART_TIME, System.currentTimeMillis() - pendingRestart.submitted);
+        } catch (RuntimeException e) {
+            LOGGER.error(String.format("Failed to restart flow: %s", pendingRestart.flowId), e);
+        } finally {
+            queuedFlowIds.remove(pendingRestart.flowId);
+            metricService.submit(FlowMetricType.FLOW_RESTART_BACKLOG, queue.size());
+        }
+    }
+
+    private static class PendingRestart implements Comparable<PendingRestart> {
+
+        private final String flowId;
+
+        private final int priority;
+
+        private final long submitted;
+
+        private final long sequence;
+
+        PendingRestart(String flowId, int priority, long submitted, long sequence) {
+            this.flowId = flowId;
+            this.priority = priority;
+            this.submitted = submitted;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PendingRestart other) {
+            int result = Integer.compare(priority, other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.sequenceiq.cloudbreak.ha.domain.Node;
 import com.sequenceiq.cloudbreak.ha.service.NodeService;
 import com.sequenceiq.cloudbreak.ha.service.FlowDistributor;
 import com.sequenceiq.cloudbreak.service.Retry;
+import com.sequenceiq.cloudbreak.service.flowlog.AsyncFlowRestartService;
 import com.sequenceiq.cloudbreak.service.flowlog.RestartFlowService;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
 import com.sequenceiq.flow.core.Flow2Handler;
@@ -37,6 +38,7 @@ import com.sequenceiq.flow.core.FlowLogService;
 import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.chain.FlowChains;
 import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.FlowLogIdWithResourceIdAndType;
 import com.sequenceiq.flow.domain.StateStatus;
 import com.sequenceiq.flow.ha.NodeConfig;
 
@@ -47,6 +49,15 @@ public class HeartbeatService {
     @Value("${cb.ha.heartbeat.threshold:60000}")
     private Integer heartbeatThresholdRate;
 
+    @Value("${cb.ha.flow.distribution.bulk.enabled:false}")
+    private boolean bulkFlowDistribution;
+
+    @Value("${cb.ha.flow.distribution.bulk.chunk.size:500}")
+    private int bulkFlowDistributionChunkSize;
+
+    @Value("${cb.ha.flow.restart.chunk.size:500}")
+    private int flowRestartChunkSize;
+
     @Inject
     private NodeConfig nodeConfig;
 
@@ -90,6 +101,9 @@ public class HeartbeatService {
     @Inject
     private ApplicationFlowInformation applicationFlowInformation;
 
+    @Inject
+    private AsyncFlowRestartService asyncFlowRestartService;
+
     @Scheduled(cron = "${cb.ha.heartbeat.rate:0/30 * * * * *}")
     public void heartbeat() {
         if (shouldRun()) {
@@ -133,18 +147,30 @@ public class HeartbeatService {
                 LOGGER.error("Failed to cleanup the nodes, somebody might have already done it. Message: {}", e.getMessage());
             }
 
-            String nodeId = nodeConfig.getId();
-            Set<String> allMyFlows = flowLogService.findAllByCloudbreakNodeId(nodeId).stream()
-                    .map(FlowLog::getFlowId).collect(Collectors.toSet());
-            LOGGER.info("All my flows: {}", allMyFlows);
-            Set<String> newFlows = allMyFlows.stream().filter(f -> runningFlows.get(f) == null).collect(Collectors.toSet());
-            LOGGER.info("Restarted flows: {}", newFlows);
-            for (String flow : newFlows) {
-                try {
-                    flow2Handler.restartFlow(flow);
-                } catch (RuntimeException e) {
-                    LOGGER.error(String.format("Failed to restart flow: %s", flow), e);
-                }
+            restartMyFlows();
+        }
+    }
+
+    private void restartMyFlows() {
+        String nodeId = nodeConfig.getId();
+        Set<FlowLog> myFlowLogs = flowLogService.findAllByCloudbreakNodeId(nodeId);
+        if (asyncFlowRestartService.isEnabled()) {
+            List<FlowLog> newFlowLogs = myFlowLogs.stream().filter(fl -> runningFlows.get(fl.getFlowId()) == null).collect(Collectors.toList());
+            asyncFlowRestartService.submit(newFlowLogs);
+            return;
+        }
+        Set<String> allMyFlows = myFlowLogs.stream().map(FlowLog::getFlowId).collect(Collectors.toSet());
+        LOGGER.info("All my flows: {}", allMyFlows);
+        Set<String> newFlows = allMyFlows.stream().filter(f -> runningFlows.get(f) == null).limit(flowRestartChunkSize).collect(Collectors.toSet());
+        LOGGER.info("Restarted flows: {}", newFlows);
+        if (newFlows.size() == flowRestartChunkSize) {
+            LOGGER.info("Restarted flows reached the limit of {}, the rest of the flows will be restarted by the next distribution", flowRestartChunkSize);
+        }
+        for (String flow : newFlows) {
+            try {
+                flow2Handler.restartFlow(flow);
+            } catch (RuntimeException e) {
+                LOGGER.error(String.format("Failed to restart flow: %s", flow), e);
             }
         }
     }
@@ -161,6 +187,11 @@ public class HeartbeatService {
         List<Node> activeNodes = nodes.stream().filter(c -> !failedNodes.contains(c)).collect(Collectors.toList());
         LOGGER.info("Active CB nodes: ({})[{}], failed CB nodes: ({})[{}]", activeNodes.size(), activeNodes, failedNodes.size(), failedNodes);
 
+        if (bulkFlowDistribution) {
+            distributeFlowsInBulk(failedNodes, activeNodes);
+            return failedNodes;
+        }
+
         List<FlowLog> failedFlowLogs = failedNodes.stream()
                 .map(node -> flowLogService.findAllByCloudbreakNodeId(node.getUuid()))
                 .flatMap(Set::stream)
@@ -178,9 +209,10 @@ public class HeartbeatService {
             failedFlowLogs.removeAll(invalidFlows);
             LOGGER.info("The following flows have been filtered out from distribution: {}", getFlowIds(invalidFlows));
             Map<Node, List<String>> flowDistribution = flowDistributor.distribute(getFlowIds(failedFlowLogs), activeNodes);
+            Map<String, List<FlowLog>> failedFlowLogsByFlowId = failedFlowLogs.stream().collect(Collectors.groupingBy(FlowLog::getFlowId));
             for (Entry<Node, List<String>> entry : flowDistribution.entrySet()) {
                 entry.getValue().forEach(flowId ->
-                        failedFlowLogs.stream().filter(flowLog -> flowLog.getFlowId().equalsIgnoreCase(flowId)).forEach(flowLog -> {
+                        failedFlowLogsByFlowId.getOrDefault(flowId, Collections.emptyList()).forEach(flowLog -> {
                             flowLog.setCloudbreakNodeId(entry.getKey().getUuid());
                             updatedFlowLogs.add(flowLog);
                         }));
@@ -190,6 +222,59 @@ public class HeartbeatService {
         return failedNodes;
     }
 
+    /**
+     * Moves the running flows of the failed nodes with one update per target node instead of loading and saving every flow log. Only the
+     * rows still assigned to a failed node are updated, so a node that distributes the same flows concurrently does not move them twice.
+     */
+    private void distributeFlowsInBulk(Collection<Node> failedNodes, List<Node> activeNodes) throws TransactionExecutionException {
+        if (failedNodes.isEmpty()) {
+            return;
+        }
+        Set<String> failedNodeIds = failedNodes.stream().map(Node::getUuid).collect(Collectors.toSet());
+        Set<FlowLogIdWithResourceIdAndType> failedFlows = flowLogService.findAllRunningFlowsByCloudbreakNodeIds(failedNodeIds);
+        if (failedFlows.isEmpty()) {
+            return;
+        }
+        Set<String> invalidFlowIds = getInvalidFlowIds(failedFlows);
+        List<String> flowIds = failedFlows.stream()
+                .map(FlowLogIdWithResourceIdAndType::getFlowId)
+                .filter(flowId -> !invalidFlowIds.contains(flowId))
+                .distinct()
+                .collect(Collectors.toList());
+        LOGGER.info("{} flows will be distributed across the active nodes, {} flows have been filtered out from distribution: {}",
+                flowIds.size(), invalidFlowIds.size(), invalidFlowIds);
+        Map<Node, List<String>> flowDistribution = activeNodes.isEmpty() ? Collections.emptyMap() : flowDistributor.distribute(flowIds, activeNodes);
+        transactionService.required(() -> {
+            for (List<String> invalidFlowIdChunk : Lists.partition(new ArrayList<>(invalidFlowIds), bulkFlowDistributionChunkSize)) {
+                flowLogService.finalizeRunningFlows(invalidFlowIdChunk, failedNodeIds);
+            }
+            for (Entry<Node, List<String>> entry : flowDistribution.entrySet()) {
+                int reassigned = 0;
+                for (List<String> flowIdChunk : Lists.partition(entry.getValue(), bulkFlowDistributionChunkSize)) {
+                    reassigned += flowLogService.reassignRunningFlows(flowIdChunk, failedNodeIds, entry.getKey().getUuid());
+                }
+                LOGGER.info("{} flows ({} flow logs) have been assigned to node {}", entry.getValue().size(), reassigned, entry.getKey().getUuid());
+            }
+            return null;
+        });
+    }
+
+    private Set<String> getInvalidFlowIds(Collection<FlowLogIdWithResourceIdAndType> flows) {
+        Set<Long> resourceIds = flows.stream().map(FlowLogIdWithResourceIdAndType::getResourceId).collect(Collectors.toSet());
+        Set<Long> deletingResourceIds = haApplication.getDeletingResources(resourceIds);
+        if (deletingResourceIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> terminationFlowTypes = applicationFlowInformation.getTerminationFlow().stream()
+                .map(Class::getName)
+                .collect(Collectors.toSet());
+        return flows.stream()
+                .filter(flow -> deletingResourceIds.contains(flow.getResourceId()))
+                .filter(flow -> !terminationFlowTypes.contains(flow.getFlowType().getName()))
+                .map(FlowLogIdWithResourceIdAndType::getFlowId)
+                .collect(Collectors.toSet());
+    }
+
     /**
      * Remove the node reference from the DB for those nodes that are failing and does not have any assigned flows.
      */
@@ -217,7 +302,7 @@ public class HeartbeatService {
             Set<Long> terminatingStacksByCurrentNode = findTerminatingStacksForCurrentNode();
             for (Long resourceId : deletingResourceIds) {
                 if (isStackTerminationExecutedByAnotherNode(resourceId, terminatingStacksByCurrentNode)) {
-                    Set<String> runningFlowIds = flowLogService.findAllRunningNonTerminationFlowIdsByStackId(resourceId);
+                    Set<String> runningFlowIds = runningFlows.getRunningNonTerminationFlowIds(resourceId);
                     if (haApplication.isRunningOnThisNode(runningFlowIds)) {
                         LOGGER.info("Found termination flow on a different node for stack: {}", resourceId);
                         cancelRunningFlow(resourceId);
@@ -246,11 +331,12 @@ public class HeartbeatService {
         if (!resourceIds.isEmpty()) {
             Set<Long> deletingResourceIds = haApplication.getDeletingResources(resourceIds);
             if (!deletingResourceIds.isEmpty()) {
+                Set<String> terminationFlowTypes = applicationFlowInformation.getTerminationFlow().stream()
+                        .map(Class::getName)
+                        .collect(Collectors.toSet());
                 return flowLogs.stream()
                         .filter(fl -> deletingResourceIds.contains(fl.getResourceId()))
-                        .filter(fl -> applicationFlowInformation.getTerminationFlow().stream()
-                                .map(Class::getName)
-                                .noneMatch(terminationFlowClassName -> terminationFlowClassName.equals(fl.getFlowType().getName())))
+                        .filter(fl -> !terminationFlowTypes.contains(fl.getFlowType().getName()))
                         .collect(Collectors.toList());
             }
         }
@@ -13,6 +13,10 @@ public interface ApplicationFlowInformation  {
 
     List<Class<? extends FlowConfiguration<?>>> getTerminationFlow();
 
+    default List<Class<? extends FlowConfiguration<?>>> getRepairFlows() {
+        return List.of();
+    }
+
     default void handleFlowFail(FlowLog flowLog) {
 
     }
@@ -143,7 +143,7 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
                         flowParameters.setFlowId(flowId);
                         Flow flow = flowConfig.createFlow(flowId, payload.getResourceId());
                         flow.initialize(contextParams);
-                        runningFlows.put(flow, flowChainId);
+                        runningFlows.put(flow, flowChainId, payload.getResourceId());
                         try {
                             flowLogService.save(flowParameters, flowChainId, key, payload, null, flowConfig.getClass(), flow.getCurrentState());
                         } catch (Exception e) {
@@ -210,7 +210,7 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
     }
 
     private void cancelRunningFlows(Long stackId) throws TransactionExecutionException {
-        Set<String> flowIds = flowLogService.findAllRunningNonTerminationFlowIdsByStackId(stackId);
+        Set<String> flowIds = runningFlows.getRunningNonTerminationFlowIds(stackId);
         LOGGER.debug("flow cancellation arrived: ids: {}", flowIds);
         for (String id : flowIds) {
             cancelFlow(stackId, id);
@@ -256,13 +256,13 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
                 Optional<FlowConfiguration<?>> flowConfig = flowConfigs.stream()
                         .filter(fc -> fc.getClass().equals(flowLog.getFlowType())).findFirst();
                 try {
-                    Payload payload = (Payload) JsonReader.jsonToJava(flowLog.getPayload());
+                    Payload payload = (Payload) JsonReader.jsonToJava(flowLog.getDecodedPayload());
                     Flow flow = flowConfig.get().createFlow(flowLog.getFlowId(), payload.getResourceId());
-                    runningFlows.put(flow, flowLog.getFlowChainId());
+                    runningFlows.put(flow, flowLog.getFlowChainId(), payload.getResourceId());
                     if (flowLog.getFlowChainId() != null) {
                         flowChainHandler.restoreFlowChain(flowLog.getFlowChainId());
                     }
-                    Map<Object, Object> variables = (Map<Object, Object>) JsonReader.jsonToJava(flowLog.getVariables());
+                    Map<Object, Object> variables = (Map<Object, Object>) JsonReader.jsonToJava(flowLog.getDecodedVariables());
                     flow.initialize(flowLog.getCurrentState(), variables);
                     RestartAction restartAction = flowConfig.get().getRestartAction(flowLog.getNextEvent());
                     if (restartAction != null) {
@@ -1,5 +1,6 @@
 package com.sequenceiq.flow.core;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -11,6 +12,7 @@ import com.sequenceiq.cloudbreak.common.event.Selectable;
 import com.sequenceiq.cloudbreak.common.service.TransactionService;
 import com.sequenceiq.flow.domain.FlowChainLog;
 import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.FlowLogIdWithResourceIdAndType;
 
 public interface FlowLogService {
     FlowLog save(FlowParameters flowParameters, String flowChanId, String key, Payload payload, Map<Object, Object> variables, Class<?> flowType,
@@ -52,6 +54,14 @@ public interface FlowLogService {
 
     Set<FlowLog> findAllByCloudbreakNodeId(String cloudbreakNodeId);
 
+    Set<FlowLogIdWithResourceIdAndType> findAllRunningFlowsByCloudbreakNodeIds(Set<String> cloudbreakNodeIds);
+
+    Map<String, Long> countRunningFlowsByCloudbreakNodeIds(Set<String> cloudbreakNodeIds);
+
+    int reassignRunningFlows(Collection<String> flowIds, Set<String> failedNodeIds, String cloudbreakNodeId);
+
+    int finalizeRunningFlows(Collection<String> flowIds, Set<String> failedNodeIds);
+
     List<FlowLog> findAllByResourceIdOrderByCreatedDesc(Long id);
 
     List<FlowLog> findAllByResourceIdAndFinalizedIsFalseOrderByCreatedDesc(Long id);
@@ -4,7 +4,11 @@ import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
 
 public enum FlowMetricType implements Metric {
     FLOW_STEP("flowstep"),
-    ACTIVE_FLOWS("activeflow");
+    ACTIVE_FLOWS("activeflow"),
+    FLOWLOG_WRITE_BEHIND_QUEUE("flowlogwritebehindqueue"),
+    FLOWLOG_FLUSH_TIME("flowlogflushtime"),
+    FLOW_RESTART_BACKLOG("flowrestartbacklog"),
+    FLOW_RESTART_TIME("flowrestarttime");
 
     private final String metricName;
 
@@ -1,19 +1,24 @@
 package com.sequenceiq.flow.core;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 
+/**
+ * In-memory registry of the flows running on this node. Besides the flow id lookup the flows are indexed by their resource id, so the
+ * parallel flow checks of the resources owned by this node can be answered without reading the flow logs.
+ */
 @Component
 public class FlowRegister {
 
@@ -22,34 +27,120 @@ public class FlowRegister {
     @Inject
     private MetricService metricService;
 
-    private final Map<String, Pair<Flow, String>> runningFlows = new ConcurrentHashMap<>();
+    @Inject
+    @Lazy
+    private ApplicationFlowInformation applicationFlowInformation;
+
+    private final Map<String, RunningFlow> runningFlows = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<String>> runningFlowIdsByResourceId = new ConcurrentHashMap<>();
+
+    private volatile Set<String> terminationFlowTypes;
 
     public void put(Flow flow, String chainFlowId) {
+        put(flow, chainFlowId, null);
+    }
+
+    public void put(Flow flow, String chainFlowId, Long resourceId) {
         LOGGER.info("Put flow {} to running flows", flow.getFlowId());
-        runningFlows.put(flow.getFlowId(), new ImmutablePair<>(flow, chainFlowId));
+        RunningFlow runningFlow = new RunningFlow(flow, chainFlowId, resourceId, isTerminationFlow(flow.getFlowConfigClass()));
+        RunningFlow previous = runningFlows.put(flow.getFlowId(), runningFlow);
+        if (previous != null) {
+            removeFromIndex(previous);
+        }
+        if (resourceId != null) {
+            runningFlowIdsByResourceId.computeIfAbsent(resourceId, id -> ConcurrentHashMap.newKeySet()).add(flow.getFlowId());
+        }
         LOGGER.info("Running flows after put: {}", runningFlows.keySet());
         metricService.submit(FlowMetricType.ACTIVE_FLOWS, runningFlows.size());
     }
 
     public Flow get(String flowId) {
-        Pair<Flow, String> p = runningFlows.get(flowId);
-        return p != null ? p.getLeft() : null;
+        RunningFlow runningFlow = runningFlows.get(flowId);
+        return runningFlow != null ? runningFlow.flow : null;
     }
 
     public String getFlowChainId(String flowId) {
-        Pair<Flow, String> p = runningFlows.get(flowId);
-        return p != null ? p.getRight() : null;
+        RunningFlow runningFlow = runningFlows.get(flowId);
+        return runningFlow != null ? runningFlow.flowChainId : null;
     }
 
     public Flow remove(String flowId) {
         LOGGER.info("Remove flow {} from running flows", flowId);
-        Pair<Flow, String> pair = runningFlows.remove(flowId);
+        RunningFlow runningFlow = runningFlows.remove(flowId);
+        if (runningFlow != null) {
+            removeFromIndex(runningFlow);
+        }
         metricService.submit(FlowMetricType.ACTIVE_FLOWS, runningFlows.size());
         LOGGER.info("Running flows after removal: {}", runningFlows.keySet());
-        return pair == null ? null : pair.getLeft();
+        return runningFlow == null ? null : runningFlow.flow;
     }
 
     public Set<String> getRunningFlowIds() {
         return runningFlows.keySet();
     }
+
+    /**
+     * Returns the ids of the non-termination flows running on this node for the resource.
+     */
+    public Set<String> getRunningNonTerminationFlowIds(Long resourceId) {
+        Set<String> flowIds = resourceId == null ? null : runningFlowIdsByResourceId.get(resourceId);
+        if (flowIds == null) {
+            return Collections.emptySet();
+        }
+        return flowIds.stream()
+                .map(runningFlows::get)
+                .filter(runningFlow -> runningFlow != null && !runningFlow.terminationFlow)
+                .map(runningFlow -> runningFlow.flow.getFlowId())
+                .collect(Collectors.toSet());
+    }
+
+    public boolean isNonTerminationFlowRunning(Long resourceId) {
+        Set<String> flowIds = resourceId == null ? null : runningFlowIdsByResourceId.get(resourceId);
+        if (flowIds == null) {
+            return false;
+        }
+        return flowIds.stream()
+                .map(runningFlows::get)
+                .anyMatch(runningFlow -> runningFlow != null && !runningFlow.terminationFlow);
+    }
+
+    public boolean isTerminationFlow(Class<?> flowType) {
+        if (flowType == null) {
+            return false;
+        }
+        Set<String> types = terminationFlowTypes;
+        if (types == null) {
+            types = applicationFlowInformation.getTerminationFlow().stream().map(Class::getName).collect(Collectors.toUnmodifiableSet());
+            terminationFlowTypes = types;
+        }
+        return types.contains(flowType.getName());
+    }
+
+    private void removeFromIndex(RunningFlow runningFlow) {
+        if (runningFlow.resourceId != null) {
+            runningFlowIdsByResourceId.computeIfPresent(runningFlow.resourceId, (id, flowIds) -> {
+                flowIds.remove(runningFlow.flow.getFlowId());
+                return flowIds.isEmpty() ? null : flowIds;
+            });
+        }
+    }
+
+    private static class RunningFlow {
+
+        private final Flow flow;
+
+        private final String flowChainId;
+
+        private final Long resourceId;
+
+        private final boolean terminationFlow;
+
+        RunningFlow(Flow flow, String flowChainId, Long resourceId, boolean terminationFlow) {
+            this.flow = flow;
+            this.flowChainId = flowChainId;
+            this.resourceId = resourceId;
+            this.terminationFlow = terminationFlow;
+        }
+    }
 }
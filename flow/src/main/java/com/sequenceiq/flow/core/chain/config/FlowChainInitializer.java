@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 import com.sequenceiq.flow.core.chain.FlowChainHandler;
 import com.sequenceiq.flow.core.chain.FlowEventChainFactory;
+import com.sequenceiq.flow.reactor.config.PartitionedEventDispatcher;
 
 import reactor.bus.EventBus;
 import reactor.bus.selector.Selectors;
@@ -23,12 +24,15 @@ public class FlowChainInitializer {
     @Inject
     private FlowChainHandler flowChainHandler;
 
+    @Inject
+    private PartitionedEventDispatcher partitionedEventDispatcher;
+
     @Resource
     private List<FlowEventChainFactory<?>> flowChainFactories;
 
     @PostConstruct
     public void init() {
         String chainSelectors = flowChainFactories.stream().map(FlowEventChainFactory::initEvent).collect(Collectors.joining("|"));
-        reactor.on(Selectors.regex(chainSelectors), flowChainHandler);
+        reactor.on(Selectors.regex(chainSelectors), partitionedEventDispatcher.wrap(flowChainHandler));
     }
 }
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 
 import com.sequenceiq.flow.core.Flow2Handler;
 import com.sequenceiq.flow.core.FlowEvent;
+import com.sequenceiq.flow.reactor.config.PartitionedEventDispatcher;
 
 import reactor.bus.EventBus;
 import reactor.bus.selector.Selectors;
@@ -25,6 +26,9 @@ public class Flow2Initializer {
     @Inject
     private Flow2Handler flow2Handler;
 
+    @Inject
+    private PartitionedEventDispatcher partitionedEventDispatcher;
+
     @Resource
     private List<FlowConfiguration<?>> flowConfigs;
 
@@ -33,6 +37,6 @@ public class Flow2Initializer {
         String eventSelector = Stream.concat(Stream.of(Flow2Handler.FLOW_FINAL, Flow2Handler.FLOW_CANCEL),
                                             flowConfigs.stream().flatMap(c -> Arrays.stream(c.getEvents())).map(FlowEvent::event)
                                     ).distinct().collect(Collectors.joining("|"));
-        reactor.on(Selectors.regex(eventSelector), flow2Handler);
+        reactor.on(Selectors.regex(eventSelector), partitionedEventDispatcher.wrap(flow2Handler));
     }
 }
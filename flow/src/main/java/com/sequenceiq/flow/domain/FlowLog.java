@@ -7,6 +7,8 @@ import java.util.Date;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -60,6 +62,9 @@ public class FlowLog {
 
     private String flowTriggerUserCrn;
 
+    @Enumerated(EnumType.STRING)
+    private PayloadEncoding payloadEncoding;
+
     public FlowLog() {
 
     }
@@ -222,6 +227,22 @@ public class FlowLog {
         this.flowTriggerUserCrn = flowTriggerUserCrn;
     }
 
+    public PayloadEncoding getPayloadEncoding() {
+        return payloadEncoding;
+    }
+
+    public void setPayloadEncoding(PayloadEncoding payloadEncoding) {
+        this.payloadEncoding = payloadEncoding;
+    }
+
+    public String getDecodedPayload() {
+        return PayloadEncoding.fromNullable(payloadEncoding).decode(payload);
+    }
+
+    public String getDecodedVariables() {
+        return PayloadEncoding.fromNullable(payloadEncoding).decode(variables);
+    }
+
     public String minimizedString() {
         return "FlowLog{" +
                 "resourceId=" + resourceId +
@@ -0,0 +1,10 @@
+package com.sequenceiq.flow.domain;
+
+public interface FlowLogIdWithResourceIdAndType {
+
+    String getFlowId();
+
+    Long getResourceId();
+
+    Class<?> getFlowType();
+}
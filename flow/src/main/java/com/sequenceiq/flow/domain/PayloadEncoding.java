@@ -0,0 +1,63 @@
+package com.sequenceiq.flow.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding of the serialized payload and variables columns of {@link FlowLog}. Rows written before the encoding column existed have
+ * no encoding and are read as plain {@link #JSON}.
+ */
+public enum PayloadEncoding {
+    JSON {
+        @Override
+        public String encode(String json) {
+            return json;
+        }
+
+        @Override
+        public String decode(String value) {
+            return value;
+        }
+    },
+    GZIP_JSON {
+        @Override
+        public String encode(String json) {
+            if (json == null) {
+                return null;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(json.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can not compress flow log payload", e);
+            }
+            return Base64.getEncoder().encodeToString(bytes.toByteArray());
+        }
+
+        @Override
+        public String decode(String value) {
+            if (value == null) {
+                return null;
+            }
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(value)))) {
+                return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can not decompress flow log payload", e);
+            }
+        }
+    };
+
+    public abstract String encode(String json);
+
+    public abstract String decode(String value);
+
+    public static PayloadEncoding fromNullable(PayloadEncoding encoding) {
+        return encoding == null ? JSON : encoding;
+    }
+}
@@ -44,6 +44,18 @@ public class EventBusConfig {
     @Value("${cb.eventbus.threadpool.backlog.size:1000}")
     private int eventBusThreadPoolBacklogSize;
 
+    @Value("${cb.eventbus.partitioned.enabled:false}")
+    private boolean partitionedDispatcherEnabled;
+
+    @Value("${cb.eventbus.partitioned.lanes:100}")
+    private int partitionedDispatcherLanes;
+
+    @Value("${cb.eventbus.partitioned.lane.capacity:100}")
+    private int partitionedDispatcherLaneCapacity;
+
+    @Value("${cb.eventbus.partitioned.offer.timeout.ms:10000}")
+    private long partitionedDispatcherOfferTimeoutMs;
+
     @Inject
     @Lazy
     private ApplicationFlowInformation applicationFlowInformation;
@@ -58,20 +70,34 @@ public class EventBusConfig {
             if (flowId == null) {
                 flowId = getFlowIdFromMDC();
             }
-            if (flowId != null) {
-                LOGGER.error("Unhandled exception happened in flow {}, lets cancel it", flowId, throwable);
-                flowLogDBService.getLastFlowLog(flowId).ifPresent(flowLog -> {
-                    flowLogDBService.updateLastFlowLogStatus(flowLog, true);
-                    applicationFlowInformation.handleFlowFail(flowLog);
-                });
-            } else {
-                LOGGER.error("We were not able to guess flowId on thread: {}", generateStackTrace());
-            }
+            handleFlowFail(flowId, throwable);
         } catch (Exception e) {
             LOGGER.error("can't handle flow fail", e);
         }
     }
 
+    private void handleLaneFail(Event<?> event, Throwable throwable) {
+        LOGGER.error("Exception happened in event lane", throwable);
+        try {
+            String flowId = event.getHeaders().get("FLOW_ID");
+            handleFlowFail(flowId == null ? getFlowIdFromMDC() : flowId, throwable);
+        } catch (Exception e) {
+            LOGGER.error("can't handle flow fail", e);
+        }
+    }
+
+    private void handleFlowFail(String flowId, Throwable throwable) {
+        if (flowId != null) {
+            LOGGER.error("Unhandled exception happened in flow {}, lets cancel it", flowId, throwable);
+            flowLogDBService.getLastFlowLog(flowId).ifPresent(flowLog -> {
+                flowLogDBService.updateLastFlowLogStatus(flowLog, true);
+                applicationFlowInformation.handleFlowFail(flowLog);
+            });
+        } else {
+            LOGGER.error("We were not able to guess flowId on thread: {}", generateStackTrace());
+        }
+    }
+
     private String generateStackTrace() {
         return String.join("\n\t", Arrays.stream(Thread.currentThread().getStackTrace()).map(StackTraceElement::toString)
                 .collect(Collectors.toCollection(LinkedHashSet::new)));
@@ -119,9 +145,14 @@ public class EventBusConfig {
 
     @Bean
     public EventBus reactor(MDCCleanerThreadPoolExecutor threadPoolExecutor, Environment env) {
-        return new EventBusSpec()
-                .env(env)
-                .dispatcher(new ThreadPoolExecutorDispatcher(eventBusThreadPoolBacklogSize, eventBusThreadPoolCoreSize, threadPoolExecutor))
+        EventBusSpec eventBusSpec = new EventBusSpec().env(env);
+        if (partitionedDispatcherEnabled) {
+            LOGGER.info("Event consumers run on {} partitioned lanes, events are routed synchronously", partitionedDispatcherLanes);
+            eventBusSpec.synchronousDispatcher();
+        } else {
+            eventBusSpec.dispatcher(new ThreadPoolExecutorDispatcher(eventBusThreadPoolBacklogSize, eventBusThreadPoolCoreSize, threadPoolExecutor));
+        }
+        return eventBusSpec
                 .traceEventPath()
                 .dispatchErrorHandler(throwable -> {
                     handleFlowFail(throwable);
@@ -131,6 +162,12 @@ public class EventBusConfig {
                 .get();
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public PartitionedEventDispatcher partitionedEventDispatcher() {
+        return new PartitionedEventDispatcher(partitionedDispatcherEnabled, partitionedDispatcherLanes, partitionedDispatcherLaneCapacity,
+                partitionedDispatcherOfferTimeoutMs, this::handleLaneFail, getPoolExecutor());
+    }
+
     @Bean("eventBusThreadPoolExecutor")
     public MDCCleanerThreadPoolExecutor getPoolExecutor() {
         return new MDCCleanerThreadPoolExecutor(eventBusThreadPoolCoreSize,
@@ -7,6 +7,8 @@ import org.springframework.stereotype.Component;
 import reactor.bus.EventBus;
 import reactor.core.Dispatcher;
 
+import java.util.List;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -22,6 +24,9 @@ public class EventBusStatisticReporter {
     @Named("eventBusThreadPoolExecutor")
     private MDCCleanerThreadPoolExecutor executor;
 
+    @Inject
+    private PartitionedEventDispatcher partitionedEventDispatcher;
+
     public void logInfoReport() {
         LOGGER.info("Reactor event bus statistics: {}", create());
     }
@@ -44,6 +49,9 @@ public class EventBusStatisticReporter {
         stats.setActiveCount(executor.getActiveCount());
         stats.setCompletedTaskCount(executor.getCompletedTaskCount());
 
+        if (partitionedEventDispatcher.isEnabled()) {
+            stats.setLaneStatistics(partitionedEventDispatcher.getLaneStatistics());
+        }
         return stats;
     }
 
@@ -67,6 +75,8 @@ public class EventBusStatisticReporter {
 
         private boolean inContext;
 
+        private List<PartitionedEventDispatcher.LaneStatistics> laneStatistics = List.of();
+
         public void setGetActiveCount(long getActiveCount) {
             this.getActiveCount = getActiveCount;
         }
@@ -103,6 +113,10 @@ public class EventBusStatisticReporter {
             this.inContext = inContext;
         }
 
+        public void setLaneStatistics(List<PartitionedEventDispatcher.LaneStatistics> laneStatistics) {
+            this.laneStatistics = laneStatistics;
+        }
+
         @Override
         public String toString() {
             return "EventBusStatistics{" +
@@ -115,6 +129,7 @@ public class EventBusStatisticReporter {
                     ", poolSize=" + poolSize +
                     ", activeCount=" + activeCount +
                     ", inContext=" + inContext +
+                    ", laneStatistics=" + laneStatistics +
                     '}';
         }
     }
@@ -0,0 +1,260 @@
+package com.sequenceiq.flow.reactor.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sequenceiq.cloudbreak.common.event.Payload;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+import com.sequenceiq.flow.core.FlowConstants;
+
+import reactor.bus.Event;
+import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.fn.Consumer;
+
+/**
+ * Runs event consumers on single threaded lanes selected by the hash of the flow id (or the resource id when the event does not belong
+ * to a flow yet), so the events of a flow are processed in order without sharing one global queue. Events without either of them are
+ * spread over the lanes randomly. When a lane is full the caller is
+ * blocked for a while instead of dropping the event. A lane never blocks on itself, and a lane that waited too long for another lane
+ * enqueues anyway, so two lanes sending to each other can not deadlock.
+ * <p>
+ * The consumers of request/response events, whose sender waits for the response, run on the thread pool of the event bus instead of
+ * the lanes. An event that is not part of a flow and is sent to the lane of the sending thread is consumed inline, because the sender
+ * may wait for its result and the lane would wait for the sender.
+ */
+public class PartitionedEventDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedEventDispatcher.class);
+
+    private static final ThreadLocal<Lane> CURRENT_LANE = new ThreadLocal<>();
+
+    private final boolean enabled;
+
+    private final long offerTimeoutMs;
+
+    private final BiConsumer<Event<?>, Throwable> errorHandler;
+
+    private final Executor requestExecutor;
+
+    private final List<Lane> lanes = new ArrayList<>();
+
+    public PartitionedEventDispatcher(boolean enabled, int laneCount, int laneCapacity, long offerTimeoutMs, BiConsumer<Event<?>, Throwable> errorHandler,
+            Executor requestExecutor) {
+        this.enabled = enabled;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.errorHandler = errorHandler;
+        this.requestExecutor = requestExecutor;
+        if (enabled) {
+            for (int i = 0; i < laneCount; i++) {
+                lanes.add(new Lane(i, laneCapacity));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a consumer that hands the events over to the lane of their flow, or the consumer itself if partitioning is disabled.
+     */
+    public <E extends Event<?>> Consumer<E> wrap(Consumer<E> consumer) {
+        if (!enabled) {
+            return consumer;
+        }
+        return event -> dispatch(event, consumer);
+    }
+
+    /**
+     * Returns a consumer that hands the events over to the thread pool of the event bus, or the consumer itself if partitioning is
+     * disabled. Used for the request/response events, so a sender waiting for the response never blocks the lane of the consumer.
+     */
+    public <E extends Event<?>> Consumer<E> wrapRequest(Consumer<E> consumer) {
+        if (!enabled) {
+            return consumer;
+        }
+        return event -> requestExecutor.execute(() -> consume(event, consumer));
+    }
+
+    public List<LaneStatistics> getLaneStatistics() {
+        return lanes.stream().map(Lane::statistics).collect(Collectors.toList());
+    }
+
+    public void shutdown() {
+        lanes.forEach(lane -> lane.executor.shutdown());
+    }
+
+    private <E extends Event<?>> void dispatch(E event, Consumer<E> consumer) {
+        Lane lane = lanes.get(Math.floorMod(partitionKey(event).hashCode(), lanes.size()));
+        if (CURRENT_LANE.get() == lane && event.getHeaders().get(FlowConstants.FLOW_ID) == null) {
+            LOGGER.debug("Event is sent to the lane {} of the sender, consuming it inline", lane.index);
+            consume(event, consumer);
+        } else {
+            lane.submit(() -> consume(event, consumer), offerTimeoutMs);
+        }
+    }
+
+    private <E extends Event<?>> void consume(E event, Consumer<E> consumer) {
+        try {
+            consumer.accept(event);
+        } catch (RuntimeException e) {
+            handleError(event, e);
+        }
+    }
+
+    private void handleError(Event<?> event, RuntimeException e) {
+        if (event.getErrorConsumer() != null) {
+            event.getErrorConsumer().accept(e);
+        } else {
+            errorHandler.accept(event, e);
+        }
+    }
+
+    private Object partitionKey(Event<?> event) {
+        String flowId = event.getHeaders().get(FlowConstants.FLOW_ID);
+        if (flowId != null) {
+            return flowId;
+        }
+        Object data = event.getData();
+        if (data instanceof Payload && ((Payload) data).getResourceId() != null) {
+            return ((Payload) data).getResourceId();
+        }
+        return ThreadLocalRandom.current().nextInt();
+    }
+
+    private static class Lane {
+
+        private final int index;
+
+        private final Semaphore capacity;
+
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicLong dispatched = new AtomicLong();
+
+        private final AtomicLong totalWaitMs = new AtomicLong();
+
+        private final AtomicLong maxWaitMs = new AtomicLong();
+
+        private final AtomicLong overcommitted = new AtomicLong();
+
+        Lane(int index, int laneCapacity) {
+            this.index = index;
+            capacity = new Semaphore(laneCapacity);
+            executor = new MDCCleanerThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    new NamedDaemonThreadFactory("reactorLane-" + index), new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        void submit(Runnable task, long offerTimeoutMs) {
+            boolean acquired = CURRENT_LANE.get() != this && acquire(offerTimeoutMs);
+            long enqueued = System.currentTimeMillis();
+            executor.execute(() -> {
+                long wait = System.currentTimeMillis() - enqueued;
+                dispatched.incrementAndGet();
+                totalWaitMs.addAndGet(wait);
+                maxWaitMs.accumulateAndGet(wait, Math::max);
+                CURRENT_LANE.set(this);
+                try {
+                    task.run();
+                } finally {
+                    CURRENT_LANE.remove();
+                    if (acquired) {
+                        capacity.release();
+                    }
+                }
+            });
+        }
+
+        private boolean acquire(long offerTimeoutMs) {
+            try {
+                if (capacity.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            overcommitted.incrementAndGet();
+            LOGGER.warn("Event lane {} is still full after {} ms, enqueueing over its capacity. Queue depth: {}", index, offerTimeoutMs,
+                    executor.getQueue().size());
+            return false;
+        }
+
+        LaneStatistics statistics() {
+            long count = dispatched.get();
+            return new LaneStatistics(index, executor.getQueue().size(), count, count == 0 ? 0 : totalWaitMs.get() / count, maxWaitMs.get(),
+                    overcommitted.get());
+        }
+    }
+
+    public static class LaneStatistics {
+
+        private final int lane;
+
+        private final int queueDepth;
+
+        private final long dispatched;
+
+        private final long averageWaitMs;
+
+        private final long maxWaitMs;
+
+        private final long overcommitted;
+
+        LaneStatistics(int lane, int queueDepth, long dispatched, long averageWaitMs, long maxWaitMs, long overcommitted) {
+            this.lane = lane;
+            this.queueDepth = queueDepth;
+            this.dispatched = dispatched;
+            this.averageWaitMs = averageWaitMs;
+            this.maxWaitMs = maxWaitMs;
+            this.overcommitted = overcommitted;
+        }
+
+        public int getLane() {
+            return lane;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public long getDispatched() {
+            return dispatched;
+        }
+
+        public long getAverageWaitMs() {
+            return averageWaitMs;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public long getOvercommitted() {
+            return overcommitted;
+        }
+
+        @Override
+        public String toString() {
+            return "LaneStatistics{" +
+                    "lane=" + lane +
+                    ", queueDepth=" + queueDepth +
+                    ", dispatched=" + dispatched +
+                    ", averageWaitMs=" + averageWaitMs +
+                    ", maxWaitMs=" + maxWaitMs +
+                    ", overcommitted=" + overcommitted +
+                    '}';
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sequenceiq.flow.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -14,6 +15,7 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.FlowLogIdWithResourceIdAndType;
 import com.sequenceiq.flow.domain.FlowLogIdWithTypeAndTimestamp;
 import com.sequenceiq.flow.domain.StateStatus;
 
@@ -36,6 +38,26 @@ public interface FlowLogRepository extends CrudRepository<FlowLog, Long> {
     @Query("SELECT fl FROM FlowLog fl WHERE fl.cloudbreakNodeId = :cloudbreakNodeId AND fl.stateStatus = 'PENDING'")
     Set<FlowLog> findAllByCloudbreakNodeId(@Param("cloudbreakNodeId") String cloudbreakNodeId);
 
+    @Query("SELECT DISTINCT fl.flowId as flowId, fl.resourceId as resourceId, fl.flowType as flowType FROM FlowLog fl "
+            + "WHERE fl.cloudbreakNodeId IN (:cloudbreakNodeIds) AND fl.stateStatus = 'PENDING'")
+    Set<FlowLogIdWithResourceIdAndType> findAllRunningFlowsByCloudbreakNodeIds(@Param("cloudbreakNodeIds") Set<String> cloudbreakNodeIds);
+
+    @Query("SELECT fl.cloudbreakNodeId, COUNT(DISTINCT fl.flowId) FROM FlowLog fl "
+            + "WHERE fl.cloudbreakNodeId IN (:cloudbreakNodeIds) AND fl.stateStatus = 'PENDING' GROUP BY fl.cloudbreakNodeId")
+    List<Object[]> countRunningFlowsByCloudbreakNodeIds(@Param("cloudbreakNodeIds") Set<String> cloudbreakNodeIds);
+
+    @Modifying
+    @Query("UPDATE FlowLog fl SET fl.cloudbreakNodeId = :cloudbreakNodeId, fl.version = fl.version + 1 "
+            + "WHERE fl.flowId IN (:flowIds) AND fl.cloudbreakNodeId IN (:failedNodeIds) AND fl.stateStatus = 'PENDING'")
+    int reassignRunningFlows(@Param("flowIds") Collection<String> flowIds, @Param("failedNodeIds") Set<String> failedNodeIds,
+            @Param("cloudbreakNodeId") String cloudbreakNodeId);
+
+    @Modifying
+    @Query("UPDATE FlowLog fl SET fl.finalized = true, fl.stateStatus = :stateStatus, fl.version = fl.version + 1 "
+            + "WHERE fl.flowId IN (:flowIds) AND fl.cloudbreakNodeId IN (:failedNodeIds) AND fl.stateStatus = 'PENDING'")
+    int finalizeRunningFlows(@Param("flowIds") Collection<String> flowIds, @Param("failedNodeIds") Set<String> failedNodeIds,
+            @Param("stateStatus") StateStatus stateStatus);
+
     @Query("SELECT fl FROM FlowLog fl WHERE fl.cloudbreakNodeId IS NULL AND fl.stateStatus = 'PENDING'")
     Set<FlowLog> findAllUnassigned();
 
@@ -49,6 +71,10 @@ public interface FlowLogRepository extends CrudRepository<FlowLog, Long> {
     @Query("UPDATE FlowLog fl SET fl.stateStatus = :stateStatus WHERE fl.id = :id")
     void updateLastLogStatusInFlow(@Param("id") Long id, @Param("stateStatus") StateStatus stateStatus);
 
+    @Modifying
+    @Query("UPDATE FlowLog fl SET fl.stateStatus = :stateStatus WHERE fl.id IN (:ids)")
+    void updateLastLogStatusInFlows(@Param("ids") Set<Long> ids, @Param("stateStatus") StateStatus stateStatus);
+
     List<FlowLog> findAllByResourceIdOrderByCreatedDesc(Long resourceId);
 
     Optional<FlowLog> findFirstByResourceIdOrderByCreatedDesc(@Param("resourceId") Long resourceId);
@@ -1,5 +1,6 @@
 package com.sequenceiq.flow.service.flowlog;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -14,10 +15,13 @@ import javax.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
 import com.cedarsoftware.util.io.JsonWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Joiner;
 import com.sequenceiq.cloudbreak.auth.altus.Crn;
 import com.sequenceiq.cloudbreak.common.event.Payload;
@@ -30,11 +34,14 @@ import com.sequenceiq.flow.core.ApplicationFlowInformation;
 import com.sequenceiq.flow.core.FlowConstants;
 import com.sequenceiq.flow.core.FlowLogService;
 import com.sequenceiq.flow.core.FlowParameters;
+import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.FlowState;
 import com.sequenceiq.flow.core.ResourceIdProvider;
 import com.sequenceiq.flow.domain.FlowChainLog;
 import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.FlowLogIdWithResourceIdAndType;
 import com.sequenceiq.flow.domain.FlowLogIdWithTypeAndTimestamp;
+import com.sequenceiq.flow.domain.PayloadEncoding;
 import com.sequenceiq.flow.domain.StateStatus;
 import com.sequenceiq.flow.ha.NodeConfig;
 import com.sequenceiq.flow.repository.FlowLogRepository;
@@ -45,6 +52,8 @@ public class FlowLogDBService implements FlowLogService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowLogDBService.class);
 
+    private static final long MAX_RESOURCES_WITHOUT_UNTRACKED_FLOWS = 100000L;
+
     @Inject
     private NodeConfig nodeConfig;
 
@@ -67,16 +76,51 @@ public class FlowLogDBService implements FlowLogService {
     @Inject
     private ResourceIdProvider resourceIdProvider;
 
+    @Inject
+    private FlowLogWriteBehindBuffer writeBehindBuffer;
+
+    @Inject
+    private FlowRegister runningFlows;
+
+    private final Cache<Long, Boolean> resourcesWithoutUntrackedFlows = Caffeine.newBuilder()
+            .maximumSize(MAX_RESOURCES_WITHOUT_UNTRACKED_FLOWS)
+            .build();
+
+    @Value("${cb.flowlog.payload.encoding:JSON}")
+    private PayloadEncoding payloadEncoding;
+
     public FlowLog save(FlowParameters flowParameters, String flowChanId, String key, Payload payload, Map<Object, Object> variables, Class<?> flowType,
             FlowState currentState) {
-        String payloadAsString = getSerializedString(payload);
-        String variablesJson = getSerializedString(variables);
+        PayloadEncoding encoding = PayloadEncoding.fromNullable(payloadEncoding);
+        String payloadAsString = encoding.encode(getSerializedString(payload));
+        String variablesJson = encoding.encode(getSerializedString(variables));
         FlowLog flowLog = new FlowLog(payload.getResourceId(), flowParameters.getFlowId(), flowChanId, flowParameters.getFlowTriggerUserCrn(), key,
                 payloadAsString, payload.getClass(), variablesJson, flowType, currentState.toString());
+        flowLog.setPayloadEncoding(encoding);
         flowLog.setCloudbreakNodeId(nodeConfig.getId());
+        if (writeBehindBuffer.isEnabled()) {
+            return saveWriteBehind(flowLog);
+        }
         return flowLogRepository.save(flowLog);
     }
 
+    private FlowLog saveWriteBehind(FlowLog flowLog) {
+        boolean flowStart = !writeBehindBuffer.isTracked(flowLog.getFlowId());
+        writeBehindBuffer.save(flowLog);
+        if (flowStart) {
+            flushWriteBehindBuffer();
+        }
+        return flowLog;
+    }
+
+    private void flushWriteBehindBuffer() {
+        try {
+            writeBehindBuffer.flush();
+        } catch (TransactionExecutionException e) {
+            throw new TransactionService.TransactionRuntimeExecutionException(e);
+        }
+    }
+
     public String getSerializedString(Object object) {
         String objectAsString;
         try {
@@ -106,6 +150,10 @@ public class FlowLogDBService implements FlowLogService {
     }
 
     private FlowLog finalize(Long stackId, String flowId, String state) throws TransactionExecutionException {
+        if (writeBehindBuffer.isEnabled()) {
+            writeBehindBuffer.flush();
+            writeBehindBuffer.evict(flowId);
+        }
         return transactionService.required(() -> {
             flowLogRepository.finalizeByFlowId(flowId);
             getLastFlowLog(flowId).ifPresent(flowLog -> updateLastFlowLogStatus(flowLog, false));
@@ -123,15 +171,21 @@ public class FlowLogDBService implements FlowLogService {
 
     public void updateLastFlowLogStatus(FlowLog lastFlowLog, boolean failureEvent) {
         StateStatus stateStatus = failureEvent ? StateStatus.FAILED : StateStatus.SUCCESSFUL;
-        flowLogRepository.updateLastLogStatusInFlow(lastFlowLog.getId(), stateStatus);
+        if (writeBehindBuffer.isEnabled() && writeBehindBuffer.isTracked(lastFlowLog.getFlowId())) {
+            writeBehindBuffer.updateStatus(lastFlowLog, stateStatus);
+            if (failureEvent) {
+                flushWriteBehindBuffer();
+            }
+        } else {
+            flowLogRepository.updateLastLogStatusInFlow(lastFlowLog.getId(), stateStatus);
+        }
     }
 
     public void cancelTooOldTerminationFlowForResource(Long resourceId, long olderThan) {
         Set<FlowLogIdWithTypeAndTimestamp> allRunningFlowIdsByResourceId = flowLogRepository.findAllRunningFlowLogByResourceId(resourceId);
+        Set<String> terminationFlowTypes = getTerminationFlowTypes();
         allRunningFlowIdsByResourceId.stream()
-                .filter(flowLog -> applicationFlowInformation.getTerminationFlow().stream()
-                        .map(Class::getName)
-                        .anyMatch(terminationFlowClassName -> terminationFlowClassName.equals(flowLog.getFlowType().getName())))
+                .filter(flowLog -> terminationFlowTypes.contains(flowLog.getFlowType().getName()))
                 .filter(flowlog -> flowlog.getCreated() < olderThan)
                 .findFirst().ifPresent(flowLog -> {
             try {
@@ -145,16 +199,33 @@ public class FlowLogDBService implements FlowLogService {
 
     private Set<String> findAllRunningNonTerminationFlowIdsByResourceId(Long resourceId) {
         Set<FlowLogIdWithTypeAndTimestamp> allRunningFlowIdsByResourceId = flowLogRepository.findAllRunningFlowLogByResourceId(resourceId);
+        Set<String> terminationFlowTypes = getTerminationFlowTypes();
         return allRunningFlowIdsByResourceId.stream()
-                .filter(flowLog -> applicationFlowInformation.getTerminationFlow().stream()
-                        .map(Class::getName)
-                        .noneMatch(terminationFlowClassName -> terminationFlowClassName.equals(flowLog.getFlowType().getName())))
+                .filter(flowLog -> !terminationFlowTypes.contains(flowLog.getFlowType().getName()))
                 .map(FlowLogIdWithTypeAndTimestamp::getFlowId)
                 .collect(Collectors.toSet());
     }
 
+    private Set<String> getTerminationFlowTypes() {
+        return applicationFlowInformation.getTerminationFlow().stream().map(Class::getName).collect(Collectors.toSet());
+    }
+
+    /**
+     * A flow running on this node is found in the flow register. Without a node id this is the only node: once the flow logs showed no
+     * running flow of the resource, every later flow of it is started here and put in the register, so the negative answer comes from the
+     * register as well. In a cluster the flow could run on another node, so there the flow logs are read whenever the register has none.
+     */
     public boolean isOtherNonTerminationFlowRunning(Long resourceId) {
+        if (runningFlows.isNonTerminationFlowRunning(resourceId)) {
+            return true;
+        }
+        if (resourceId != null && resourcesWithoutUntrackedFlows.getIfPresent(resourceId) != null) {
+            return false;
+        }
         Set<String> flowIds = findAllRunningNonTerminationFlowIdsByResourceId(resourceId);
+        if (flowIds.isEmpty() && resourceId != null && !nodeConfig.isNodeIdSpecified()) {
+            resourcesWithoutUntrackedFlows.put(resourceId, Boolean.TRUE);
+        }
         return !flowIds.isEmpty();
     }
 
@@ -175,10 +246,17 @@ public class FlowLogDBService implements FlowLogService {
     }
 
     public void updateLastFlowLogPayload(FlowLog lastFlowLog, Payload payload, Map<Object, Object> variables) {
-        String payloadJson = JsonWriter.objectToJson(payload, writeOptions);
-        String variablesJson = JsonWriter.objectToJson(variables, writeOptions);
+        PayloadEncoding encoding = PayloadEncoding.fromNullable(payloadEncoding);
+        String payloadJson = encoding.encode(JsonWriter.objectToJson(payload, writeOptions));
+        String variablesJson = encoding.encode(JsonWriter.objectToJson(variables, writeOptions));
+        if (lastFlowLog != null && writeBehindBuffer.isEnabled() && writeBehindBuffer.isTracked(lastFlowLog.getFlowId())) {
+            lastFlowLog.setPayloadEncoding(encoding);
+            writeBehindBuffer.updatePayload(lastFlowLog, payloadJson, variablesJson);
+            return;
+        }
         Optional.ofNullable(lastFlowLog)
                 .ifPresent(flowLog -> {
+                    flowLog.setPayloadEncoding(encoding);
                     flowLog.setPayload(payloadJson);
                     flowLog.setVariables(variablesJson);
                     flowLogRepository.save(flowLog);
@@ -186,6 +264,9 @@ public class FlowLogDBService implements FlowLogService {
     }
 
     public Optional<FlowLog> getLastFlowLog(String flowId) {
+        if (writeBehindBuffer.isEnabled() && writeBehindBuffer.isTracked(flowId)) {
+            return writeBehindBuffer.getLastFlowLog(flowId);
+        }
         return flowLogRepository.findFirstByFlowIdOrderByCreatedDesc(flowId);
     }
 
@@ -219,6 +300,27 @@ public class FlowLogDBService implements FlowLogService {
         return flowLogRepository.findAllByCloudbreakNodeId(cloudbreakNodeId);
     }
 
+    @Override
+    public Set<FlowLogIdWithResourceIdAndType> findAllRunningFlowsByCloudbreakNodeIds(Set<String> cloudbreakNodeIds) {
+        return flowLogRepository.findAllRunningFlowsByCloudbreakNodeIds(cloudbreakNodeIds);
+    }
+
+    @Override
+    public Map<String, Long> countRunningFlowsByCloudbreakNodeIds(Set<String> cloudbreakNodeIds) {
+        return flowLogRepository.countRunningFlowsByCloudbreakNodeIds(cloudbreakNodeIds).stream()
+                .collect(Collectors.toMap(row -> (String) row[0], row -> ((Number) row[1]).longValue()));
+    }
+
+    @Override
+    public int reassignRunningFlows(Collection<String> flowIds, Set<String> failedNodeIds, String cloudbreakNodeId) {
+        return flowLogRepository.reassignRunningFlows(flowIds, failedNodeIds, cloudbreakNodeId);
+    }
+
+    @Override
+    public int finalizeRunningFlows(Collection<String> flowIds, Set<String> failedNodeIds) {
+        return flowLogRepository.finalizeRunningFlows(flowIds, failedNodeIds, StateStatus.SUCCESSFUL);
+    }
+
     public List<FlowLog> findAllByResourceIdOrderByCreatedDesc(Long id) {
         return flowLogRepository.findFirstByResourceIdOrderByCreatedDesc(id)
                 .map(FlowLog::getFlowId)
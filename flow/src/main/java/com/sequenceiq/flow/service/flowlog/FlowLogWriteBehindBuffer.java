@@ -0,0 +1,288 @@
+package com.sequenceiq.flow.service.flowlog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionExecutionException;
+import com.sequenceiq.flow.core.FlowMetricType;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+/**
+ * Keeps the last {@link FlowLog} of every flow running on this node in memory and persists the state transitions in batches.
+ * Status updates of already persisted rows are coalesced into one UPDATE per status and the new rows are inserted with a single saveAll
+ * in one transaction per tick. Restart-critical points (flow start, failure, finalization) flush synchronously.
+ * The pending writes are taken out of the buffer under the lock and written outside of it, so the flows are not blocked by the database
+ * while a flush runs. The flushes themselves are serialized, so a synchronous flush returns only after the earlier writes are committed.
+ * The last flow logs are evicted when the flow is finalized. Flows that end without finalization on this node, like the ones failed or
+ * cancelled from another node, are dropped after they have been idle for a while or when too many flows are tracked. A dropped flow
+ * is read from the database again once its writes are flushed.
+ */
+@Component
+public class FlowLogWriteBehindBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowLogWriteBehindBuffer.class);
+
+    @Value("${cb.flowlog.writebehind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.flowlog.writebehind.tracked.max.size:10000}")
+    private long trackedMaxSize;
+
+    @Value("${cb.flowlog.writebehind.tracked.idle.timeout.minutes:120}")
+    private long trackedIdleTimeoutMinutes;
+
+    @Inject
+    private FlowLogRepository flowLogRepository;
+
+    @Inject
+    private TransactionService transactionService;
+
+    @Inject
+    private MetricService metricService;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private Cache<String, FlowLog> lastFlowLogs;
+
+    private final List<FlowLog> pendingSaves = new ArrayList<>();
+
+    private final Map<Long, StateStatus> pendingStatusUpdates = new HashMap<>();
+
+    private final List<FlowLog> inFlightSaves = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        lastFlowLogs = Caffeine.newBuilder()
+                .maximumSize(trackedMaxSize)
+                .expireAfterAccess(trackedIdleTimeoutMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<FlowLog> getLastFlowLog(String flowId) {
+        FlowLog lastFlowLog = lastFlowLogs.getIfPresent(flowId);
+        return lastFlowLog != null ? Optional.of(lastFlowLog) : findUnwritten(flowId);
+    }
+
+    public boolean isTracked(String flowId) {
+        return lastFlowLogs.getIfPresent(flowId) != null || findUnwritten(flowId).isPresent();
+    }
+
+    public void save(FlowLog flowLog) {
+        lock.lock();
+        try {
+            addPendingSave(flowLog);
+            lastFlowLogs.put(flowLog.getFlowId(), flowLog);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void updateStatus(FlowLog flowLog, StateStatus stateStatus) {
+        lock.lock();
+        try {
+            flowLog.setStateStatus(stateStatus);
+            if (contains(inFlightSaves, flowLog)) {
+                // the running flush may already have written the previous status of the row
+                addPendingSave(flowLog);
+            } else if (flowLog.getId() != null && !containsPendingSave(flowLog)) {
+                pendingStatusUpdates.put(flowLog.getId(), stateStatus);
+            }
+            submitQueueDepth();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void updatePayload(FlowLog flowLog, String payload, String variables) {
+        lock.lock();
+        try {
+            flowLog.setPayload(payload);
+            flowLog.setVariables(variables);
+            addPendingSave(flowLog);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(String flowId) {
+        lastFlowLogs.invalidate(flowId);
+    }
+
+    @Scheduled(fixedDelayString = "${cb.flowlog.writebehind.flush.interval.ms:1000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            try {
+                flush();
+            } catch (TransactionExecutionException e) {
+                LOGGER.error("Failed to flush pending flow logs, will retry on the next tick", e);
+            }
+        }
+    }
+
+    public void flush() throws TransactionExecutionException {
+        flushLock.lock();
+        try {
+            List<FlowLog> toSave;
+            Map<Long, StateStatus> statusUpdates;
+            lock.lock();
+            try {
+                if (pendingSaves.isEmpty() && pendingStatusUpdates.isEmpty()) {
+                    return;
+                }
+                toSave = new ArrayList<>(pendingSaves);
+                statusUpdates = new HashMap<>(pendingStatusUpdates);
+                pendingSaves.clear();
+                pendingStatusUpdates.clear();
+                inFlightSaves.addAll(toSave);
+            } finally {
+                lock.unlock();
+            }
+            write(toSave, statusUpdates);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (enabled) {
+            try {
+                flush();
+            } catch (TransactionExecutionException e) {
+                LOGGER.error("Failed to flush pending flow logs on shutdown", e);
+            }
+        }
+    }
+
+    private void write(List<FlowLog> toSave, Map<Long, StateStatus> statusUpdates) throws TransactionExecutionException {
+        long start = System.currentTimeMillis();
+        Map<StateStatus, Set<Long>> idsByStatus = new HashMap<>();
+        statusUpdates.forEach((id, status) -> idsByStatus.computeIfAbsent(status, s -> new HashSet<>()).add(id));
+        List<FlowLog> saved;
+        try {
+            saved = transactionService.required(() -> {
+                idsByStatus.forEach((status, ids) -> flowLogRepository.updateLastLogStatusInFlows(ids, status));
+                List<FlowLog> result = new ArrayList<>();
+                flowLogRepository.saveAll(toSave).forEach(result::add);
+                return result;
+            });
+        } catch (TransactionExecutionException | RuntimeException e) {
+            requeue(toSave, statusUpdates);
+            throw e;
+        }
+        lock.lock();
+        try {
+            inFlightSaves.clear();
+            replaceLastFlowLogs(toSave, saved);
+            submitQueueDepth();
+        } finally {
+            lock.unlock();
+        }
+        long duration = System.currentTimeMillis() - start;
+        LOGGER.debug("Flushed {} flow log rows and {} status updates in {} ms", toSave.size(), idsByStatus.size(), duration);
+        metricService.submit(FlowMetricType.FLOWLOG_FLUSH_TIME, duration);
+    }
+
+    /**
+     * Puts the writes of a failed flush back in front of the writes queued since then. A status queued since then is newer, so it is kept.
+     */
+    private void requeue(List<FlowLog> toSave, Map<Long, StateStatus> statusUpdates) {
+        lock.lock();
+        try {
+            inFlightSaves.clear();
+            List<FlowLog> requeued = new ArrayList<>();
+            toSave.stream().filter(flowLog -> !containsPendingSave(flowLog)).forEach(requeued::add);
+            pendingSaves.addAll(0, requeued);
+            statusUpdates.forEach(pendingStatusUpdates::putIfAbsent);
+            submitQueueDepth();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void replaceLastFlowLogs(List<FlowLog> original, List<FlowLog> saved) {
+        for (int i = 0; i < original.size() && i < saved.size(); i++) {
+            FlowLog originalFlowLog = original.get(i);
+            FlowLog savedFlowLog = saved.get(i);
+            if (originalFlowLog != savedFlowLog) {
+                if (containsPendingSave(originalFlowLog)) {
+                    // changed while it was written, the next flush saves it again on top of the saved row
+                    originalFlowLog.setId(savedFlowLog.getId());
+                    originalFlowLog.setVersion(savedFlowLog.getVersion());
+                } else {
+                    lastFlowLogs.asMap().replace(originalFlowLog.getFlowId(), originalFlowLog, savedFlowLog);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the last flow log of the flow that is not written yet, so a flow dropped from the last flow logs is still tracked until its
+     * rows are in the database.
+     */
+    private Optional<FlowLog> findUnwritten(String flowId) {
+        lock.lock();
+        try {
+            return findLast(pendingSaves, flowId).or(() -> findLast(inFlightSaves, flowId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<FlowLog> findLast(List<FlowLog> flowLogs, String flowId) {
+        for (int i = flowLogs.size() - 1; i >= 0; i--) {
+            if (flowId.equals(flowLogs.get(i).getFlowId())) {
+                return Optional.of(flowLogs.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void addPendingSave(FlowLog flowLog) {
+        if (!containsPendingSave(flowLog)) {
+            pendingSaves.add(flowLog);
+        }
+        submitQueueDepth();
+    }
+
+    private boolean containsPendingSave(FlowLog flowLog) {
+        return contains(pendingSaves, flowLog);
+    }
+
+    private boolean contains(List<FlowLog> flowLogs, FlowLog flowLog) {
+        return flowLogs.stream().anyMatch(pending -> pending == flowLog);
+    }
+
+    private void submitQueueDepth() {
+        metricService.submit(FlowMetricType.FLOWLOG_WRITE_BEHIND_QUEUE, pendingSaves.size() + pendingStatusUpdates.size());
+    }
+}
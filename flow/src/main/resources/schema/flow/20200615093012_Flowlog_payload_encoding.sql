@@ -0,0 +1,9 @@
+-- // Flowlog payload encoding
+-- Migration SQL that makes the change goes here.
+
+ALTER TABLE IF EXISTS flowlog ADD COLUMN IF NOT EXISTS payloadencoding varchar(255) NULL;
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+ALTER TABLE IF EXISTS flowlog DROP COLUMN IF EXISTS payloadencoding;
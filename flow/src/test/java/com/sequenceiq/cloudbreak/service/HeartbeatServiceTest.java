@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -52,6 +53,7 @@ import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionEx
 import com.sequenceiq.cloudbreak.ha.domain.Node;
 import com.sequenceiq.cloudbreak.ha.service.NodeService;
 import com.sequenceiq.cloudbreak.ha.service.FlowDistributor;
+import com.sequenceiq.cloudbreak.service.flowlog.AsyncFlowRestartService;
 import com.sequenceiq.cloudbreak.service.ha.HaApplication;
 import com.sequenceiq.cloudbreak.service.ha.HeartbeatService;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
@@ -61,6 +63,7 @@ import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.config.FlowConfiguration;
 import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowConfig;
 import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.FlowLogIdWithResourceIdAndType;
 import com.sequenceiq.flow.domain.StateStatus;
 import com.sequenceiq.flow.ha.NodeConfig;
 
@@ -108,6 +111,9 @@ public class HeartbeatServiceTest {
     @Mock
     private ApplicationFlowInformation applicationFlowInformation;
 
+    @Mock
+    private AsyncFlowRestartService asyncFlowRestartService;
+
     @Captor
     private ArgumentCaptor<String> stringCaptor;
 
@@ -119,6 +125,8 @@ public class HeartbeatServiceTest {
         when(nodeConfig.isNodeIdSpecified()).thenReturn(true);
         when(nodeConfig.getId()).thenReturn(MY_ID);
         ReflectionTestUtils.setField(heartbeatService, "heartbeatThresholdRate", 70000);
+        ReflectionTestUtils.setField(heartbeatService, "flowRestartChunkSize", 500);
+        ReflectionTestUtils.setField(heartbeatService, "bulkFlowDistributionChunkSize", 2);
         doAnswer(invocation -> {
             try {
                 return ((Supplier<?>) invocation.getArgument(0)).get();
@@ -573,10 +581,94 @@ public class HeartbeatServiceTest {
         assertEquals(clusterNodes.subList(0, 2), nodes);
     }
 
+    @Test
+    public void testRestartedFlowsAreQueuedWhenAsyncRestartIsEnabled() {
+        List<Node> clusterNodes = getClusterNodes();
+        clusterNodes.forEach(node -> node.setLastUpdated(200_000L));
+        when(nodeService.findAll()).thenReturn(clusterNodes);
+        when(clock.getCurrentTimeMillis()).thenReturn(200_000L);
+        List<FlowLog> myFlowLogs = getFlowLogs(2, 5000);
+        when(flowLogService.findAllByCloudbreakNodeId(MY_ID)).thenReturn(new HashSet<>(myFlowLogs));
+        when(runningFlows.get(any())).thenReturn(null);
+        when(asyncFlowRestartService.isEnabled()).thenReturn(true);
+
+        heartbeatService.scheduledFlowDistribution();
+
+        ArgumentCaptor<Collection<FlowLog>> submittedCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(asyncFlowRestartService).submit(submittedCaptor.capture());
+        assertEquals(new HashSet<>(myFlowLogs), new HashSet<>(submittedCaptor.getValue()));
+        verify(flow2Handler, never()).restartFlow(anyString());
+    }
+
+    @Test
+    public void testDistributeFlowsInBulk() throws TransactionExecutionException {
+        ReflectionTestUtils.setField(heartbeatService, "bulkFlowDistribution", true);
+        List<Node> clusterNodes = getClusterNodes();
+        clusterNodes.get(0).setLastUpdated(200_000L); // myself
+        clusterNodes.get(1).setLastUpdated(50_000L); // failed node
+        clusterNodes.get(2).setLastUpdated(50_000L); // failed node
+        when(nodeService.findAll()).thenReturn(clusterNodes);
+        when(clock.getCurrentTimeMillis()).thenReturn(200_000L);
+
+        Set<FlowLogIdWithResourceIdAndType> failedFlows = Set.of(
+                new RunningFlow("flow1", 1L, OtherFlowConfig.class),
+                new RunningFlow("flow2", 2L, OtherFlowConfig.class),
+                new RunningFlow("flow3", 3L, OtherFlowConfig.class),
+                new RunningFlow("flow4", 4L, HelloWorldFlowConfig.class),
+                new RunningFlow("flow5", 4L, OtherFlowConfig.class));
+        Set<String> failedNodeIds = Set.of(NODE_1_ID, NODE_2_ID);
+        when(flowLogService.findAllRunningFlowsByCloudbreakNodeIds(failedNodeIds)).thenReturn(failedFlows);
+        when(haApplication.getDeletingResources(Set.of(1L, 2L, 3L, 4L))).thenReturn(Set.of(4L));
+        doReturn(Collections.singletonList(HelloWorldFlowConfig.class)).when(applicationFlowInformation).getTerminationFlow();
+        Map<Node, List<String>> distribution = Map.of(clusterNodes.get(0), List.of("flow1", "flow2", "flow3", "flow4"));
+        when(flowDistributor.distribute(anyList(), eq(List.of(clusterNodes.get(0))))).thenReturn(distribution);
+
+        List<Node> failedNodes = heartbeatService.distributeFlows();
+
+        verify(flowLogService).finalizeRunningFlows(List.of("flow5"), failedNodeIds);
+        verify(flowLogService).reassignRunningFlows(List.of("flow1", "flow2"), failedNodeIds, MY_ID);
+        verify(flowLogService).reassignRunningFlows(List.of("flow3", "flow4"), failedNodeIds, MY_ID);
+        verify(flowLogService, never()).saveAll(anyCollection());
+        assertEquals(clusterNodes.subList(1, 3), failedNodes);
+    }
+
     private Map<Node, List<String>> createFlowDistribution(Set<FlowLog> failedFLowLogs1, Set<FlowLog> failedFlowLogs2) {
         Map<Node, List<String>> distribution = new HashMap<>();
 
         distribution.put(new Node(UUID.randomUUID().toString()), failedFLowLogs1.stream().map(FlowLog::getFlowId).collect(Collectors.toList()));
         return distribution;
     }
+
+    private static class RunningFlow implements FlowLogIdWithResourceIdAndType {
+
+        private final String flowId;
+
+        private final Long resourceId;
+
+        private final Class<?> flowType;
+
+        RunningFlow(String flowId, Long resourceId, Class<?> flowType) {
+            this.flowId = flowId;
+            this.resourceId = resourceId;
+            this.flowType = flowType;
+        }
+
+        @Override
+        public String getFlowId() {
+            return flowId;
+        }
+
+        @Override
+        public Long getResourceId() {
+            return resourceId;
+        }
+
+        @Override
+        public Class<?> getFlowType() {
+            return flowType;
+        }
+    }
+
+    private static class OtherFlowConfig {
+    }
 }
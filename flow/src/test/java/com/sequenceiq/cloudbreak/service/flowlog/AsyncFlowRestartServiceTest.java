@@ -0,0 +1,102 @@
+package com.sequenceiq.cloudbreak.service.flowlog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.flow.core.ApplicationFlowInformation;
+import com.sequenceiq.flow.core.Flow2Handler;
+import com.sequenceiq.flow.core.config.FlowConfiguration;
+import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowConfig;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncFlowRestartServiceTest {
+
+    @InjectMocks
+    private AsyncFlowRestartService underTest;
+
+    @Mock
+    private Flow2Handler flow2Handler;
+
+    @Mock
+    private ApplicationFlowInformation applicationFlowInformation;
+
+    @Mock
+    private MetricService metricService;
+
+    @After
+    public void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    public void testTerminationAndRepairFlowsAreRestartedFirst() throws InterruptedException {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "poolSize", 1);
+        ReflectionTestUtils.setField(underTest, "restartsPerSecond", 1000.0);
+        doReturn(Collections.singletonList(HelloWorldFlowConfig.class)).when(applicationFlowInformation).getTerminationFlow();
+        doReturn(Collections.singletonList(RepairFlowConfig.class)).when(applicationFlowInformation).getRepairFlows();
+        List<String> restarted = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        doAnswer(invocation -> {
+            restarted.add(invocation.getArgument(0));
+            latch.countDown();
+            return null;
+        }).when(flow2Handler).restartFlow(anyString());
+
+        int queued = underTest.submit(List.of(flowLog("other", FlowConfiguration.class), flowLog("repair", RepairFlowConfig.class),
+                flowLog("termination", HelloWorldFlowConfig.class), flowLog("other", FlowConfiguration.class)));
+        underTest.init();
+
+        assertEquals(3, queued);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("termination", "repair", "other"), restarted);
+    }
+
+    @Test
+    public void testFailedRestartCanBeQueuedAgain() throws InterruptedException {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "poolSize", 1);
+        ReflectionTestUtils.setField(underTest, "restartsPerSecond", 1000.0);
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            latch.countDown();
+            throw new IllegalStateException("failed");
+        }).when(flow2Handler).restartFlow(anyString());
+        underTest.init();
+
+        underTest.submit(List.of(flowLog("flow", FlowConfiguration.class)));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100L);
+        assertEquals(1, underTest.submit(List.of(flowLog("flow", FlowConfiguration.class))));
+    }
+
+    private FlowLog flowLog(String flowId, Class<?> flowType) {
+        FlowLog flowLog = new FlowLog(1L, flowId, "RUNNING", false, StateStatus.PENDING);
+        flowLog.setFlowType(flowType);
+        return flowLog;
+    }
+
+    private abstract static class RepairFlowConfig extends HelloWorldFlowConfig {
+    }
+}
@@ -0,0 +1,59 @@
+package com.sequenceiq.cloudbreak.service.ha;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.sequenceiq.cloudbreak.ha.domain.Node;
+import com.sequenceiq.cloudbreak.ha.service.LoadAwareFlowDistributor;
+import com.sequenceiq.flow.core.FlowLogService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LoadAwareFlowDistributorTest {
+
+    private static final String BUSY_NODE_ID = "E80C7BD9-61CD-442E-AFDA-C3B30FEDE88F";
+
+    private static final String IDLE_NODE_ID = "5575B7AD-45CB-487D-BE14-E33C913F9394";
+
+    private static final String NEW_NODE_ID = "854506AC-A0D5-4C98-A47C-70F6251FC604";
+
+    @InjectMocks
+    private LoadAwareFlowDistributor underTest;
+
+    @Mock
+    private FlowLogService flowLogService;
+
+    @Test
+    public void testFlowsGoToTheLeastLoadedNodes() {
+        List<Node> nodes = List.of(new Node(BUSY_NODE_ID), new Node(IDLE_NODE_ID), new Node(NEW_NODE_ID));
+        when(flowLogService.countRunningFlowsByCloudbreakNodeIds(Set.of(BUSY_NODE_ID, IDLE_NODE_ID, NEW_NODE_ID)))
+                .thenReturn(Map.of(BUSY_NODE_ID, 10L, IDLE_NODE_ID, 2L));
+
+        Map<Node, List<String>> result = underTest.distribute(List.of("1", "2", "3", "4", "5", "6"), nodes);
+
+        assertNull(result.get(nodes.get(0)));
+        assertEquals(2, result.get(nodes.get(1)).size());
+        assertEquals(4, result.get(nodes.get(2)).size());
+    }
+
+    @Test
+    public void testEvenDistributionWithoutRunningFlows() {
+        List<Node> nodes = List.of(new Node(BUSY_NODE_ID), new Node(IDLE_NODE_ID));
+        when(flowLogService.countRunningFlowsByCloudbreakNodeIds(Set.of(BUSY_NODE_ID, IDLE_NODE_ID))).thenReturn(Map.of());
+
+        Map<Node, List<String>> result = underTest.distribute(List.of("1", "2", "3"), nodes);
+
+        assertEquals(List.of("1", "3"), result.get(nodes.get(0)));
+        assertEquals(List.of("2"), result.get(nodes.get(1)));
+    }
+}
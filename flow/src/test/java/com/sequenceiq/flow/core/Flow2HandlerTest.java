@@ -187,7 +187,7 @@ public class Flow2HandlerTest {
         event.setKey("KEY");
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class));
+        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class), eq(1L));
         verify(flowLogService, times(1))
                 .save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(), eq(flowConfig.getClass()), eq(flowState));
         verify(flow, times(1)).sendEvent(anyString(), isNull(), any(), any());
@@ -206,7 +206,7 @@ public class Flow2HandlerTest {
                 eq(flowConfig.getClass()), eq(flowState))).thenThrow(new RuntimeException("Can't save flow log"));
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class));
+        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class), eq(1L));
         verify(flowLogService, times(1))
                 .save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(), eq(flowConfig.getClass()), eq(flowState));
         verify(runningFlows, times(1)).remove(anyString());
@@ -228,7 +228,7 @@ public class Flow2HandlerTest {
         event.getHeaders().set(FlowConstants.FLOW_TRIGGER_USERCRN, FLOW_TRIGGER_USERCRN);
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class));
+        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class), eq(1L));
         verify(flowLogService, times(1)).save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(),
                 ArgumentMatchers.eq(helloWorldFlowConfig.getClass()), eq(flowState));
         verify(flow, times(1)).sendEvent(anyString(), anyString(), any(), any());
@@ -240,7 +240,7 @@ public class Flow2HandlerTest {
         event.setKey("KEY");
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), anyLong());
         verify(flowLogService, never()).save(any(FlowParameters.class), anyString(), anyString(), any(Payload.class), anyMap(), any(), any(FlowState.class));
     }
 
@@ -305,7 +305,7 @@ public class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID));
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), anyLong());
         verify(flowChains, never()).removeFlowChain(anyString());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class));
     }
@@ -320,7 +320,7 @@ public class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID));
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), anyLong());
         verify(flowChains, never()).removeFlowChain(anyString());
         verify(flowChains, times(1)).triggerNextFlow(eq(FLOW_CHAIN_ID), eq(FLOW_TRIGGER_USERCRN), any(Map.class));
     }
@@ -335,7 +335,7 @@ public class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID));
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), anyLong());
         verify(flowChains, never()).removeFullFlowChain(anyString());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class));
     }
@@ -351,14 +351,14 @@ public class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID));
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), anyLong());
         verify(flowChains, times(1)).removeFullFlowChain(anyString());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class));
     }
 
     @Test
     public void testCancelRunningFlows() throws TransactionExecutionException {
-        given(flowLogService.findAllRunningNonTerminationFlowIdsByStackId(anyLong())).willReturn(Collections.singleton(FLOW_ID));
+        given(runningFlows.getRunningNonTerminationFlowIds(anyLong())).willReturn(Collections.singleton(FLOW_ID));
         given(runningFlows.remove(FLOW_ID)).willReturn(flow);
         given(runningFlows.getFlowChainId(eq(FLOW_ID))).willReturn(FLOW_CHAIN_ID);
         dummyEvent.setKey(Flow2Handler.FLOW_CANCEL);
@@ -0,0 +1,86 @@
+package com.sequenceiq.flow.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.flow.core.config.FlowConfiguration;
+import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowConfig;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FlowRegisterTest {
+
+    private static final Long RESOURCE_ID = 1L;
+
+    @InjectMocks
+    private FlowRegister underTest;
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private ApplicationFlowInformation applicationFlowInformation;
+
+    @Before
+    public void setUp() {
+        when(applicationFlowInformation.getTerminationFlow()).thenReturn(List.of(TerminationFlowConfig.class));
+    }
+
+    @Test
+    public void testNonTerminationFlowsAreIndexedByResource() {
+        underTest.put(flow("flow1", HelloWorldFlowConfig.class), null, RESOURCE_ID);
+        underTest.put(flow("flow2", TerminationFlowConfig.class), "chain", RESOURCE_ID);
+        underTest.put(flow("flow3", HelloWorldFlowConfig.class), null, 2L);
+
+        assertEquals(Set.of("flow1"), underTest.getRunningNonTerminationFlowIds(RESOURCE_ID));
+        assertTrue(underTest.isNonTerminationFlowRunning(RESOURCE_ID));
+        assertEquals("chain", underTest.getFlowChainId("flow2"));
+    }
+
+    @Test
+    public void testRemovedFlowIsNotIndexed() {
+        underTest.put(flow("flow1", HelloWorldFlowConfig.class), null, RESOURCE_ID);
+
+        underTest.remove("flow1");
+
+        assertFalse(underTest.isNonTerminationFlowRunning(RESOURCE_ID));
+        assertTrue(underTest.getRunningNonTerminationFlowIds(RESOURCE_ID).isEmpty());
+        assertNull(underTest.get("flow1"));
+    }
+
+    @Test
+    public void testOnlyTerminationFlowRunning() {
+        underTest.put(flow("flow1", TerminationFlowConfig.class), null, RESOURCE_ID);
+
+        assertFalse(underTest.isNonTerminationFlowRunning(RESOURCE_ID));
+        assertTrue(underTest.isTerminationFlow(TerminationFlowConfig.class));
+        assertFalse(underTest.isTerminationFlow(HelloWorldFlowConfig.class));
+        verify(applicationFlowInformation, times(1)).getTerminationFlow();
+    }
+
+    private Flow flow(String flowId, Class<? extends FlowConfiguration<?>> flowConfigClass) {
+        Flow flow = mock(Flow.class);
+        when(flow.getFlowId()).thenReturn(flowId);
+        when(flow.getFlowConfigClass()).thenAnswer(invocation -> flowConfigClass);
+        return flow;
+    }
+
+    private abstract static class TerminationFlowConfig implements FlowConfiguration<FlowEvent> {
+    }
+}
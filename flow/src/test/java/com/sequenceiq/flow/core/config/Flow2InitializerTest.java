@@ -16,6 +16,7 @@ import org.mockito.MockitoAnnotations;
 
 import com.sequenceiq.flow.core.Flow2Handler;
 import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowConfig;
+import com.sequenceiq.flow.reactor.config.PartitionedEventDispatcher;
 
 import reactor.bus.EventBus;
 import reactor.bus.selector.Selector;
@@ -35,6 +36,9 @@ public class Flow2InitializerTest {
     @Mock
     private Flow2Handler flow2Handler;
 
+    @Mock
+    private PartitionedEventDispatcher partitionedEventDispatcher;
+
     @Before
     public void setUp() {
         underTest = new Flow2Initializer();
@@ -46,6 +50,7 @@ public class Flow2InitializerTest {
         List<FlowConfiguration<?>> flowConfigs = new ArrayList<>();
         flowConfigs.add(new HelloWorldFlowConfig());
         given(this.flowConfigs.stream()).willReturn(flowConfigs.stream());
+        given(partitionedEventDispatcher.wrap(any())).willAnswer(invocation -> invocation.getArgument(0));
         underTest.init();
         verify(reactor, times(1)).on(any(Selector.class), any(Consumer.class));
     }
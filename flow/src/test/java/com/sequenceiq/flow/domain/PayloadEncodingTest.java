@@ -0,0 +1,50 @@
+package com.sequenceiq.flow.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.cedarsoftware.util.io.JsonReader;
+import com.cedarsoftware.util.io.JsonWriter;
+import com.sequenceiq.flow.core.TestPayload;
+
+public class PayloadEncodingTest {
+
+    @Test
+    public void testGzipJsonRoundTrip() {
+        String json = JsonWriter.objectToJson(new TestPayload(1L));
+
+        String encoded = PayloadEncoding.GZIP_JSON.encode(json);
+
+        assertEquals(json, PayloadEncoding.GZIP_JSON.decode(encoded));
+        TestPayload decoded = (TestPayload) JsonReader.jsonToJava(PayloadEncoding.GZIP_JSON.decode(encoded));
+        assertEquals(Long.valueOf(1L), decoded.getResourceId());
+    }
+
+    @Test
+    public void testGzipJsonIsSmallerForTypedVariables() {
+        Map<Object, Object> variables = new HashMap<>();
+        for (long i = 0; i < 100; i++) {
+            variables.put("payload" + i, new TestPayload(i));
+        }
+        String json = JsonWriter.objectToJson(variables);
+
+        String encoded = PayloadEncoding.GZIP_JSON.encode(json);
+
+        assertTrue(encoded.length() < json.length() / 4);
+    }
+
+    @Test
+    public void testLegacyRowsAreReadAsJson() {
+        FlowLog flowLog = new FlowLog();
+        flowLog.setPayload("{\"json\":true}");
+
+        assertEquals("{\"json\":true}", flowLog.getDecodedPayload());
+        assertNull(flowLog.getDecodedVariables());
+    }
+}
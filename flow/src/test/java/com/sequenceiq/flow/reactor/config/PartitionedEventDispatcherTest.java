@@ -0,0 +1,159 @@
+package com.sequenceiq.flow.reactor.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.sequenceiq.flow.core.FlowConstants;
+
+import reactor.bus.Event;
+import reactor.fn.Consumer;
+
+public class PartitionedEventDispatcherTest {
+
+    private static final long TIMEOUT_SECONDS = 5L;
+
+    private final ExecutorService requestExecutor = Executors.newSingleThreadExecutor();
+
+    private PartitionedEventDispatcher underTest;
+
+    @After
+    public void tearDown() {
+        if (underTest != null) {
+            underTest.shutdown();
+        }
+        requestExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testDisabledReturnsTheConsumerItself() {
+        underTest = new PartitionedEventDispatcher(false, 4, 10, 100L, (event, throwable) -> { }, Runnable::run);
+        Consumer<Event<String>> consumer = event -> { };
+
+        assertSame(consumer, underTest.wrap(consumer));
+        assertTrue(underTest.getLaneStatistics().isEmpty());
+    }
+
+    @Test
+    public void testEventsOfAFlowAreProcessedInOrder() throws InterruptedException {
+        underTest = new PartitionedEventDispatcher(true, 4, 10, 100L, (event, throwable) -> { }, Runnable::run);
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(50);
+        Consumer<Event<Integer>> consumer = underTest.wrap(event -> {
+            processed.add(event.getData());
+            latch.countDown();
+        });
+
+        for (int i = 0; i < 50; i++) {
+            consumer.accept(flowEvent("flow1", i));
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(i), processed.get(i));
+        }
+        assertEquals(50L, underTest.getLaneStatistics().stream().mapToLong(PartitionedEventDispatcher.LaneStatistics::getDispatched).sum());
+    }
+
+    @Test
+    public void testFullLaneOvercommitsAfterTimeout() throws InterruptedException {
+        underTest = new PartitionedEventDispatcher(true, 1, 1, 10L, (event, throwable) -> { }, Runnable::run);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        Consumer<Event<Integer>> consumer = underTest.wrap(event -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+
+        consumer.accept(flowEvent("flow1", 1));
+        consumer.accept(flowEvent("flow1", 2));
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1L, underTest.getLaneStatistics().get(0).getOvercommitted());
+    }
+
+    @Test
+    public void testErrorGoesToTheErrorHandler() throws InterruptedException {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        underTest = new PartitionedEventDispatcher(true, 2, 10, 100L, (event, throwable) -> {
+            error.set(throwable);
+            latch.countDown();
+        }, Runnable::run);
+        Consumer<Event<Integer>> consumer = underTest.wrap(event -> {
+            throw new IllegalStateException("failed");
+        });
+
+        consumer.accept(flowEvent("flow1", 1));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testRequestSentToTheLaneOfTheWaitingSenderIsConsumedInline() throws InterruptedException {
+        underTest = new PartitionedEventDispatcher(true, 1, 10, 100L, (event, throwable) -> { }, requestExecutor);
+        Consumer<Event<CompletableFuture<String>>> requestConsumer = underTest.wrap(event -> event.getData().complete("response"));
+
+        assertEquals("response", sendRequestFromAFlowAndAwait(requestConsumer));
+    }
+
+    @Test
+    public void testRequestConsumerRunsOnTheRequestExecutor() throws InterruptedException {
+        underTest = new PartitionedEventDispatcher(true, 1, 10, 100L, (event, throwable) -> { }, requestExecutor);
+        Consumer<Event<CompletableFuture<String>>> requestConsumer =
+                underTest.wrapRequest(event -> event.getData().complete(Thread.currentThread().getName()));
+
+        String consumerThread = sendRequestFromAFlowAndAwait(requestConsumer);
+
+        assertFalse(consumerThread, consumerThread.startsWith("reactorLane"));
+    }
+
+    /**
+     * Sends a request from the consumer of a flow event and waits for the response on the lane, the same way the flow actions do.
+     */
+    private String sendRequestFromAFlowAndAwait(Consumer<Event<CompletableFuture<String>>> requestConsumer) throws InterruptedException {
+        AtomicReference<String> response = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Consumer<Event<Integer>> flowConsumer = underTest.wrap(event -> {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            requestConsumer.accept(new Event<>(request));
+            try {
+                response.set(request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                response.set(e.toString());
+            }
+            done.countDown();
+        });
+
+        flowConsumer.accept(flowEvent("flow1", 1));
+
+        assertTrue(done.await(TIMEOUT_SECONDS * 2, TimeUnit.SECONDS));
+        return response.get();
+    }
+
+    private Event<Integer> flowEvent(String flowId, int data) {
+        Event<Integer> event = new Event<>(data);
+        event.getHeaders().set(FlowConstants.FLOW_ID, flowId);
+        return event;
+    }
+}
@@ -1,6 +1,8 @@
 package com.sequenceiq.flow.service.flowlog;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -38,6 +40,7 @@ import com.sequenceiq.cloudbreak.common.exception.NotFoundException;
 import com.sequenceiq.cloudbreak.common.service.TransactionService;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
 import com.sequenceiq.flow.core.FlowEvent;
+import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.FlowState;
 import com.sequenceiq.flow.core.ResourceIdProvider;
 import com.sequenceiq.flow.core.config.AbstractFlowConfiguration;
@@ -83,6 +86,12 @@ public class FlowLogDBServiceTest {
     @Mock
     private NodeConfig nodeConfig;
 
+    @Mock
+    private FlowLogWriteBehindBuffer writeBehindBuffer;
+
+    @Mock
+    private FlowRegister runningFlows;
+
     @Test
     public void updateLastFlowLogStatus() {
         runUpdateLastFlowLogStatusTest(false, StateStatus.SUCCESSFUL);
@@ -243,6 +252,39 @@ public class FlowLogDBServiceTest {
         verify(flowLogRepository, times(0)).updateLastLogStatusInFlow(eq(10L), eq(StateStatus.SUCCESSFUL));
     }
 
+    @Test
+    public void testResourceWithoutRunningFlowIsAnsweredFromTheRegisterOnASingleNode() {
+        assertFalse(underTest.isOtherNonTerminationFlowRunning(1L));
+        assertFalse(underTest.isOtherNonTerminationFlowRunning(1L));
+
+        verify(flowLogRepository, times(1)).findAllRunningFlowLogByResourceId(eq(1L));
+        verify(runningFlows, times(2)).isNonTerminationFlowRunning(eq(1L));
+    }
+
+    @Test
+    public void testFlowLogsAreReadForEveryCheckInACluster() {
+        when(nodeConfig.isNodeIdSpecified()).thenReturn(true);
+
+        assertFalse(underTest.isOtherNonTerminationFlowRunning(1L));
+        assertFalse(underTest.isOtherNonTerminationFlowRunning(1L));
+
+        verify(flowLogRepository, times(2)).findAllRunningFlowLogByResourceId(eq(1L));
+    }
+
+    @Test
+    public void testFlowLogsAreReadWhileTheResourceHasAFlowMissingFromTheRegister() {
+        FlowLogIdWithTypeAndTimestamp flowLog = mock(FlowLogIdWithTypeAndTimestamp.class);
+        Class flowClass = Class.class;
+        when(flowLog.getFlowType()).thenReturn(flowClass);
+        when(flowLog.getFlowId()).thenReturn(FLOW_ID);
+        when(flowLogRepository.findAllRunningFlowLogByResourceId(eq(1L))).thenReturn(Set.of(flowLog));
+
+        assertTrue(underTest.isOtherNonTerminationFlowRunning(1L));
+        assertTrue(underTest.isOtherNonTerminationFlowRunning(1L));
+
+        verify(flowLogRepository, times(2)).findAllRunningFlowLogByResourceId(eq(1L));
+    }
+
     @Test
     public void testNoPendingFlowEvent() {
         Boolean actual = underTest.hasPendingFlowEvent(Lists.newArrayList(createFlowLog(false, "1"), createFlowLog(false, "2")));
@@ -0,0 +1,170 @@
+package com.sequenceiq.flow.service.flowlog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FlowLogWriteBehindBufferTest {
+
+    private static final String FLOW_ID = "flowId";
+
+    private static final long TIMEOUT_SECONDS = 10L;
+
+    private static final Answer<Object> RUN_IN_TRANSACTION = invocation -> ((Supplier) invocation.getArguments()[0]).get();
+
+    @InjectMocks
+    private FlowLogWriteBehindBuffer underTest;
+
+    @Mock
+    private FlowLogRepository flowLogRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private MetricService metricService;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(underTest, "trackedMaxSize", 100L);
+        ReflectionTestUtils.setField(underTest, "trackedIdleTimeoutMinutes", 60L);
+        underTest.init();
+    }
+
+    @Test
+    public void testStatusOfPendingRowIsCoalescedIntoInsert() throws TransactionService.TransactionExecutionException {
+        FlowLog first = flowLog(null);
+        FlowLog second = flowLog(null);
+        when(transactionService.required(any(Supplier.class))).thenAnswer(invocation -> ((Supplier) invocation.getArguments()[0]).get());
+        when(flowLogRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        underTest.save(first);
+        underTest.updateStatus(first, StateStatus.SUCCESSFUL);
+        underTest.save(second);
+        underTest.flush();
+
+        ArgumentCaptor<List<FlowLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flowLogRepository).saveAll(captor.capture());
+        assertEquals(List.of(first, second), captor.getValue());
+        assertEquals(StateStatus.SUCCESSFUL, first.getStateStatus());
+        verify(flowLogRepository, never()).updateLastLogStatusInFlows(any(), any());
+        assertSame(second, underTest.getLastFlowLog(FLOW_ID).get());
+    }
+
+    @Test
+    public void testStatusOfPersistedRowsIsBatched() throws TransactionService.TransactionExecutionException {
+        FlowLog persisted = flowLog(1L);
+        FlowLog otherPersisted = flowLog(2L);
+        when(transactionService.required(any(Supplier.class))).thenAnswer(invocation -> ((Supplier) invocation.getArguments()[0]).get());
+        when(flowLogRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        underTest.updateStatus(persisted, StateStatus.FAILED);
+        underTest.updateStatus(otherPersisted, StateStatus.FAILED);
+        underTest.flush();
+
+        verify(flowLogRepository).updateLastLogStatusInFlows(eq(Set.of(1L, 2L)), eq(StateStatus.FAILED));
+    }
+
+    @Test
+    public void testFlowLogsCanBeSavedWhileTheFlushWrites() throws TransactionService.TransactionExecutionException {
+        FlowLog first = flowLog(null);
+        FlowLog second = flowLog(null);
+        when(transactionService.required(any(Supplier.class))).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> underTest.save(second)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return RUN_IN_TRANSACTION.answer(invocation);
+        }).thenAnswer(RUN_IN_TRANSACTION);
+        when(flowLogRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        underTest.save(first);
+        underTest.flush();
+        underTest.flush();
+
+        ArgumentCaptor<List<FlowLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flowLogRepository, times(2)).saveAll(captor.capture());
+        assertEquals(List.of(List.of(first), List.of(second)), captor.getAllValues());
+    }
+
+    @Test
+    public void testWritesOfAFailedFlushAreRetriedOnTheNextTick() throws TransactionService.TransactionExecutionException {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        FlowLog pending = flowLog(null);
+        FlowLog persisted = flowLog(1L);
+        when(transactionService.required(any(Supplier.class)))
+                .thenThrow(new TransactionService.TransactionExecutionException("Database is down", new RuntimeException()))
+                .thenAnswer(RUN_IN_TRANSACTION);
+        when(flowLogRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        underTest.save(pending);
+        underTest.updateStatus(persisted, StateStatus.FAILED);
+        underTest.scheduledFlush();
+        underTest.scheduledFlush();
+
+        verify(transactionService, times(2)).required(any(Supplier.class));
+        verify(flowLogRepository).saveAll(eq(List.of(pending)));
+        verify(flowLogRepository).updateLastLogStatusInFlows(eq(Set.of(1L)), eq(StateStatus.FAILED));
+    }
+
+    @Test
+    public void testDroppedFlowIsTrackedUntilItsFlowLogIsWritten() throws TransactionService.TransactionExecutionException {
+        FlowLog flowLog = flowLog(null);
+        when(transactionService.required(any(Supplier.class))).thenAnswer(RUN_IN_TRANSACTION);
+        when(flowLogRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        underTest.save(flowLog);
+        underTest.evict(FLOW_ID);
+
+        assertTrue(underTest.isTracked(FLOW_ID));
+        assertSame(flowLog, underTest.getLastFlowLog(FLOW_ID).get());
+
+        underTest.flush();
+
+        assertFalse(underTest.isTracked(FLOW_ID));
+    }
+
+    @Test
+    public void testFlushWithoutPendingWritesDoesNothing() throws TransactionService.TransactionExecutionException {
+        underTest.flush();
+
+        verifyZeroInteractions(flowLogRepository);
+        assertTrue(underTest.getLastFlowLog(FLOW_ID).isEmpty());
+    }
+
+    private FlowLog flowLog(Long id) {
+        FlowLog flowLog = new FlowLog();
+        flowLog.setId(id);
+        flowLog.setFlowId(FLOW_ID);
+        return flowLog;
+    }
+}
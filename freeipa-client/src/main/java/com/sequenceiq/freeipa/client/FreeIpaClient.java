@@ -23,7 +23,11 @@ import org.apache.commons.lang3.reflect.TypeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.googlecode.jsonrpc4j.JsonRpcClientException;
 import com.googlecode.jsonrpc4j.JsonRpcHttpClient;
+import com.sequenceiq.freeipa.client.model.BatchOperation;
+import com.sequenceiq.freeipa.client.model.BatchResponse;
+import com.sequenceiq.freeipa.client.model.BatchResult;
 import com.sequenceiq.freeipa.client.model.Ca;
 import com.sequenceiq.freeipa.client.model.Cert;
 import com.sequenceiq.freeipa.client.model.Config;
@@ -166,10 +170,15 @@ public class FreeIpaClient {
     }
 
     public User deleteUser(String userUid) throws FreeIpaClientException {
+        BatchOperation operation = deleteUserOperation(userUid);
+        return (User) invoke(operation.getMethod(), operation.getFlags(), operation.getParams(), User.class).getResult();
+    }
+
+    public BatchOperation deleteUserOperation(String userUid) throws FreeIpaClientException {
         FreeIpaChecks.checkUserNotProtected(userUid, () -> String.format("User '%s' is protected and cannot be deleted from FreeIPA", userUid));
         List<Object> flags = List.of(userUid);
         Map<String, Object> params = Map.of();
-        return (User) invoke("user_del", flags, params, User.class).getResult();
+        return new BatchOperation("user_del", flags, params);
     }
 
     public Role deleteRole(String roleName) throws FreeIpaClientException {
@@ -179,6 +188,11 @@ public class FreeIpaClient {
     }
 
     public User userAdd(String user, String firstName, String lastName) throws FreeIpaClientException {
+        BatchOperation operation = userAddOperation(user, firstName, lastName);
+        return (User) invoke(operation.getMethod(), operation.getFlags(), operation.getParams(), User.class).getResult();
+    }
+
+    public BatchOperation userAddOperation(String user, String firstName, String lastName) throws FreeIpaClientException {
         FreeIpaChecks.checkUserNotProtected(user, () -> String.format("User '%s' is protected and cannot be added to FreeIPA", user));
         List<Object> flags = List.of(user);
         Map<String, Object> params = Map.of(
@@ -188,7 +202,7 @@ public class FreeIpaClient {
                 "random", true,
                 "setattr", "krbPasswordExpiration=" + MAX_PASSWORD_EXPIRATION_DATETIME
         );
-        return (User) invoke("user_add", flags, params, User.class).getResult();
+        return new BatchOperation("user_add", flags, params);
     }
 
     /**
@@ -253,17 +267,27 @@ public class FreeIpaClient {
     }
 
     public Group groupAdd(String group) throws FreeIpaClientException {
+        BatchOperation operation = groupAddOperation(group);
+        return (Group) invoke(operation.getMethod(), operation.getFlags(), operation.getParams(), Group.class).getResult();
+    }
+
+    public BatchOperation groupAddOperation(String group) throws FreeIpaClientException {
         FreeIpaChecks.checkGroupNotProtected(group, () -> String.format("Group '%s' is protected and cannot be added to FreeIPA", group));
         List<Object> flags = List.of(group);
         Map<String, Object> params = Map.of();
-        return (Group) invoke("group_add", flags, params, Group.class).getResult();
+        return new BatchOperation("group_add", flags, params);
     }
 
     public void deleteGroup(String group) throws FreeIpaClientException {
+        BatchOperation operation = deleteGroupOperation(group);
+        invoke(operation.getMethod(), operation.getFlags(), operation.getParams(), Object.class);
+    }
+
+    public BatchOperation deleteGroupOperation(String group) throws FreeIpaClientException {
         FreeIpaChecks.checkGroupNotProtected(group, () -> String.format("Group '%s' is protected and cannot be deleted from FreeIPA", group));
         List<Object> flags = List.of(group);
         Map<String, Object> params = Map.of();
-        invoke("group_del", flags, params, Object.class);
+        return new BatchOperation("group_del", flags, params);
     }
 
     public RPCResponse<Group> groupAddMembers(String group, Collection<String> users) throws FreeIpaClientException {
@@ -544,7 +568,62 @@ public class FreeIpaClient {
         return invoke("server_conncheck", List.of(cn), Map.of("remote_cn", remoteCn), Boolean.class);
     }
 
+    /**
+     * Sends the operations to FreeIPA in a single {@code batch} request. FreeIPA runs the commands one by one and reports the outcome
+     * of every command separately, so a failing command does not fail the others. The returned list has the results in the order of
+     * the operations, use {@link #getBatchResultError(BatchResult)} to get the failure of a command as a {@link FreeIpaClientException}.
+     *
+     * @param operations the commands to run
+     * @return the result of every command in the order of the operations
+     * @throws FreeIpaClientException if the batch request itself fails
+     */
+    public List<BatchResult> callBatch(List<BatchOperation> operations) throws FreeIpaClientException {
+        if (operations.isEmpty()) {
+            return List.of();
+        }
+        List<Object> flags = new ArrayList<>(operations.size());
+        for (BatchOperation operation : operations) {
+            Map<String, Object> operationParams = new HashMap<>(operation.getParams());
+            operationParams.put("version", apiVersion);
+            flags.add(Map.of(
+                    "method", operation.getMethod(),
+                    "params", List.of(operation.getFlags(), operationParams)
+            ));
+        }
+        LOGGER.debug("Issuing JSON-RPC batch request with {} operations", operations.size());
+        BatchResponse response = invokeWithType("batch", flags, Map.of(), BatchResponse.class);
+        List<BatchResult> results = Optional.ofNullable(response.getResults()).orElse(List.of());
+        if (results.size() != operations.size()) {
+            throw new FreeIpaClientException(String.format("Invoke FreeIpa batch failed: %d results returned for %d operations",
+                    results.size(), operations.size()));
+        }
+        return results;
+    }
+
+    /**
+     * Converts the failure of a batch command to the exception the standalone call would have thrown, so the error code can be checked
+     * with {@link FreeIpaClientExceptionUtil} the same way.
+     *
+     * @param result the result of a batch command
+     * @return the exception if the command failed
+     */
+    public Optional<FreeIpaClientException> getBatchResultError(BatchResult result) {
+        if (!result.failed()) {
+            return Optional.empty();
+        }
+        int errorCode = Optional.ofNullable(result.getErrorCode()).orElse(FreeIpaErrorCodes.GENERIC_ERROR.getValue());
+        JsonRpcClientException cause = new JsonRpcClientException(errorCode, result.getError(), null);
+        String message = String.format("Invoke FreeIpa failed: %s", result.getError());
+        return Optional.of(FreeIpaClientExceptionUtil.convertToRetryableIfNeeded(new FreeIpaClientException(message, cause)));
+    }
+
     public <T> RPCResponse<T> invoke(String method, List<Object> flags, Map<String, Object> params, Type resultType) throws FreeIpaClientException {
+        ParameterizedType type = TypeUtils
+                .parameterize(RPCResponse.class, resultType);
+        return invokeWithType(method, flags, params, type);
+    }
+
+    private <T> T invokeWithType(String method, List<Object> flags, Map<String, Object> params, Type type) throws FreeIpaClientException {
         Map<String, Object> parameterMap = new HashMap<>();
         if (params != null && !params.isEmpty()) {
             parameterMap.putAll(params);
@@ -552,10 +631,8 @@ public class FreeIpaClient {
         parameterMap.put("version", apiVersion);
 
         LOGGER.debug("Issuing JSON-RPC request:\n\n method: {}\n flags: {}\n", method, flags);
-        ParameterizedType type = TypeUtils
-                .parameterize(RPCResponse.class, resultType);
         try {
-            RPCResponse<T> response = (RPCResponse<T>) jsonRpcHttpClient.invoke(method, List.of(flags, parameterMap), type);
+            T response = (T) jsonRpcHttpClient.invoke(method, List.of(flags, parameterMap), type);
             LOGGER.debug("Response object: {}", response);
             if (response == null) {
                 // TODO CDPCP-1028 investigate why invoke returns null instead of throwing an exception
@@ -0,0 +1,42 @@
+package com.sequenceiq.freeipa.client.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single command of a FreeIPA {@code batch} request. The command is sent with the same flags and params as the standalone call.
+ */
+public class BatchOperation {
+
+    private final String method;
+
+    private final List<Object> flags;
+
+    private final Map<String, Object> params;
+
+    public BatchOperation(String method, List<Object> flags, Map<String, Object> params) {
+        this.method = method;
+        this.flags = flags;
+        this.params = params;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public List<Object> getFlags() {
+        return flags;
+    }
+
+    public Map<String, Object> getParams() {
+        return params;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOperation{"
+                + "method='" + method + '\''
+                + ", flags=" + flags
+                + '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.sequenceiq.freeipa.client.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchResponse {
+
+    private Integer count;
+
+    private List<BatchResult> results = List.of();
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public List<BatchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchResult> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResponse{"
+                + "count=" + count
+                + ", results=" + results
+                + '}';
+    }
+}
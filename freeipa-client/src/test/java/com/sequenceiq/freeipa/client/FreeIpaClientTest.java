@@ -1,23 +1,40 @@
 package com.sequenceiq.freeipa.client;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.lang.reflect.Type;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.googlecode.jsonrpc4j.JsonRpcHttpClient;
+import com.sequenceiq.freeipa.client.model.BatchOperation;
+import com.sequenceiq.freeipa.client.model.BatchResponse;
+import com.sequenceiq.freeipa.client.model.BatchResult;
 
 class FreeIpaClientTest {
 
     private FreeIpaClient underTest;
 
+    private JsonRpcHttpClient jsonRpcHttpClient;
+
     @BeforeEach
     void setUp() {
+        jsonRpcHttpClient = mock(JsonRpcHttpClient.class);
         underTest = new FreeIpaClient(
-                mock(JsonRpcHttpClient.class),
+                jsonRpcHttpClient,
                 "apiVersion",
                 "apiAddress",
                 "hostname"
@@ -65,4 +82,52 @@ class FreeIpaClientTest {
                 underTest.groupAddMembers(FreeIpaChecks.IPA_UNMANAGED_GROUPS.get(0), List.of("harry", "sally"))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void callBatchSendsOperationsInOneRequest() throws Throwable {
+        BatchResult added = new BatchResult();
+        BatchResult duplicate = new BatchResult();
+        duplicate.setError("user with name \"sally\" already exists");
+        duplicate.setErrorCode(FreeIpaErrorCodes.DUPLICATE_ENTRY.getValue());
+        BatchResponse batchResponse = new BatchResponse();
+        batchResponse.setResults(List.of(added, duplicate));
+        when(jsonRpcHttpClient.invoke(eq("batch"), any(), any(Type.class))).thenReturn(batchResponse);
+        List<BatchOperation> operations = List.of(underTest.userAddOperation("harry", "first", "last"), underTest.userAddOperation("sally", "first", "last"));
+
+        List<BatchResult> results = underTest.callBatch(operations);
+
+        assertEquals(2, results.size());
+        assertSame(added, results.get(0));
+        assertFalse(underTest.getBatchResultError(results.get(0)).isPresent());
+        FreeIpaClientException error = underTest.getBatchResultError(results.get(1)).get();
+        assertTrue(FreeIpaClientExceptionUtil.isDuplicateEntryException(error));
+        assertFalse(FreeIpaClientExceptionUtil.isNotFoundException(error));
+        verify(jsonRpcHttpClient).invoke(eq("batch"), eq(List.of(
+                List.of(
+                        Map.of("method", "user_add", "params", List.of(List.of("harry"), withVersion(operations.get(0).getParams()))),
+                        Map.of("method", "user_add", "params", List.of(List.of("sally"), withVersion(operations.get(1).getParams())))),
+                Map.of("version", "apiVersion"))), eq((Type) BatchResponse.class));
+    }
+
+    @Test
+    void callBatchThrowsOnMissingResults() throws Throwable {
+        when(jsonRpcHttpClient.invoke(eq("batch"), any(), any(Type.class))).thenReturn(new BatchResponse());
+
+        assertThrows(FreeIpaClientException.class, () ->
+                underTest.callBatch(List.of(underTest.deleteUserOperation("harry")))
+        );
+    }
+
+    @Test
+    void deleteUserOperationThrowsOnProtectedUser() {
+        assertThrows(FreeIpaClientException.class, () ->
+                underTest.deleteUserOperation(FreeIpaChecks.IPA_PROTECTED_USERS.get(0))
+        );
+    }
+
+    private Map<String, Object> withVersion(Map<String, Object> params) {
+        Map<String, Object> paramsWithVersion = new HashMap<>(params);
+        paramsWithVersion.put("version", "apiVersion");
+        return paramsWithVersion;
+    }
+}
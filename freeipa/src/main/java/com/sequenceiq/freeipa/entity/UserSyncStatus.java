@@ -28,6 +28,10 @@ public class UserSyncStatus implements AccountIdAwareResource {
     @Column(columnDefinition = "TEXT")
     private Json umsEventGenerationIds;
 
+    @Convert(converter = JsonToString.class)
+    @Column(columnDefinition = "TEXT")
+    private Json workloadCredentialFingerprints;
+
     @OneToOne
     private Operation lastStartedFullSync;
 
@@ -65,6 +69,14 @@ public class UserSyncStatus implements AccountIdAwareResource {
         this.umsEventGenerationIds = umsEventGenerationIds;
     }
 
+    public Json getWorkloadCredentialFingerprints() {
+        return workloadCredentialFingerprints;
+    }
+
+    public void setWorkloadCredentialFingerprints(Json workloadCredentialFingerprints) {
+        this.workloadCredentialFingerprints = workloadCredentialFingerprints;
+    }
+
     public Operation getLastStartedFullSync() {
         return lastStartedFullSync;
     }
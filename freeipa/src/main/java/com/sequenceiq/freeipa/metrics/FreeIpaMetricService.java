@@ -1,11 +1,15 @@
 package com.sequenceiq.freeipa.metrics;
 
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.common.metrics.AbstractMetricService;
 import com.sequenceiq.cloudbreak.common.metrics.type.MetricTag;
 import com.sequenceiq.freeipa.entity.Stack;
 
+import io.micrometer.core.instrument.Metrics;
+
 @Service
 public class FreeIpaMetricService extends AbstractMetricService {
 
@@ -26,6 +30,17 @@ public class FreeIpaMetricService extends AbstractMetricService {
                 MetricTag.CLOUD_PROVIDER.name(), stack.getCloudPlatform());
     }
 
+    public void incrementMetricCounterBy(MetricType metricType, double amount) {
+        Metrics.counter(METRIC_PREFIX + '.' + metricType.getMetricName()).increment(amount);
+    }
+
+    public void recordUserSyncPhaseDuration(String phase, boolean batched, long durationMs) {
+        Metrics.timer(METRIC_PREFIX + '.' + MetricType.USERSYNC_PHASE_DURATION.getMetricName(),
+                FreeIpaMetricTag.USERSYNC_PHASE.name(), phase,
+                FreeIpaMetricTag.BATCHED.name(), Boolean.toString(batched))
+                .record(durationMs, TimeUnit.MILLISECONDS);
+    }
+
     private String getMetricNameWithPlatform(MetricType metric, String cloudPlatform) {
         return String.format("%s.%s.%s", METRIC_PREFIX, metric.getMetricName(), cloudPlatform.toLowerCase());
     }
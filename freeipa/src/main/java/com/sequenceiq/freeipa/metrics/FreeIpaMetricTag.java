@@ -1,5 +1,7 @@
 package com.sequenceiq.freeipa.metrics;
 
 public enum FreeIpaMetricTag {
-    CCM_ENABLED
+    CCM_ENABLED,
+    USERSYNC_PHASE,
+    BATCHED
 }
@@ -4,7 +4,10 @@ import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
 
 public enum MetricType implements Metric {
     FREEIPA_CREATION_FINISHED("freeipa.creation.finished"),
-    FREEIPA_CREATION_FAILED("freeipa.creation.failed");
+    FREEIPA_CREATION_FAILED("freeipa.creation.failed"),
+    USERSYNC_PHASE_DURATION("usersync.phase.duration"),
+    USERSYNC_WORKLOAD_CREDENTIALS_UPDATED("usersync.workloadcredentials.updated"),
+    USERSYNC_WORKLOAD_CREDENTIALS_SKIPPED("usersync.workloadcredentials.skipped");
 
     private final String metricName;
 
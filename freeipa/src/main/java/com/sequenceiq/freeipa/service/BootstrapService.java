@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.google.common.hash.Hashing;
 import com.sequenceiq.cloudbreak.common.service.HostDiscoveryService;
 import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorException;
 import com.sequenceiq.cloudbreak.orchestrator.host.HostOrchestrator;
@@ -55,6 +56,8 @@ public class BootstrapService {
     @Inject
     private ImageService imageService;
 
+    private volatile byte[] stateConfigZip;
+
     public void bootstrap(Long stackId) {
         bootstrap(stackId, null);
     }
@@ -91,6 +94,17 @@ public class BootstrapService {
     }
 
     private byte[] getStateConfigZip() throws IOException {
-        return CompressUtil.generateCompressedOutputFromFolders("salt-common", "freeipa-salt");
+        byte[] zip = stateConfigZip;
+        if (zip == null) {
+            synchronized (this) {
+                zip = stateConfigZip;
+                if (zip == null) {
+                    zip = CompressUtil.generateCompressedOutputFromFolders("salt-common", "freeipa-salt");
+                    LOGGER.info("FreeIPA salt state bundle has been built, size: {} bytes, sha256: {}", zip.length, Hashing.sha256().hashBytes(zip));
+                    stateConfigZip = zip;
+                }
+            }
+        }
+        return zip;
     }
 }
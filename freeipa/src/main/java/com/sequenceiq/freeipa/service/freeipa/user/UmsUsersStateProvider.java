@@ -71,6 +71,10 @@ public class UmsUsersStateProvider {
             Map<WorkloadAdministrationGroup, FmsGroup> wags = grpcUmsClient.listWorkloadAdministrationGroups(INTERNAL_ACTOR_CRN, accountId, requestIdOptional)
                     .stream()
                     .collect(Collectors.toMap(wag -> wag, wag -> nameToGroup(wag.getWorkloadAdministrationGroupName())));
+
+            // The groups and the credentials of a member do not depend on the environment, so they are fetched only once
+            // for all the environments of the account
+            Map<String, Optional<UmsMemberDetails>> memberDetailsCache = new HashMap<>();
             environmentCrns.forEach(environmentCrn -> {
                 UmsUsersState.Builder umsUsersStateBuilder = new UmsUsersState.Builder()
                         .setWorkloadAdministrationGroups(wags.values());
@@ -110,7 +114,8 @@ public class UmsUsersStateProvider {
                     umsUsersStateBuilder.addRequestedWorkloadUsers(fmsUser);
 
                     handleUser(umsUsersStateBuilder, usersStateBuilder, crnToFmsGroup, u.getCrn(), fmsUser,
-                            environmentAccessChecker.hasAccess(u.getCrn(), requestIdOptional), requestIdOptional, wagNamesForOtherEnvironments);
+                            environmentAccessChecker.hasAccess(u.getCrn(), requestIdOptional), memberDetailsCache, requestIdOptional,
+                            wagNamesForOtherEnvironments);
 
                 });
 
@@ -120,7 +125,8 @@ public class UmsUsersStateProvider {
                     // add workload username for each user. This will be helpful in getting users from IPA.
 
                     handleUser(umsUsersStateBuilder, usersStateBuilder, crnToFmsGroup, mu.getCrn(), fmsUser,
-                            environmentAccessChecker.hasAccess(mu.getCrn(), requestIdOptional), requestIdOptional, wagNamesForOtherEnvironments);
+                            environmentAccessChecker.hasAccess(mu.getCrn(), requestIdOptional), memberDetailsCache, requestIdOptional,
+                            wagNamesForOtherEnvironments);
                 });
 
                 umsUsersStateBuilder.setUsersState(usersStateBuilder.build());
@@ -156,49 +162,58 @@ public class UmsUsersStateProvider {
 
     @SuppressWarnings("ParameterNumber")
     private void handleUser(UmsUsersState.Builder umsUsersStateBuilder, UsersState.Builder usersStateBuilder, Map<String, FmsGroup> crnToFmsGroup,
-            String memberCrn, FmsUser fmsUser, EnvironmentAccessRights environmentAccessRights,
+            String memberCrn, FmsUser fmsUser, EnvironmentAccessRights environmentAccessRights, Map<String, Optional<UmsMemberDetails>> memberDetailsCache,
             Optional<String> requestId, Set<String> wagNamesForOtherEnvironments) {
-        try {
-            if (environmentAccessRights.hasEnvironmentAccessRight()) {
-                String username = fmsUser.getName();
-                String accountId = Crn.safeFromString(memberCrn).getAccountId();
-
-                // Retrieve all information from UMS before modifying to the UmsUsersState or UsersState. This is so that
-                // we don't partially modify the state if the member has been deleted after we started the sync
-                List<String> groupCrnsForMember = grpcUmsClient.listGroupsForMember(INTERNAL_ACTOR_CRN, accountId, memberCrn, requestId);
-                ListWorkloadAdministrationGroupsForMemberResponse workloadAdministrationGroupsForUser =
-                        grpcUmsClient.listWorkloadAdministrationGroupsForMember(INTERNAL_ACTOR_CRN, memberCrn, requestId);
-                WorkloadCredential workloadCredential = umsCredentialProvider.getCredentials(memberCrn, requestId);
-
-                groupCrnsForMember.forEach(gcrn -> {
-                    FmsGroup group = crnToFmsGroup.get(gcrn);
-                    // If the group is null, then there has been a group membership change after we started the sync
-                    // the group and group membership will be updated on the next sync
-                    if (group != null) {
-                        usersStateBuilder.addMemberToGroup(group.getName(), username);
-                    } else {
-                        LOGGER.warn("{} is a member of unexpected group {}. Group must have been added after UMS state calculation started",
-                                memberCrn, gcrn);
-                    }
-                });
-
-                workloadAdministrationGroupsForUser.getWorkloadAdministrationGroupNameList().forEach(groupName -> {
-                    if (!wagNamesForOtherEnvironments.contains(groupName)) {
-                        usersStateBuilder.addGroup(nameToGroup(groupName));
-                        usersStateBuilder.addMemberToGroup(groupName, username);
-                    }
-                });
+        if (environmentAccessRights.hasEnvironmentAccessRight()) {
+            Optional<UmsMemberDetails> memberDetails = memberDetailsCache.computeIfAbsent(memberCrn, crn -> getMemberDetails(crn, requestId));
+            if (memberDetails.isEmpty()) {
+                return;
+            }
+            String username = fmsUser.getName();
+
+            memberDetails.get().getGroupCrns().forEach(gcrn -> {
+                FmsGroup group = crnToFmsGroup.get(gcrn);
+                // If the group is null, then there has been a group membership change after we started the sync
+                // the group and group membership will be updated on the next sync
+                if (group != null) {
+                    usersStateBuilder.addMemberToGroup(group.getName(), username);
+                } else {
+                    LOGGER.warn("{} is a member of unexpected group {}. Group must have been added after UMS state calculation started",
+                            memberCrn, gcrn);
+                }
+            });
 
-                if (environmentAccessRights.hasAdminFreeIPARight()) {
-                    usersStateBuilder.addMemberToGroup(ADMIN_FREEIPA_GROUP, username);
+            memberDetails.get().getWorkloadAdministrationGroupNames().forEach(groupName -> {
+                if (!wagNamesForOtherEnvironments.contains(groupName)) {
+                    usersStateBuilder.addGroup(nameToGroup(groupName));
+                    usersStateBuilder.addMemberToGroup(groupName, username);
                 }
+            });
+
+            if (environmentAccessRights.hasAdminFreeIPARight()) {
+                usersStateBuilder.addMemberToGroup(ADMIN_FREEIPA_GROUP, username);
+            }
 
-                addMemberToInternalTrackingGroup(usersStateBuilder, username);
+            addMemberToInternalTrackingGroup(usersStateBuilder, username);
 
-                umsUsersStateBuilder.addWorkloadCredentials(fmsUser.getName(), workloadCredential);
+            umsUsersStateBuilder.addWorkloadCredentials(fmsUser.getName(), memberDetails.get().getWorkloadCredential());
 
-                usersStateBuilder.addUser(fmsUser);
-            }
+            usersStateBuilder.addUser(fmsUser);
+        }
+    }
+
+    private Optional<UmsMemberDetails> getMemberDetails(String memberCrn, Optional<String> requestId) {
+        try {
+            String accountId = Crn.safeFromString(memberCrn).getAccountId();
+
+            // Retrieve all information from UMS before modifying to the UmsUsersState or UsersState. This is so that
+            // we don't partially modify the state if the member has been deleted after we started the sync
+            List<String> groupCrnsForMember = grpcUmsClient.listGroupsForMember(INTERNAL_ACTOR_CRN, accountId, memberCrn, requestId);
+            ListWorkloadAdministrationGroupsForMemberResponse workloadAdministrationGroupsForUser =
+                    grpcUmsClient.listWorkloadAdministrationGroupsForMember(INTERNAL_ACTOR_CRN, memberCrn, requestId);
+            WorkloadCredential workloadCredential = umsCredentialProvider.getCredentials(memberCrn, requestId);
+            return Optional.of(new UmsMemberDetails(groupCrnsForMember, workloadAdministrationGroupsForUser.getWorkloadAdministrationGroupNameList(),
+                    workloadCredential));
         } catch (StatusRuntimeException e) {
             // NOT_FOUND errors indicate that a user/machineUser has been deleted after we have
             // retrieved the list of users/machineUsers from the UMS. Interrupt calculation of group
@@ -206,11 +221,11 @@ public class UmsUsersStateProvider {
             if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
                 LOGGER.warn("Member CRN {} not found in UMS. Member will not be added to the UMS Users State. {}",
                         memberCrn, e.getLocalizedMessage());
+                return Optional.empty();
             } else {
                 throw e;
             }
         }
-
     }
 
     private void addMemberToInternalTrackingGroup(UsersState.Builder usersStateBuilder, String username) {
@@ -264,4 +279,31 @@ public class UmsUsersStateProvider {
         }
         return resourceCrn;
     }
-}
\ No newline at end of file
+
+    private static class UmsMemberDetails {
+
+        private final List<String> groupCrns;
+
+        private final List<String> workloadAdministrationGroupNames;
+
+        private final WorkloadCredential workloadCredential;
+
+        UmsMemberDetails(List<String> groupCrns, List<String> workloadAdministrationGroupNames, WorkloadCredential workloadCredential) {
+            this.groupCrns = groupCrns;
+            this.workloadAdministrationGroupNames = workloadAdministrationGroupNames;
+            this.workloadCredential = workloadCredential;
+        }
+
+        List<String> getGroupCrns() {
+            return groupCrns;
+        }
+
+        List<String> getWorkloadAdministrationGroupNames() {
+            return workloadAdministrationGroupNames;
+        }
+
+        WorkloadCredential getWorkloadCredential() {
+            return workloadCredential;
+        }
+    }
+}
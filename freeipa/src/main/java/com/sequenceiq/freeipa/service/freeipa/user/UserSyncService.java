@@ -7,6 +7,8 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -14,6 +16,8 @@ import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +40,7 @@ import com.sequenceiq.cloudbreak.auth.altus.CrnParseException;
 import com.sequenceiq.cloudbreak.common.json.Json;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
 import com.sequenceiq.cloudbreak.logger.MDCUtils;
+import com.sequenceiq.cloudbreak.util.CheckedFunction;
 import com.sequenceiq.freeipa.api.v1.freeipa.user.model.FailureDetails;
 import com.sequenceiq.freeipa.api.v1.freeipa.user.model.SuccessDetails;
 import com.sequenceiq.freeipa.api.v1.freeipa.user.model.SynchronizationStatus;
@@ -45,6 +50,8 @@ import com.sequenceiq.freeipa.client.FreeIpaCapabilities;
 import com.sequenceiq.freeipa.client.FreeIpaClient;
 import com.sequenceiq.freeipa.client.FreeIpaClientException;
 import com.sequenceiq.freeipa.client.FreeIpaClientExceptionUtil;
+import com.sequenceiq.freeipa.client.model.BatchOperation;
+import com.sequenceiq.freeipa.client.model.BatchResult;
 import com.sequenceiq.freeipa.client.model.Group;
 import com.sequenceiq.freeipa.client.model.RPCResponse;
 import com.sequenceiq.freeipa.configuration.UsersyncConfig;
@@ -53,6 +60,7 @@ import com.sequenceiq.freeipa.controller.exception.NotFoundException;
 import com.sequenceiq.freeipa.entity.Operation;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.entity.UserSyncStatus;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
 import com.sequenceiq.freeipa.service.freeipa.FreeIpaClientFactory;
 import com.sequenceiq.freeipa.service.freeipa.WorkloadCredentialService;
 import com.sequenceiq.freeipa.service.freeipa.user.model.FmsGroup;
@@ -62,6 +70,7 @@ import com.sequenceiq.freeipa.service.freeipa.user.model.UmsEventGenerationIds;
 import com.sequenceiq.freeipa.service.freeipa.user.model.UmsUsersState;
 import com.sequenceiq.freeipa.service.freeipa.user.model.UsersState;
 import com.sequenceiq.freeipa.service.freeipa.user.model.UsersStateDifference;
+import com.sequenceiq.freeipa.service.freeipa.user.model.WorkloadCredential;
 import com.sequenceiq.freeipa.service.operation.OperationService;
 import com.sequenceiq.freeipa.service.stack.StackService;
 
@@ -74,6 +83,14 @@ public class UserSyncService {
     @Value("${freeipa.usersync.max-subjects-per-request}")
     int maxSubjectsPerRequest;
 
+    @VisibleForTesting
+    @Value("${freeipa.usersync.batch.enabled:false}")
+    boolean batchEnabled;
+
+    @VisibleForTesting
+    @Value("${freeipa.usersync.batch.size:100}")
+    int batchSize;
+
     @Inject
     private StackService stackService;
 
@@ -102,6 +119,12 @@ public class UserSyncService {
     @Inject
     private WorkloadCredentialService workloadCredentialService;
 
+    @Inject
+    private FreeIpaMetricService freeIpaMetricService;
+
+    @Inject
+    private WorkloadCredentialFingerprintService workloadCredentialFingerprintService;
+
     public Operation synchronizeUsers(String accountId, String actorCrn, Set<String> environmentCrnFilter,
             Set<String> userCrnFilter, Set<String> machineUserCrnFilter) {
 
@@ -252,15 +275,14 @@ public class UserSyncService {
             UsersState ipaUsersState = getIpaUserState(freeIpaClient, umsUsersState, fullSync);
             LOGGER.debug("IPA UsersState, found {} users and {} groups", ipaUsersState.getUsers().size(), ipaUsersState.getGroups().size());
 
-            applyStateDifferenceToIpa(stack.getEnvironmentCrn(), freeIpaClient,
-                    UsersStateDifference.fromUmsAndIpaUsersStates(umsUsersState, ipaUsersState),
-                    warnings::put);
+            UsersStateDifference usersStateDifference = UsersStateDifference.fromUmsAndIpaUsersStates(umsUsersState, ipaUsersState);
+            applyStateDifferenceToIpa(stack.getEnvironmentCrn(), freeIpaClient, usersStateDifference, warnings::put);
 
             if (!FreeIpaCapabilities.hasSetPasswordHashSupport(freeIpaClient.getConfig())) {
                 LOGGER.debug("IPA doesn't have password hash support, no credentials sync required for env:{}", environmentCrn);
             } else {
-                // Sync credentials for all users and not just diff. At present there is no way to identify that there is a change in password for a user
-                workloadCredentialService.setWorkloadCredentials(freeIpaClient, umsUsersState.getUsersWorkloadCredentialMap(), warnings::put);
+                Set<String> addedUsers = usersStateDifference.getUsersToAdd().stream().map(FmsUser::getName).collect(Collectors.toSet());
+                setWorkloadCredentials(stack, freeIpaClient, umsUsersState.getUsersWorkloadCredentialMap(), addedUsers, fullSync, warnings);
             }
 
             if (warnings.isEmpty()) {
@@ -274,6 +296,13 @@ public class UserSyncService {
         }
     }
 
+    private void setWorkloadCredentials(Stack stack, FreeIpaClient freeIpaClient, Map<String, WorkloadCredential> credentials, Set<String> addedUsers,
+            boolean fullSync, Multimap<String, String> warnings) throws FreeIpaClientException {
+        Map<String, WorkloadCredential> credentialsToUpdate = workloadCredentialFingerprintService.getCredentialsToUpdate(stack, credentials, addedUsers);
+        workloadCredentialService.setWorkloadCredentials(freeIpaClient, credentialsToUpdate, warnings::put);
+        workloadCredentialFingerprintService.saveFingerprints(stack, credentials, credentialsToUpdate, warnings.keySet(), fullSync);
+    }
+
     @VisibleForTesting
     UsersState getIpaUserState(FreeIpaClient freeIpaClient, UmsUsersState umsUsersState, boolean fullSync)
             throws FreeIpaClientException {
@@ -286,13 +315,107 @@ public class UserSyncService {
                     BiConsumer<String, String> warnings) throws FreeIpaClientException {
         LOGGER.info("Applying state difference to environment {}.", environmentCrn);
 
-        addGroups(freeIpaClient, stateDifference.getGroupsToAdd(), warnings);
-        addUsers(freeIpaClient, stateDifference.getUsersToAdd(), warnings);
-        addUsersToGroups(freeIpaClient, stateDifference.getGroupMembershipToAdd(), warnings);
+        if (batchEnabled) {
+            measurePhase("addGroups", () -> callBatched(freeIpaClient, names(stateDifference.getGroupsToAdd()), freeIpaClient::groupAddOperation,
+                    FreeIpaClientExceptionUtil::isDuplicateEntryException, "Failed to add group:", warnings));
+            measurePhase("addUsers", () -> addUsersBatched(freeIpaClient, stateDifference.getUsersToAdd(), warnings));
+        } else {
+            measurePhase("addGroups", () -> addGroups(freeIpaClient, stateDifference.getGroupsToAdd(), warnings));
+            measurePhase("addUsers", () -> addUsers(freeIpaClient, stateDifference.getUsersToAdd(), warnings));
+        }
+        measurePhase("addUsersToGroups", () -> addUsersToGroups(freeIpaClient, stateDifference.getGroupMembershipToAdd(), warnings));
+
+        measurePhase("removeUsersFromGroups", () -> removeUsersFromGroups(freeIpaClient, stateDifference.getGroupMembershipToRemove(), warnings));
+        if (batchEnabled) {
+            measurePhase("removeUsers", () -> callBatched(freeIpaClient, stateDifference.getUsersToRemove(), freeIpaClient::deleteUserOperation,
+                    FreeIpaClientExceptionUtil::isNotFoundException, "Failed to remove user:", warnings));
+            measurePhase("removeGroups", () -> callBatched(freeIpaClient, names(stateDifference.getGroupsToRemove()), freeIpaClient::deleteGroupOperation,
+                    FreeIpaClientExceptionUtil::isNotFoundException, "Failed to remove group: ", warnings));
+        } else {
+            measurePhase("removeUsers", () -> removeUsers(freeIpaClient, stateDifference.getUsersToRemove(), warnings));
+            measurePhase("removeGroups", () -> removeGroups(freeIpaClient, stateDifference.getGroupsToRemove(), warnings));
+        }
+    }
+
+    private void measurePhase(String phase, UserSyncPhase userSyncPhase) throws FreeIpaClientException {
+        long start = System.currentTimeMillis();
+        try {
+            userSyncPhase.apply();
+        } finally {
+            long duration = System.currentTimeMillis() - start;
+            LOGGER.debug("User sync phase {} took {} ms", phase, duration);
+            freeIpaMetricService.recordUserSyncPhaseDuration(phase, batchEnabled, duration);
+        }
+    }
 
-        removeUsersFromGroups(freeIpaClient, stateDifference.getGroupMembershipToRemove(), warnings);
-        removeUsers(freeIpaClient, stateDifference.getUsersToRemove(), warnings);
-        removeGroups(freeIpaClient, stateDifference.getGroupsToRemove(), warnings);
+    private Set<String> names(Set<FmsGroup> fmsGroups) {
+        return fmsGroups.stream().map(FmsGroup::getName).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private void addUsersBatched(FreeIpaClient freeIpaClient, Set<FmsUser> fmsUsers, BiConsumer<String, String> warnings) throws FreeIpaClientException {
+        Map<String, FmsUser> usersByName = fmsUsers.stream()
+                .collect(Collectors.toMap(FmsUser::getName, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+        callBatched(freeIpaClient, usersByName.keySet(), username -> {
+            FmsUser fmsUser = usersByName.get(username);
+            return freeIpaClient.userAddOperation(username, fmsUser.getFirstName(), fmsUser.getLastName());
+        }, FreeIpaClientExceptionUtil::isDuplicateEntryException, "Failed to add user:", warnings);
+    }
+
+    /**
+     * Runs the operation created for every name in FreeIPA batch requests of at most the configured batch size. The failure of an
+     * operation is handled the same way as the failure of the standalone call: an accepted error (like an already existing entry) is
+     * ignored, any other error is added to the warnings and the sync stops only if the client is no longer usable.
+     */
+    @VisibleForTesting
+    void callBatched(FreeIpaClient freeIpaClient, Collection<String> names, CheckedFunction<String, BatchOperation, FreeIpaClientException> operationFactory,
+            Predicate<FreeIpaClientException> acceptedError, String failureMessage, BiConsumer<String, String> warnings) throws FreeIpaClientException {
+        List<String> operationNames = new ArrayList<>(names.size());
+        List<BatchOperation> operations = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                operations.add(operationFactory.apply(name));
+                operationNames.add(name);
+            } catch (FreeIpaClientException e) {
+                LOGGER.warn("Failed to create operation for {}", name, e);
+                warnings.accept(name, failureMessage + e.getMessage());
+            }
+        }
+        for (int from = 0; from < operations.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, operations.size());
+            List<String> batchNames = operationNames.subList(from, to);
+            LOGGER.debug("Calling batch with {} operations for {}", to - from, batchNames);
+            try {
+                List<BatchResult> results = freeIpaClient.callBatch(operations.subList(from, to));
+                handleBatchResults(freeIpaClient, batchNames, results, acceptedError, failureMessage, warnings);
+            } catch (FreeIpaClientException e) {
+                LOGGER.error("Failed to call batch for {}", batchNames, e);
+                batchNames.forEach(name -> warnings.accept(name, failureMessage + e.getMessage()));
+                checkIfClientStillUsable(e);
+            }
+        }
+    }
+
+    private void handleBatchResults(FreeIpaClient freeIpaClient, List<String> names, List<BatchResult> results,
+            Predicate<FreeIpaClientException> acceptedError, String failureMessage, BiConsumer<String, String> warnings) throws FreeIpaClientException {
+        FreeIpaClientException clientUnusableException = null;
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            Optional<FreeIpaClientException> error = freeIpaClient.getBatchResultError(results.get(i));
+            if (error.isEmpty()) {
+                LOGGER.debug("Success: {}", name);
+            } else if (acceptedError.test(error.get())) {
+                LOGGER.debug("Accepted error for {}: {}", name, error.get().getMessage());
+            } else {
+                LOGGER.error("Failed operation for {}", name, error.get());
+                warnings.accept(name, failureMessage + error.get().getMessage());
+                if (error.get().isClientUnusable()) {
+                    clientUnusableException = error.get();
+                }
+            }
+        }
+        if (clientUnusableException != null) {
+            checkIfClientStillUsable(clientUnusableException);
+        }
     }
 
     private void addGroups(FreeIpaClient freeIpaClient, Set<FmsGroup> fmsGroups, BiConsumer<String, String> warnings) throws FreeIpaClientException {
@@ -423,6 +546,11 @@ public class UserSyncService {
         }
     }
 
+    @FunctionalInterface
+    private interface UserSyncPhase {
+        void apply() throws FreeIpaClientException;
+    }
+
     private void checkIfClientStillUsable(FreeIpaClientException e) throws FreeIpaClientException {
         if (e.isClientUnusable()) {
             LOGGER.warn("Client is not usable for further usage");
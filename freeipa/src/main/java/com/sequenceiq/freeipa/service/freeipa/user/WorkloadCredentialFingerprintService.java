@@ -0,0 +1,151 @@
+package com.sequenceiq.freeipa.service.freeipa.user;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cloudera.thunderhead.service.usermanagement.UserManagementProto.ActorKerberosKey;
+import com.cloudera.thunderhead.service.usermanagement.UserManagementProto.SshPublicKey;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.sequenceiq.cloudbreak.common.json.Json;
+import com.sequenceiq.freeipa.entity.Stack;
+import com.sequenceiq.freeipa.entity.UserSyncStatus;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
+import com.sequenceiq.freeipa.metrics.MetricType;
+import com.sequenceiq.freeipa.service.freeipa.user.model.WorkloadCredential;
+import com.sequenceiq.freeipa.service.freeipa.user.model.WorkloadCredentialFingerprints;
+
+/**
+ * Keeps a fingerprint of the workload credentials that were last set in FreeIPA for every user of an environment, so a sync only
+ * pushes the credentials that changed in UMS. The credentials of every user are pushed again when the last full resync is older than
+ * the configured interval, or when the fingerprints can not be read.
+ */
+@Service
+public class WorkloadCredentialFingerprintService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkloadCredentialFingerprintService.class);
+
+    private static final long NO_EXPIRATION = -1L;
+
+    @VisibleForTesting
+    @Value("${freeipa.usersync.workload-credentials.change-detection.enabled:false}")
+    boolean changeDetectionEnabled;
+
+    @VisibleForTesting
+    @Value("${freeipa.usersync.workload-credentials.full-resync-interval:PT24H}")
+    Duration fullResyncInterval;
+
+    @Inject
+    private UserSyncStatusService userSyncStatusService;
+
+    @Inject
+    private FreeIpaMetricService freeIpaMetricService;
+
+    public Map<String, WorkloadCredential> getCredentialsToUpdate(Stack stack, Map<String, WorkloadCredential> credentials, Set<String> addedUsers) {
+        if (!changeDetectionEnabled) {
+            return credentials;
+        }
+        WorkloadCredentialFingerprints fingerprints = getFingerprints(userSyncStatusService.getOrCreateForStack(stack));
+        Map<String, WorkloadCredential> credentialsToUpdate;
+        if (fullResyncRequired(fingerprints)) {
+            LOGGER.debug("Full resync of workload credentials is required for environment {}", stack.getEnvironmentCrn());
+            credentialsToUpdate = credentials;
+        } else {
+            Map<String, String> storedFingerprints = fingerprints.getFingerprints();
+            credentialsToUpdate = credentials.entrySet().stream()
+                    .filter(entry -> addedUsers.contains(entry.getKey()) || !fingerprint(entry.getValue()).equals(storedFingerprints.get(entry.getKey())))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+        int skipped = credentials.size() - credentialsToUpdate.size();
+        LOGGER.debug("Updating workload credentials of {} users and skipping {} unchanged users in environment {}",
+                credentialsToUpdate.size(), skipped, stack.getEnvironmentCrn());
+        freeIpaMetricService.incrementMetricCounterBy(MetricType.USERSYNC_WORKLOAD_CREDENTIALS_UPDATED, credentialsToUpdate.size());
+        freeIpaMetricService.incrementMetricCounterBy(MetricType.USERSYNC_WORKLOAD_CREDENTIALS_SKIPPED, skipped);
+        return credentialsToUpdate;
+    }
+
+    /**
+     * Stores the fingerprints of the credentials that were set successfully. The fingerprint of a failed user is dropped so it is
+     * pushed again by the next sync, and a full sync also drops the users that are no longer synced to the environment.
+     */
+    public void saveFingerprints(Stack stack, Map<String, WorkloadCredential> credentials, Map<String, WorkloadCredential> updatedCredentials,
+            Collection<String> failedUsers, boolean fullSync) {
+        if (!changeDetectionEnabled) {
+            return;
+        }
+        UserSyncStatus userSyncStatus = userSyncStatusService.getOrCreateForStack(stack);
+        WorkloadCredentialFingerprints fingerprints = getFingerprints(userSyncStatus);
+        Map<String, String> storedFingerprints = fingerprints.getFingerprints();
+        if (fullSync) {
+            storedFingerprints.keySet().retainAll(credentials.keySet());
+        }
+        updatedCredentials.forEach((username, credential) -> {
+            if (failedUsers.contains(username)) {
+                storedFingerprints.remove(username);
+            } else {
+                storedFingerprints.put(username, fingerprint(credential));
+            }
+        });
+        if (fullSync && updatedCredentials.size() == credentials.size()) {
+            fingerprints.setLastFullResync(Instant.now().toEpochMilli());
+        }
+        userSyncStatus.setWorkloadCredentialFingerprints(new Json(fingerprints));
+        userSyncStatusService.save(userSyncStatus);
+    }
+
+    @VisibleForTesting
+    String fingerprint(WorkloadCredential credential) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, credential.getHashedPassword());
+        hasher.putLong(credential.getExpirationDate().map(Instant::toEpochMilli).orElse(NO_EXPIRATION));
+        hasher.putInt(credential.getKeys().size());
+        for (ActorKerberosKey key : credential.getKeys()) {
+            byte[] keyBytes = key.toByteArray();
+            hasher.putInt(keyBytes.length);
+            hasher.putBytes(keyBytes);
+        }
+        hasher.putInt(credential.getSshPublicKeys().size());
+        for (SshPublicKey sshPublicKey : credential.getSshPublicKeys()) {
+            putString(hasher, sshPublicKey.getPublicKey());
+        }
+        return hasher.hash().toString();
+    }
+
+    private void putString(Hasher hasher, String value) {
+        String nonNullValue = value == null ? "" : value;
+        hasher.putInt(nonNullValue.length());
+        hasher.putString(nonNullValue, StandardCharsets.UTF_8);
+    }
+
+    private boolean fullResyncRequired(WorkloadCredentialFingerprints fingerprints) {
+        Long lastFullResync = fingerprints.getLastFullResync();
+        return lastFullResync == null || Instant.ofEpochMilli(lastFullResync).plus(fullResyncInterval).isBefore(Instant.now());
+    }
+
+    private WorkloadCredentialFingerprints getFingerprints(UserSyncStatus userSyncStatus) {
+        Json fingerprints = userSyncStatus.getWorkloadCredentialFingerprints();
+        if (fingerprints != null) {
+            try {
+                return fingerprints.get(WorkloadCredentialFingerprints.class);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to read workload credential fingerprints for environment {}, all credentials will be updated",
+                        userSyncStatus.getStack().getEnvironmentCrn(), e);
+            }
+        }
+        return new WorkloadCredentialFingerprints();
+    }
+}
@@ -0,0 +1,56 @@
+package com.sequenceiq.freeipa.service.freeipa.user.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class WorkloadCredentialFingerprints {
+
+    private Map<String, String> fingerprints = new HashMap<>();
+
+    private Long lastFullResync;
+
+    public Map<String, String> getFingerprints() {
+        return fingerprints;
+    }
+
+    public void setFingerprints(Map<String, String> fingerprints) {
+        this.fingerprints = new HashMap<>(fingerprints);
+    }
+
+    public Long getLastFullResync() {
+        return lastFullResync;
+    }
+
+    public void setLastFullResync(Long lastFullResync) {
+        this.lastFullResync = lastFullResync;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        WorkloadCredentialFingerprints that = (WorkloadCredentialFingerprints) o;
+
+        return Objects.equals(fingerprints, that.fingerprints)
+                && Objects.equals(lastFullResync, that.lastFullResync);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fingerprints, lastFullResync);
+    }
+
+    @Override
+    public String toString() {
+        return "WorkloadCredentialFingerprints{"
+                + "fingerprints=" + fingerprints.size()
+                + ", lastFullResync=" + lastFullResync
+                + '}';
+    }
+}
@@ -23,6 +23,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.sequenceiq.cloudbreak.auth.ThreadBasedUserCrnProvider;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
 import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.common.Status;
+import com.sequenceiq.freeipa.api.v1.operation.model.OperationState;
 import com.sequenceiq.freeipa.entity.Operation;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.entity.UserSyncStatus;
@@ -47,6 +48,10 @@ public class UserSyncPoller {
     @Value("${freeipa.usersync.poller.cooldown-duration}")
     Duration cooldown;
 
+    @VisibleForTesting
+    @Value("${freeipa.usersync.poller.sync-account-at-once:false}")
+    boolean syncAccountAtOnce;
+
     @Inject
     private StackService stackService;
 
@@ -114,18 +119,43 @@ public class UserSyncPoller {
         UmsEventGenerationIds currentGeneration =
                 umsEventGenerationIdsProvider.getEventGenerationIds(accountId, requestId);
 
-        stacks.forEach(stack -> {
+        List<Stack> stacksToSync = stacks.stream().filter(stack -> {
             UserSyncStatus userSyncStatus = userSyncStatusService.getOrCreateForStack(stack);
             if (!eventGenerationIdsChecker.isInSync(userSyncStatus, currentGeneration) &&
                     cooldownChecker.isCooldownExpired(userSyncStatus, cooldownThresholdTime)) {
                 LOGGER.debug("Environment {} in Account {} is not in sync.",
                         stack.getEnvironmentCrn(), stack.getAccountId());
-                Operation operation = userSyncService.synchronizeUsers(stack.getAccountId(), INTERNAL_ACTOR_CRN,
-                        Set.of(stack.getEnvironmentCrn()), Set.of(), Set.of());
-                LOGGER.debug("User Sync request resulted in operation {}", operation);
+                return true;
             } else {
                 LOGGER.debug("Environment {} in Account {} is in sync or has been synchronized recently.", stack.getEnvironmentCrn(), stack.getAccountId());
+                return false;
             }
-        });
+        }).collect(Collectors.toList());
+
+        if (syncAccountAtOnce && stacksToSync.size() > 1) {
+            syncEnvironmentsTogether(accountId, stacksToSync);
+        } else {
+            stacksToSync.forEach(this::syncEnvironment);
+        }
+    }
+
+    /**
+     * Synchronizes the environments in a single operation, so the state of the account is fetched from UMS only once. The operation
+     * is rejected if any of the environments has a full sync running, in that case the environments are synchronized one by one.
+     */
+    private void syncEnvironmentsTogether(String accountId, List<Stack> stacks) {
+        Set<String> environmentCrns = stacks.stream().map(Stack::getEnvironmentCrn).collect(Collectors.toSet());
+        Operation operation = userSyncService.synchronizeUsers(accountId, INTERNAL_ACTOR_CRN, environmentCrns, Set.of(), Set.of());
+        LOGGER.debug("User Sync request for environments {} resulted in operation {}", environmentCrns, operation);
+        if (operation.getStatus() == OperationState.REJECTED) {
+            LOGGER.debug("User Sync request for environments {} was rejected, synchronizing them one by one", environmentCrns);
+            stacks.forEach(this::syncEnvironment);
+        }
+    }
+
+    private void syncEnvironment(Stack stack) {
+        Operation operation = userSyncService.synchronizeUsers(stack.getAccountId(), INTERNAL_ACTOR_CRN,
+                Set.of(stack.getEnvironmentCrn()), Set.of(), Set.of());
+        LOGGER.debug("User Sync request resulted in operation {}", operation);
     }
 }
@@ -75,7 +75,8 @@ public class FreeIpaDeletionService {
         Optional<FlowLog> optionalFlowLog = findLatestTerminationFlowLogWithInitState(stack);
         if (optionalFlowLog.isPresent()) {
             FlowLog flowLog = optionalFlowLog.get();
-            LOGGER.debug("Found termination flowlog with id [{}] and payload [{}]", flowLog.getFlowId(), flowLog.getPayload());
+            LOGGER.debug("Found termination flowlog with id [{}] for stack [{}] in environment [{}]", flowLog.getFlowId(), stack.getId(),
+                    stack.getEnvironmentCrn());
         } else {
             fireTerminationEvent(stack);
         }
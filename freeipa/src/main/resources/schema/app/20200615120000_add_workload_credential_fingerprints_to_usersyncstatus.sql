@@ -0,0 +1,9 @@
+-- // add workload credential fingerprints to usersyncstatus
+-- Migration SQL that makes the change goes here.
+
+ALTER TABLE usersyncstatus ADD COLUMN IF NOT EXISTS workloadcredentialfingerprints TEXT;
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+ALTER TABLE usersyncstatus DROP COLUMN IF EXISTS workloadcredentialfingerprints;
@@ -0,0 +1,110 @@
+package com.sequenceiq.freeipa.service.freeipa.user;
+
+import static com.sequenceiq.cloudbreak.auth.altus.GrpcUmsClient.INTERNAL_ACTOR_CRN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cloudera.thunderhead.service.authorization.AuthorizationProto.RightCheck;
+import com.cloudera.thunderhead.service.usermanagement.UserManagementProto.Group;
+import com.cloudera.thunderhead.service.usermanagement.UserManagementProto.ListWorkloadAdministrationGroupsForMemberResponse;
+import com.cloudera.thunderhead.service.usermanagement.UserManagementProto.User;
+import com.sequenceiq.authorization.service.UmsRightProvider;
+import com.sequenceiq.cloudbreak.auth.altus.GrpcUmsClient;
+import com.sequenceiq.freeipa.service.freeipa.user.model.FmsUser;
+import com.sequenceiq.freeipa.service.freeipa.user.model.UmsUsersState;
+import com.sequenceiq.freeipa.service.freeipa.user.model.WorkloadCredential;
+
+@ExtendWith(MockitoExtension.class)
+class UmsUsersStateProviderTest {
+
+    private static final String ACCOUNT_ID = UUID.randomUUID().toString();
+
+    private static final String ACTOR_CRN = "crn:cdp:iam:us-west-1:" + ACCOUNT_ID + ":user:" + UUID.randomUUID().toString();
+
+    private static final String ENV_CRN_1 = "crn:cdp:environments:us-west-1:" + ACCOUNT_ID + ":environment:" + UUID.randomUUID().toString();
+
+    private static final String ENV_CRN_2 = "crn:cdp:environments:us-west-1:" + ACCOUNT_ID + ":environment:" + UUID.randomUUID().toString();
+
+    private static final String USER_CRN_1 = "crn:cdp:iam:us-west-1:" + ACCOUNT_ID + ":user:" + UUID.randomUUID().toString();
+
+    private static final String USER_CRN_2 = "crn:cdp:iam:us-west-1:" + ACCOUNT_ID + ":user:" + UUID.randomUUID().toString();
+
+    private static final String GROUP_CRN = "crn:cdp:iam:us-west-1:" + ACCOUNT_ID + ":group:" + UUID.randomUUID().toString();
+
+    private static final Optional<String> REQUEST_ID = Optional.of("requestId");
+
+    @Mock
+    private GrpcUmsClient grpcUmsClient;
+
+    @Mock
+    private UmsCredentialProvider umsCredentialProvider;
+
+    @Mock
+    private UmsRightProvider umsRightProvider;
+
+    @InjectMocks
+    private UmsUsersStateProvider underTest;
+
+    @Test
+    void testMemberDetailsAreFetchedOncePerMemberForAllEnvironments() {
+        when(grpcUmsClient.listAllUsers(ACTOR_CRN, ACCOUNT_ID, REQUEST_ID)).thenReturn(List.of(user(USER_CRN_1, "user1"), user(USER_CRN_2, "user2")));
+        when(grpcUmsClient.listAllMachineUsers(ACTOR_CRN, ACCOUNT_ID, REQUEST_ID)).thenReturn(List.of());
+        when(grpcUmsClient.listGroups(ACTOR_CRN, ACCOUNT_ID, List.of(), REQUEST_ID))
+                .thenReturn(List.of(Group.newBuilder().setCrn(GROUP_CRN).setGroupName("group1").build()));
+        when(grpcUmsClient.listWorkloadAdministrationGroups(INTERNAL_ACTOR_CRN, ACCOUNT_ID, REQUEST_ID)).thenReturn(List.of());
+        when(umsRightProvider.getRight(any(), anyString(), anyString())).thenReturn("right");
+        // user1 can access both environments, user2 only the second one
+        when(grpcUmsClient.hasRights(eq(INTERNAL_ACTOR_CRN), anyString(), anyList(), eq(REQUEST_ID))).thenAnswer(invocation -> {
+            String memberCrn = (String) invocation.getArguments()[1];
+            List<RightCheck> rightChecks = (List<RightCheck>) invocation.getArguments()[2];
+            boolean hasAccess = USER_CRN_1.equals(memberCrn) || ENV_CRN_2.equals(rightChecks.get(0).getResource());
+            return List.of(hasAccess, false);
+        });
+        when(grpcUmsClient.listGroupsForMember(eq(INTERNAL_ACTOR_CRN), eq(ACCOUNT_ID), anyString(), eq(REQUEST_ID))).thenReturn(List.of(GROUP_CRN));
+        when(grpcUmsClient.listWorkloadAdministrationGroupsForMember(eq(INTERNAL_ACTOR_CRN), anyString(), eq(REQUEST_ID)))
+                .thenReturn(ListWorkloadAdministrationGroupsForMemberResponse.getDefaultInstance());
+        when(umsCredentialProvider.getCredentials(anyString(), eq(REQUEST_ID))).thenReturn(mock(WorkloadCredential.class));
+
+        Map<String, UmsUsersState> envToUmsUsersState = underTest.getEnvToUmsUsersStateMap(ACCOUNT_ID, ACTOR_CRN, Set.of(ENV_CRN_1, ENV_CRN_2),
+                Set.of(), Set.of(), REQUEST_ID);
+
+        assertEquals(Set.of("user1"), userNames(envToUmsUsersState.get(ENV_CRN_1)));
+        assertEquals(Set.of("user1", "user2"), userNames(envToUmsUsersState.get(ENV_CRN_2)));
+        assertEquals(Set.of("user1"), envToUmsUsersState.get(ENV_CRN_1).getUsersWorkloadCredentialMap().keySet());
+        assertEquals(Set.of("user1", "user2"), Set.copyOf(envToUmsUsersState.get(ENV_CRN_2).getUsersState().getGroupMembership().get("group1")));
+        for (String userCrn : List.of(USER_CRN_1, USER_CRN_2)) {
+            verify(grpcUmsClient, times(2)).hasRights(eq(INTERNAL_ACTOR_CRN), eq(userCrn), anyList(), eq(REQUEST_ID));
+            verify(grpcUmsClient, times(1)).listGroupsForMember(INTERNAL_ACTOR_CRN, ACCOUNT_ID, userCrn, REQUEST_ID);
+            verify(grpcUmsClient, times(1)).listWorkloadAdministrationGroupsForMember(INTERNAL_ACTOR_CRN, userCrn, REQUEST_ID);
+            verify(umsCredentialProvider, times(1)).getCredentials(userCrn, REQUEST_ID);
+        }
+    }
+
+    private User user(String crn, String workloadUsername) {
+        return User.newBuilder().setCrn(crn).setWorkloadUsername(workloadUsername).build();
+    }
+
+    private Set<String> userNames(UmsUsersState umsUsersState) {
+        return umsUsersState.getUsersState().getUsers().stream().map(FmsUser::getName).collect(Collectors.toSet());
+    }
+}
@@ -7,12 +7,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -20,6 +22,8 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -36,18 +40,24 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
+import com.googlecode.jsonrpc4j.JsonRpcClientException;
 import com.sequenceiq.cloudbreak.auth.ThreadBasedUserCrnProvider;
 import com.sequenceiq.cloudbreak.auth.altus.Crn;
 import com.sequenceiq.freeipa.api.v1.operation.model.OperationState;
 import com.sequenceiq.freeipa.api.v1.operation.model.OperationType;
 import com.sequenceiq.freeipa.client.FreeIpaClient;
 import com.sequenceiq.freeipa.client.FreeIpaClientException;
+import com.sequenceiq.freeipa.client.FreeIpaClientExceptionUtil;
+import com.sequenceiq.freeipa.client.FreeIpaErrorCodes;
+import com.sequenceiq.freeipa.client.model.BatchOperation;
+import com.sequenceiq.freeipa.client.model.BatchResult;
 import com.sequenceiq.freeipa.client.model.Group;
 import com.sequenceiq.freeipa.client.model.RPCResponse;
 import com.sequenceiq.freeipa.controller.exception.BadRequestException;
 import com.sequenceiq.freeipa.entity.Operation;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.entity.UserSyncStatus;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
 import com.sequenceiq.freeipa.service.freeipa.user.model.FmsGroup;
 import com.sequenceiq.freeipa.service.freeipa.user.model.FmsUser;
 import com.sequenceiq.freeipa.service.freeipa.user.model.UmsUsersState;
@@ -87,6 +97,12 @@ class UserSyncServiceTest {
     @Mock
     UserSyncStatusService userSyncStatusService;
 
+    @Mock
+    FreeIpaMetricService freeIpaMetricService;
+
+    @Mock
+    WorkloadCredentialFingerprintService workloadCredentialFingerprintService;
+
     @InjectMocks
     UserSyncService underTest;
 
@@ -322,6 +338,87 @@ class UserSyncServiceTest {
         verifyNoMoreInteractions(freeIpaClient);
     }
 
+    @Test
+    void testApplyStateDifferenceToIpaBatched() throws FreeIpaClientException {
+        underTest.batchEnabled = true;
+        underTest.batchSize = 2;
+        FmsGroup groupToAdd = new FmsGroup().withName("groupToAdd");
+        FmsUser userToAdd = new FmsUser().withName("userToAdd").withFirstName("clark").withLastName("kent");
+        Multimap<String, String> warnings = ArrayListMultimap.create();
+
+        FreeIpaClient freeIpaClient = mock(FreeIpaClient.class);
+        BatchOperation groupAddOperation = new BatchOperation("group_add", List.of(groupToAdd.getName()), Map.of());
+        BatchOperation userAddOperation = new BatchOperation("user_add", List.of(userToAdd.getName()), Map.of());
+        BatchOperation userDelOperation = new BatchOperation("user_del", List.of("userToRemove"), Map.of());
+        BatchOperation groupDelOperation = new BatchOperation("group_del", List.of("groupToRemove"), Map.of());
+        when(freeIpaClient.groupAddOperation(groupToAdd.getName())).thenReturn(groupAddOperation);
+        when(freeIpaClient.userAddOperation(userToAdd.getName(), userToAdd.getFirstName(), userToAdd.getLastName())).thenReturn(userAddOperation);
+        when(freeIpaClient.deleteUserOperation("userToRemove")).thenReturn(userDelOperation);
+        when(freeIpaClient.deleteGroupOperation("groupToRemove")).thenReturn(groupDelOperation);
+        when(freeIpaClient.callBatch(anyList())).thenReturn(List.of(new BatchResult()));
+
+        UsersStateDifference usersStateDifference = new UsersStateDifference(
+                ImmutableSet.of(groupToAdd),
+                ImmutableSet.of(new FmsGroup().withName("groupToRemove")),
+                ImmutableSet.of(userToAdd),
+                ImmutableSet.of("userToRemove"),
+                ImmutableMultimap.of(),
+                ImmutableMultimap.of()
+        );
+
+        underTest.applyStateDifferenceToIpa(ENV_CRN, freeIpaClient, usersStateDifference, warnings::put);
+
+        verify(freeIpaClient).callBatch(List.of(groupAddOperation));
+        verify(freeIpaClient).callBatch(List.of(userAddOperation));
+        verify(freeIpaClient).callBatch(List.of(userDelOperation));
+        verify(freeIpaClient).callBatch(List.of(groupDelOperation));
+        verify(freeIpaClient, never()).groupAdd(anyString());
+        verify(freeIpaClient, never()).userAdd(anyString(), anyString(), anyString());
+        verify(freeIpaClient, never()).deleteUser(anyString());
+        verify(freeIpaClient, never()).deleteGroup(anyString());
+        verify(freeIpaMetricService).recordUserSyncPhaseDuration(eq("addUsers"), eq(true), anyLong());
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    void testCallBatchedMapsItemErrors() throws FreeIpaClientException {
+        underTest.batchSize = 2;
+        Multimap<String, String> warnings = ArrayListMultimap.create();
+        FreeIpaClient freeIpaClient = mock(FreeIpaClient.class);
+        BatchResult success = new BatchResult();
+        BatchResult duplicate = new BatchResult();
+        BatchResult failure = new BatchResult();
+        when(freeIpaClient.callBatch(anyList())).thenReturn(List.of(success, duplicate), List.of(failure));
+        when(freeIpaClient.getBatchResultError(success)).thenReturn(Optional.empty());
+        when(freeIpaClient.getBatchResultError(duplicate)).thenReturn(Optional.of(
+                new FreeIpaClientException("duplicate", new JsonRpcClientException(FreeIpaErrorCodes.DUPLICATE_ENTRY.getValue(), "duplicate", null))));
+        when(freeIpaClient.getBatchResultError(failure)).thenReturn(Optional.of(
+                new FreeIpaClientException("failure", new JsonRpcClientException(FreeIpaErrorCodes.VALIDATION_ERROR.getValue(), "failure", null))));
+
+        underTest.callBatched(freeIpaClient, List.of("user1", "user2", "user3"), name -> new BatchOperation("user_add", List.of(name), Map.of()),
+                FreeIpaClientExceptionUtil::isDuplicateEntryException, "Failed to add user:", warnings::put);
+
+        verify(freeIpaClient, times(2)).callBatch(anyList());
+        assertEquals(1, warnings.size());
+        assertEquals(List.of("Failed to add user:failure"), warnings.get("user3"));
+    }
+
+    @Test
+    void testCallBatchedAddsWarningForFailedBatch() throws FreeIpaClientException {
+        underTest.batchSize = 2;
+        Multimap<String, String> warnings = ArrayListMultimap.create();
+        FreeIpaClient freeIpaClient = mock(FreeIpaClient.class);
+        when(freeIpaClient.deleteUserOperation("admin")).thenThrow(new FreeIpaClientException("protected"));
+        when(freeIpaClient.deleteUserOperation("user1")).thenReturn(new BatchOperation("user_del", List.of("user1"), Map.of()));
+        when(freeIpaClient.callBatch(anyList())).thenThrow(new FreeIpaClientException("batch failed"));
+
+        underTest.callBatched(freeIpaClient, List.of("admin", "user1"), freeIpaClient::deleteUserOperation,
+                FreeIpaClientExceptionUtil::isNotFoundException, "Failed to remove user:", warnings::put);
+
+        assertEquals(List.of("Failed to remove user:protected"), warnings.get("admin"));
+        assertEquals(List.of("Failed to remove user:batch failed"), warnings.get("user1"));
+    }
+
     private Multimap<String, String> setupGroupMapping(int numGroups, int numPerGroup) {
         Multimap<String, String> groupMapping = HashMultimap.create();
         for (int i = 0; i < numGroups; ++i) {
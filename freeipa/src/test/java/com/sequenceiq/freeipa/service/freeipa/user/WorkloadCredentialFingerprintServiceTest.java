@@ -0,0 +1,133 @@
+package com.sequenceiq.freeipa.service.freeipa.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cloudera.thunderhead.service.usermanagement.UserManagementProto.SshPublicKey;
+import com.sequenceiq.cloudbreak.common.json.Json;
+import com.sequenceiq.freeipa.entity.Stack;
+import com.sequenceiq.freeipa.entity.UserSyncStatus;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
+import com.sequenceiq.freeipa.metrics.MetricType;
+import com.sequenceiq.freeipa.service.freeipa.user.model.WorkloadCredential;
+import com.sequenceiq.freeipa.service.freeipa.user.model.WorkloadCredentialFingerprints;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadCredentialFingerprintServiceTest {
+
+    private static final WorkloadCredential CREDENTIAL = credential("hash1", "key1");
+
+    private static final WorkloadCredential CHANGED_CREDENTIAL = credential("hash2", "key1");
+
+    @Mock
+    private UserSyncStatusService userSyncStatusService;
+
+    @Mock
+    private FreeIpaMetricService freeIpaMetricService;
+
+    @InjectMocks
+    private WorkloadCredentialFingerprintService underTest;
+
+    private final Stack stack = new Stack();
+
+    private final UserSyncStatus userSyncStatus = new UserSyncStatus(stack);
+
+    @BeforeEach
+    void setUp() {
+        underTest.changeDetectionEnabled = true;
+        underTest.fullResyncInterval = Duration.ofHours(1);
+    }
+
+    @Test
+    void testAllCredentialsAreUpdatedWhenDisabled() {
+        underTest.changeDetectionEnabled = false;
+        Map<String, WorkloadCredential> credentials = Map.of("user1", CREDENTIAL);
+
+        assertSame(credentials, underTest.getCredentialsToUpdate(stack, credentials, Set.of()));
+        underTest.saveFingerprints(stack, credentials, credentials, Set.of(), true);
+
+        verifyZeroInteractions(userSyncStatusService, freeIpaMetricService);
+    }
+
+    @Test
+    void testOnlyChangedAndAddedCredentialsAreUpdated() {
+        storeFingerprints(Instant.now().toEpochMilli(), Map.of(
+                "unchanged", underTest.fingerprint(CREDENTIAL),
+                "changed", underTest.fingerprint(CREDENTIAL),
+                "readded", underTest.fingerprint(CREDENTIAL)));
+        when(userSyncStatusService.getOrCreateForStack(stack)).thenReturn(userSyncStatus);
+        Map<String, WorkloadCredential> credentials = Map.of(
+                "unchanged", CREDENTIAL,
+                "changed", CHANGED_CREDENTIAL,
+                "readded", CREDENTIAL,
+                "new", CREDENTIAL);
+
+        Map<String, WorkloadCredential> credentialsToUpdate = underTest.getCredentialsToUpdate(stack, credentials, Set.of("readded"));
+
+        assertEquals(Set.of("changed", "readded", "new"), credentialsToUpdate.keySet());
+        verify(freeIpaMetricService).incrementMetricCounterBy(MetricType.USERSYNC_WORKLOAD_CREDENTIALS_UPDATED, 3);
+        verify(freeIpaMetricService).incrementMetricCounterBy(MetricType.USERSYNC_WORKLOAD_CREDENTIALS_SKIPPED, 1);
+    }
+
+    @Test
+    void testAllCredentialsAreUpdatedWhenFullResyncIsDue() {
+        storeFingerprints(Instant.now().minus(Duration.ofHours(2)).toEpochMilli(), Map.of("user1", underTest.fingerprint(CREDENTIAL)));
+        when(userSyncStatusService.getOrCreateForStack(stack)).thenReturn(userSyncStatus);
+        Map<String, WorkloadCredential> credentials = Map.of("user1", CREDENTIAL);
+
+        assertEquals(credentials, underTest.getCredentialsToUpdate(stack, credentials, Set.of()));
+    }
+
+    @Test
+    void testSaveFingerprintsAfterFullSync() throws IOException {
+        storeFingerprints(null, Map.of("removed", underTest.fingerprint(CREDENTIAL), "failed", underTest.fingerprint(CREDENTIAL)));
+        when(userSyncStatusService.getOrCreateForStack(stack)).thenReturn(userSyncStatus);
+        Map<String, WorkloadCredential> credentials = Map.of("user1", CREDENTIAL, "failed", CHANGED_CREDENTIAL);
+
+        underTest.saveFingerprints(stack, credentials, credentials, Set.of("failed"), true);
+
+        verify(userSyncStatusService).save(userSyncStatus);
+        WorkloadCredentialFingerprints fingerprints = userSyncStatus.getWorkloadCredentialFingerprints().get(WorkloadCredentialFingerprints.class);
+        assertEquals(Map.of("user1", underTest.fingerprint(CREDENTIAL)), fingerprints.getFingerprints());
+        assertNotNull(fingerprints.getLastFullResync());
+    }
+
+    @Test
+    void testFingerprintChangesWithCredential() {
+        assertEquals(underTest.fingerprint(CREDENTIAL), underTest.fingerprint(credential("hash1", "key1")));
+        assertNotEquals(underTest.fingerprint(CREDENTIAL), underTest.fingerprint(CHANGED_CREDENTIAL));
+        assertNotEquals(underTest.fingerprint(CREDENTIAL), underTest.fingerprint(credential("hash1", "key2")));
+    }
+
+    private void storeFingerprints(Long lastFullResync, Map<String, String> storedFingerprints) {
+        WorkloadCredentialFingerprints fingerprints = new WorkloadCredentialFingerprints();
+        fingerprints.setFingerprints(storedFingerprints);
+        fingerprints.setLastFullResync(lastFullResync);
+        userSyncStatus.setWorkloadCredentialFingerprints(new Json(fingerprints));
+    }
+
+    private static WorkloadCredential credential(String hashedPassword, String sshPublicKey) {
+        return new WorkloadCredential(hashedPassword, List.of(), Optional.of(Instant.ofEpochMilli(0L)),
+                List.of(SshPublicKey.newBuilder().setPublicKey(sshPublicKey).build()));
+    }
+}
@@ -20,6 +20,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.common.Status;
+import com.sequenceiq.freeipa.api.v1.operation.model.OperationState;
+import com.sequenceiq.freeipa.entity.Operation;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.entity.UserSyncStatus;
 import com.sequenceiq.freeipa.service.freeipa.user.EventGenerationIdsChecker;
@@ -124,6 +126,54 @@ class UserSyncPollerTest {
                 .synchronizeUsers(any(), any(), any(), any(), any());
     }
 
+    @Test
+    void testSyncStacksOfAccountTogether() {
+        underTest.syncAccountAtOnce = true;
+        List<Stack> stacks = setupMocksForTwoStacks();
+        Operation operation = new Operation();
+        operation.setStatus(OperationState.RUNNING);
+        when(userSyncService.synchronizeUsers(any(), any(), any(), any(), any())).thenReturn(operation);
+
+        underTest.syncAllFreeIpaStacks();
+
+        verify(userSyncService).synchronizeUsers(UserSyncTestUtils.ACCOUNT_ID, INTERNAL_ACTOR_CRN,
+                Set.of(stacks.get(0).getEnvironmentCrn(), stacks.get(1).getEnvironmentCrn()), Set.of(), Set.of());
+        verify(userSyncService, times(1)).synchronizeUsers(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testSyncStacksOneByOneWhenSyncTogetherIsRejected() {
+        underTest.syncAccountAtOnce = true;
+        List<Stack> stacks = setupMocksForTwoStacks();
+        Operation operation = new Operation();
+        operation.setStatus(OperationState.REJECTED);
+        when(userSyncService.synchronizeUsers(any(), any(), any(), any(), any())).thenReturn(operation);
+
+        underTest.syncAllFreeIpaStacks();
+
+        verify(userSyncService).synchronizeUsers(UserSyncTestUtils.ACCOUNT_ID, INTERNAL_ACTOR_CRN,
+                Set.of(stacks.get(0).getEnvironmentCrn()), Set.of(), Set.of());
+        verify(userSyncService).synchronizeUsers(UserSyncTestUtils.ACCOUNT_ID, INTERNAL_ACTOR_CRN,
+                Set.of(stacks.get(1).getEnvironmentCrn()), Set.of(), Set.of());
+        verify(userSyncService, times(3)).synchronizeUsers(any(), any(), any(), any(), any());
+    }
+
+    private List<Stack> setupMocksForTwoStacks() {
+        Stack stack1 = UserSyncTestUtils.createStack();
+        Stack stack2 = UserSyncTestUtils.createStack();
+        stack2.setEnvironmentCrn(UserSyncTestUtils.ENVIRONMENT_CRN + "-2");
+        when(stackService.findAllWithStatuses(Status.AVAILABLE_STATUSES)).thenReturn(List.of(stack1, stack2));
+        when(userSyncPollerEntitlementChecker.isAccountEntitled(anyString())).thenReturn(true);
+        when(umsEventGenerationIdsProvider.getEventGenerationIds(any(), any())).thenReturn(UserSyncTestUtils.createUniqueUmsEventGenerationIds());
+        for (Stack stack : List.of(stack1, stack2)) {
+            UserSyncStatus userSyncStatus = UserSyncTestUtils.createUserSyncStatus(stack);
+            when(userSyncStatusService.getOrCreateForStack(stack)).thenReturn(userSyncStatus);
+            when(eventGenerationIdsChecker.isInSync(eq(userSyncStatus), any())).thenReturn(false);
+            when(cooldownChecker.isCooldownExpired(eq(userSyncStatus), any())).thenReturn(true);
+        }
+        return List.of(stack1, stack2);
+    }
+
     private Stack setupMockStackService(Stack stack) {
         when(stackService.findAllWithStatuses(Status.AVAILABLE_STATUSES)).thenReturn(List.of(stack));
         return stack;
@@ -3,4 +3,11 @@ package com.sequenceiq.cloudbreak.orchestrator;
 public interface OrchestratorBootstrap {
 
     Boolean call() throws Exception;
+
+    /**
+     * Returns how long the last call waited for the bootstrap to make progress. The runner sleeps that much less before the next attempt.
+     */
+    default long getLastWaitMillis() {
+        return 0L;
+    }
 }
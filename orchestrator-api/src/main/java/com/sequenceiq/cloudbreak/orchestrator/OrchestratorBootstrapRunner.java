@@ -173,9 +173,12 @@ public class OrchestratorBootstrapRunner implements Callable<Boolean> {
     }
 
     private void trySleeping() {
-        if (!Thread.interrupted()) {
+        long remainingSleepTime = sleepTime - Math.max(0L, orchestratorBootstrap.getLastWaitMillis());
+        if (remainingSleepTime <= 0) {
+            LOGGER.debug("The orchestrator bootstrap already waited for at least {} ms, skipping sleeping.", sleepTime);
+        } else if (!Thread.interrupted()) {
             try {
-                Thread.sleep(sleepTime);
+                Thread.sleep(remainingSleepTime);
             } catch (InterruptedException ie) {
                 LOGGER.debug("The thread was interrupted during sleeping. Sleeping halted, continuing execution.", ie);
             }
@@ -20,6 +20,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -34,8 +35,11 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 import com.sequenceiq.cloudbreak.common.exception.CloudbreakServiceException;
 import com.sequenceiq.cloudbreak.common.type.RecipeExecutionPhase;
 import com.sequenceiq.cloudbreak.orchestrator.OrchestratorBootstrap;
@@ -51,6 +55,7 @@ import com.sequenceiq.cloudbreak.orchestrator.model.RecipeModel;
 import com.sequenceiq.cloudbreak.orchestrator.model.SaltConfig;
 import com.sequenceiq.cloudbreak.orchestrator.model.SaltPillarProperties;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
+import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnectorPool;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.target.Glob;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.target.HostList;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.target.Target;
@@ -102,6 +107,10 @@ public class SaltOrchestrator implements HostOrchestrator {
 
     private static final String SRV_SALT_DISK = "/srv/salt/disk";
 
+    private static final long MAX_TRACKED_GATEWAYS = 10000L;
+
+    private static final long UPLOADED_STATE_BUNDLE_RETENTION_HOURS = 24L;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(SaltOrchestrator.class);
 
     @Value("${cb.max.salt.new.service.retry}")
@@ -125,6 +134,19 @@ public class SaltOrchestrator implements HostOrchestrator {
     @Value("${rest.debug}")
     private boolean restDebug;
 
+    @Value("${cb.salt.events.enabled:false}")
+    private boolean saltEventsEnabled;
+
+    @Value("${cb.salt.state.upload.skip.unchanged:false}")
+    private boolean skipUnchangedStateUpload;
+
+    private final Cache<String, String> uploadedStateBundles = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_GATEWAYS)
+            .expireAfterWrite(UPLOADED_STATE_BUNDLE_RETENTION_HOURS, TimeUnit.HOURS)
+            .build();
+
+    private volatile byte[] stateConfigZip;
+
     @Inject
     private SaltRunner saltRunner;
 
@@ -137,6 +159,9 @@ public class SaltOrchestrator implements HostOrchestrator {
     @Inject
     private SaltErrorResolver saltErrorResolver;
 
+    @Inject
+    private SaltConnectorPool saltConnectorPool;
+
     private ExitCriteria exitCriteria;
 
     @Override
@@ -151,7 +176,7 @@ public class SaltOrchestrator implements HostOrchestrator {
         GatewayConfig primaryGateway = getPrimaryGatewayConfig(allGatewayConfigs);
         Set<String> gatewayTargets = getGatewayPrivateIps(allGatewayConfigs);
         try (SaltConnector sc = createSaltConnector(primaryGateway)) {
-            uploadSaltConfig(sc, gatewayTargets, exitModel);
+            uploadSaltConfig(sc, allGatewayConfigs, exitModel);
             Set<String> allTargets = targets.stream().map(Node::getPrivateIp).collect(Collectors.toSet());
             uploadSignKey(sc, primaryGateway, gatewayTargets, allTargets, exitModel);
             OrchestratorBootstrap saltBootstrap = new SaltBootstrap(sc, allGatewayConfigs, targets, params);
@@ -321,11 +346,13 @@ public class SaltOrchestrator implements HostOrchestrator {
     public void bootstrapNewNodes(List<GatewayConfig> allGatewayConfigs, Set<Node> targets, Set<Node> allNodes, byte[] stateConfigZip, BootstrapParams params,
             ExitCriteriaModel exitModel) throws CloudbreakOrchestratorException {
         GatewayConfig primaryGateway = getPrimaryGatewayConfig(allGatewayConfigs);
-        Set<String> gatewayTargets = allGatewayConfigs.stream().filter(gc -> targets.stream().anyMatch(n -> gc.getPrivateAddress().equals(n.getPrivateIp())))
-                .map(GatewayConfig::getPrivateAddress).collect(Collectors.toSet());
+        List<GatewayConfig> newGatewayConfigs = allGatewayConfigs.stream()
+                .filter(gc -> targets.stream().anyMatch(n -> gc.getPrivateAddress().equals(n.getPrivateIp())))
+                .collect(Collectors.toList());
+        Set<String> gatewayTargets = getGatewayPrivateIps(newGatewayConfigs);
         try (SaltConnector sc = createSaltConnector(primaryGateway)) {
             if (!gatewayTargets.isEmpty()) {
-                uploadSaltConfig(sc, gatewayTargets, stateConfigZip, exitModel);
+                uploadSaltConfig(sc, newGatewayConfigs, stateConfigZip, exitModel);
             }
             uploadSignKey(sc, primaryGateway, gatewayTargets, targets.stream().map(Node::getPrivateIp).collect(Collectors.toSet()), exitModel);
             // if there is a new salt master then re-bootstrap all nodes
@@ -714,9 +741,23 @@ public class SaltOrchestrator implements HostOrchestrator {
         return SLEEP_TIME_IN_SEC * (maxRetryRecipe - 2L);
     }
 
+    /**
+     * The salt states are packaged in the application, so the bundle is built only once and reused by every bootstrap and upscale.
+     */
     @Override
     public byte[] getStateConfigZip() throws IOException {
-        return CompressUtil.generateCompressedOutputFromFolders("salt-common", "salt");
+        byte[] zip = stateConfigZip;
+        if (zip == null) {
+            synchronized (this) {
+                zip = stateConfigZip;
+                if (zip == null) {
+                    zip = CompressUtil.generateCompressedOutputFromFolders("salt-common", "salt");
+                    LOGGER.info("Salt state bundle has been built, size: {} bytes, sha256: {}", zip.length, Hashing.sha256().hashBytes(zip));
+                    stateConfigZip = zip;
+                }
+            }
+        }
+        return zip;
     }
 
     @Override
@@ -916,7 +957,7 @@ public class SaltOrchestrator implements HostOrchestrator {
             LOGGER.info("Unknown error occurred during execution of recipes.", e);
             throw new CloudbreakOrchestratorFailedException(e);
         } finally {
-            try (SaltConnector sc = new SaltConnector(gatewayConfig, saltErrorResolver, restDebug)) {
+            try (SaltConnector sc = createSaltConnector(gatewayConfig)) {
                 // remove 'recipe' grain from all nodes
                 Set<String> targetHostnames = allNodes.stream().map(Node::getHostname).collect(Collectors.toSet());
                 saltCommandRunner.runSaltCommand(sc, new GrainRemoveRunner(targetHostnames, allNodes, "recipes", phase.value()), exitCriteriaModel,
@@ -928,17 +969,33 @@ public class SaltOrchestrator implements HostOrchestrator {
         }
     }
 
-    private void uploadSaltConfig(SaltConnector saltConnector, Set<String> targets, ExitCriteriaModel exitCriteriaModel)
+    private void uploadSaltConfig(SaltConnector saltConnector, List<GatewayConfig> gatewayConfigs, ExitCriteriaModel exitCriteriaModel)
             throws CloudbreakOrchestratorFailedException, IOException {
-        uploadSaltConfig(saltConnector, targets, null, exitCriteriaModel);
+        uploadSaltConfig(saltConnector, gatewayConfigs, null, exitCriteriaModel);
     }
 
-    private void uploadSaltConfig(SaltConnector saltConnector, Set<String> targets, byte[] stateConfigZip, ExitCriteriaModel exitCriteriaModel)
-            throws CloudbreakOrchestratorFailedException, IOException {
+    private void uploadSaltConfig(SaltConnector saltConnector, List<GatewayConfig> gatewayConfigs, byte[] stateConfigZip,
+            ExitCriteriaModel exitCriteriaModel) throws CloudbreakOrchestratorFailedException, IOException {
         byte[] byteArray;
         byteArray = stateConfigZip == null || stateConfigZip.length == 0 ? getStateConfigZip() : stateConfigZip;
-        LOGGER.debug("Upload salt.zip to gateways");
+        String bundleHash = Hashing.sha256().hashBytes(byteArray).toString();
+        List<GatewayConfig> outdatedGateways = gatewayConfigs.stream()
+                .filter(gc -> !skipUnchangedStateUpload || !bundleHash.equals(uploadedStateBundles.getIfPresent(stateBundleKey(gc))))
+                .collect(Collectors.toList());
+        if (outdatedGateways.isEmpty()) {
+            LOGGER.debug("salt.zip {} has already been uploaded to the gateways", bundleHash);
+            return;
+        }
+        Set<String> targets = getGatewayPrivateIps(outdatedGateways);
+        LOGGER.debug("Upload salt.zip {} to gateways {}", bundleHash, targets);
         uploadFileToTargets(saltConnector, targets, exitCriteriaModel, "/srv", "salt.zip", byteArray);
+        if (skipUnchangedStateUpload) {
+            outdatedGateways.forEach(gc -> uploadedStateBundles.put(stateBundleKey(gc), bundleHash));
+        }
+    }
+
+    private String stateBundleKey(GatewayConfig gatewayConfig) {
+        return gatewayConfig.getInstanceId() + '|' + gatewayConfig.getPrivateAddress();
     }
 
     private void uploadSignKey(SaltConnector saltConnector, GatewayConfig gateway, Set<String> gatewayTargets,
@@ -983,10 +1040,14 @@ public class SaltOrchestrator implements HostOrchestrator {
     }
 
     private SaltConnector createSaltConnector(GatewayConfig gatewayConfig) {
-        return new SaltConnector(gatewayConfig, saltErrorResolver, restDebug);
+        return createSaltConnector(gatewayConfig, saltErrorResolver);
     }
 
     private SaltConnector createSaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver) {
+        if (saltConnectorPool.isEnabled()) {
+            return saltConnectorPool.getConnector(gatewayConfig, saltErrorResolver, restDebug, saltEventsEnabled);
+        }
+        // the event stream is only followed by the pooled connectors, a connector per call would log in and open a stream every time
         return new SaltConnector(gatewayConfig, saltErrorResolver, restDebug);
     }
 
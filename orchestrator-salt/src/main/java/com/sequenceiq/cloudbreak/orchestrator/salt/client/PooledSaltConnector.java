@@ -0,0 +1,47 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.client;
+
+import com.sequenceiq.cloudbreak.orchestrator.model.GatewayConfig;
+import com.sequenceiq.cloudbreak.orchestrator.salt.SaltErrorResolver;
+
+/**
+ * Salt connector that is shared by the operations through the {@link SaltConnectorPool}. Closing it only releases the lease of the
+ * caller, the underlying rest client is closed when the connector has been evicted from the pool and none of the callers use it anymore.
+ */
+class PooledSaltConnector extends SaltConnector {
+
+    private int leases;
+
+    private boolean evicted;
+
+    private boolean closed;
+
+    PooledSaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug, boolean eventsEnabled) {
+        super(gatewayConfig, saltErrorResolver, debug, eventsEnabled);
+    }
+
+    synchronized boolean acquire() {
+        if (evicted) {
+            return false;
+        }
+        leases++;
+        return true;
+    }
+
+    synchronized void evict() {
+        evicted = true;
+        closeIfUnused();
+    }
+
+    @Override
+    public synchronized void close() {
+        leases = Math.max(0, leases - 1);
+        closeIfUnused();
+    }
+
+    private void closeIfUnused() {
+        if (evicted && leases == 0 && !closed) {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sequenceiq.cloudbreak.aspect.Measure;
 import com.sequenceiq.cloudbreak.certificate.PkiUtil;
@@ -68,6 +69,8 @@ public class SaltConnector implements Closeable {
 
     private static final int PROXY_TIMEOUT = 90000;
 
+    private static final String SERVER_SENT_EVENTS = "text/event-stream";
+
     private final Client restClient;
 
     private final WebTarget saltTarget;
@@ -78,7 +81,17 @@ public class SaltConnector implements Closeable {
 
     private final SaltErrorResolver saltErrorResolver;
 
+    private final boolean eventsEnabled;
+
+    private final String gatewayAddress;
+
+    private SaltEventListener eventListener;
+
     public SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug) {
+        this(gatewayConfig, saltErrorResolver, debug, false);
+    }
+
+    public SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug, boolean eventsEnabled) {
         try {
             restClient = RestClientUtil.createClient(
                     gatewayConfig.getServerCert(), gatewayConfig.getClientCert(), gatewayConfig.getClientKey(), debug);
@@ -90,6 +103,8 @@ public class SaltConnector implements Closeable {
             saltPassword = Optional.ofNullable(gatewayConfig.getSaltPassword()).orElse(SALT_PASSWORD);
             signatureKey = gatewayConfig.getSignatureKey();
             this.saltErrorResolver = saltErrorResolver;
+            this.eventsEnabled = eventsEnabled;
+            gatewayAddress = gatewayConfig.getPublicAddress();
         } catch (Exception e) {
             throw new RuntimeException("Failed to create rest client with 2-way-ssl config", e);
         }
@@ -175,6 +190,35 @@ public class SaltConnector implements Closeable {
         return responseEntity;
     }
 
+    /**
+     * Opens the salt-api event stream. The returned response has to be closed by the caller.
+     */
+    public Response openEventStream() {
+        Form form = addAuth(new Form());
+        Response loginResponse = saltTarget.path(SaltEndpoint.SALT_LOGIN.getContextPath()).request(MediaType.APPLICATION_JSON_TYPE)
+                .header(SIGN_HEADER, PkiUtil.generateSignature(signatureKey, toJson(form.asMap()).getBytes()))
+                .post(Entity.form(form));
+        String token = JaxRSUtil.response(loginResponse, JsonNode.class).path("return").path(0).path("token").asText(null);
+        if (token == null) {
+            throw new IllegalStateException("Salt api login did not return a token");
+        }
+        return saltTarget.path(SaltEndpoint.SALT_EVENTS.getContextPath()).queryParam("token", token).request(SERVER_SENT_EVENTS)
+                .header(SIGN_HEADER, PkiUtil.generateSignature(signatureKey, new byte[0]))
+                .get();
+    }
+
+    /**
+     * Returns the listener of the salt-api event stream if the events are enabled. The listener is started on the first call and
+     * stopped when the connector is closed.
+     */
+    public synchronized Optional<SaltEventListener> getEventListener() {
+        if (eventsEnabled && eventListener == null) {
+            eventListener = new SaltEventListener(this, gatewayAddress);
+            eventListener.start();
+        }
+        return Optional.ofNullable(eventListener);
+    }
+
     @Measure(SaltConnector.class)
     public <T> T wheel(String fun, Collection<String> match, Class<T> clazz) {
         Form form = new Form();
@@ -265,6 +309,11 @@ public class SaltConnector implements Closeable {
 
     @Override
     public void close() {
+        synchronized (this) {
+            if (eventListener != null) {
+                eventListener.close();
+            }
+        }
         if (restClient != null) {
             restClient.close();
         }
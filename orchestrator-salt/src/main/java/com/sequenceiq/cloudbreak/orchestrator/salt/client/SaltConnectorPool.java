@@ -0,0 +1,112 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.orchestrator.model.GatewayConfig;
+import com.sequenceiq.cloudbreak.orchestrator.salt.SaltErrorResolver;
+
+/**
+ * Keeps the salt connectors of the gateways, so the operations of a cluster reuse the rest client, its ssl context and its keep-alive
+ * connections instead of building a new 2-way-ssl client for every call. The connectors are keyed by the gateway url and the fingerprint
+ * of the certificates and secrets of the gateway, so a rotated certificate or password results in a new connector.
+ */
+@Component
+public class SaltConnectorPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaltConnectorPool.class);
+
+    @Value("${cb.salt.connector.pool.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.salt.connector.pool.max.size:200}")
+    private long maxSize;
+
+    @Value("${cb.salt.connector.pool.idle.timeout.minutes:10}")
+    private long idleTimeoutMinutes;
+
+    @Inject
+    private MetricService metricService;
+
+    private Cache<String, PooledSaltConnector> connectors;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            connectors = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterAccess(idleTimeoutMinutes, TimeUnit.MINUTES)
+                    .executor(Runnable::run)
+                    .removalListener(this::onRemoval)
+                    .build();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (connectors != null) {
+            connectors.invalidateAll();
+            connectors.cleanUp();
+        }
+    }
+
+    public boolean isEnabled() {
+        return connectors != null;
+    }
+
+    /**
+     * Returns the pooled connector of the gateway. The caller has to close the connector when it is done, which only releases its lease.
+     */
+    public SaltConnector getConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug, boolean eventsEnabled) {
+        String key = connectorKey(gatewayConfig, debug, eventsEnabled);
+        PooledSaltConnector connector = connectors.get(key, k -> createConnector(gatewayConfig, saltErrorResolver, debug, eventsEnabled));
+        while (!connector.acquire()) {
+            LOGGER.debug("Salt connector of {} has just been evicted, creating a new one.", gatewayConfig.getGatewayUrl());
+            connectors.asMap().remove(key, connector);
+            connector = connectors.get(key, k -> createConnector(gatewayConfig, saltErrorResolver, debug, eventsEnabled));
+        }
+        return connector;
+    }
+
+    private PooledSaltConnector createConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug, boolean eventsEnabled) {
+        LOGGER.debug("Creating pooled salt connector for {}", gatewayConfig.getGatewayUrl());
+        PooledSaltConnector connector = new PooledSaltConnector(gatewayConfig, saltErrorResolver, debug, eventsEnabled);
+        metricService.incrementMetricCounter(MetricType.SALT_CONNECTOR_CREATED);
+        metricService.submit(MetricType.SALT_CONNECTOR_POOL_SIZE, connectors.estimatedSize() + 1);
+        return connector;
+    }
+
+    private void onRemoval(String key, PooledSaltConnector connector, RemovalCause cause) {
+        if (connector != null) {
+            LOGGER.debug("Salt connector is removed from the pool: {}", cause);
+            connector.evict();
+        }
+        metricService.submit(MetricType.SALT_CONNECTOR_POOL_SIZE, connectors.estimatedSize());
+    }
+
+    private String connectorKey(GatewayConfig gatewayConfig, boolean debug, boolean eventsEnabled) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        Stream.of(gatewayConfig.getServerCert(), gatewayConfig.getClientCert(), gatewayConfig.getClientKey(), gatewayConfig.getSignatureKey(),
+                gatewayConfig.getSaltPassword(), gatewayConfig.getSaltBootPassword())
+                .forEach(value -> hasher.putString(Strings.nullToEmpty(value), StandardCharsets.UTF_8).putByte((byte) 0));
+        return String.join("|", gatewayConfig.getGatewayUrl(), hasher.hash().toString(), String.valueOf(debug), String.valueOf(eventsEnabled));
+    }
+}
@@ -0,0 +1,230 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.client;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.core.Response;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Follows the salt-api event stream of a gateway and records which minions were targeted by a job (salt/job/&lt;jid&gt;/new) and which
+ * of them have already returned (salt/job/&lt;jid&gt;/ret/&lt;minion&gt;). Job trackers can wait for the completion of a job instead of
+ * polling the running jobs. When the stream is not connected the waiting returns immediately, so the callers fall back to polling.
+ * The new job event is only seen if the stream was already connected when the job was submitted, otherwise the expected targets of
+ * the caller are used.
+ */
+public class SaltEventListener implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaltEventListener.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Pattern JOB_EVENT_TAG = Pattern.compile("salt/job/([^/]+)/(new|ret/(.+))");
+
+    private static final String DATA_PREFIX = "data:";
+
+    private static final long MAX_TRACKED_JOBS = 1000L;
+
+    private static final long JOB_RETENTION_HOURS = 2L;
+
+    private static final long RECONNECT_DELAY_MS = 5000L;
+
+    private final SaltConnector saltConnector;
+
+    private final Cache<String, JobEvents> jobs = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_JOBS)
+            .expireAfterAccess(JOB_RETENTION_HOURS, TimeUnit.HOURS)
+            .build();
+
+    private final Thread readerThread;
+
+    private final Object connectionLock = new Object();
+
+    private volatile boolean connected;
+
+    private volatile boolean closed;
+
+    private volatile Response eventStream;
+
+    public SaltEventListener(SaltConnector saltConnector, String name) {
+        this.saltConnector = saltConnector;
+        readerThread = new Thread(this::readEvents, "salt-events-" + name);
+        readerThread.setDaemon(true);
+    }
+
+    public void start() {
+        readerThread.start();
+    }
+
+    /**
+     * Waits until every minion targeted by the job has returned or the timeout elapses. The minions of the new job event are used
+     * as targets if it has been received, the given expected targets otherwise.
+     *
+     * @return true if the job has completed on every targeted minion
+     */
+    public boolean awaitJobCompletion(String jid, Collection<String> expectedTargets, long timeoutMillis) throws InterruptedException {
+        if (!connected) {
+            return false;
+        }
+        JobEvents jobEvents = jobs.get(jid, key -> new JobEvents());
+        return jobEvents.await(expectedTargets, timeoutMillis);
+    }
+
+    /**
+     * Waits until the event stream is connected or the timeout elapses.
+     *
+     * @return true if the event stream is connected
+     */
+    public boolean awaitConnected(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (connectionLock) {
+            long remaining = timeoutMillis;
+            while (!connected && !closed && remaining > 0) {
+                connectionLock.wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return connected;
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        setConnected(false);
+        readerThread.interrupt();
+        closeEventStream();
+    }
+
+    private void readEvents() {
+        while (!closed) {
+            try {
+                eventStream = saltConnector.openEventStream();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(eventStream.readEntity(InputStream.class),
+                        StandardCharsets.UTF_8))) {
+                    setConnected(true);
+                    LOGGER.debug("Connected to the salt event stream.");
+                    String line;
+                    while (!closed && (line = reader.readLine()) != null) {
+                        if (line.startsWith(DATA_PREFIX)) {
+                            processEvent(line.substring(DATA_PREFIX.length()).trim());
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!closed) {
+                    LOGGER.info("Salt event stream was interrupted, job completion falls back to polling until it is reconnected.", e);
+                }
+            } finally {
+                setConnected(false);
+                closeEventStream();
+            }
+            waitBeforeReconnect();
+        }
+        LOGGER.debug("Salt event listener stopped.");
+    }
+
+    @VisibleForTesting
+    void processEvent(String data) {
+        try {
+            JsonNode event = MAPPER.readTree(data);
+            Matcher matcher = JOB_EVENT_TAG.matcher(event.path("tag").asText());
+            if (matcher.matches()) {
+                JobEvents jobEvents = jobs.get(matcher.group(1), key -> new JobEvents());
+                if (matcher.group(3) == null) {
+                    Set<String> minions = new HashSet<>();
+                    event.path("data").path("minions").forEach(minion -> minions.add(minion.asText()));
+                    jobEvents.targeted(minions);
+                } else {
+                    jobEvents.returned(matcher.group(3));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Salt event cannot be parsed: {}", data, e);
+        }
+    }
+
+    @VisibleForTesting
+    void setConnected(boolean connected) {
+        synchronized (connectionLock) {
+            this.connected = connected;
+            connectionLock.notifyAll();
+        }
+    }
+
+    private void waitBeforeReconnect() {
+        if (!closed) {
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                LOGGER.debug("Salt event listener was interrupted while waiting for reconnect.");
+            }
+        }
+    }
+
+    private void closeEventStream() {
+        Response stream = eventStream;
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                LOGGER.debug("Failed to close the salt event stream.", e);
+            }
+        }
+    }
+
+    private static class JobEvents {
+
+        private Set<String> targetedMinions;
+
+        private final Set<String> returnedMinions = new HashSet<>();
+
+        synchronized void targeted(Set<String> minions) {
+            targetedMinions = minions;
+            notifyAll();
+        }
+
+        synchronized void returned(String minion) {
+            returnedMinions.add(minion);
+            notifyAll();
+        }
+
+        synchronized boolean await(Collection<String> expectedTargets, long timeoutMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            long remaining = timeoutMillis;
+            while (!isCompleted(expectedTargets) && remaining > 0) {
+                wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return isCompleted(expectedTargets);
+        }
+
+        private boolean isCompleted(Collection<String> expectedTargets) {
+            if (targetedMinions != null) {
+                return returnedMinions.containsAll(targetedMinions);
+            }
+            return expectedTargets != null && !expectedTargets.isEmpty() && returnedMinions.containsAll(expectedTargets);
+        }
+    }
+}
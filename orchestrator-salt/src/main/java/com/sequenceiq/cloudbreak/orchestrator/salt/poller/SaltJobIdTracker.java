@@ -3,6 +3,7 @@ package com.sequenceiq.cloudbreak.orchestrator.salt.poller;
 import static com.sequenceiq.cloudbreak.orchestrator.salt.domain.JobId.jobId;
 
 import java.util.Collection;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +14,7 @@ import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorFa
 import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorInProgressException;
 import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorTerminateException;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
+import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltEventListener;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.target.HostList;
 import com.sequenceiq.cloudbreak.orchestrator.salt.domain.JobState;
 import com.sequenceiq.cloudbreak.orchestrator.salt.states.SaltStates;
@@ -21,12 +23,18 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SaltJobIdTracker.class);
 
+    private static final long EVENT_WAIT_MILLIS = 10000L;
+
+    private static final long CONNECT_WAIT_MILLIS = 5000L;
+
     private final SaltConnector saltConnector;
 
     private final SaltJobRunner saltJobRunner;
 
     private final boolean retryOnFail;
 
+    private long lastWaitMillis;
+
     public SaltJobIdTracker(SaltConnector saltConnector, SaltJobRunner saltJobRunner) {
         this(saltConnector, saltJobRunner, true);
     }
@@ -39,8 +47,10 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
 
     @Override
     public Boolean call() throws Exception {
+        lastWaitMillis = 0L;
         if (JobState.NOT_STARTED.equals(saltJobRunner.getJobState())) {
             LOGGER.debug("Job has not started in the cluster. Starting for first time.");
+            awaitEventListenerConnected();
             saltJobRunner.setJid(jobId(saltJobRunner.submit(saltConnector)));
             checkIsFinished(saltJobRunner.getJid().getJobId());
         } else if (JobState.IN_PROGRESS.equals(saltJobRunner.getJobState())) {
@@ -71,6 +81,11 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
     }
 
     private void checkIsFinished(String jobId) throws CloudbreakOrchestratorFailedException {
+        if (isCompletedByEvents(jobId)) {
+            LOGGER.debug("Job finished according to the salt events: {}. Collecting missing nodes", jobId);
+            checkJobFinishedWithSuccess();
+            return;
+        }
         boolean jobRunning = SaltStates.jobIsRunning(saltConnector, jobId);
         if (jobRunning) {
             LOGGER.debug("Job: {} is running currently, waiting for next polling attempt.", jobId);
@@ -81,6 +96,48 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
         }
     }
 
+    @Override
+    public long getLastWaitMillis() {
+        return lastWaitMillis;
+    }
+
+    /**
+     * The salt-api only streams the events published after the stream is opened, so the new job event is only received if the listener
+     * is connected before the job is submitted.
+     */
+    private void awaitEventListenerConnected() {
+        Optional<SaltEventListener> eventListener = saltConnector.getEventListener();
+        if (eventListener.isPresent()) {
+            long start = System.currentTimeMillis();
+            try {
+                if (!eventListener.get().awaitConnected(CONNECT_WAIT_MILLIS)) {
+                    LOGGER.debug("Salt event stream is not connected, the job completion is tracked by polling.");
+                }
+            } catch (InterruptedException e) {
+                LOGGER.debug("Waiting for the salt event stream was interrupted, submitting the job.");
+                Thread.currentThread().interrupt();
+            } finally {
+                lastWaitMillis += System.currentTimeMillis() - start;
+            }
+        }
+    }
+
+    private boolean isCompletedByEvents(String jobId) {
+        Optional<SaltEventListener> eventListener = saltConnector.getEventListener().filter(SaltEventListener::isConnected);
+        if (eventListener.isPresent()) {
+            long start = System.currentTimeMillis();
+            try {
+                return eventListener.get().awaitJobCompletion(jobId, saltJobRunner.getTargetHostnames(), EVENT_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                LOGGER.debug("Waiting for the completion events of job: {} was interrupted, checking the running jobs.", jobId);
+                Thread.currentThread().interrupt();
+            } finally {
+                lastWaitMillis += System.currentTimeMillis() - start;
+            }
+        }
+        return false;
+    }
+
     private String buildErrorMessage() {
         String jobId = saltJobRunner.getJid().getJobId();
         StringBuilder errorMessageBuilder = new StringBuilder();
@@ -3,6 +3,7 @@ package com.sequenceiq.cloudbreak.orchestrator.salt;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -42,6 +43,7 @@ import org.mockito.Mock;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 import com.google.common.collect.Lists;
 import com.sequenceiq.cloudbreak.common.service.HostDiscoveryService;
@@ -54,6 +56,7 @@ import com.sequenceiq.cloudbreak.orchestrator.model.GenericResponse;
 import com.sequenceiq.cloudbreak.orchestrator.model.Node;
 import com.sequenceiq.cloudbreak.orchestrator.model.SaltConfig;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
+import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnectorPool;
 import com.sequenceiq.cloudbreak.orchestrator.salt.domain.MinionStatus;
 import com.sequenceiq.cloudbreak.orchestrator.salt.domain.MinionStatusSaltResponse;
 import com.sequenceiq.cloudbreak.orchestrator.salt.grain.GrainUploader;
@@ -101,6 +104,9 @@ public class SaltOrchestratorTest {
     @Mock
     private GrainUploader grainUploader;
 
+    @Mock
+    private SaltConnectorPool saltConnectorPool;
+
     @InjectMocks
     private SaltOrchestrator saltOrchestrator;
 
@@ -158,6 +164,21 @@ public class SaltOrchestratorTest {
                 eq(Collections.singletonList(gatewayConfig)), eq(targets), eq(bootstrapParams));
     }
 
+    @Test
+    public void bootstrapSkipsUnchangedStateBundleTest() throws Exception {
+        whenNew(SaltBootstrap.class).withAnyArguments().thenReturn(mock(SaltBootstrap.class));
+        Whitebox.setInternalState(saltOrchestrator, "skipUnchangedStateUpload", true);
+        BootstrapParams bootstrapParams = mock(BootstrapParams.class);
+
+        saltOrchestrator.init(exitCriteria);
+        saltOrchestrator.bootstrap(Collections.singletonList(gatewayConfig), targets, bootstrapParams, exitCriteriaModel);
+        saltOrchestrator.bootstrap(Collections.singletonList(gatewayConfig), targets, bootstrapParams, exitCriteriaModel);
+
+        // salt.zip is uploaded only by the first bootstrap
+        verify(saltRunner, times(7)).runner(any(OrchestratorBootstrap.class), any(ExitCriteria.class), any(ExitCriteriaModel.class));
+        assertSame(saltOrchestrator.getStateConfigZip(), saltOrchestrator.getStateConfigZip());
+    }
+
     @Test
     public void runServiceTest() throws Exception {
         whenNew(SaltBootstrap.class).withAnyArguments().thenReturn(mock(SaltBootstrap.class));
@@ -0,0 +1,96 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.client;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.orchestrator.model.GatewayConfig;
+import com.sequenceiq.cloudbreak.orchestrator.salt.SaltErrorResolver;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SaltConnectorPoolTest {
+
+    @InjectMocks
+    private SaltConnectorPool underTest;
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private SaltErrorResolver saltErrorResolver;
+
+    @Before
+    public void setUp() {
+        Whitebox.setInternalState(underTest, "enabled", true);
+        Whitebox.setInternalState(underTest, "maxSize", 10L);
+        Whitebox.setInternalState(underTest, "idleTimeoutMinutes", 10L);
+        underTest.init();
+    }
+
+    @After
+    public void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    public void testConnectorIsReusedForTheSameGateway() {
+        SaltConnector first = underTest.getConnector(gatewayConfig("10.0.0.1", "saltpasswd"), saltErrorResolver, false, false);
+        first.close();
+        SaltConnector second = underTest.getConnector(gatewayConfig("10.0.0.1", "saltpasswd"), saltErrorResolver, false, false);
+        second.close();
+
+        assertTrue(underTest.isEnabled());
+        assertSame(first, second);
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.SALT_CONNECTOR_CREATED);
+    }
+
+    @Test
+    public void testNewConnectorIsCreatedForChangedSecrets() {
+        SaltConnector first = underTest.getConnector(gatewayConfig("10.0.0.1", "saltpasswd"), saltErrorResolver, false, false);
+        SaltConnector second = underTest.getConnector(gatewayConfig("10.0.0.1", "rotated"), saltErrorResolver, false, false);
+        SaltConnector third = underTest.getConnector(gatewayConfig("10.0.0.2", "saltpasswd"), saltErrorResolver, false, false);
+
+        assertNotSame(first, second);
+        assertNotSame(first, third);
+        verify(metricService, times(3)).incrementMetricCounter(MetricType.SALT_CONNECTOR_CREATED);
+    }
+
+    @Test
+    public void testEvictedConnectorIsNotHandedOutAgain() {
+        SaltConnector first = underTest.getConnector(gatewayConfig("10.0.0.1", "saltpasswd"), saltErrorResolver, false, false);
+        underTest.destroy();
+
+        assertFalse(((PooledSaltConnector) first).acquire());
+        SaltConnector second = underTest.getConnector(gatewayConfig("10.0.0.1", "saltpasswd"), saltErrorResolver, false, false);
+
+        assertNotSame(first, second);
+        first.close();
+    }
+
+    @Test
+    public void testDisabledPool() {
+        SaltConnectorPool disabled = new SaltConnectorPool();
+        disabled.init();
+
+        assertFalse(disabled.isEnabled());
+    }
+
+    private GatewayConfig gatewayConfig(String address, String saltPassword) {
+        return new GatewayConfig(address, address, address, "host", 9443, "instanceid", null, null, null, saltPassword, "saltbootpassword", "signkey",
+                false, true, null, null, null, null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.client;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SaltEventListenerTest {
+
+    private static final String JID = "20200615120000123456";
+
+    private static final Set<String> NO_TARGETS = Set.of();
+
+    private SaltEventListener underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new SaltEventListener(Mockito.mock(SaltConnector.class), "gateway");
+        underTest.setConnected(true);
+    }
+
+    @Test
+    public void testJobIsCompletedWhenEveryTargetedMinionReturned() throws InterruptedException {
+        underTest.processEvent(newJobEvent("host1", "host2"));
+        underTest.processEvent(returnEvent("host1"));
+
+        assertFalse(underTest.awaitJobCompletion(JID, NO_TARGETS, 0L));
+
+        underTest.processEvent(returnEvent("host2"));
+
+        assertTrue(underTest.awaitJobCompletion(JID, NO_TARGETS, 0L));
+    }
+
+    @Test
+    public void testReturnsBeforeTheNewJobEventAreCounted() throws InterruptedException {
+        underTest.processEvent(returnEvent("host1"));
+        underTest.processEvent(newJobEvent("host1"));
+
+        assertTrue(underTest.awaitJobCompletion(JID, NO_TARGETS, 0L));
+    }
+
+    @Test
+    public void testWaitingIsNotifiedByTheLastReturn() throws InterruptedException {
+        underTest.processEvent(newJobEvent("host1"));
+        Thread returner = new Thread(() -> underTest.processEvent(returnEvent("host1")));
+        returner.start();
+
+        assertTrue(underTest.awaitJobCompletion(JID, NO_TARGETS, 10000L));
+    }
+
+    @Test
+    public void testOtherEventsAreIgnored() throws InterruptedException {
+        underTest.processEvent("{\"tag\": \"salt/auth\", \"data\": {\"id\": \"host1\"}}");
+        underTest.processEvent("not a json");
+
+        assertFalse(underTest.awaitJobCompletion(JID, NO_TARGETS, 0L));
+    }
+
+    @Test
+    public void testDisconnectedListenerDoesNotWait() throws InterruptedException {
+        underTest.processEvent(newJobEvent("host1"));
+        underTest.processEvent(returnEvent("host1"));
+        underTest.setConnected(false);
+
+        assertFalse(underTest.awaitJobCompletion(JID, NO_TARGETS, 0L));
+    }
+
+    @Test
+    public void testExpectedTargetsAreUsedWithoutTheNewJobEvent() throws InterruptedException {
+        underTest.processEvent(returnEvent("host1"));
+
+        assertFalse(underTest.awaitJobCompletion(JID, Set.of("host1", "host2"), 0L));
+
+        underTest.processEvent(returnEvent("host2"));
+
+        assertTrue(underTest.awaitJobCompletion(JID, Set.of("host1", "host2"), 0L));
+    }
+
+    @Test
+    public void testTargetsOfTheNewJobEventOverrideTheExpectedTargets() throws InterruptedException {
+        underTest.processEvent(newJobEvent("host1"));
+        underTest.processEvent(returnEvent("host1"));
+
+        assertTrue(underTest.awaitJobCompletion(JID, Set.of("host1", "host2"), 0L));
+    }
+
+    @Test
+    public void testWaitingForTheConnectionIsNotifiedWhenConnected() throws InterruptedException {
+        underTest.setConnected(false);
+
+        assertFalse(underTest.awaitConnected(0L));
+
+        Thread connector = new Thread(() -> underTest.setConnected(true));
+        connector.start();
+
+        assertTrue(underTest.awaitConnected(10000L));
+    }
+
+    private String newJobEvent(String... minions) {
+        return String.format("{\"tag\": \"salt/job/%s/new\", \"data\": {\"jid\": \"%s\", \"minions\": [\"%s\"]}}", JID, JID,
+                String.join("\", \"", minions));
+    }
+
+    private String returnEvent(String minion) {
+        return String.format("{\"tag\": \"salt/job/%s/ret/%s\", \"data\": {\"jid\": \"%s\", \"id\": \"%s\", \"success\": true}}", JID, minion, JID,
+                minion);
+    }
+}
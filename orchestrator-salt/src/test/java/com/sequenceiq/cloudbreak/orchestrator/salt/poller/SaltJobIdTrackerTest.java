@@ -9,15 +9,18 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.junit.Before;
@@ -25,6 +28,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.powermock.api.mockito.PowerMockito;
@@ -39,6 +43,7 @@ import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorIn
 import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorTerminateException;
 import com.sequenceiq.cloudbreak.orchestrator.salt.SaltErrorResolver;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
+import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltEventListener;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.target.Target;
 import com.sequenceiq.cloudbreak.orchestrator.salt.domain.JobId;
 import com.sequenceiq.cloudbreak.orchestrator.salt.domain.JobState;
@@ -203,6 +208,104 @@ public class SaltJobIdTrackerTest {
         checkTargets(targets, targetCaptor.getAllValues());
     }
 
+    @Test
+    public void callWithInProgressAndJobCompletedByEvents() throws Exception {
+        String jobId = "1";
+        SaltConnector saltConnector = Mockito.mock(SaltConnector.class);
+        SaltEventListener saltEventListener = Mockito.mock(SaltEventListener.class);
+        when(saltConnector.getEventListener()).thenReturn(Optional.of(saltEventListener));
+        when(saltEventListener.isConnected()).thenReturn(true);
+        when(saltEventListener.awaitJobCompletion(eq(jobId), eq(Set.of("10.0.0.1")), anyLong())).thenReturn(true);
+
+        SaltJobRunner saltJobRunner = Mockito.mock(BaseSaltJobRunner.class);
+        when(saltJobRunner.getJid()).thenReturn(JobId.jobId(jobId));
+        when(saltJobRunner.getJobState()).thenCallRealMethod();
+        doCallRealMethod().when(saltJobRunner).setJobState(any());
+
+        SaltErrorResolver saltErrorResolver = Mockito.mock(SaltErrorResolver.class);
+        when(saltConnector.getSaltErrorResolver()).thenReturn(saltErrorResolver);
+        saltJobRunner.setJobState(JobState.IN_PROGRESS);
+        when(saltJobRunner.getTargetHostnames()).thenReturn(Sets.newHashSet("10.0.0.1"));
+
+        PowerMockito.mockStatic(SaltStates.class);
+        Multimap<String, String> missingNodesWithReason = ArrayListMultimap.create();
+        PowerMockito.when(SaltStates.jidInfo(any(), any(), any(), any())).thenReturn(missingNodesWithReason);
+        when(saltErrorResolver.resolveErrorMessages(missingNodesWithReason)).thenReturn(missingNodesWithReason);
+
+        SaltJobIdTracker underTest = new SaltJobIdTracker(saltConnector, saltJobRunner);
+        assertTrue(underTest.call());
+
+        assertEquals(JobState.FINISHED, saltJobRunner.getJobState());
+        PowerMockito.verifyStatic(SaltStates.class, times(0));
+        SaltStates.jobIsRunning(any(), any());
+    }
+
+    @Test
+    public void callWithNotStartedWaitsForTheEventListenerBeforeSubmitting() throws Exception {
+        String jobId = "1";
+        SaltConnector saltConnector = Mockito.mock(SaltConnector.class);
+        SaltEventListener saltEventListener = Mockito.mock(SaltEventListener.class);
+        when(saltConnector.getEventListener()).thenReturn(Optional.of(saltEventListener));
+        when(saltEventListener.awaitConnected(anyLong())).thenReturn(true);
+        when(saltEventListener.isConnected()).thenReturn(true);
+
+        SaltJobRunner saltJobRunner = Mockito.mock(BaseSaltJobRunner.class);
+        when(saltJobRunner.getJid()).thenCallRealMethod();
+        doCallRealMethod().when(saltJobRunner).setJid(any());
+        when(saltJobRunner.getJobState()).thenCallRealMethod();
+        doCallRealMethod().when(saltJobRunner).setJobState(any());
+        saltJobRunner.setJobState(JobState.NOT_STARTED);
+        when(saltJobRunner.getTargetHostnames()).thenReturn(Sets.newHashSet("10.0.0.1"));
+        when(saltJobRunner.submit(any(SaltConnector.class))).thenReturn(jobId);
+
+        PowerMockito.mockStatic(SaltStates.class);
+        PowerMockito.when(SaltStates.jobIsRunning(any(), any())).thenReturn(true);
+
+        SaltJobIdTracker underTest = new SaltJobIdTracker(saltConnector, saltJobRunner);
+        try {
+            underTest.call();
+            fail("should throw exception");
+        } catch (CloudbreakOrchestratorInProgressException e) {
+            assertEquals(JobState.IN_PROGRESS, saltJobRunner.getJobState());
+        }
+
+        InOrder inOrder = inOrder(saltEventListener, saltJobRunner);
+        inOrder.verify(saltEventListener).awaitConnected(anyLong());
+        inOrder.verify(saltJobRunner).submit(saltConnector);
+        inOrder.verify(saltEventListener).awaitJobCompletion(eq(jobId), eq(Set.of("10.0.0.1")), anyLong());
+    }
+
+    @Test
+    public void callWithInProgressAndDisconnectedEventListener() throws Exception {
+        String jobId = "1";
+        SaltConnector saltConnector = Mockito.mock(SaltConnector.class);
+        SaltEventListener saltEventListener = Mockito.mock(SaltEventListener.class);
+        when(saltConnector.getEventListener()).thenReturn(Optional.of(saltEventListener));
+        when(saltEventListener.isConnected()).thenReturn(false);
+
+        SaltJobRunner saltJobRunner = Mockito.mock(BaseSaltJobRunner.class);
+        when(saltJobRunner.getJid()).thenReturn(JobId.jobId(jobId));
+        when(saltJobRunner.getJobState()).thenCallRealMethod();
+        doCallRealMethod().when(saltJobRunner).setJobState(any());
+        saltJobRunner.setJobState(JobState.IN_PROGRESS);
+        when(saltJobRunner.getTargetHostnames()).thenReturn(Sets.newHashSet("10.0.0.1"));
+
+        PowerMockito.mockStatic(SaltStates.class);
+        PowerMockito.when(SaltStates.jobIsRunning(any(), any())).thenReturn(true);
+
+        SaltJobIdTracker underTest = new SaltJobIdTracker(saltConnector, saltJobRunner);
+        try {
+            underTest.call();
+            fail("should throw exception");
+        } catch (CloudbreakOrchestratorInProgressException e) {
+            assertEquals(JobState.IN_PROGRESS, saltJobRunner.getJobState());
+        }
+
+        verify(saltEventListener, times(0)).awaitJobCompletion(anyString(), any(), anyLong());
+        PowerMockito.verifyStatic(SaltStates.class);
+        SaltStates.jobIsRunning(any(), eq(jobId));
+    }
+
     @Test
     public void callWithInProgressAndMissingNodes() throws Exception {
         String jobId = "1";
@@ -32,6 +32,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
         "com.sequenceiq.cloudbreak.cloud.task",
         "com.sequenceiq.cloudbreak.cloud.template",
         "com.sequenceiq.cloudbreak.cloud.transform",
+        "com.sequenceiq.cloudbreak.polling",
         "com.sequenceiq.cloudbreak.conf",
         "com.sequenceiq.cloudbreak.config",
         "com.sequenceiq.cloudbreak.cache.common",
@@ -0,0 +1,180 @@
+package com.sequenceiq.cloudbreak.service.secret.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.service.secret.SecretOperationException;
+import com.sequenceiq.cloudbreak.service.secret.vault.VaultSecret;
+
+/**
+ * Keeps the content of the secrets read from the secret store for a longer period than the vaultCache does. Only the secrets of the
+ * entity fields are cached: SecretAspectService stores them under a path ending with a random uuid, so the path is written exactly once
+ * and a cached value can only become stale when the secret is deleted, after which no entity refers to it anymore. The other secrets,
+ * like the keytabs, are stored under paths built from their resources and may be cleaned up and written again from any node, so they
+ * are always read from the secret store. Entries are dropped on delete and cleanup on this node and expire on the others after the ttl.
+ * <p>
+ * The values are kept encrypted with a key that is generated at startup and never leaves the process.
+ */
+@Service
+public class SecretReadCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecretReadCache.class);
+
+    private static final String KEY_ALGORITHM = "AES";
+
+    private static final String CIPHER_TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final int KEY_SIZE = 256;
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH = 128;
+
+    private static final Pattern WRITTEN_ONCE_PATH = Pattern.compile("/[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}-[0-9a-f]+$");
+
+    private static final Gson GSON = new Gson();
+
+    @Value("${secret.read.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${secret.read.cache.max.entries:10000}")
+    private long maxEntries;
+
+    @Value("${secret.read.cache.ttl.minutes:60}")
+    private long ttlMinutes;
+
+    private final MetricService metricService;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private SecretKey key;
+
+    private Cache<String, byte[]> cache;
+
+    public SecretReadCache(MetricService metricService) {
+        this.metricService = metricService;
+    }
+
+    @PostConstruct
+    public void init() throws NoSuchAlgorithmException {
+        if (enabled) {
+            KeyGenerator keyGenerator = KeyGenerator.getInstance(KEY_ALGORITHM);
+            keyGenerator.init(KEY_SIZE, secureRandom);
+            key = keyGenerator.generateKey();
+            cache = Caffeine.newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                    .build();
+        }
+    }
+
+    /**
+     * Returns the cached content of the secret or reads it with the given reader and caches it when it exists.
+     *
+     * @param secret Key-value secret in Secret
+     * @param reader Reads the secret from the secret store
+     * @return Secret content or null if the secret is not found.
+     */
+    public String get(String secret, Function<String, String> reader) {
+        if (cache == null || !isWrittenOnce(secret)) {
+            return reader.apply(secret);
+        }
+        byte[] encrypted = cache.getIfPresent(secret);
+        if (encrypted != null) {
+            try {
+                String value = decrypt(encrypted);
+                metricService.incrementMetricCounter(MetricType.SECRET_READ_CACHE_HIT);
+                return value;
+            } catch (GeneralSecurityException e) {
+                LOGGER.warn("Cached secret cannot be decrypted, reading it from the secret store", e);
+                cache.invalidate(secret);
+            }
+        }
+        metricService.incrementMetricCounter(MetricType.SECRET_READ_CACHE_MISS);
+        String value = reader.apply(secret);
+        put(secret, value);
+        return value;
+    }
+
+    public void put(String secret, String value) {
+        if (cache != null && secret != null && value != null && isWrittenOnce(secret)) {
+            try {
+                cache.put(secret, encrypt(value));
+            } catch (GeneralSecurityException e) {
+                throw new SecretOperationException(e);
+            }
+        }
+    }
+
+    public void invalidate(String secret) {
+        if (cache != null && secret != null) {
+            cache.invalidate(secret);
+        }
+    }
+
+    /**
+     * Drops the cached secrets stored under the path prefix. A cached secret whose path contains the prefix is dropped as well, since the
+     * cache does not know the application path the prefix is relative to.
+     */
+    public void invalidatePathPrefix(String pathPrefix) {
+        if (cache != null && pathPrefix != null) {
+            cache.asMap().keySet().removeIf(secret -> {
+                String path = vaultPath(secret);
+                return path == null || path.contains(pathPrefix);
+            });
+        }
+    }
+
+    private boolean isWrittenOnce(String secret) {
+        String path = vaultPath(secret);
+        return path != null && WRITTEN_ONCE_PATH.matcher(path).find();
+    }
+
+    private String vaultPath(String secret) {
+        try {
+            VaultSecret vaultSecret = GSON.fromJson(secret, VaultSecret.class);
+            return vaultSecret == null ? null : vaultSecret.getPath();
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private byte[] encrypt(String value) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, iv));
+        byte[] encrypted = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+    }
+
+    private String decrypt(byte[] encrypted) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, encrypted, 0, IV_LENGTH));
+        byte[] decrypted = cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH);
+        return new String(decrypted, StandardCharsets.UTF_8);
+    }
+}
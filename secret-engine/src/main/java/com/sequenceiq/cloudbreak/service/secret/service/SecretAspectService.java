@@ -1,18 +1,35 @@
 package com.sequenceiq.cloudbreak.service.secret.service;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
 import com.sequenceiq.cloudbreak.service.secret.domain.AccountIdAwareResource;
 import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
 import com.sequenceiq.cloudbreak.service.secret.SecretOperationException;
@@ -26,39 +43,59 @@ public class SecretAspectService {
 
     private SecretService secretService;
 
+    private MetricService metricService;
+
+    @Value("${secret.aspect.write.parallelism:1}")
+    private int writeParallelism;
+
+    private final Map<Class<?>, List<SecretFieldAccessor>> secretFieldsByClass = new ConcurrentHashMap<>();
+
+    private ExecutorService writeExecutor;
+
     @Inject
-    public SecretAspectService(SecretService secretService) {
+    public SecretAspectService(SecretService secretService, MetricService metricService) {
         this.secretService = secretService;
+        this.metricService = metricService;
+    }
+
+    /**
+     * With a write parallelism above one, the secrets of a collection save are written to the secret store concurrently instead of
+     * one after the other. The repository save is still invoked only after every secret has been written.
+     */
+    @PostConstruct
+    public void init() {
+        if (writeParallelism > 1) {
+            writeExecutor = Executors.newFixedThreadPool(writeParallelism,
+                    new ThreadFactoryBuilder().setNameFormat("secret-writer-%d").setDaemon(true).build());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (writeExecutor != null) {
+            writeExecutor.shutdown();
+        }
     }
 
     public Object proceedSave(ProceedingJoinPoint proceedingJoinPoint) {
+        long start = System.currentTimeMillis();
         Collection<Object> entities = convertFirstArgToCollection(proceedingJoinPoint);
+        List<SecretStoreCall> operations = new ArrayList<>();
         for (Object entity : entities) {
             try {
-                for (Field field : entity.getClass().getDeclaredFields()) {
-                    if (field.isAnnotationPresent(SecretValue.class)) {
-                        LOGGER.debug("Found SecretValue annotation on {}", field);
-                        field.setAccessible(true);
-                        Secret value = (Secret) field.get(entity);
-                        if (value != null && value.getRaw() != null && value.getSecret() == null) {
-                            String accountId = findAccountId(entity);
-                            String path = String.format("%s/%s/%s/%s-%s", accountId,
-                                    entity.getClass().getSimpleName().toLowerCase(), field.getName().toLowerCase(),
-                                    UUID.randomUUID().toString(), Long.toHexString(System.currentTimeMillis()));
-                            String secret = secretService.put(path, value.getRaw());
-                            LOGGER.debug("Field: '{}' is saved at path: {}", field.getName(), path);
-                            field.set(entity, new SecretProxy(secretService, secret));
-                        }
+                for (SecretFieldAccessor field : getSecretFields(entity.getClass())) {
+                    Secret value = field.get(entity);
+                    if (value != null && value.getRaw() != null && value.getSecret() == null) {
+                        operations.add(() -> saveSecret(entity, field, value));
                     }
                 }
-            } catch (IllegalArgumentException e) {
-                LOGGER.error("Given entity isn't instance of TenantAwareResource. Secret is not deleted!", e);
-                throw new SecretOperationException(e);
-            } catch (Exception e) {
-                LOGGER.warn("Looks like something went wrong with Secret store. Secret is not deleted!", e);
+            } catch (IllegalArgumentException | ClassCastException e) {
+                LOGGER.error("Given entity isn't instance of TenantAwareResource. Secret is not saved!", e);
                 throw new SecretOperationException(e);
             }
         }
+        runSecretOperations(operations);
+        submitMetrics(MetricType.SECRET_SAVE_COUNT, MetricType.SECRET_SAVE_DURATION, operations.size(), start);
 
         Object proceed;
         try {
@@ -75,30 +112,26 @@ public class SecretAspectService {
     }
 
     public Object proceedDelete(ProceedingJoinPoint proceedingJoinPoint) {
+        long start = System.currentTimeMillis();
         Collection<Object> entities = convertFirstArgToCollection(proceedingJoinPoint);
+        List<SecretStoreCall> operations = new ArrayList<>();
         for (Object entity : entities) {
             try {
-                for (Field field : entity.getClass().getDeclaredFields()) {
-                    if (field.isAnnotationPresent(SecretValue.class)) {
-                        LOGGER.debug("Found SecretValue annotation on {}", field);
-                        field.setAccessible(true);
-                        Secret path = (Secret) field.get(entity);
-                        if (path != null && path.getSecret() != null) {
-                            secretService.delete(path.getSecret());
-                            LOGGER.debug("Secret deleted at path: {}", path);
-                        } else {
-                            LOGGER.debug("Secret is null for field: {}.{}", field.getDeclaringClass(), field.getName());
-                        }
+                for (SecretFieldAccessor field : getSecretFields(entity.getClass())) {
+                    Secret path = field.get(entity);
+                    if (path != null && path.getSecret() != null) {
+                        operations.add(() -> deleteSecret(path));
+                    } else {
+                        LOGGER.debug("Secret is null for field: {}.{}", entity.getClass(), field.getName());
                     }
                 }
-            } catch (IllegalArgumentException e) {
+            } catch (IllegalArgumentException | ClassCastException e) {
                 LOGGER.error("Given entity isn't instance of TenantAwareResource. Secret is not deleted!", e);
                 throw new SecretOperationException(e);
-            } catch (Exception e) {
-                LOGGER.warn("Looks like something went wrong with Secret store. Secret is not deleted!", e);
-                throw new SecretOperationException(e);
             }
         }
+        runSecretOperations(operations);
+        submitMetrics(MetricType.SECRET_DELETE_COUNT, MetricType.SECRET_DELETE_DURATION, operations.size(), start);
 
         Object proceed;
         try {
@@ -122,6 +155,94 @@ public class SecretAspectService {
         return arg instanceof Collection ? (Collection<Object>) arg : Collections.singleton(arg);
     }
 
+    private void saveSecret(Object entity, SecretFieldAccessor field, Secret value) throws Exception {
+        String accountId = findAccountId(entity);
+        String path = String.format("%s/%s/%s/%s-%s", accountId,
+                entity.getClass().getSimpleName().toLowerCase(), field.getLowerCaseName(),
+                UUID.randomUUID().toString(), Long.toHexString(System.currentTimeMillis()));
+        String secret = secretService.put(path, value.getRaw());
+        LOGGER.debug("Field: '{}' is saved at path: {}", field.getName(), path);
+        field.set(entity, new SecretProxy(secretService, secret));
+    }
+
+    private void deleteSecret(Secret path) {
+        secretService.delete(path.getSecret());
+        LOGGER.debug("Secret deleted at path: {}", path);
+    }
+
+    private void runSecretOperations(List<SecretStoreCall> operations) {
+        if (writeExecutor == null || operations.size() < 2) {
+            for (SecretStoreCall operation : operations) {
+                try {
+                    operation.run();
+                } catch (Exception e) {
+                    throw secretStoreFailure(e);
+                }
+            }
+        } else {
+            Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+            List<Future<?>> futures = new ArrayList<>(operations.size());
+            for (SecretStoreCall operation : operations) {
+                futures.add(writeExecutor.submit(() -> {
+                    Optional.ofNullable(mdcContext).ifPresent(MDC::setContextMap);
+                    try {
+                        operation.run();
+                    } finally {
+                        MDC.clear();
+                    }
+                    return null;
+                }));
+            }
+            waitForSecretOperations(futures);
+        }
+    }
+
+    private void waitForSecretOperations(List<Future<?>> futures) {
+        Exception failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failure = failure == null ? (Exception) Optional.ofNullable(e.getCause()).orElse(e) : failure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw secretStoreFailure(failure);
+        }
+    }
+
+    private SecretOperationException secretStoreFailure(Exception e) {
+        LOGGER.warn("Looks like something went wrong with Secret store. Secret operation failed!", e);
+        return new SecretOperationException(e);
+    }
+
+    private void submitMetrics(MetricType countMetric, MetricType durationMetric, int count, long start) {
+        if (count > 0) {
+            long duration = System.currentTimeMillis() - start;
+            metricService.submit(countMetric, count);
+            metricService.submit(durationMetric, duration);
+            LOGGER.trace("{} secret operations took {} ms", count, duration);
+        }
+    }
+
+    private List<SecretFieldAccessor> getSecretFields(Class<?> entityClass) {
+        return secretFieldsByClass.computeIfAbsent(entityClass, this::collectSecretFields);
+    }
+
+    private List<SecretFieldAccessor> collectSecretFields(Class<?> entityClass) {
+        List<SecretFieldAccessor> secretFields = new ArrayList<>();
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(SecretValue.class)) {
+                LOGGER.debug("Found SecretValue annotation on {}", field);
+                secretFields.add(new SecretFieldAccessor(field));
+            }
+        }
+        return List.copyOf(secretFields);
+    }
+
     private String findAccountId(Object entity) {
         return Optional.ofNullable(entity)
                 .filter(e -> e instanceof AccountIdAwareResource)
@@ -132,4 +253,44 @@ public class SecretAspectService {
                     return "undefined";
                 });
     }
+
+    private static class SecretFieldAccessor {
+
+        private final String name;
+
+        private final String lowerCaseName;
+
+        private final VarHandle handle;
+
+        SecretFieldAccessor(Field field) {
+            name = field.getName();
+            lowerCaseName = field.getName().toLowerCase();
+            try {
+                handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectVarHandle(field);
+            } catch (IllegalAccessException e) {
+                throw new SecretOperationException(e);
+            }
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getLowerCaseName() {
+            return lowerCaseName;
+        }
+
+        Secret get(Object entity) {
+            return (Secret) handle.get(entity);
+        }
+
+        void set(Object entity, Secret value) {
+            handle.set(entity, value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SecretStoreCall {
+        void run() throws Exception;
+    }
 }
@@ -20,6 +20,7 @@ import com.google.gson.Gson;
 import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
 import com.sequenceiq.cloudbreak.service.secret.SecretEngine;
+import com.sequenceiq.cloudbreak.service.secret.cache.SecretReadCache;
 import com.sequenceiq.cloudbreak.service.secret.conf.VaultConfig;
 import com.sequenceiq.cloudbreak.service.secret.model.SecretResponse;
 import com.sequenceiq.cloudbreak.service.secret.vault.VaultKvV1Engine;
@@ -43,10 +44,14 @@ public class SecretService {
 
     private VaultRetryService vaultRetryService;
 
-    public SecretService(MetricService metricService, List<SecretEngine> engines, VaultRetryService vaultRetryService) {
+    private final SecretReadCache secretReadCache;
+
+    public SecretService(MetricService metricService, List<SecretEngine> engines, VaultRetryService vaultRetryService,
+            SecretReadCache secretReadCache) {
         this.metricService = metricService;
         this.engines = engines;
         this.vaultRetryService = vaultRetryService;
+        this.secretReadCache = secretReadCache;
     }
 
     @PostConstruct
@@ -79,6 +84,7 @@ public class SecretService {
         metricService.submit(MetricType.VAULT_WRITE, duration);
         LOGGER.trace("Secret write took {} ms", duration);
         metricService.incrementMetricCounter(() -> "secret.write." + convertSecretToMetric(secret));
+        secretReadCache.put(secret, value);
         return secret;
     }
 
@@ -94,6 +100,10 @@ public class SecretService {
             return null;
         }
         metricService.incrementMetricCounter(() -> "secret.read." + convertSecretToMetric(secret));
+        return secretReadCache.get(secret, this::readSecret);
+    }
+
+    private String readSecret(String secret) {
         long start = System.currentTimeMillis();
 
         String response = vaultRetryService.tryReadingVault(() -> {
@@ -141,6 +151,7 @@ public class SecretService {
         engines.stream()
                 .filter(e -> e.isSecret(secret))
                 .forEach(e -> e.delete(secret));
+        secretReadCache.invalidate(secret);
         long duration = System.currentTimeMillis() - start;
         metricService.submit(MetricType.VAULT_WRITE, duration);
         LOGGER.trace("Secret delete took {} ms", duration);
@@ -154,6 +165,7 @@ public class SecretService {
         metricService.incrementMetricCounter(() -> "secret.cleanup." + pathPrefix);
         long start = System.currentTimeMillis();
         persistentEngine.cleanup(pathPrefix);
+        secretReadCache.invalidatePathPrefix(pathPrefix);
         long duration = System.currentTimeMillis() - start;
         metricService.submit(MetricType.VAULT_WRITE, duration);
         LOGGER.trace("Secret cleanup took {} ms", duration);
@@ -0,0 +1,127 @@
+package com.sequenceiq.cloudbreak.service.secret.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SecretReadCacheTest {
+
+    private static final String SECRET = secret("app/account/stack/password/3f2504e0-4f89-11d3-9a0c-0305e82c3301-174a9e8c1b2");
+
+    private static final String OTHER_SECRET = secret("app/account/cluster/password/9b1deb4d-3b7d-4bad-9bdd-2b0d7b3dcb6d-174a9e8c1b3");
+
+    private static final String KEYTAB_SECRET = secret("app/account/ServiceKeytab/Keytab/env/cluster/host/service");
+
+    @InjectMocks
+    private SecretReadCache underTest;
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private Function<String, String> reader;
+
+    @Before
+    public void setUp() throws Exception {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "maxEntries", 10L);
+        ReflectionTestUtils.setField(underTest, "ttlMinutes", 60L);
+        underTest.init();
+    }
+
+    @Test
+    public void testSecretIsReadOnce() {
+        when(reader.apply(SECRET)).thenReturn("password");
+
+        assertEquals("password", underTest.get(SECRET, reader));
+        assertEquals("password", underTest.get(SECRET, reader));
+
+        verify(reader, times(1)).apply(SECRET);
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.SECRET_READ_CACHE_MISS);
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.SECRET_READ_CACHE_HIT);
+    }
+
+    @Test
+    public void testMissingSecretIsNotCached() {
+        assertNull(underTest.get(SECRET, reader));
+        assertNull(underTest.get(SECRET, reader));
+
+        verify(reader, times(2)).apply(SECRET);
+    }
+
+    @Test
+    public void testWrittenSecretIsServedFromCache() {
+        underTest.put(SECRET, "password");
+
+        assertEquals("password", underTest.get(SECRET, reader));
+
+        verify(reader, times(0)).apply(SECRET);
+    }
+
+    @Test
+    public void testInvalidatedSecretIsReadAgain() {
+        when(reader.apply(SECRET)).thenReturn("password");
+        underTest.put(SECRET, "old");
+
+        underTest.invalidate(SECRET);
+
+        assertEquals("password", underTest.get(SECRET, reader));
+    }
+
+    @Test
+    public void testSecretOfARewritablePathIsNotCached() {
+        when(reader.apply(KEYTAB_SECRET)).thenReturn("keytab");
+        underTest.put(KEYTAB_SECRET, "old keytab");
+
+        assertEquals("keytab", underTest.get(KEYTAB_SECRET, reader));
+        assertEquals("keytab", underTest.get(KEYTAB_SECRET, reader));
+
+        verify(reader, times(2)).apply(KEYTAB_SECRET);
+    }
+
+    @Test
+    public void testOnlyTheSecretsUnderThePathPrefixAreInvalidated() {
+        when(reader.apply(SECRET)).thenReturn("password");
+        underTest.put(SECRET, "old");
+        underTest.put(OTHER_SECRET, "other");
+
+        underTest.invalidatePathPrefix("account/stack");
+
+        assertEquals("password", underTest.get(SECRET, reader));
+        assertEquals("other", underTest.get(OTHER_SECRET, reader));
+        verify(reader, times(0)).apply(OTHER_SECRET);
+    }
+
+    @Test
+    public void testDisabledCacheReadsEveryTime() throws Exception {
+        SecretReadCache disabled = new SecretReadCache(metricService);
+        disabled.init();
+        when(reader.apply(SECRET)).thenReturn("password");
+
+        disabled.put(SECRET, "password");
+        disabled.get(SECRET, reader);
+        disabled.get(SECRET, reader);
+
+        verify(reader, times(2)).apply(SECRET);
+    }
+
+    private static String secret(String path) {
+        return "{\"enginePath\":\"secret\",\"engineClass\":\"VaultKvV2Engine\",\"path\":\"" + path + "\"}";
+    }
+}
@@ -0,0 +1,160 @@
+package com.sequenceiq.cloudbreak.service.secret.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.service.secret.SecretOperationException;
+import com.sequenceiq.cloudbreak.service.secret.SecretValue;
+import com.sequenceiq.cloudbreak.service.secret.domain.AccountIdAwareResource;
+import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SecretAspectServiceTest {
+
+    @InjectMocks
+    private SecretAspectService underTest;
+
+    @Mock
+    private SecretService secretService;
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @After
+    public void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    public void testSaveWritesEverySecretBeforeProceeding() throws Throwable {
+        TestEntity first = new TestEntity("first", "password1");
+        TestEntity second = new TestEntity("second", "password2");
+        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{List.of(first, second)});
+        when(secretService.put(startsWith("account/testentity/password/"), eq("password1"))).thenReturn("secret1");
+        when(secretService.put(startsWith("account/testentity/password/"), eq("password2"))).thenReturn("secret2");
+        when(proceedingJoinPoint.proceed()).thenReturn("saved");
+
+        assertEquals("saved", underTest.proceedSave(proceedingJoinPoint));
+
+        assertEquals("secret1", first.getPassword().getSecret());
+        assertEquals("secret2", second.getPassword().getSecret());
+        assertNull(first.getNotSecret().getSecret());
+        verify(metricService).submit(MetricType.SECRET_SAVE_COUNT, 2);
+        verify(metricService).submit(eq(MetricType.SECRET_SAVE_DURATION), anyDouble());
+    }
+
+    @Test
+    public void testParallelSaveWritesEverySecret() throws Throwable {
+        ReflectionTestUtils.setField(underTest, "writeParallelism", 2);
+        underTest.init();
+        TestEntity first = new TestEntity("first", "password1");
+        TestEntity second = new TestEntity("second", "password2");
+        TestEntity third = new TestEntity("third", "password3");
+        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{List.of(first, second, third)});
+        when(secretService.put(anyString(), anyString())).then(i -> "secret-" + i.getArgument(1));
+
+        underTest.proceedSave(proceedingJoinPoint);
+
+        assertEquals("secret-password1", first.getPassword().getSecret());
+        assertEquals("secret-password2", second.getPassword().getSecret());
+        assertEquals("secret-password3", third.getPassword().getSecret());
+        verify(proceedingJoinPoint).proceed();
+        verify(metricService).submit(MetricType.SECRET_SAVE_COUNT, 3);
+    }
+
+    @Test
+    public void testParallelSaveFailureDoesNotProceed() throws Throwable {
+        ReflectionTestUtils.setField(underTest, "writeParallelism", 2);
+        underTest.init();
+        TestEntity first = new TestEntity("first", "password1");
+        TestEntity second = new TestEntity("second", "password2");
+        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{List.of(first, second)});
+        when(secretService.put(anyString(), eq("password1"))).thenReturn("secret1");
+        when(secretService.put(anyString(), eq("password2"))).thenThrow(new IllegalStateException("vault is down"));
+
+        try {
+            underTest.proceedSave(proceedingJoinPoint);
+            fail("SecretOperationException expected");
+        } catch (SecretOperationException e) {
+            assertEquals("vault is down", e.getCause().getMessage());
+        }
+
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    public void testAlreadyStoredSecretIsNotWrittenAgain() throws Throwable {
+        TestEntity entity = new TestEntity("name", null);
+        ReflectionTestUtils.setField(entity, "password", new Secret("raw", "secret"));
+        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{entity});
+
+        underTest.proceedSave(proceedingJoinPoint);
+
+        verify(secretService, never()).put(anyString(), anyString());
+        verify(metricService, never()).submit(eq(MetricType.SECRET_SAVE_COUNT), anyDouble());
+        verify(proceedingJoinPoint).proceed();
+    }
+
+    @Test
+    public void testDeleteRemovesStoredSecrets() throws Throwable {
+        TestEntity entity = new TestEntity("name", null);
+        ReflectionTestUtils.setField(entity, "password", new Secret("raw", "secret"));
+        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{entity});
+
+        underTest.proceedDelete(proceedingJoinPoint);
+
+        verify(secretService).delete("secret");
+        verify(metricService).submit(MetricType.SECRET_DELETE_COUNT, 1);
+        verify(proceedingJoinPoint).proceed();
+    }
+
+    private static class TestEntity implements AccountIdAwareResource {
+
+        private final Secret notSecret;
+
+        @SecretValue
+        private Secret password;
+
+        TestEntity(String notSecret, String password) {
+            this.notSecret = new Secret(notSecret);
+            this.password = new Secret(password);
+        }
+
+        @Override
+        public String getAccountId() {
+            return "account";
+        }
+
+        public Secret getNotSecret() {
+            return notSecret;
+        }
+
+        public Secret getPassword() {
+            return password;
+        }
+    }
+}
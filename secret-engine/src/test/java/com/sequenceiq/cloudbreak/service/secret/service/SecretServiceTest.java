@@ -28,6 +28,7 @@ import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
 import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
 import com.sequenceiq.cloudbreak.service.secret.SecretEngine;
+import com.sequenceiq.cloudbreak.service.secret.cache.SecretReadCache;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SecretServiceTest {
@@ -42,7 +43,8 @@ public class SecretServiceTest {
     private final VaultRetryService vaultRetryService = Mockito.mock(VaultRetryService.class);
 
     @InjectMocks
-    private final SecretService underTest = new SecretService(metricService, List.of(persistentEngine), vaultRetryService);
+    private final SecretService underTest = new SecretService(metricService, List.of(persistentEngine), vaultRetryService,
+            new SecretReadCache(metricService));
 
     @Before
     public void setup() {